@@ -0,0 +1,55 @@
+package main.bench;
+
+import main.game.ChartFile;
+import main.game.Song;
+import main.utils.Constants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 벤치마크용 합성 채보를 임시 파일로 만들어 엽니다
+ */
+final class BenchmarkCharts {
+    static final Song.Difficulty DIFFICULTY = Song.Difficulty.NORMAL;
+
+    private BenchmarkCharts() {
+    }
+
+    /**
+     * 화면에 항상 약 liveNotes개의 노트가 살아 있도록 일정한 간격으로 노트를 배치합니다
+     * (노트는 생성 후 판정선을 지나 GOOD 범위가 끝날 때까지 살아 있음)
+     */
+    static ChartFile steadyDensity(int liveNotes, long lengthMicros) throws IOException {
+        long lifetime = Constants.NOTE_TRAVEL_TIME_MICROS + Constants.GOOD_WINDOW_MICROS;
+        double interval = (double) lifetime / liveNotes;
+
+        ChartFile.Writer writer = new ChartFile.Writer();
+        int count = (int) (lengthMicros / interval);
+        for (int i = 0; i < count; i++) {
+            writer.addNote(DIFFICULTY, (long) (i * interval), i % Constants.NOTE_LANES, ChartFile.TYPE_TAP, 0);
+        }
+        return write(writer);
+    }
+
+    /**
+     * 같은 시각에 chordSize개 레인을 동시에 치는 화음을 chordCount개 쌓습니다
+     */
+    static ChartFile stackedChords(int chordSize, int chordCount, long hitTimeMicros) throws IOException {
+        ChartFile.Writer writer = new ChartFile.Writer();
+        for (int chord = 0; chord < chordCount; chord++) {
+            for (int lane = 0; lane < chordSize; lane++) {
+                writer.addNote(DIFFICULTY, hitTimeMicros, lane, ChartFile.TYPE_TAP, 0);
+            }
+        }
+        return write(writer);
+    }
+
+    private static ChartFile write(ChartFile.Writer writer) throws IOException {
+        Path path = Files.createTempFile("bench", ChartFile.EXTENSION);
+        path.toFile().deleteOnExit();
+        writer.writeTo(path);
+        return ChartFile.open(path);
+    }
+}
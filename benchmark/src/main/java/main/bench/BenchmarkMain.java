@@ -0,0 +1,30 @@
+package main.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 벤치마크 실행기
+ * JMH 명령행 옵션을 그대로 받고, 할당량 측정을 위해 GC 프로파일러를 항상 켭니다
+ *
+ * 예: java -jar benchmarks.jar EngineUpdate -p liveNotes=1000 -rf json -rff baseline.json
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("main\\.bench\\..*");
+        }
+
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
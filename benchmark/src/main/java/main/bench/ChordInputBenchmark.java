@@ -0,0 +1,66 @@
+package main.bench;
+
+import main.game.ChartFile;
+import main.game.GameEngine;
+import main.game.GameMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 화음 하나(chordSize개 레인 동시 입력)를 processKeyInput으로 판정하는 비용
+ * 판정된 노트는 다시 쓸 수 없으므로 반복(batch)마다 화음 CHORDS개를 쌓아 두고 하나씩 소모합니다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = ChordInputBenchmark.CHORDS)
+@Measurement(iterations = 20, batchSize = ChordInputBenchmark.CHORDS)
+@Fork(1)
+public class ChordInputBenchmark {
+    static final int CHORDS = 2000;
+    private static final long HIT_TIME_MICROS = 2_000_000L;
+
+    @Param({ "2", "4", "6" })
+    public int chordSize;
+
+    private ChartFile chart;
+    private GameEngine engine;
+
+    @Setup(Level.Trial)
+    public void createChart() throws IOException {
+        chart = BenchmarkCharts.stackedChords(chordSize, CHORDS, HIT_TIME_MICROS);
+        engine = new GameEngine();
+    }
+
+    @Setup(Level.Iteration)
+    public void restart() {
+        engine.prepareChart(chart, BenchmarkCharts.DIFFICULTY);
+        engine.startGameWithMode(GameMode.SINGLE_PLAY, 1L);
+        engine.getGameClock().pause();
+
+        // 모든 화음이 판정선에 도착한 시각으로 옮겨 노트를 생성해 둠
+        engine.getGameClock().seek(HIT_TIME_MICROS);
+        engine.update();
+    }
+
+    @Benchmark
+    public int chord() {
+        for (int lane = 0; lane < chordSize; lane++) {
+            engine.processKeyInput(lane);
+        }
+        return engine.getScoreManager().getCombo();
+    }
+}
@@ -0,0 +1,74 @@
+package main.bench;
+
+import main.game.ChartFile;
+import main.game.GameEngine;
+import main.game.GameMode;
+import main.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameEngine.update() 한 번 (시뮬레이션 한 틱 + 장면 발행)의 비용
+ * 노트가 일정한 밀도로 계속 생성되고 지나가므로 화면의 노트 수가 liveNotes 근처로 유지됩니다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineUpdateBenchmark {
+    private static final long CHART_LENGTH_MICROS = 60_000_000L;
+    // 첫 노트가 판정선을 지나 사라지기 시작한 뒤부터 측정
+    private static final long STEADY_START_MICROS = Constants.NOTE_TRAVEL_TIME_MICROS
+            + Constants.GOOD_WINDOW_MICROS;
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int liveNotes;
+
+    private ChartFile chart;
+    private GameEngine engine;
+    private long timeMicros;
+
+    @Setup(Level.Trial)
+    public void createChart() throws IOException {
+        chart = BenchmarkCharts.steadyDensity(liveNotes, CHART_LENGTH_MICROS);
+        engine = new GameEngine();
+    }
+
+    @Setup(Level.Iteration)
+    public void restart() {
+        engine.prepareChart(chart, BenchmarkCharts.DIFFICULTY);
+        engine.startGameWithMode(GameMode.SINGLE_PLAY, 1L);
+        engine.getGameClock().pause(); // 가상 시계로 사용
+
+        timeMicros = STEADY_START_MICROS;
+        engine.getGameClock().seek(timeMicros);
+        engine.update();
+    }
+
+    @Benchmark
+    public long update() {
+        timeMicros += Constants.SIMULATION_STEP_MICROS;
+        if (timeMicros > CHART_LENGTH_MICROS - Constants.NOTE_TRAVEL_TIME_MICROS) {
+            restart();
+        }
+
+        engine.getGameClock().seek(timeMicros);
+        engine.update();
+        return engine.getSimTimeMicros();
+    }
+}
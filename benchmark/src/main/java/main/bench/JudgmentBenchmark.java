@@ -0,0 +1,55 @@
+package main.bench;
+
+import main.game.Judgment;
+import main.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입력 오프셋으로부터 판정을 구하는 비용 (기존 Note.getJudgment를 대체한 Judgment.fromOffset)
+ * 오프셋은 판정 가능 범위 전체에 고르게 분포시켜 분기 예측이 유리하지 않도록 합니다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JudgmentBenchmark {
+    private static final int SIZE = 4096; // 2의 거듭제곱
+
+    private final long[] offsets = new long[SIZE];
+    private int index;
+
+    @Setup
+    public void createOffsets() {
+        Random random = new Random(1);
+        long range = Constants.MISS_WINDOW_MICROS;
+        for (int i = 0; i < SIZE; i++) {
+            offsets[i] = (long) ((random.nextDouble() * 2 - 1) * range);
+        }
+    }
+
+    @Benchmark
+    public Judgment fromOffset() {
+        index = (index + 1) & (SIZE - 1);
+        return Judgment.fromOffset(offsets[index]);
+    }
+
+    @Benchmark
+    public boolean isJudgeable() {
+        index = (index + 1) & (SIZE - 1);
+        return Judgment.isJudgeable(offsets[index]);
+    }
+}
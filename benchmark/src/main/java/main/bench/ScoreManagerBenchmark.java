@@ -0,0 +1,58 @@
+package main.bench;
+
+import main.game.Judgment;
+import main.game.ScoreManager;
+import main.utils.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreManager.processJudgment의 비용 (입력 판정과 자동 MISS)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreManagerBenchmark {
+    private static final int SIZE = 4096; // 2의 거듭제곱
+
+    private final ScoreManager scoreManager = new ScoreManager();
+    private final Judgment[] judgments = new Judgment[SIZE];
+    private final long[] offsets = new long[SIZE];
+    private int index;
+
+    @Setup
+    public void createInputs() {
+        Random random = new Random(1);
+        for (int i = 0; i < SIZE; i++) {
+            offsets[i] = (long) ((random.nextDouble() * 2 - 1) * Constants.MISS_WINDOW_MICROS);
+            judgments[i] = Judgment.fromOffset(offsets[i]);
+        }
+    }
+
+    @Benchmark
+    public int processHit() {
+        index = (index + 1) & (SIZE - 1);
+        scoreManager.processJudgment(judgments[index], offsets[index]);
+        return scoreManager.getScore();
+    }
+
+    @Benchmark
+    public int processMiss() {
+        scoreManager.processJudgment(Judgment.MISS);
+        return scoreManager.getMissCount();
+    }
+}
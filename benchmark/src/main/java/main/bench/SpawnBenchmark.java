@@ -0,0 +1,63 @@
+package main.bench;
+
+import main.game.ChartFile;
+import main.game.GameEngine;
+import main.game.GameMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게임 시작부터 SPAN_MICROS 동안 입력 없이 진행하는 비용 (노트 생성과 MISS 처리 위주)
+ * random은 시드 고정 랜덤 생성, chart는 초당 notesPerSecond개 노트의 채보 커서 생성입니다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+    private static final long SPAN_MICROS = 10_000_000L;
+
+    @Param({ "random", "chart" })
+    public String source;
+
+    @Param({ "20" })
+    public int notesPerSecond;
+
+    private ChartFile chart;
+    private GameEngine engine;
+
+    @Setup(Level.Trial)
+    public void createEngine() throws IOException {
+        engine = new GameEngine();
+        if ("chart".equals(source)) {
+            // 노트 수명(약 2초) 동안 살아 있는 노트 수로 환산
+            chart = BenchmarkCharts.steadyDensity(notesPerSecond * 2, SPAN_MICROS * 2);
+            engine.prepareChart(chart, BenchmarkCharts.DIFFICULTY);
+        } else {
+            engine.clearChart();
+        }
+    }
+
+    @Benchmark
+    public int spawn() {
+        engine.startGameWithMode(GameMode.SINGLE_PLAY, 1L);
+        engine.getGameClock().pause();
+        engine.advanceTo(SPAN_MICROS);
+        return engine.getScoreManager().getMissCount();
+    }
+}
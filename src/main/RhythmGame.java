@@ -3,11 +3,11 @@ package main;
 import main.ui.GameFrame;
 import main.audio.AudioManager;
 import main.game.Song;
+import main.game.SongRepository;
 import main.utils.Constants;
-import main.utils.MusicFileScanner;
+import main.utils.StartupProfiler;
 
 import javax.swing.*;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +18,6 @@ public class RhythmGame {
     private static RhythmGame instance;
     private GameFrame gameFrame;
     private AudioManager audioManager;
-    private List<Song> songs;
 
     public RhythmGame() {
         instance = this;
@@ -27,45 +26,30 @@ public class RhythmGame {
 
     private void initializeGame() {
         // Look and Feel 설정
+        long phaseNanos = StartupProfiler.begin();
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             e.printStackTrace();
         }
+        StartupProfiler.end("Look and Feel 설정", phaseNanos);
 
-        // 오디오 매니저 초기화
-        audioManager = new AudioManager();
+        // 곡 목록 로드 시작 (gameplay 폴더 스캔은 백그라운드에서 한 번만)
+        long scanNanos = StartupProfiler.begin();
+        SongRepository.getInstance().load()
+                .thenRun(() -> StartupProfiler.end("곡 목록 로드", scanNanos));
 
-        // 곡 목록 초기화
-        loadSongs();
+        // 오디오 매니저 초기화 (출력 라인과 효과음은 백그라운드에서 준비)
+        audioManager = new AudioManager();
 
         // 게임 프레임 생성
+        phaseNanos = StartupProfiler.begin();
         gameFrame = new GameFrame();
-        gameFrame.setVisible(true);
-    }
-
-    /**
-     * 곡 목록을 로드합니다
-     */
-    private void loadSongs() {
-        songs = new ArrayList<>();
+        StartupProfiler.end("게임 프레임 생성", phaseNanos);
 
-        // MusicFileScanner를 사용하여 곡 로드
-        try {
-            List<Song> scannedSongs = MusicFileScanner.scanGameplayFolder();
-            if (scannedSongs != null && !scannedSongs.isEmpty()) {
-                songs.addAll(scannedSongs);
-                System.out.println("RhythmGame: " + songs.size() + "개의 곡이 로드되었습니다.");
-            } else {
-                // 기본 곡 추가
-                songs.add(new Song("기본 곡", "알 수 없음", "기본", "기본", 120, "game_bgm.wav"));
-                System.out.println("RhythmGame: 기본 곡으로 초기화되었습니다.");
-            }
-        } catch (Exception e) {
-            System.err.println("곡 로드 중 오류 발생: " + e.getMessage());
-            // 기본 곡 추가
-            songs.add(new Song("기본 곡", "알 수 없음", "기본", "기본", 120, "game_bgm.wav"));
-        }
+        phaseNanos = StartupProfiler.begin();
+        gameFrame.setVisible(true);
+        StartupProfiler.end("창 표시", phaseNanos);
     }
 
     public static RhythmGame getInstance() {
@@ -76,11 +60,15 @@ public class RhythmGame {
         return audioManager;
     }
 
+    /**
+     * 현재 곡 목록 (SongRepository의 스냅샷, 로드 전이면 기본 데모 곡만 있음)
+     */
     public List<Song> getSongs() {
-        return songs;
+        return SongRepository.getInstance().getSnapshot().getSongs();
     }
 
     public static void main(String[] args) {
+        StartupProfiler.mark("main 진입");
         SwingUtilities.invokeLater(() -> {
             new RhythmGame();
         });
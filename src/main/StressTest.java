@@ -0,0 +1,206 @@
+package main;
+
+import main.game.ChartFile;
+import main.game.GameClock;
+import main.game.GameEngine;
+import main.game.GameMode;
+import main.game.ScoreManager;
+import main.game.Song;
+import main.utils.Constants;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 화면과 오디오 없이 GameEngine을 최대 속도로 돌리는 부하 테스트
+ * 합성 채보와 가상 입력을 넣고 틱을 쉬지 않고 진행하며, 틱 처리량과 지연 분포,
+ * 틱당 할당 바이트를 출력합니다 (헤드리스 리눅스에서 하드웨어 산정, 장시간 테스트용)
+ *
+ * 사용법: java -cp build main.StressTest [옵션]
+ *   --notes N       채보 노트 수 (기본 100000)
+ *   --density N     초당 노트 수 (기본 40)
+ *   --chord N       한 시각에 동시에 치는 최대 레인 수 (기본 2)
+ *   --hit-rate R    입력할 노트 비율 0~1 (기본 0.95)
+ *   --jitter MS     입력 시각 오차의 표준편차, 밀리초 (기본 25)
+ *   --warmup N      통계에서 제외할 처음 틱 수 (기본 20000)
+ *   --seed N        채보/입력 생성 시드 (기본 1)
+ */
+public class StressTest {
+    private int noteCount = 100_000;
+    private int notesPerSecond = 40;
+    private int maxChord = 2;
+    private double hitRate = 0.95;
+    private double jitterMillis = 25;
+    private int warmupTicks = 20_000;
+    private long seed = 1;
+
+    public static void main(String[] args) throws IOException {
+        StressTest test = new StressTest();
+        if (!test.parseArgs(args)) {
+            return;
+        }
+        test.run();
+    }
+
+    private boolean parseArgs(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--notes":
+                        noteCount = Integer.parseInt(args[++i]);
+                        break;
+                    case "--density":
+                        notesPerSecond = Integer.parseInt(args[++i]);
+                        break;
+                    case "--chord":
+                        maxChord = Math.max(1, Math.min(Constants.NOTE_LANES, Integer.parseInt(args[++i])));
+                        break;
+                    case "--hit-rate":
+                        hitRate = Double.parseDouble(args[++i]);
+                        break;
+                    case "--jitter":
+                        jitterMillis = Double.parseDouble(args[++i]);
+                        break;
+                    case "--warmup":
+                        warmupTicks = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        System.err.println("알 수 없는 옵션: " + args[i]);
+                        return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("옵션 값이 잘못되었습니다: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void run() throws IOException {
+        Random random = new Random(seed);
+
+        // 합성 채보 생성 (한 시각에 1~maxChord개 레인)
+        long[] noteTimes = new long[noteCount];
+        int[] noteLanes = new int[noteCount];
+        // 화음 크기의 평균이 (1 + maxChord) / 2이므로 그만큼 화음 간격을 넓힘
+        long intervalMicros = (long) (1_000_000.0 * (1 + maxChord) / 2 / Math.max(1, notesPerSecond));
+        long time = Constants.NOTE_TRAVEL_TIME_MICROS;
+        int generated = 0;
+        while (generated < noteCount) {
+            int chord = Math.min(noteCount - generated, 1 + random.nextInt(maxChord));
+            int usedLanes = 0;
+            for (int i = 0; i < chord; i++) {
+                int lane;
+                do {
+                    lane = random.nextInt(Constants.NOTE_LANES);
+                } while ((usedLanes & (1 << lane)) != 0);
+                usedLanes |= 1 << lane;
+
+                noteTimes[generated] = time;
+                noteLanes[generated] = lane;
+                generated++;
+            }
+            time += intervalMicros;
+        }
+        long endMicros = time + Constants.GOOD_WINDOW_MICROS + Constants.SIMULATION_STEP_MICROS;
+
+        ChartFile.Writer writer = new ChartFile.Writer();
+        for (int i = 0; i < noteCount; i++) {
+            writer.addNote(Song.Difficulty.NORMAL, noteTimes[i], noteLanes[i], ChartFile.TYPE_TAP, 0);
+        }
+        Path chartPath = Files.createTempFile("stress", ChartFile.EXTENSION);
+        chartPath.toFile().deleteOnExit();
+        writer.writeTo(chartPath);
+
+        // 가상 입력 생성 (입력 시각 순으로 정렬)
+        long[] inputs = new long[noteCount]; // 입력 시각 << 3 | 레인
+        int inputCount = 0;
+        for (int i = 0; i < noteCount; i++) {
+            if (random.nextDouble() < hitRate) {
+                long capture = noteTimes[i] + (long) (random.nextGaussian() * jitterMillis * 1000);
+                inputs[inputCount++] = (Math.max(0, capture) << 3) | noteLanes[i];
+            }
+        }
+        Arrays.sort(inputs, 0, inputCount);
+
+        System.out.println("=== 부하 테스트 ===");
+        System.out.printf("노트 %d개, 초당 %d개, 최대 %d레인 동시, 입력 %d개, 곡 길이 %.1f초%n",
+                noteCount, notesPerSecond, maxChord, inputCount, endMicros / 1_000_000.0);
+
+        // 오디오 없이 엔진 생성, 게임 시계는 일시정지한 채 가상 시계로 사용
+        GameEngine engine = new GameEngine();
+        engine.prepareChart(ChartFile.open(chartPath), Song.Difficulty.NORMAL);
+        engine.startGameWithMode(GameMode.SINGLE_PLAY, seed);
+        GameClock clock = engine.getGameClock();
+        clock.pause();
+
+        int totalTicks = (int) (endMicros / Constants.SIMULATION_STEP_MICROS);
+        int measuredTicks = Math.max(0, totalTicks - warmupTicks);
+        long[] tickNanos = new long[measuredTicks];
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = 0;
+        long measureStartNanos = System.nanoTime();
+
+        int nextInput = 0;
+        for (int tick = 1; tick <= totalTicks; tick++) {
+            if (tick == warmupTicks + 1) {
+                allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+                measureStartNanos = System.nanoTime();
+            }
+
+            long tickStart = System.nanoTime();
+            long now = tick * Constants.SIMULATION_STEP_MICROS;
+            while (nextInput < inputCount && (inputs[nextInput] >> 3) <= now) {
+                int lane = (int) (inputs[nextInput] & 7);
+                long capture = inputs[nextInput] >> 3;
+                engine.submitKeyInput(lane, true, capture);
+                engine.submitKeyInput(lane, false, capture);
+                nextInput++;
+            }
+            clock.seek(now);
+            engine.update();
+            long elapsed = System.nanoTime() - tickStart;
+
+            if (tick > warmupTicks) {
+                tickNanos[tick - warmupTicks - 1] = elapsed;
+            }
+        }
+
+        long measureNanos = System.nanoTime() - measureStartNanos;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        if (measuredTicks == 0) {
+            System.out.println("측정된 틱이 없습니다 (--warmup 값이 곡 길이보다 큽니다)");
+            return;
+        }
+        Arrays.sort(tickNanos);
+
+        System.out.println("=== 결과 ===");
+        System.out.printf("틱: %d (워밍업 %d 제외)%n", measuredTicks, Math.min(warmupTicks, totalTicks));
+        System.out.printf("처리량: %.0f 틱/초 (실시간 대비 %.1f배)%n",
+                measuredTicks * 1e9 / measureNanos,
+                measuredTicks * Constants.SIMULATION_STEP_MICROS * 1000.0 / measureNanos);
+        System.out.printf("틱 지연: p50 %.2fus, p99 %.2fus, p999 %.2fus, 최대 %.2fus%n",
+                percentile(tickNanos, 0.50) / 1000.0, percentile(tickNanos, 0.99) / 1000.0,
+                percentile(tickNanos, 0.999) / 1000.0, tickNanos[measuredTicks - 1] / 1000.0);
+        System.out.printf("할당: 틱당 %.1f바이트 (총 %d바이트)%n", (double) allocated / measuredTicks, allocated);
+
+        ScoreManager score = engine.getScoreManager();
+        System.out.println("결과: " + score.getGameSummary().replace('\n', ' '));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,243 @@
+package main.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 게임의 모든 소리(배경음악, 미리듣기, 효과음)를 하나의 출력 라인으로 내보내는 오디오 엔진
+ *
+ * 우선순위가 가장 높은 렌더 스레드 하나가 블록마다 명령 큐를 비우고, 등록된 공급원(AudioSource)을
+ * 차례로 섞어 작은 버퍼의 SourceDataLine에 씁니다. 다른 스레드는 잠금 없는 명령 큐에 명령을 넣기만 하며,
+ * 재생 상태는 렌더 스레드만 바꾸므로 스레드 사이에 상태가 엇갈리지 않습니다.
+ * 리스너 알림은 렌더 스레드를 막지 않도록 별도의 알림 스레드 하나에서 실행합니다.
+ * startAsync()로 시작하면 출력 라인을 여는 동안에도 명령을 받아 두었다가 렌더 스레드가 시작되면 순서대로 실행합니다.
+ */
+public class AudioEngine {
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int CHANNELS = 2;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    private static final int BLOCK_FRAMES = 64; // 한 번에 섞는 프레임 수 (약 1.5ms)
+    private static final int LINE_BUFFER_FRAMES = 256; // 라인 버퍼 크기 (약 5.8ms, 효과음 지연 10ms 미만)
+    private static final int[] FALLBACK_BUFFER_FRAMES = {512, 1024}; // 작은 버퍼를 열 수 없는 장치용
+    private static final int COMMAND_CAPACITY = 1024;
+
+    private final MpscQueue<Runnable> commands = new MpscQueue<>(COMMAND_CAPACITY);
+    private final ExecutorService callbackExecutor;
+    private volatile AudioSource[] sources = new AudioSource[0];
+
+    private final float[] mixBuffer = new float[BLOCK_FRAMES * CHANNELS];
+    private final byte[] outputBuffer = new byte[BLOCK_FRAMES * CHANNELS * 2];
+
+    private volatile boolean running;
+    private volatile boolean accepting; // 명령을 받는 중 (출력 라인을 여는 중 포함)
+    private volatile SourceDataLine line;
+    private volatile long writtenFrames; // 렌더 스레드만 씀
+    private Thread renderThread;
+
+    public AudioEngine() {
+        callbackExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "AudioCallback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 소리 공급원을 등록합니다 (등록 순서대로 섞음)
+     */
+    public synchronized void addSource(AudioSource source) {
+        AudioSource[] current = sources;
+        AudioSource[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = source;
+        sources = next;
+    }
+
+    /**
+     * 출력 라인을 열고 렌더 스레드를 시작합니다
+     *
+     * @return 오디오 장치를 열 수 없으면 false (이후 명령은 무시됨)
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+
+        SourceDataLine opened = openLine(LINE_BUFFER_FRAMES);
+        for (int i = 0; opened == null && i < FALLBACK_BUFFER_FRAMES.length; i++) {
+            System.err.println("더 큰 출력 버퍼(" + FALLBACK_BUFFER_FRAMES[i]
+                    + "프레임)로 다시 시도합니다 - 효과음 지연이 10ms를 넘을 수 있음");
+            opened = openLine(FALLBACK_BUFFER_FRAMES[i]);
+        }
+        if (opened == null) {
+            accepting = false;
+            while (commands.poll() != null) {
+                // 라인을 여는 동안 받아 둔 명령은 실행할 수 없으므로 버림
+            }
+            return false;
+        }
+        start(opened);
+        return true;
+    }
+
+    /**
+     * 주어진 버퍼 크기로 출력 라인을 엽니다
+     *
+     * @return 열 수 없으면 null
+     */
+    private static SourceDataLine openLine(int bufferFrames) {
+        try {
+            SourceDataLine opened = AudioSystem.getSourceDataLine(FORMAT);
+            opened.open(FORMAT, bufferFrames * FORMAT.getFrameSize());
+            return opened;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("오디오 출력 라인을 열 수 없습니다 (" + bufferFrames + "프레임): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 주어진 실행기에서 출력 라인을 열고, 그동안 들어오는 명령은 받아 둡니다
+     * 장치를 여는 데 오래 걸리는 시스템에서도 호출한 스레드(EDT 등)를 막지 않습니다
+     *
+     * @return 시작에 성공하면 true로 완료되는 Future
+     */
+    public CompletableFuture<Boolean> startAsync(Executor executor) {
+        synchronized (this) {
+            if (running) {
+                return CompletableFuture.completedFuture(true);
+            }
+            accepting = true;
+        }
+        return CompletableFuture.supplyAsync(this::start, executor);
+    }
+
+    private void start(SourceDataLine opened) {
+        opened.start();
+        line = opened;
+        writtenFrames = opened.getLongFramePosition();
+        running = true;
+        accepting = true;
+
+        renderThread = new Thread(this::renderLoop, "AudioRender");
+        renderThread.setDaemon(true);
+        renderThread.setPriority(Thread.MAX_PRIORITY);
+        renderThread.start();
+
+        System.out.printf("오디오 엔진 시작: 출력 버퍼 %.1fms, 블록 %d프레임%n",
+                getOutputLatencyMicros() / 1000.0, BLOCK_FRAMES);
+    }
+
+    /**
+     * 렌더 스레드를 멈추고 출력 라인을 닫습니다
+     */
+    public synchronized void shutdown() {
+        callbackExecutor.shutdownNow();
+        accepting = false;
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            renderThread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        line.stop();
+        line.close();
+        renderThread = null;
+    }
+
+    /**
+     * 엔진이 동작 중이거나 출력 라인을 여는 중이면 true (명령을 받을 수 있음)
+     */
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    /**
+     * 렌더 스레드에서 실행할 명령을 넣습니다 (모든 스레드, 바로 반환)
+     *
+     * @return 엔진이 동작하지 않거나 큐가 가득 차 명령이 버려졌으면 false
+     */
+    public boolean submit(Runnable command) {
+        return accepting && commands.offer(command);
+    }
+
+    /**
+     * 리스너 알림처럼 렌더 스레드에서 실행하면 안 되는 작업을 실행할 실행기
+     */
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * 출력 라인이 실제로 재생한 누적 프레임 수
+     */
+    public long getPlayedFrames() {
+        SourceDataLine current = line;
+        return current != null ? current.getLongFramePosition() : 0;
+    }
+
+    /**
+     * 지금까지 출력 라인에 쓴 누적 프레임 수
+     */
+    public long getWrittenFrames() {
+        return writtenFrames;
+    }
+
+    /**
+     * 출력 라인 버퍼와 블록 크기로 인한 지연을 마이크로초로 반환합니다
+     */
+    public long getOutputLatencyMicros() {
+        SourceDataLine current = line;
+        if (current == null) {
+            return 0;
+        }
+        long frames = current.getBufferSize() / FORMAT.getFrameSize() + BLOCK_FRAMES;
+        return (long) (frames * 1_000_000L / SAMPLE_RATE);
+    }
+
+    // =============== 렌더 스레드 ===============
+
+    private void renderLoop() {
+        while (running) {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    System.err.println("오디오 명령 실행 실패: " + e.getMessage());
+                }
+            }
+
+            Arrays.fill(mixBuffer, 0.0f);
+            long lineFrame = writtenFrames;
+            for (AudioSource source : sources) {
+                source.render(mixBuffer, BLOCK_FRAMES, lineFrame);
+            }
+
+            for (int i = 0; i < mixBuffer.length; i++) {
+                float value = mixBuffer[i];
+                if (value > 1.0f) {
+                    value = 1.0f;
+                } else if (value < -1.0f) {
+                    value = -1.0f;
+                }
+                int sample = (int) (value * 32767f);
+                outputBuffer[i * 2] = (byte) sample;
+                outputBuffer[i * 2 + 1] = (byte) (sample >> 8);
+            }
+
+            line.write(outputBuffer, 0, outputBuffer.length); // 버퍼에 자리가 날 때까지 대기
+            writtenFrames = lineFrame + BLOCK_FRAMES;
+        }
+    }
+}
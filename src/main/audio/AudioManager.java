@@ -1,29 +1,67 @@
 package main.audio;
 
+import main.game.Judgment;
 import main.utils.Constants;
+import main.utils.StartupProfiler;
 import javax.sound.sampled.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 게임의 오디오를 관리하는 클래스
  * 배경음악, 효과음 재생을 담당합니다
  */
 public class AudioManager {
-    private Map<String, Clip> soundEffects;
+    private Map<String, Integer> soundEffects; // 효과음 이름 -> 믹서 샘플 번호
+    private AudioEngine audioEngine; // 모든 소리를 하나의 출력 라인으로 내보내는 엔진
+    private SfxMixer sfxMixer; // 효과음 믹서
     private Clip backgroundMusic;
-    private boolean soundEnabled;
-    private boolean musicEnabled;
-    private float soundVolume;
-    private float musicVolume;
+    private volatile boolean soundEnabled;
+    private volatile boolean musicEnabled;
+    private volatile float soundVolume;
+    private volatile float musicVolume;
     private Mp3Player mp3Player; // MP3 재생을 위한 플레이어
     private PreviewPlayer previewPlayer; // 미리듣기 플레이어
-    private GameMusicEndListener gameMusicEndListener; // 게임 음악 종료 리스너
-    private long lastSoundPlayTime = 0; // 마지막 사운드 재생 시간
-    private String lastSoundType = ""; // 마지막 재생된 사운드 타입
-    private static final long SOUND_COOLDOWN = 100; // 사운드 재생 간격 (밀리초)
+    private Metronome metronome; // 타이밍 보정용 메트로놈
+    private volatile GameMusicEndListener gameMusicEndListener; // 게임 음악 종료 리스너
+    private final CompletableFuture<Void> initialization; // 출력 라인 열기와 효과음 로드
+
+    private static final int LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // 기본 효과음 파일들 (WAV 파일, 없으면 프로그래밍적으로 생성)
+    private static final String[][] SOUND_EFFECT_FILES = {
+            { "hit", Constants.EFFECT_PATH + "hit.wav" },
+            { "miss", Constants.EFFECT_PATH + "miss.wav" },
+            { "perfect", Constants.EFFECT_PATH + "perfect.wav" },
+            { "click", Constants.EFFECT_PATH + "click.wav" },
+
+            // UI 관련 효과음
+            { "pause", Constants.EFFECT_PATH + "pause.wav" },
+            { "resume", Constants.EFFECT_PATH + "resume.wav" },
+            { "menu_select", Constants.EFFECT_PATH + "menu_select.wav" },
+            { "menu_back", Constants.EFFECT_PATH + "menu_back.wav" },
+            { "button_hover", Constants.EFFECT_PATH + "button_hover.wav" },
+            { "confirm", Constants.EFFECT_PATH + "confirm.wav" },
+            { "cancel", Constants.EFFECT_PATH + "cancel.wav" },
+    };
+
+    // 새로운 이펙트 사운드들 (MP3 파일, Mp3Player에 등록)
+    private static final String[][] MP3_SOUND_FILES = {
+            { "Click", Constants.EFFECT_PATH + "Click.mp3" },
+            { "FarmUp", Constants.EFFECT_PATH + "FarmUp.mp3" },
+            { "Over", Constants.EFFECT_PATH + "Over.mp3" },
+            { "success", Constants.EFFECT_PATH + "success.mp3" },
+            { "Touch", Constants.EFFECT_PATH + "Touch.mp3" },
+    };
+
 
     // 게임 음악 종료 리스너 인터페이스
     public interface GameMusicEndListener {
@@ -31,82 +69,92 @@ public class AudioManager {
     }
 
     public AudioManager() {
-        soundEffects = new HashMap<>();
+        long constructNanos = StartupProfiler.begin();
+        soundEffects = new ConcurrentHashMap<>();
         soundEnabled = true;
         musicEnabled = true;
         soundVolume = 1.0f; // 최대 볼륨으로 설정
         musicVolume = 0.7f;
-        mp3Player = new Mp3Player();
-        previewPlayer = new PreviewPlayer();
+        audioEngine = new AudioEngine();
+        sfxMixer = new SfxMixer(audioEngine);
+        sfxMixer.setMasterGain(soundVolume);
+        mp3Player = new Mp3Player(audioEngine, sfxMixer);
+        mp3Player.setMusicVolume(musicVolume);
+        previewPlayer = new PreviewPlayer(audioEngine);
+        metronome = new Metronome(audioEngine);
 
         // Mp3Player에 음악 종료 리스너 설정
         mp3Player.setMusicEndListener(() -> {
-            if (gameMusicEndListener != null) {
-                gameMusicEndListener.onGameMusicEnd();
+            GameMusicEndListener listener = gameMusicEndListener;
+            if (listener != null) {
+                listener.onGameMusicEnd();
             }
         });
+        StartupProfiler.end("오디오 객체 생성", constructNanos);
 
-        System.out.println("=== AudioManager 초기화 시작 ===");
-        loadSoundEffects();
-
-        // 테스트 사운드 재생
-        System.out.println("사운드 시스템 테스트...");
-        testSoundSystem();
-        System.out.println("=== AudioManager 초기화 완료 ===");
+        System.out.println("=== AudioManager 초기화 시작 (백그라운드) ===");
+        initialization = initializeAsync();
     }
 
     /**
-     * 사운드 시스템이 정상 작동하는지 테스트합니다
+     * 출력 라인 열기와 효과음 로드를 백그라운드 스레드에서 병렬로 진행합니다
+     * 출력 라인을 여는 동안 들어온 재생 요청은 엔진이 받아 두었다가 실행하고,
+     * 효과음은 로드가 끝나는 대로 하나씩 사용할 수 있게 됩니다 (그 전의 재생 요청은 재생되지 않음)
      */
-    private void testSoundSystem() {
-        System.out.println("로드된 사운드 효과 수: " + soundEffects.size());
-        for (String name : soundEffects.keySet()) {
-            System.out.println("- " + name);
-        }
+    private CompletableFuture<Void> initializeAsync() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREADS, r -> {
+            Thread thread = new Thread(r, "AudioLoader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        // 간단한 테스트 사운드 재생
-        try {
-            Thread.sleep(500); // 초기화 대기
-            System.out.println("테스트 사운드 재생 시도...");
-            playSoundEffect("click");
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        long engineNanos = StartupProfiler.begin();
+        CompletableFuture<Boolean> engineStart = audioEngine.startAsync(loader).whenComplete(
+                (started, error) -> StartupProfiler.end("오디오 출력 라인 열기", engineNanos));
+
+        long effectsNanos = StartupProfiler.begin();
+        List<CompletableFuture<Void>> effects = new ArrayList<>();
+        // 디코딩이 오래 걸리는 MP3를 먼저 넣어 전체 로드 시간을 줄임
+        for (String[] effect : MP3_SOUND_FILES) {
+            effects.add(CompletableFuture.runAsync(() -> registerMp3Sound(effect[0], effect[1]), loader));
+        }
+        for (String[] effect : SOUND_EFFECT_FILES) {
+            effects.add(CompletableFuture.runAsync(() -> loadSoundEffect(effect[0], effect[1]), loader));
         }
+        CompletableFuture<Void> effectsLoaded = CompletableFuture
+                .allOf(effects.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> StartupProfiler.end(
+                        "효과음 로드 (" + effects.size() + "개, " + LOADER_THREADS + "스레드)", effectsNanos));
+
+        return CompletableFuture.allOf(engineStart, effectsLoaded).whenComplete((ignored, error) -> {
+            loader.shutdown();
+            if (error != null) {
+                System.err.println("오디오 초기화 중 오류: " + error.getMessage());
+            }
+            testSoundSystem();
+            System.out.println("=== AudioManager 초기화 완료 ===");
+        });
     }
 
     /**
-     * 효과음을 미리 로드합니다
+     * 출력 라인과 효과음이 모두 준비되면 완료되는 Future
      */
-    private void loadSoundEffects() {
-        // 기본 효과음 파일들 (WAV 파일)
-        loadSoundEffect("hit", Constants.EFFECT_PATH + "hit.wav");
-        loadSoundEffect("miss", Constants.EFFECT_PATH + "miss.wav");
-        loadSoundEffect("perfect", Constants.EFFECT_PATH + "perfect.wav");
-        loadSoundEffect("click", Constants.EFFECT_PATH + "click.wav");
-
-        // MP3 파일들을 Mp3Player에 등록
-        registerMp3Sounds();
-
-        // UI 관련 효과음
-        loadSoundEffect("pause", Constants.EFFECT_PATH + "pause.wav");
-        loadSoundEffect("resume", Constants.EFFECT_PATH + "resume.wav");
-        loadSoundEffect("menu_select", Constants.EFFECT_PATH + "menu_select.wav");
-        loadSoundEffect("menu_back", Constants.EFFECT_PATH + "menu_back.wav");
-        loadSoundEffect("button_hover", Constants.EFFECT_PATH + "button_hover.wav");
-        loadSoundEffect("confirm", Constants.EFFECT_PATH + "confirm.wav");
-        loadSoundEffect("cancel", Constants.EFFECT_PATH + "cancel.wav");
+    public CompletableFuture<Void> whenReady() {
+        return initialization;
     }
 
     /**
-     * MP3 파일들을 Mp3Player에 등록합니다
+     * 로드된 효과음을 출력하고 테스트 사운드를 재생합니다 (초기화를 마친 스레드에서 호출, 기다리지 않음)
      */
-    private void registerMp3Sounds() {
-        // 새로운 이펙트 사운드들 (MP3 파일)
-        registerMp3Sound("Click", Constants.EFFECT_PATH + "Click.mp3");
-        registerMp3Sound("FarmUp", Constants.EFFECT_PATH + "FarmUp.mp3");
-        registerMp3Sound("Over", Constants.EFFECT_PATH + "Over.mp3");
-        registerMp3Sound("success", Constants.EFFECT_PATH + "success.mp3");
-        registerMp3Sound("Touch", Constants.EFFECT_PATH + "Touch.mp3");
+    private void testSoundSystem() {
+        System.out.println("로드된 사운드 효과 수: " + soundEffects.size());
+        for (String name : soundEffects.keySet()) {
+            System.out.println("- " + name);
+        }
+
+        System.out.println("테스트 사운드 재생 시도...");
+        playSoundEffect("click");
     }
 
     /**
@@ -114,106 +162,80 @@ public class AudioManager {
      */
     private void registerMp3Sound(String name, String filePath) {
         File soundFile = new File(filePath);
-        if (soundFile.exists()) {
-            mp3Player.registerSound(name, filePath);
+        if (soundFile.exists() && mp3Player.registerSound(name, filePath)) {
             System.out.println("MP3 사운드 등록 완료: " + name);
         } else {
-            System.err.println("MP3 파일을 찾을 수 없음: " + filePath);
+            System.err.println("MP3 파일을 사용할 수 없음: " + filePath);
             // 대체 사운드 생성
-            Clip clip = generateSoundEffect(name);
-            if (clip != null) {
-                setClipVolume(clip, soundVolume);
-                soundEffects.put(name, clip);
-                System.out.println("대체 사운드 생성: " + name);
-            }
+            soundEffects.put(name, sfxMixer.register(generateSoundEffect(name), SoundGenerator.CHANNELS,
+                    SoundGenerator.SAMPLE_RATE));
+            System.out.println("대체 사운드 생성: " + name);
         }
     }
 
     /**
-     * 효과음 파일을 로드합니다
+     * 효과음 파일을 믹서의 샘플로 디코딩해 등록합니다
+     * 파일이 없거나 읽을 수 없으면 프로그래밍적으로 생성한 사운드를 등록합니다
      */
     private void loadSoundEffect(String name, String filePath) {
-        try {
-            File soundFile = new File(filePath);
-            Clip clip = null;
-
-            if (soundFile.exists()) {
-                // MP3 파일인 경우 특별 처리
-                if (filePath.toLowerCase().endsWith(".mp3")) {
-                    System.out.println("MP3 파일 로드 시도: " + filePath);
-                    // MP3 파일은 현재 Java AudioSystem에서 직접 지원하지 않음
-                    // 대신 프로그래밍적으로 생성된 사운드를 사용
-                    clip = generateSoundEffect(name);
-                } else {
-                    // WAV 및 기타 지원 파일
-                    AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile);
-                    clip = AudioSystem.getClip();
-                    clip.open(audioStream);
-                }
-            } else {
-                // 파일이 없는 경우 프로그래밍적으로 생성
-                clip = generateSoundEffect(name);
-            }
-
-            if (clip != null) {
-                // 볼륨 조절
-                setClipVolume(clip, soundVolume);
-                soundEffects.put(name, clip);
+        File soundFile = new File(filePath);
+        if (soundFile.exists() && !filePath.toLowerCase().endsWith(".mp3")) {
+            try {
+                soundEffects.put(name, sfxMixer.load(soundFile));
                 System.out.println("사운드 로드 성공: " + name);
-            }
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.out.println("파일 로드 실패, 대체 사운드 생성: " + name);
-            // 파일 로드 실패 시 프로그래밍적으로 생성
-            Clip clip = generateSoundEffect(name);
-            if (clip != null) {
-                setClipVolume(clip, soundVolume);
-                soundEffects.put(name, clip);
+                return;
+            } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                System.out.println("파일 로드 실패, 대체 사운드 생성: " + name);
             }
         }
+
+        // 파일이 없는 경우 프로그래밍적으로 생성
+        soundEffects.put(name, sfxMixer.register(generateSoundEffect(name), SoundGenerator.CHANNELS,
+                SoundGenerator.SAMPLE_RATE));
     }
 
     /**
-     * 사운드 이름에 따라 프로그래밍적으로 효과음을 생성합니다
+     * 사운드 이름에 따라 프로그래밍적으로 효과음 샘플을 생성합니다
      */
-    private Clip generateSoundEffect(String name) {
+    private short[] generateSoundEffect(String name) {
         switch (name) {
             case "click":
-                return SoundGenerator.generateTone(800, 100, 0.5); // 볼륨 감소
+                return SoundGenerator.generateTonePcm(800, 100, 0.5); // 볼륨 감소
             case "button_hover":
-                return SoundGenerator.generateTone(900, 80, 0.5); // 볼륨 감소
+                return SoundGenerator.generateTonePcm(900, 80, 0.5); // 볼륨 감소
             case "pause":
-                return SoundGenerator.generateTone(300, 200, 0.5); // 볼륨 감소
+                return SoundGenerator.generateTonePcm(300, 200, 0.5); // 볼륨 감소
             case "resume":
-                return SoundGenerator.generateTone(500, 150, 0.5); // 볼륨 감소
+                return SoundGenerator.generateTonePcm(500, 150, 0.5); // 볼륨 감소
             case "confirm":
-                return SoundGenerator.generateConfirmSound();
+                return SoundGenerator.generateConfirmPcm();
             case "cancel":
-                return SoundGenerator.generateCancelSound();
+                return SoundGenerator.generateCancelPcm();
             case "menu_select":
-                return SoundGenerator.generateTone(700, 120, 0.4); // 볼륨 감소
+                return SoundGenerator.generateTonePcm(700, 120, 0.4); // 볼륨 감소
             case "menu_back":
-                return SoundGenerator.generateTone(400, 120, 0.4); // 더 낮은 주파수와 볼륨으로 부드럽게
+                return SoundGenerator.generateTonePcm(400, 120, 0.4); // 더 낮은 주파수와 볼륨으로 부드럽게
             case "hit":
-                return SoundGenerator.generateTone(440, 100, 0.7);
+                return SoundGenerator.generateTonePcm(440, 100, 0.7);
             case "miss":
-                return SoundGenerator.generateTone(200, 200, 0.7);
+                return SoundGenerator.generateTonePcm(200, 200, 0.7);
             case "perfect":
-                return SoundGenerator.generateConfirmSound();
+                return SoundGenerator.generateConfirmPcm();
 
             // 새로운 효과음들
             case "Click":
-                return SoundGenerator.generateTone(900, 80, 0.8); // 높은 톤의 클릭음
+                return SoundGenerator.generateTonePcm(900, 80, 0.8); // 높은 톤의 클릭음
             case "FarmUp":
-                return SoundGenerator.generateConfirmSound(); // 팜업 = 성공음
+                return SoundGenerator.generateConfirmPcm(); // 팜업 = 성공음
             case "Over":
-                return SoundGenerator.generateCancelSound(); // 게임 오버 = 실패음
+                return SoundGenerator.generateCancelPcm(); // 게임 오버 = 실패음
             case "success":
-                return SoundGenerator.generateSuccessSound(); // 성공음
+                return SoundGenerator.generateSuccessPcm(); // 성공음
             case "Touch":
-                return SoundGenerator.generateTone(750, 120, 0.6); // 터치음
+                return SoundGenerator.generateTonePcm(750, 120, 0.6); // 터치음
 
             default:
-                return SoundGenerator.generateTone(800, 100, 0.7);
+                return SoundGenerator.generateTonePcm(800, 100, 0.7);
         }
     }
 
@@ -232,24 +254,23 @@ public class AudioManager {
      */
     public void loadAndPlayBackgroundMusic(String filePath, boolean loop) {
         try {
-            stopBackgroundMusic(); // 기존 음악 정지
+            // 기존 Clip 음악 정지 (MP3 음악은 Mp3Player가 출력 라인을 유지한 채 전환)
+            stopClipMusic();
 
             // 여러 경로에서 파일 찾기
             File musicFile = findMusicFile(filePath);
             if (musicFile != null && musicFile.exists()) {
                 System.out.println("배경음악 로드: " + musicFile.getAbsolutePath());
 
-                if (filePath.toLowerCase().endsWith(".mp3")) {
-                    // MP3 파일 처리 - Mp3Player를 사용하여 재생
-                    System.out.println("MP3 파일 감지됨. Mp3Player로 재생합니다. (루프: " + loop + ")");
-                    try {
-                        mp3Player.playGameMusic(musicFile.getAbsolutePath(), loop);
-                        System.out.println("MP3 배경음악 재생 시작: " + musicFile.getAbsolutePath());
+                if (PcmStream.isSupported(musicFile.getName())) {
+                    // MP3, WAV, AIFF는 디스크에서 스트리밍 재생 (곡 전체를 메모리에 올리지 않음)
+                    System.out.println("스트리밍 재생 (루프: " + loop + ")");
+                    if (mp3Player.playGameMusic(musicFile.getAbsolutePath(), loop)) {
+                        System.out.println("배경음악 스트리밍 시작: " + musicFile.getAbsolutePath());
                         return;
-                    } catch (Exception e) {
-                        System.err.println("MP3 재생 실패: " + e.getMessage());
+                    } else if (isCompressedMusic(musicFile.getName())) {
                         System.out.println("기본 배경음악으로 대체 재생합니다.");
-                        // MP3 재생 실패 시 기본 배경음악 재생
+                        // MP3/OGG 재생 실패 시 기본 배경음악 재생 (Clip으로는 재생할 수 없는 형식)
                         File fallbackFile = findMusicFile("game_bgm.wav");
                         if (fallbackFile != null && fallbackFile.exists()) {
                             musicFile = fallbackFile;
@@ -260,7 +281,8 @@ public class AudioManager {
                     }
                 }
 
-                // WAV, AU 등 기본 지원 파일은 기존 방식으로 재생
+                // 스트리밍할 수 없는 형식(AU, 압축 WAV 등)은 Clip으로 재생
+                mp3Player.stopGameMusic();
                 AudioInputStream audioStream = AudioSystem.getAudioInputStream(musicFile);
                 backgroundMusic = AudioSystem.getClip();
                 backgroundMusic.open(audioStream);
@@ -288,6 +310,14 @@ public class AudioManager {
         }
     }
 
+    /**
+     * Java Sound의 Clip으로는 열 수 없는 압축 음악 형식인지 확인합니다
+     */
+    private static boolean isCompressedMusic(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".mp3") || name.endsWith(".ogg");
+    }
+
     /**
      * 여러 경로에서 음악 파일을 찾습니다
      */
@@ -319,56 +349,29 @@ public class AudioManager {
 
     /**
      * 효과음을 재생합니다
+     * 믹서에 재생을 요청하고 바로 반환하므로 같은 효과음을 빠르게 연속 재생해도 겹쳐서 들립니다
      */
     public void playSoundEffect(String name) {
         if (!soundEnabled)
             return;
 
-        // 중복 재생 방지
-        long currentTime = System.currentTimeMillis();
-        if (name.equals(lastSoundType) && (currentTime - lastSoundPlayTime) < SOUND_COOLDOWN) {
-            System.out.println("사운드 재생 쿨다운 중: " + name);
-            return;
-        }
-
-        lastSoundType = name;
-        lastSoundPlayTime = currentTime;
-
-        Clip clip = soundEffects.get(name);
-        if (clip != null) {
-            try {
-                // 동시 재생 방지를 위한 동기화
-                synchronized (clip) {
-                    if (clip.isRunning()) {
-                        clip.stop();
-                        Thread.sleep(10); // 짧은 대기
-                    }
-                    clip.setFramePosition(0);
-                    clip.start();
-                }
-
-                // 디버그 메시지
-                System.out.println("사운드 재생: " + name);
-            } catch (Exception e) {
-                System.err.println("사운드 재생 실패: " + name + " - " + e.getMessage());
-            }
-        } else {
-            System.err.println("사운드 클립을 찾을 수 없음: " + name);
+        if (!tryPlaySoundEffect(name)) {
+            System.err.println("사운드 재생 실패: " + name);
         }
     }
 
     /**
      * 판정에 따른 효과음을 재생합니다
      */
-    public void playJudgmentSound(String judgment) {
+    public void playJudgmentSound(Judgment judgment) {
         switch (judgment) {
-            case "PERFECT":
+            case PERFECT:
                 playSoundEffect("perfect");
                 break;
-            case "GOOD":
+            case GOOD:
                 playSoundEffect("hit");
                 break;
-            case "MISS":
+            case MISS:
                 playSoundEffect("miss");
                 break;
         }
@@ -380,16 +383,6 @@ public class AudioManager {
     public void playUISound(String soundType) {
         System.out.println("UI 사운드 재생 요청: " + soundType);
 
-        // 중복 재생 방지 (같은 사운드가 너무 빠르게 연속 재생되는 것을 방지)
-        long currentTime = System.currentTimeMillis();
-        if (soundType.equals(lastSoundType) && (currentTime - lastSoundPlayTime) < SOUND_COOLDOWN) {
-            System.out.println("사운드 재생 쿨다운 중: " + soundType);
-            return;
-        }
-
-        lastSoundType = soundType;
-        lastSoundPlayTime = currentTime;
-
         // 먼저 기본 사운드 시스템 시도
         boolean soundPlayed = false;
         switch (soundType) {
@@ -449,29 +442,14 @@ public class AudioManager {
         if (!soundEnabled)
             return false;
 
-        Clip clip = soundEffects.get(name);
-        if (clip != null) {
-            try {
-                // 동시 재생 방지를 위한 동기화
-                synchronized (clip) {
-                    if (clip.isRunning()) {
-                        clip.stop();
-                        // 짧은 대기 시간으로 클립이 완전히 정지되도록 함
-                        Thread.sleep(10);
-                    }
-                    clip.setFramePosition(0);
-                    clip.start();
-                }
-                System.out.println("사운드 재생 성공: " + name);
-                return true;
-            } catch (Exception e) {
-                System.err.println("사운드 재생 실패: " + name + " - " + e.getMessage());
-                return false;
+        Integer sampleId = soundEffects.get(name);
+        if (sampleId == null) {
+            if (initialization != null && initialization.isDone()) {
+                System.err.println("사운드 샘플을 찾을 수 없음: " + name);
             }
-        } else {
-            System.err.println("사운드 클립을 찾을 수 없음: " + name);
-            return false;
+            return false; // 아직 로드 중인 효과음은 조용히 건너뜀
         }
+        return sfxMixer.play(sampleId);
     }
 
     /**
@@ -524,16 +502,40 @@ public class AudioManager {
         System.out.println("배경음악 재개");
     }
 
+    /**
+     * MP3 배경음악의 재생 위치를 옮깁니다
+     *
+     * @param millis 곡 처음부터의 위치 (밀리초)
+     */
+    public void seekBackgroundMusic(long millis) {
+        if (mp3Player != null) {
+            mp3Player.seekBackgroundMusic(millis);
+        }
+    }
+
+    /**
+     * 배경음악의 현재 출력 위치를 마이크로초로 반환합니다
+     * 게임 시계가 이 값을 기준으로 동기화됩니다
+     *
+     * @return 재생 위치, 재생 중인 배경음악이 없으면 -1
+     */
+    public long getMusicPositionMicros() {
+        Clip clip = backgroundMusic;
+        if (clip != null && clip.isRunning()) {
+            return clip.getMicrosecondPosition();
+        }
+
+        if (mp3Player != null) {
+            return mp3Player.getPlaybackPositionMicros();
+        }
+        return -1;
+    }
+
     /**
      * 배경음악을 정지합니다
      */
     public void stopBackgroundMusic() {
-        // Clip 타입 배경음악 정지
-        if (backgroundMusic != null) {
-            backgroundMusic.stop();
-            backgroundMusic.close();
-            backgroundMusic = null;
-        }
+        stopClipMusic();
 
         // MP3 배경음악 정지
         if (mp3Player != null) {
@@ -543,6 +545,24 @@ public class AudioManager {
         System.out.println("배경음악 정지");
     }
 
+    /**
+     * Clip 타입 배경음악을 정지합니다
+     */
+    private void stopClipMusic() {
+        if (backgroundMusic != null) {
+            backgroundMusic.stop();
+            backgroundMusic.close();
+            backgroundMusic = null;
+        }
+    }
+
+    /**
+     * 곡을 바꿀 때 MP3 배경음악을 겹쳐 전환할 길이를 설정합니다 (0이면 바로 전환)
+     */
+    public void setMusicCrossfadeMillis(int millis) {
+        mp3Player.setCrossfadeMillis(millis);
+    }
+
     /**
      * 클립의 볼륨을 설정합니다
      */
@@ -580,11 +600,6 @@ public class AudioManager {
     public void cleanup() {
         stopBackgroundMusic();
 
-        for (Clip clip : soundEffects.values()) {
-            if (clip != null) {
-                clip.close();
-            }
-        }
         soundEffects.clear();
 
         // MP3Player 리소스 정리
@@ -596,6 +611,9 @@ public class AudioManager {
         if (previewPlayer != null) {
             previewPlayer.cleanup();
         }
+
+        // 렌더 스레드와 출력 라인은 마지막에 정리
+        audioEngine.shutdown();
     }
 
     // Getters and Setters
@@ -633,15 +651,8 @@ public class AudioManager {
 
     public void setSoundVolume(float volume) {
         this.soundVolume = Math.max(0.0f, Math.min(1.0f, volume));
-        // 모든 효과음 볼륨 업데이트
-        for (Clip clip : soundEffects.values()) {
-            setClipVolume(clip, this.soundVolume);
-        }
-
-        // MP3Player 볼륨 업데이트
-        if (mp3Player != null) {
-            mp3Player.setVolume(this.soundVolume);
-        }
+        // 모든 효과음 볼륨 업데이트 (MP3 효과음도 SfxMixer로 재생됨)
+        sfxMixer.setMasterGain(this.soundVolume);
     }
 
     public void setMusicVolume(float volume) {
@@ -649,6 +660,9 @@ public class AudioManager {
         if (backgroundMusic != null) {
             setClipVolume(backgroundMusic, this.musicVolume);
         }
+        if (mp3Player != null) {
+            mp3Player.setMusicVolume(this.musicVolume);
+        }
     }
 
     /**
@@ -723,7 +737,6 @@ public class AudioManager {
      * 터치 입력 사운드를 재생합니다
      */
     public void playTouchSound() {
-        System.out.println("터치 사운드 재생");
         if (playMp3Sound("Touch")) {
             return; // MP3 재생 성공
         }
@@ -736,6 +749,16 @@ public class AudioManager {
         }
     }
 
+    /**
+     * 터치 입력 사운드를 재생하도록 요청하고 바로 반환합니다
+     * 미리 디코딩된 샘플을 믹서에 요청하기만 하므로 시뮬레이션 스레드에서 호출해도 됩니다
+     */
+    public void playTouchSoundAsync() {
+        if (soundEnabled) {
+            playTouchSound();
+        }
+    }
+
     /**
      * MP3 사운드를 재생하고 성공 여부를 반환합니다
      */
@@ -744,13 +767,7 @@ public class AudioManager {
             return false;
         }
 
-        try {
-            mp3Player.playSoundAsync(name);
-            return true;
-        } catch (Exception e) {
-            System.err.println("MP3 재생 실패: " + name + " - " + e.getMessage());
-            return false;
-        }
+        return mp3Player.playSoundAsync(name);
     }
 
     // =============== 미리듣기 기능 ===============
@@ -766,6 +783,22 @@ public class AudioManager {
         }
     }
 
+    /**
+     * 미리듣기 구간을 미리 디코딩해 캐시에 넣습니다 (호출한 스레드에서 실행)
+     */
+    public boolean prefetchPreview(String filePath) {
+        return previewPlayer != null && previewPlayer.prefetch(filePath);
+    }
+
+    /**
+     * 미리듣기를 자동으로 찾은 후렴 구간부터 재생할지 설정합니다
+     */
+    public void setPreviewChorusDetection(boolean enabled) {
+        if (previewPlayer != null) {
+            previewPlayer.setChorusDetection(enabled);
+        }
+    }
+
     /**
      * 미리듣기를 일시정지합니다
      */
@@ -832,6 +865,13 @@ public class AudioManager {
         return previewPlayer;
     }
 
+    /**
+     * 타이밍 보정용 메트로놈을 반환합니다
+     */
+    public Metronome getMetronome() {
+        return metronome;
+    }
+
     /**
      * 게임 음악 종료 리스너를 설정합니다
      */
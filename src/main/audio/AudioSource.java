@@ -0,0 +1,16 @@
+package main.audio;
+
+/**
+ * AudioEngine의 렌더 스레드가 블록마다 섞는 소리 공급원
+ */
+public interface AudioSource {
+
+    /**
+     * 한 블록의 소리를 믹스 버퍼에 더합니다 (렌더 스레드 전용, 막히면 안 됨)
+     *
+     * @param mix       인터리브된 스테레오 float 믹스 버퍼 (-1~1)
+     * @param frames    블록 프레임 수
+     * @param lineFrame 이 블록의 첫 프레임이 출력 라인에서 재생될 누적 프레임 위치
+     */
+    void render(float[] mix, int frames, long lineFrame);
+}
@@ -0,0 +1,123 @@
+package main.audio;
+
+/**
+ * 한 블록 크기의 역 MDCT (Vorbis 명세와 같은 정의, 정규화 없음)
+ *
+ * y[n] = sum X[k] cos(2π/N (n + 1/2 + N/4)(k + 1/2)) 를 N/4 점 복소 FFT로 계산합니다.
+ * 계수 N/2개의 DCT-IV를 구한 뒤 부호와 순서만 바꿔 N개의 출력으로 펼칩니다.
+ */
+public class Imdct {
+    private final int size; // 출력 샘플 수 N
+    private final int half; // 계수 수 N/2
+    private final int quarter; // FFT 크기 N/4
+
+    private final float[] preCos;
+    private final float[] preSin;
+    private final float[] postCos;
+    private final float[] postSin;
+    private final float[] fftCos;
+    private final float[] fftSin;
+    private final int[] bitReverse;
+
+    private final float[] re;
+    private final float[] im;
+    private final float[] dct;
+
+    public Imdct(int size) {
+        this.size = size;
+        this.half = size / 2;
+        this.quarter = size / 4;
+
+        preCos = new float[quarter];
+        preSin = new float[quarter];
+        postCos = new float[quarter];
+        postSin = new float[quarter];
+        for (int k = 0; k < quarter; k++) {
+            double pre = -Math.PI * (4 * k + 1) / (4.0 * half);
+            preCos[k] = (float) Math.cos(pre);
+            preSin[k] = (float) Math.sin(pre);
+            double post = -Math.PI * k / half;
+            postCos[k] = (float) Math.cos(post);
+            postSin[k] = (float) Math.sin(post);
+        }
+
+        fftCos = new float[quarter / 2];
+        fftSin = new float[quarter / 2];
+        for (int k = 0; k < quarter / 2; k++) {
+            fftCos[k] = (float) Math.cos(-2 * Math.PI * k / quarter);
+            fftSin[k] = (float) Math.sin(-2 * Math.PI * k / quarter);
+        }
+        bitReverse = new int[quarter];
+        int bits = Integer.numberOfTrailingZeros(quarter);
+        for (int i = 0; i < quarter; i++) {
+            bitReverse[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+        }
+
+        re = new float[quarter];
+        im = new float[quarter];
+        dct = new float[half];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 계수 N/2개를 시간 영역 샘플 N개로 변환합니다
+     */
+    public void inverse(float[] coefficients, float[] output) {
+        // DCT-IV: 짝수 계수와 뒤집은 홀수 계수를 복소수로 묶어 사전 회전
+        for (int k = 0; k < quarter; k++) {
+            float a = coefficients[2 * k];
+            float b = coefficients[half - 1 - 2 * k];
+            int j = bitReverse[k];
+            re[j] = a * preCos[k] - b * preSin[k];
+            im[j] = a * preSin[k] + b * preCos[k];
+        }
+
+        fft();
+
+        for (int k = 0; k < quarter; k++) {
+            float a = re[k] * postCos[k] - im[k] * postSin[k];
+            float b = re[k] * postSin[k] + im[k] * postCos[k];
+            dct[2 * k] = a;
+            dct[half - 1 - 2 * k] = -b;
+        }
+
+        // DCT-IV 결과를 MDCT 출력 순서로 펼침
+        int halfOfHalf = half / 2;
+        for (int n = 0; n < halfOfHalf; n++) {
+            output[n] = dct[n + halfOfHalf];
+        }
+        for (int n = halfOfHalf; n < half + halfOfHalf; n++) {
+            output[n] = -dct[half + halfOfHalf - 1 - n];
+        }
+        for (int n = half + halfOfHalf; n < size; n++) {
+            output[n] = -dct[n - half - halfOfHalf];
+        }
+    }
+
+    /**
+     * 비트 반전 순서로 놓인 re/im에 대한 제자리 기수 2 FFT
+     */
+    private void fft() {
+        for (int length = 2; length <= quarter; length <<= 1) {
+            int halfLength = length >> 1;
+            int step = quarter / length;
+            for (int start = 0; start < quarter; start += length) {
+                for (int k = 0; k < halfLength; k++) {
+                    float wr = fftCos[k * step];
+                    float wi = fftSin[k * step];
+                    int a = start + k;
+                    int b = a + halfLength;
+                    float tr = re[b] * wr - im[b] * wi;
+                    float ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
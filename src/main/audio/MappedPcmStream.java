@@ -0,0 +1,279 @@
+package main.audio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * WAV/AIFF 파일의 샘플 데이터를 메모리 매핑으로 읽는 스트림
+ *
+ * 헤더의 청크만 해석하고 데이터 청크는 매핑만 해 두므로 곡 길이와 관계없이 바로 열리며,
+ * 실제로 읽는 부분만 운영체제가 페이지 단위로 불러옵니다. 힙에는 곡 데이터를 올리지 않고,
+ * 이동은 위치만 바꾸면 됩니다.
+ *
+ * 지원 형식: 8/16/24/32비트 정수 PCM, 32/64비트 부동소수 PCM
+ * (WAV는 WAVE_FORMAT_EXTENSIBLE 포함, AIFF-C는 압축 없음/sowt/fl32/fl64)
+ */
+public class MappedPcmStream implements PcmStream {
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final File file;
+    private final ByteBuffer data;
+    private final int sampleRate;
+    private final int channels;
+    private final int bytesPerSample;
+    private final boolean floatingPoint;
+    private final boolean unsigned8; // WAV 8비트는 부호 없음
+    private final int frameSize;
+    private final long totalFrames;
+    private long position;
+
+    public MappedPcmStream(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 1 << 20));
+            Format format = readFormat(header, channel.size());
+
+            long length = Math.min(format.dataLength, channel.size() - format.dataOffset);
+            length = Math.min(length, Integer.MAX_VALUE) / format.frameSize() * format.frameSize();
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, format.dataOffset, length);
+            mapped.order(format.bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+            this.data = mapped;
+            this.sampleRate = format.sampleRate;
+            this.channels = format.channels;
+            this.bytesPerSample = format.bitsPerSample / 8;
+            this.floatingPoint = format.floatingPoint;
+            this.unsigned8 = format.unsigned8;
+            this.frameSize = format.frameSize();
+            this.totalFrames = length / frameSize;
+        }
+    }
+
+    // =============== 헤더 해석 ===============
+
+    private static class Format {
+        int channels;
+        int sampleRate;
+        int bitsPerSample;
+        boolean floatingPoint;
+        boolean bigEndian;
+        boolean unsigned8;
+        long dataOffset = -1;
+        long dataLength;
+
+        int frameSize() {
+            return channels * (bitsPerSample / 8);
+        }
+    }
+
+    private Format readFormat(ByteBuffer header, long fileSize) throws IOException {
+        if (header.limit() < 12) {
+            throw new IOException("오디오 파일 헤더가 너무 짧습니다: " + file.getName());
+        }
+        String riff = fourCC(header, 0);
+        String type = fourCC(header, 8);
+
+        Format format;
+        if (riff.equals("RIFF") && type.equals("WAVE")) {
+            format = readWave(header.order(ByteOrder.LITTLE_ENDIAN), fileSize);
+        } else if (riff.equals("FORM") && (type.equals("AIFF") || type.equals("AIFC"))) {
+            format = readAiff(header.order(ByteOrder.BIG_ENDIAN), fileSize, type.equals("AIFC"));
+        } else {
+            throw new IOException("WAV/AIFF 파일이 아닙니다: " + file.getName());
+        }
+
+        int bits = format.bitsPerSample;
+        boolean validBits = format.floatingPoint ? (bits == 32 || bits == 64)
+                : (bits == 8 || bits == 16 || bits == 24 || bits == 32);
+        if (format.channels <= 0 || format.sampleRate <= 0 || !validBits) {
+            throw new IOException("지원하지 않는 PCM 형식입니다: " + file.getName() + " (" + format.channels + "채널, "
+                    + bits + "비트" + (format.floatingPoint ? " float" : "") + ")");
+        }
+        if (format.dataOffset < 0) {
+            throw new IOException("샘플 데이터가 없습니다: " + file.getName());
+        }
+        return format;
+    }
+
+    private Format readWave(ByteBuffer header, long fileSize) throws IOException {
+        Format format = new Format();
+        boolean hasFormat = false;
+        int offset = 12;
+
+        while (offset + 8 <= header.limit()) {
+            String id = fourCC(header, offset);
+            long size = header.getInt(offset + 4) & 0xFFFFFFFFL;
+            int body = offset + 8;
+
+            if (id.equals("fmt ")) {
+                int code = header.getShort(body) & 0xFFFF;
+                format.channels = header.getShort(body + 2);
+                format.sampleRate = header.getInt(body + 4);
+                format.bitsPerSample = header.getShort(body + 14);
+                if (code == WAVE_FORMAT_EXTENSIBLE && size >= 26) {
+                    code = header.getShort(body + 24) & 0xFFFF; // 하위 형식 GUID의 앞 2바이트
+                }
+                if (code != WAVE_FORMAT_PCM && code != WAVE_FORMAT_IEEE_FLOAT) {
+                    throw new IOException("압축된 WAV는 스트리밍할 수 없습니다: " + file.getName() + " (형식 " + code + ")");
+                }
+                format.floatingPoint = code == WAVE_FORMAT_IEEE_FLOAT;
+                format.unsigned8 = format.bitsPerSample == 8;
+                hasFormat = true;
+            } else if (id.equals("data")) {
+                format.dataOffset = body;
+                format.dataLength = size == 0xFFFFFFFFL ? fileSize - body : size; // 길이를 모르고 기록된 파일
+                break;
+            }
+            offset = (int) Math.min(Integer.MAX_VALUE, body + size + (size & 1));
+        }
+
+        if (!hasFormat) {
+            throw new IOException("WAV fmt 청크가 없습니다: " + file.getName());
+        }
+        return format;
+    }
+
+    private Format readAiff(ByteBuffer header, long fileSize, boolean compressed) throws IOException {
+        Format format = new Format();
+        format.bigEndian = true;
+        boolean hasFormat = false;
+        int offset = 12;
+
+        while (offset + 8 <= header.limit()) {
+            String id = fourCC(header, offset);
+            long size = header.getInt(offset + 4) & 0xFFFFFFFFL;
+            int body = offset + 8;
+
+            if (id.equals("COMM")) {
+                format.channels = header.getShort(body);
+                format.bitsPerSample = (header.getShort(body + 6) + 7) / 8 * 8;
+                format.sampleRate = (int) Math.round(readExtended(header, body + 8));
+                if (compressed && size >= 22) {
+                    String compression = fourCC(header, body + 18);
+                    switch (compression) {
+                        case "NONE":
+                            break;
+                        case "sowt":
+                            format.bigEndian = false;
+                            break;
+                        case "fl32":
+                        case "FL32":
+                        case "fl64":
+                        case "FL64":
+                            format.floatingPoint = true;
+                            break;
+                        default:
+                            throw new IOException("압축된 AIFF는 스트리밍할 수 없습니다: " + file.getName() + " ("
+                                    + compression + ")");
+                    }
+                }
+                hasFormat = true;
+            } else if (id.equals("SSND")) {
+                long dataOffset = header.getInt(body) & 0xFFFFFFFFL;
+                format.dataOffset = body + 8 + dataOffset;
+                format.dataLength = Math.min(size - 8 - dataOffset, fileSize - format.dataOffset);
+                if (hasFormat) {
+                    break;
+                }
+            }
+            offset = (int) Math.min(Integer.MAX_VALUE, body + size + (size & 1));
+        }
+
+        if (!hasFormat) {
+            throw new IOException("AIFF COMM 청크가 없습니다: " + file.getName());
+        }
+        return format;
+    }
+
+    /**
+     * AIFF 샘플레이트에 쓰이는 80비트 확장 정밀도 부동소수를 읽습니다
+     */
+    private static double readExtended(ByteBuffer buffer, int offset) {
+        int exponent = ((buffer.get(offset) & 0x7F) << 8 | (buffer.get(offset + 1) & 0xFF)) - 16383;
+        long mantissa = buffer.getLong(offset + 2);
+        return Math.scalb((double) (mantissa >>> 11), exponent - 52);
+    }
+
+    private static String fourCC(ByteBuffer buffer, int offset) {
+        char[] id = new char[4];
+        for (int i = 0; i < 4; i++) {
+            id[i] = (char) (buffer.get(offset + i) & 0xFF);
+        }
+        return new String(id);
+    }
+
+    // =============== 읽기 ===============
+
+    @Override
+    public void seek(long sample) {
+        position = Math.max(0, Math.min(totalFrames, sample));
+    }
+
+    @Override
+    public int read(short[] buffer, int offset, int length) {
+        int frames = (int) Math.min(length / channels, totalFrames - position);
+        if (frames <= 0) {
+            return -1;
+        }
+
+        int byteOffset = (int) (position * frameSize);
+        int count = frames * channels;
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = readSample(byteOffset + i * bytesPerSample);
+        }
+        position += frames;
+        return count;
+    }
+
+    private short readSample(int at) {
+        if (floatingPoint) {
+            double value = bytesPerSample == 4 ? data.getFloat(at) : data.getDouble(at);
+            return (short) Math.max(-32768, Math.min(32767, Math.round(value * 32767.0)));
+        }
+        switch (bytesPerSample) {
+            case 1:
+                return (short) (unsigned8 ? ((data.get(at) & 0xFF) - 128) << 8 : data.get(at) << 8);
+            case 2:
+                return data.getShort(at);
+            case 3:
+                // 상위 16비트만 사용
+                return data.order() == ByteOrder.LITTLE_ENDIAN
+                        ? (short) ((data.get(at + 2) << 8) | (data.get(at + 1) & 0xFF))
+                        : (short) ((data.get(at) << 8) | (data.get(at + 1) & 0xFF));
+            default:
+                return (short) (data.getInt(at) >> 16);
+        }
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    @Override
+    public long getTotalSamples() {
+        return totalFrames;
+    }
+
+    @Override
+    public void close() {
+        // 매핑은 버퍼가 수거될 때 해제되며 파일 채널은 생성자에서 이미 닫힘
+    }
+}
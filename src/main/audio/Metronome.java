@@ -0,0 +1,144 @@
+package main.audio;
+
+/**
+ * 타이밍 보정용 메트로놈 (AudioEngine의 소리 공급원)
+ *
+ * 게임 음악과 같은 출력 경로로 클릭을 내보내며, 클릭은 블록 경계가 아니라 정확한 프레임 위치에서 시작합니다.
+ * 재생 위치는 출력 라인이 실제로 재생한 프레임 수로 계산하므로, 게임 시계에 연결하면
+ * 게임 중 판정과 같은 기준으로 탭 시각을 잴 수 있습니다. 음소거해도 위치는 계속 진행합니다.
+ */
+public class Metronome implements AudioSource {
+    private static final int BEATS_PER_BAR = 4;
+    private static final float CLICK_GAIN = 0.6f;
+
+    private final AudioEngine engine;
+    private final float[] click = generateClick(1500, 30);
+    private final float[] accentClick = generateClick(2200, 30);
+
+    private volatile boolean muted;
+    private volatile boolean playing;
+    private volatile long startLineFrame = -1; // 첫 박자가 재생되는 출력 라인 프레임 (렌더 스레드가 정함)
+
+    // 렌더 스레드 전용
+    private boolean active;
+    private double beatIntervalFrames;
+    private long beat; // 다음에 시작할 박자 번호
+    private long nextBeatFrame;
+    private float[] voice;
+    private int voicePosition;
+
+    public Metronome(AudioEngine engine) {
+        this.engine = engine;
+        engine.addSource(this);
+    }
+
+    /**
+     * 메트로놈을 처음부터 시작합니다 (첫 박자가 위치 0)
+     *
+     * @return 오디오 엔진이 동작하지 않으면 false
+     */
+    public boolean start(double bpm) {
+        double intervalFrames = AudioEngine.SAMPLE_RATE * 60.0 / bpm;
+        startLineFrame = -1;
+        playing = engine.submit(() -> {
+            active = true;
+            beatIntervalFrames = intervalFrames;
+            beat = 0;
+            nextBeatFrame = -1;
+            voice = null;
+        });
+        return playing;
+    }
+
+    public void stop() {
+        playing = false;
+        engine.submit(() -> {
+            active = false;
+            voice = null;
+        });
+    }
+
+    /**
+     * 클릭 소리만 끄거나 켭니다 (박자와 위치는 그대로 진행)
+     */
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+
+    /**
+     * 첫 박자 이후 출력 라인에서 재생된 시간 (마이크로초)
+     *
+     * @return 재생 중이 아니면 -1
+     */
+    public long getPositionMicros() {
+        long start = startLineFrame;
+        if (!playing || start < 0) {
+            return -1;
+        }
+        long played = engine.getPlayedFrames() - start;
+        return played < 0 ? -1 : (long) (played * 1_000_000L / AudioEngine.SAMPLE_RATE);
+    }
+
+    // =============== 렌더 스레드 ===============
+
+    @Override
+    public void render(float[] mix, int frames, long lineFrame) {
+        if (!active) {
+            return;
+        }
+        if (nextBeatFrame < 0) {
+            nextBeatFrame = lineFrame;
+            startLineFrame = lineFrame;
+        }
+
+        boolean silent = muted;
+        int offset = 0;
+        while (offset < frames) {
+            long blockEnd = lineFrame + frames;
+            int end = nextBeatFrame < blockEnd ? (int) (nextBeatFrame - lineFrame) : frames;
+            if (!silent) {
+                mixVoice(mix, offset, end);
+            }
+            offset = end;
+
+            if (offset < frames) {
+                voice = beat % BEATS_PER_BAR == 0 ? accentClick : click;
+                voicePosition = 0;
+                beat++;
+                nextBeatFrame = startLineFrame + Math.round(beat * beatIntervalFrames);
+            }
+        }
+    }
+
+    private void mixVoice(float[] mix, int from, int to) {
+        float[] data = voice;
+        if (data == null) {
+            return;
+        }
+        int count = Math.min(to - from, data.length - voicePosition);
+        for (int i = 0; i < count; i++) {
+            float value = data[voicePosition + i] * CLICK_GAIN;
+            int index = (from + i) * AudioEngine.CHANNELS;
+            mix[index] += value;
+            mix[index + 1] += value;
+        }
+        voicePosition += count;
+        if (voicePosition >= data.length) {
+            voice = null;
+        }
+    }
+
+    /**
+     * 빠르게 감쇠하는 사인파 클릭 (시작이 뚜렷해야 탭 기준점이 분명함)
+     */
+    private static float[] generateClick(double frequency, int durationMs) {
+        int length = (int) (AudioEngine.SAMPLE_RATE * durationMs / 1000);
+        float[] samples = new float[length];
+        double decay = 5.0 / length;
+        for (int i = 0; i < length; i++) {
+            double angle = 2.0 * Math.PI * i * frequency / AudioEngine.SAMPLE_RATE;
+            samples[i] = (float) (Math.sin(angle) * Math.exp(-i * decay));
+        }
+        return samples;
+    }
+}
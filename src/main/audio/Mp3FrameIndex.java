@@ -0,0 +1,373 @@
+package main.audio;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MP3 파일의 프레임별 바이트 위치 색인
+ *
+ * 오디오를 디코딩하지 않고 프레임 헤더만 읽어 각 프레임의 시작 위치를 기록합니다.
+ * 모든 프레임의 샘플 수가 같으므로 샘플 위치로 프레임을 바로 찾을 수 있어
+ * 임의의 위치로 이동(seek)할 때 처음부터 디코딩할 필요가 없습니다.
+ * 첫 프레임이 Xing/Info 헤더 프레임이면 오디오가 아니므로 색인에서 빼고, LAME 태그가 있으면
+ * 인코더 지연과 끝 패딩을 읽어 앞뒤로 잘라낼 샘플 수를 기록합니다 (루프 이음매에 무음이 생기지 않도록).
+ * 색인은 파일 경로, 크기, 수정 시각을 기준으로 캐시됩니다.
+ */
+public class Mp3FrameIndex {
+    private static final int CACHE_SIZE = 16;
+
+    // 비트레이트 표 (kbps) [MPEG1 여부][레이어-1][인덱스]
+    private static final int[][][] BITRATES = {
+            { // MPEG2, MPEG2.5
+                    { 0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256, 0 },
+                    { 0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, 0 },
+                    { 0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, 0 } },
+            { // MPEG1
+                    { 0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448, 0 },
+                    { 0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384, 0 },
+                    { 0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 0 } } };
+    private static final int[] SAMPLE_RATES = { 44100, 48000, 32000 };
+    private static final int DECODER_DELAY = 529; // 레이어 3 합성 필터의 디코더 지연 (샘플)
+
+    private static final Map<String, Mp3FrameIndex> cache = new LinkedHashMap<String, Mp3FrameIndex>(16, 0.75f,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Mp3FrameIndex> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final long[] frameOffsets;
+    private final int frameCount;
+    private final int sampleRate;
+    private final int channels;
+    private final int samplesPerFrame;
+    private final int leadingSamples; // 앞에서 버릴 샘플 수 (인코더 + 디코더 지연)
+    private final int trailingSamples; // 끝에서 버릴 샘플 수 (인코더 패딩)
+
+    private Mp3FrameIndex(long[] frameOffsets, int frameCount, int sampleRate, int channels, int samplesPerFrame,
+            int leadingSamples, int trailingSamples) {
+        this.frameOffsets = frameOffsets;
+        this.frameCount = frameCount;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.samplesPerFrame = samplesPerFrame;
+        this.leadingSamples = leadingSamples;
+        this.trailingSamples = trailingSamples;
+    }
+
+    /**
+     * 파일의 프레임 색인을 반환합니다 (캐시에 없으면 헤더를 읽어 생성)
+     */
+    public static Mp3FrameIndex of(File file) throws IOException {
+        String key = file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+        synchronized (cache) {
+            Mp3FrameIndex cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        Mp3FrameIndex index = scan(file);
+        System.out.printf("MP3 프레임 색인 생성: %s (%d프레임, %.1fms)%n", file.getName(), index.frameCount,
+                (System.nanoTime() - startNanos) / 1_000_000.0);
+
+        synchronized (cache) {
+            cache.put(key, index);
+        }
+        return index;
+    }
+
+    private static Mp3FrameIndex scan(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024)) {
+            long position = skipId3v2(in);
+            long[] offsets = new long[1024];
+            int count = 0;
+            int sampleRate = 0;
+            int channels = 0;
+            int samplesPerFrame = 0;
+            int[] gapless = null; // LAME 태그의 {인코더 지연, 패딩}
+            boolean firstFrame = true;
+
+            byte[] header = new byte[4];
+            int filled = 0;
+            while (true) {
+                // 4바이트 창을 한 바이트씩 밀며 프레임 동기 신호를 찾음
+                while (filled < 4) {
+                    int b = in.read();
+                    if (b < 0) {
+                        return finish(file, offsets, count, sampleRate, channels, samplesPerFrame, gapless);
+                    }
+                    header[filled++] = (byte) b;
+                }
+
+                int frameLength = frameLength(header);
+                if (frameLength <= 0 || (count > 0 && sampleRateOf(header) != sampleRate)) {
+                    // 동기 신호가 아니면 한 바이트 넘기고 다시 찾음
+                    System.arraycopy(header, 1, header, 0, 3);
+                    filled = 3;
+                    position++;
+                    continue;
+                }
+
+                if (count == 0) {
+                    sampleRate = sampleRateOf(header);
+                    channels = ((header[3] >> 6) & 3) == 3 ? 1 : 2;
+                    samplesPerFrame = samplesPerFrame(header);
+                }
+                if (firstFrame) {
+                    // 첫 프레임은 본문을 읽어 Xing/Info 헤더인지 확인
+                    firstFrame = false;
+                    byte[] body = new byte[frameLength - 4];
+                    if (readFully(in, body) < body.length) {
+                        return finish(file, offsets, count, sampleRate, channels, samplesPerFrame, gapless);
+                    }
+                    position += frameLength;
+                    filled = 0;
+                    int tag = xingOffset(header) - 4;
+                    if (tag + 8 <= body.length && isXingTag(body, tag)) {
+                        gapless = readLameGap(body, tag);
+                        continue; // 오디오 프레임이 아님
+                    }
+                    offsets[count++] = position - frameLength;
+                    continue;
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+
+                long remaining = frameLength - 4;
+                while (remaining > 0) {
+                    long skipped = in.skip(remaining);
+                    if (skipped <= 0) {
+                        if (in.read() < 0) {
+                            return finish(file, offsets, count - 1, sampleRate, channels, samplesPerFrame,
+                                    gapless);
+                        }
+                        skipped = 1;
+                    }
+                    remaining -= skipped;
+                }
+                position += frameLength;
+                filled = 0;
+            }
+        }
+    }
+
+    private static Mp3FrameIndex finish(File file, long[] offsets, int count, int sampleRate, int channels,
+            int samplesPerFrame, int[] gapless) throws IOException {
+        if (count <= 0) {
+            throw new IOException("MP3 프레임을 찾을 수 없습니다: " + file);
+        }
+
+        int leading = 0;
+        int trailing = 0;
+        if (gapless != null) {
+            leading = gapless[0] + DECODER_DELAY;
+            trailing = Math.max(0, gapless[1] - DECODER_DELAY);
+            if (leading + trailing >= (long) count * samplesPerFrame) {
+                leading = 0; // 태그가 잘못됨
+                trailing = 0;
+            }
+        }
+        return new Mp3FrameIndex(Arrays.copyOf(offsets, count), count, sampleRate, channels, samplesPerFrame,
+                leading, trailing);
+    }
+
+    /**
+     * 프레임 본문의 tag 위치에 Xing/Info 헤더가 있는지 확인합니다
+     */
+    private static boolean isXingTag(byte[] body, int tag) {
+        return (body[tag] == 'X' && body[tag + 1] == 'i' && body[tag + 2] == 'n' && body[tag + 3] == 'g')
+                || (body[tag] == 'I' && body[tag + 1] == 'n' && body[tag + 2] == 'f' && body[tag + 3] == 'o');
+    }
+
+    /**
+     * Xing 헤더 뒤의 LAME 태그에서 인코더 지연과 패딩을 읽습니다
+     *
+     * @return {지연, 패딩} (채널당 샘플), LAME 태그가 없으면 null
+     */
+    private static int[] readLameGap(byte[] body, int tag) {
+        int flags = ((body[tag + 4] & 0xFF) << 24) | ((body[tag + 5] & 0xFF) << 16)
+                | ((body[tag + 6] & 0xFF) << 8) | (body[tag + 7] & 0xFF);
+        int lame = tag + 8;
+        if ((flags & 0x1) != 0) {
+            lame += 4; // 프레임 수
+        }
+        if ((flags & 0x2) != 0) {
+            lame += 4; // 바이트 수
+        }
+        if ((flags & 0x4) != 0) {
+            lame += 100; // 탐색 표
+        }
+        if ((flags & 0x8) != 0) {
+            lame += 4; // 품질
+        }
+        // LAME 태그: 인코더 이름 9바이트, ..., 21바이트 위치에 지연 12비트 + 패딩 12비트
+        if (lame + 24 > body.length || body[lame] != 'L'
+                || !((body[lame + 1] == 'A' && body[lame + 2] == 'M' && body[lame + 3] == 'E')
+                        || (body[lame + 1] == 'a' && body[lame + 2] == 'v'))) {
+            return null;
+        }
+        int delay = ((body[lame + 21] & 0xFF) << 4) | ((body[lame + 22] & 0xFF) >> 4);
+        int padding = ((body[lame + 22] & 0x0F) << 8) | (body[lame + 23] & 0xFF);
+        return new int[] { delay, padding };
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = in.read(buffer, total, buffer.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * ID3v2 태그가 있으면 건너뛰고 건너뛴 바이트 수를 반환합니다
+     */
+    private static long skipId3v2(InputStream in) throws IOException {
+        in.mark(10);
+        byte[] tag = new byte[10];
+        int read = in.readNBytes(tag, 0, 10);
+        if (read < 10 || tag[0] != 'I' || tag[1] != 'D' || tag[2] != '3') {
+            in.reset();
+            return 0;
+        }
+
+        long size = ((tag[6] & 0x7F) << 21) | ((tag[7] & 0x7F) << 14) | ((tag[8] & 0x7F) << 7) | (tag[9] & 0x7F);
+        if ((tag[5] & 0x10) != 0) {
+            size += 10; // 푸터
+        }
+        long remaining = size;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                break;
+            }
+            remaining -= skipped;
+        }
+        return 10 + size - remaining;
+    }
+
+    /**
+     * 프레임 헤더로부터 프레임 길이(바이트)를 계산합니다
+     *
+     * @return 올바른 헤더가 아니면 0
+     */
+    static int frameLength(byte[] h) {
+        if ((h[0] & 0xFF) != 0xFF || (h[1] & 0xE0) != 0xE0) {
+            return 0;
+        }
+        int version = (h[1] >> 3) & 3; // 0: MPEG2.5, 2: MPEG2, 3: MPEG1
+        int layer = 4 - ((h[1] >> 1) & 3); // 1~3
+        int bitrateIndex = (h[2] >> 4) & 0xF;
+        int sampleRateIndex = (h[2] >> 2) & 3;
+        if (version == 1 || layer == 4 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return 0; // 예약값, 자유 비트레이트는 지원하지 않음
+        }
+
+        int bitrate = bitrateOf(h);
+        int sampleRate = sampleRateOf(h);
+        int padding = (h[2] >> 1) & 1;
+        if (layer == 1) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        if (layer == 3 && version != 3) {
+            return 72 * bitrate / sampleRate + padding;
+        }
+        return 144 * bitrate / sampleRate + padding;
+    }
+
+    /**
+     * 프레임 시작부터 Xing/Info 헤더까지의 거리 (프레임 헤더 4바이트 + 사이드 정보)
+     */
+    static int xingOffset(byte[] h) {
+        boolean mpeg1 = ((h[1] >> 3) & 3) == 3;
+        boolean mono = ((h[3] >> 6) & 3) == 3;
+        return 4 + (mpeg1 ? (mono ? 17 : 32) : (mono ? 9 : 17));
+    }
+
+    /**
+     * 프레임 헤더의 비트레이트 (bps, frameLength가 0이 아닌 헤더에만 사용)
+     */
+    static int bitrateOf(byte[] h) {
+        int version = (h[1] >> 3) & 3;
+        int layer = 4 - ((h[1] >> 1) & 3);
+        return BITRATES[version == 3 ? 1 : 0][layer - 1][(h[2] >> 4) & 0xF] * 1000;
+    }
+
+    static int sampleRateOf(byte[] h) {
+        int version = (h[1] >> 3) & 3;
+        int rate = SAMPLE_RATES[(h[2] >> 2) & 3];
+        return version == 3 ? rate : version == 2 ? rate / 2 : rate / 4;
+    }
+
+    static int samplesPerFrame(byte[] h) {
+        int version = (h[1] >> 3) & 3;
+        int layer = 4 - ((h[1] >> 1) & 3);
+        if (layer == 1) {
+            return 384;
+        }
+        return layer == 3 && version != 3 ? 576 : 1152;
+    }
+
+    /**
+     * 지정한 샘플(채널당, 앞부분을 잘라내기 전 디코더 출력 기준)이 들어 있는 프레임 번호를 반환합니다
+     */
+    public int frameForSample(long sample) {
+        return (int) Math.max(0, Math.min(frameCount - 1, sample / samplesPerFrame));
+    }
+
+    /**
+     * 프레임의 파일 내 바이트 위치를 반환합니다
+     */
+    public long getFrameOffset(int frame) {
+        return frameOffsets[frame];
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getSamplesPerFrame() {
+        return samplesPerFrame;
+    }
+
+    /**
+     * 디코더 출력 앞부분에서 버려야 하는 샘플 수 (LAME 태그가 없으면 0)
+     */
+    public int getLeadingSamples() {
+        return leadingSamples;
+    }
+
+    /**
+     * 앞뒤 지연과 패딩을 잘라낸 전체 길이를 채널당 샘플 수로 반환합니다
+     */
+    public long getTotalSamples() {
+        return (long) frameCount * samplesPerFrame - leadingSamples - trailingSamples;
+    }
+
+    public long getDurationMicros() {
+        return getTotalSamples() * 1_000_000L / sampleRate;
+    }
+}
@@ -0,0 +1,510 @@
+package main.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MP3 파일의 태그와 재생 길이
+ *
+ * 파일 전체를 읽지 않고 FileChannel로 필요한 부분만 읽습니다.
+ * ID3v2 프레임은 헤더만 따라가며 텍스트 프레임(제목, 아티스트, 앨범, 장르, BPM)만 읽고,
+ * 앨범 커버(APIC)는 이미지 바이트 위치만 기록합니다. 재생 길이는 첫 프레임의 Xing/VBRI 헤더의
+ * 프레임 수로 계산하고, 없으면 고정 비트레이트로 보고 파일 크기에서 계산합니다.
+ * ID3v1 태그(파일 끝 128바이트)는 ID3v2에 없는 항목만 채웁니다.
+ */
+public class Mp3Metadata {
+    private static final int WINDOW_SIZE = 8 * 1024; // 한 번에 읽는 크기
+    private static final int MAX_TEXT_FRAME = 1024; // 이보다 긴 텍스트 프레임은 무시
+    private static final int SYNC_SEARCH_LIMIT = 64 * 1024; // 태그 뒤에서 첫 프레임을 찾는 범위
+    private static final int PICTURE_HEADER_LIMIT = 512; // APIC의 이미지 앞 정보를 읽는 크기
+    private static final int FRONT_COVER = 3; // APIC 그림 종류: 앞 표지
+
+    // ID3v1 장르 번호 (0~79, 표준 목록)
+    private static final String[] GENRES = { "Blues", "Classic Rock", "Country", "Dance", "Disco", "Funk", "Grunge",
+            "Hip-Hop", "Jazz", "Metal", "New Age", "Oldies", "Other", "Pop", "R&B", "Rap", "Reggae", "Rock",
+            "Techno", "Industrial", "Alternative", "Ska", "Death Metal", "Pranks", "Soundtrack", "Euro-Techno",
+            "Ambient", "Trip-Hop", "Vocal", "Jazz+Funk", "Fusion", "Trance", "Classical", "Instrumental", "Acid",
+            "House", "Game", "Sound Clip", "Gospel", "Noise", "Alternative Rock", "Bass", "Soul", "Punk", "Space",
+            "Meditative", "Instrumental Pop", "Instrumental Rock", "Ethnic", "Gothic", "Darkwave",
+            "Techno-Industrial", "Electronic", "Pop-Folk", "Eurodance", "Dream", "Southern Rock", "Comedy", "Cult",
+            "Gangsta", "Top 40", "Christian Rap", "Pop/Funk", "Jungle", "Native American", "Cabaret", "New Wave",
+            "Psychedelic", "Rave", "Showtunes", "Trailer", "Lo-Fi", "Tribal", "Acid Punk", "Acid Jazz", "Polka",
+            "Retro", "Musical", "Rock & Roll", "Hard Rock" };
+
+    private String title;
+    private String artist;
+    private String album;
+    private String genre;
+    private int bpm;
+    private long durationMillis;
+    private long coverOffset = -1;
+    private int coverLength;
+    private int coverType = -1;
+
+    private Mp3Metadata() {
+    }
+
+    /**
+     * 파일의 태그와 길이를 읽습니다
+     */
+    public static Mp3Metadata read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Mp3Metadata metadata = new Mp3Metadata();
+            Reader reader = new Reader(channel);
+            long audioStart = metadata.readId3v2(reader);
+            boolean hasId3v1 = metadata.readId3v1(reader);
+            metadata.readDuration(reader, audioStart, reader.size - (hasId3v1 ? 128 : 0));
+            return metadata;
+        }
+    }
+
+    /**
+     * 제목 (태그에 없으면 null)
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public String getAlbum() {
+        return album;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * TBPM 값 (없으면 0)
+     */
+    public int getBpm() {
+        return bpm;
+    }
+
+    /**
+     * 재생 길이 (계산할 수 없으면 0)
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 내장 커버 이미지의 파일 내 위치 (없으면 -1)
+     */
+    public long getCoverOffset() {
+        return coverOffset;
+    }
+
+    public int getCoverLength() {
+        return coverLength;
+    }
+
+    // =============== ID3v2 ===============
+
+    /**
+     * ID3v2 태그를 읽고 오디오 데이터가 시작하는 위치를 반환합니다
+     */
+    private long readId3v2(Reader reader) throws IOException {
+        ByteBuffer header = reader.window(0, 10);
+        if (header == null || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+            return 0;
+        }
+
+        int major = header.get(3);
+        int flags = header.get(5);
+        long tagSize = syncsafe(header, 6);
+        long tagEnd = 10 + tagSize;
+        long audioStart = tagEnd + ((flags & 0x10) != 0 ? 10 : 0); // 푸터
+        if (major < 2 || major > 4 || (flags & 0x80) != 0) {
+            return audioStart; // 모르는 버전이나 태그 전체 비동기화는 프레임을 읽지 않음
+        }
+
+        long position = 10;
+        if ((flags & 0x40) != 0 && major >= 3) {
+            // 확장 헤더 (v2.3은 크기에 자신의 4바이트가 빠져 있음)
+            ByteBuffer extended = reader.window(position, 4);
+            if (extended == null) {
+                return audioStart;
+            }
+            position += major == 4 ? syncsafe(extended, 0) : extended.getInt(0) + 4L;
+        }
+
+        int headerSize = major == 2 ? 6 : 10;
+        while (position + headerSize <= tagEnd) {
+            ByteBuffer frame = reader.window(position, headerSize);
+            if (frame == null || frame.get(0) == 0) {
+                break; // 패딩
+            }
+
+            String id;
+            long size;
+            int frameFlags = 0;
+            if (major == 2) {
+                id = ascii(frame, 0, 3);
+                size = ((frame.get(3) & 0xFF) << 16) | ((frame.get(4) & 0xFF) << 8) | (frame.get(5) & 0xFF);
+            } else {
+                id = ascii(frame, 0, 4);
+                size = major == 4 ? syncsafe(frame, 4) : frame.getInt(4) & 0xFFFFFFFFL;
+                frameFlags = frame.getShort(8) & 0xFFFF;
+            }
+            long content = position + headerSize;
+            if (size <= 0 || content + size > tagEnd) {
+                break;
+            }
+
+            // 압축, 암호화, 프레임 비동기화는 건너뜀
+            boolean encoded = major == 3 ? (frameFlags & 0x00C0) != 0 : (frameFlags & 0x000E) != 0;
+            if (!encoded) {
+                long dataStart = content;
+                int dataSize = (int) Math.min(size, Integer.MAX_VALUE);
+                if (major == 4 && (frameFlags & 0x0001) != 0) {
+                    dataStart += 4; // 데이터 길이 표시
+                    dataSize -= 4;
+                }
+                if (dataSize > 0) {
+                    readFrame(reader, id, dataStart, dataSize);
+                }
+            }
+            position = content + size;
+        }
+        return audioStart;
+    }
+
+    private void readFrame(Reader reader, String id, long position, int size) throws IOException {
+        switch (id) {
+            case "TIT2":
+            case "TT2":
+                title = readText(reader, position, size);
+                break;
+            case "TPE1":
+            case "TP1":
+                artist = readText(reader, position, size);
+                break;
+            case "TALB":
+            case "TAL":
+                album = readText(reader, position, size);
+                break;
+            case "TCON":
+            case "TCO":
+                genre = genreName(readText(reader, position, size));
+                break;
+            case "TBPM":
+            case "TBP":
+                bpm = parseBpm(readText(reader, position, size));
+                break;
+            case "APIC":
+            case "PIC":
+                readPicture(reader, id.length() == 3, position, size);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String readText(Reader reader, long position, int size) throws IOException {
+        if (size < 2 || size > MAX_TEXT_FRAME) {
+            return null;
+        }
+        ByteBuffer data = reader.window(position, size);
+        if (data == null) {
+            return null;
+        }
+        return clean(decode(data, 1, size - 1, data.get(0)));
+    }
+
+    /**
+     * 커버 이미지 위치를 기록합니다 (앞 표지를 우선, 이미지 바이트는 읽지 않음)
+     */
+    private void readPicture(Reader reader, boolean legacy, long position, int size) throws IOException {
+        if (coverType == FRONT_COVER) {
+            return;
+        }
+        ByteBuffer data = reader.window(position, Math.min(size, PICTURE_HEADER_LIMIT));
+        if (data == null) {
+            return;
+        }
+
+        int encoding = data.get(0);
+        int index = 1;
+        if (legacy) {
+            index += 3; // 이미지 형식 (3글자)
+        } else {
+            while (index < data.limit() && data.get(index) != 0) {
+                index++; // MIME 형식
+            }
+            index++;
+        }
+        if (index >= data.limit()) {
+            return;
+        }
+        int pictureType = data.get(index++) & 0xFF;
+
+        // 설명 (UTF-16이면 0이 두 바이트)
+        boolean wide = encoding == 1 || encoding == 2;
+        while (index + (wide ? 1 : 0) < data.limit()
+                && (data.get(index) != 0 || (wide && data.get(index + 1) != 0))) {
+            index += wide ? 2 : 1;
+        }
+        index += wide ? 2 : 1;
+        if (index >= size) {
+            return;
+        }
+
+        if (coverOffset < 0 || pictureType == FRONT_COVER) {
+            coverOffset = position + index;
+            coverLength = size - index;
+            coverType = pictureType;
+        }
+    }
+
+    // =============== ID3v1 ===============
+
+    /**
+     * 파일 끝의 ID3v1 태그로 비어 있는 항목을 채웁니다
+     *
+     * @return 태그가 있으면 true
+     */
+    private boolean readId3v1(Reader reader) throws IOException {
+        if (reader.size < 128) {
+            return false;
+        }
+        ByteBuffer tag = reader.window(reader.size - 128, 128);
+        if (tag == null || tag.get(0) != 'T' || tag.get(1) != 'A' || tag.get(2) != 'G') {
+            return false;
+        }
+
+        if (title == null) {
+            title = clean(decode(tag, 3, 30, 0));
+        }
+        if (artist == null) {
+            artist = clean(decode(tag, 33, 30, 0));
+        }
+        if (album == null) {
+            album = clean(decode(tag, 63, 30, 0));
+        }
+        int genreIndex = tag.get(127) & 0xFF;
+        if (genre == null && genreIndex < GENRES.length) {
+            genre = GENRES[genreIndex];
+        }
+        return true;
+    }
+
+    // =============== 재생 길이 ===============
+
+    /**
+     * 첫 MPEG 프레임을 찾아 Xing/VBRI 헤더 또는 비트레이트로 길이를 계산합니다
+     */
+    private void readDuration(Reader reader, long audioStart, long audioEnd) throws IOException {
+        byte[] header = new byte[4];
+        long limit = Math.min(audioEnd - 4, audioStart + SYNC_SEARCH_LIMIT);
+        for (long position = audioStart; position <= limit; position++) {
+            ByteBuffer window = reader.window(position, 4);
+            if (window == null) {
+                return;
+            }
+            copy(window, 0, header);
+
+            int frameLength = Mp3FrameIndex.frameLength(header);
+            if (frameLength <= 0 || !isFollowedByFrame(reader, position + frameLength, audioEnd, header)) {
+                continue;
+            }
+
+            int sampleRate = Mp3FrameIndex.sampleRateOf(header);
+            int samplesPerFrame = Mp3FrameIndex.samplesPerFrame(header);
+            long frames = vbrFrameCount(reader, position, header);
+            if (frames > 0) {
+                durationMillis = frames * samplesPerFrame * 1000L / sampleRate;
+            } else {
+                durationMillis = (audioEnd - position) * 8000L / Mp3FrameIndex.bitrateOf(header);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 동기 신호가 우연히 나온 것이 아닌지 다음 프레임 헤더로 확인합니다
+     */
+    private static boolean isFollowedByFrame(Reader reader, long next, long audioEnd, byte[] header)
+            throws IOException {
+        if (next + 4 > audioEnd) {
+            return true; // 프레임이 하나뿐인 파일
+        }
+        ByteBuffer window = reader.window(next, 4);
+        if (window == null) {
+            return false;
+        }
+        byte[] following = new byte[4];
+        copy(window, 0, following);
+        return Mp3FrameIndex.frameLength(following) > 0
+                && Mp3FrameIndex.sampleRateOf(following) == Mp3FrameIndex.sampleRateOf(header);
+    }
+
+    /**
+     * Xing/Info 또는 VBRI 헤더의 프레임 수
+     *
+     * @return 헤더가 없으면 0
+     */
+    private static long vbrFrameCount(Reader reader, long frameStart, byte[] header) throws IOException {
+        ByteBuffer xing = reader.window(frameStart + Mp3FrameIndex.xingOffset(header), 12);
+        if (xing != null) {
+            String id = ascii(xing, 0, 4);
+            if (("Xing".equals(id) || "Info".equals(id)) && (xing.getInt(4) & 0x1) != 0) {
+                return xing.getInt(8) & 0xFFFFFFFFL;
+            }
+        }
+
+        ByteBuffer vbri = reader.window(frameStart + 4 + 32, 18);
+        if (vbri != null && "VBRI".equals(ascii(vbri, 0, 4))) {
+            return vbri.getInt(14) & 0xFFFFFFFFL;
+        }
+        return 0;
+    }
+
+    // =============== 보조 함수 ===============
+
+    private static long syncsafe(ByteBuffer data, int index) {
+        return ((data.get(index) & 0x7F) << 21) | ((data.get(index + 1) & 0x7F) << 14)
+                | ((data.get(index + 2) & 0x7F) << 7) | (data.get(index + 3) & 0x7F);
+    }
+
+    private static void copy(ByteBuffer data, int index, byte[] target) {
+        ByteBuffer view = data.duplicate();
+        view.position(index);
+        view.get(target);
+    }
+
+    private static String ascii(ByteBuffer data, int index, int length) {
+        byte[] bytes = new byte[length];
+        copy(data, index, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * ID3 텍스트 인코딩 (0: ISO-8859-1, 1: BOM 있는 UTF-16, 2: UTF-16BE, 3: UTF-8)
+     */
+    private static String decode(ByteBuffer data, int index, int length, int encoding) {
+        byte[] bytes = new byte[length];
+        copy(data, index, bytes);
+        Charset charset;
+        switch (encoding) {
+            case 1:
+                charset = StandardCharsets.UTF_16;
+                break;
+            case 2:
+                charset = StandardCharsets.UTF_16BE;
+                break;
+            case 3:
+                charset = StandardCharsets.UTF_8;
+                break;
+            default:
+                charset = StandardCharsets.ISO_8859_1;
+                break;
+        }
+        return new String(bytes, charset);
+    }
+
+    /**
+     * 끝의 0 문자와 공백을 지우고, 여러 값이면 첫 번째만 씁니다 (빈 문자열은 null)
+     */
+    private static String clean(String text) {
+        int end = text.indexOf('\0');
+        String value = (end >= 0 ? text.substring(0, end) : text).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * "(17)", "17", "(17)Rock" 같은 장르 번호를 이름으로 바꿉니다
+     */
+    private static String genreName(String text) {
+        if (text == null) {
+            return null;
+        }
+        String number = text;
+        if (text.startsWith("(") && text.indexOf(')') > 1) {
+            String rest = text.substring(text.indexOf(')') + 1).trim();
+            if (!rest.isEmpty()) {
+                return rest;
+            }
+            number = text.substring(1, text.indexOf(')'));
+        }
+        try {
+            int index = Integer.parseInt(number);
+            return index >= 0 && index < GENRES.length ? GENRES[index] : null;
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
+    private static int parseBpm(String text) {
+        if (text == null) {
+            return 0;
+        }
+        try {
+            return (int) Math.round(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 파일의 일부를 창 단위로 읽어 두고, 창 안의 요청은 다시 읽지 않습니다
+     */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long size;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WINDOW_SIZE);
+        private long bufferStart = -1;
+        private int bufferLength;
+
+        Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /**
+         * position부터 length바이트를 담은 버퍼 (인덱스 0이 position)
+         *
+         * @return 파일 끝을 넘으면 null
+         */
+        ByteBuffer window(long position, int length) throws IOException {
+            if (position < 0 || position + length > size) {
+                return null;
+            }
+            if (length > WINDOW_SIZE) {
+                ByteBuffer large = ByteBuffer.allocate(length);
+                fill(large, position);
+                return large;
+            }
+            if (position < bufferStart || position + length > bufferStart + bufferLength) {
+                buffer.clear();
+                fill(buffer, position);
+                bufferStart = position;
+                bufferLength = buffer.limit();
+            }
+            ByteBuffer view = buffer.duplicate();
+            view.position((int) (position - bufferStart));
+            view.limit(view.position() + length);
+            return view.slice();
+        }
+
+        private void fill(ByteBuffer target, long position) throws IOException {
+            long offset = position;
+            while (target.hasRemaining()) {
+                int read = channel.read(target, offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            target.flip();
+        }
+    }
+}
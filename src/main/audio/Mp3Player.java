@@ -1,252 +1,163 @@
 package main.audio;
 
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
 import javazoom.jl.decoder.JavaLayerException;
-import javazoom.jl.player.Player;
+import javazoom.jl.decoder.SampleBuffer;
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MP3 파일 재생을 위한 클래스
  * JLayer 라이브러리를 사용하여 MP3 파일을 재생합니다
+ * 효과음은 등록할 때 한 번만 PCM으로 디코딩해 두고 SfxMixer로 메모리에서 재생합니다
  */
 public class Mp3Player {
-    private Map<String, String> soundPaths;
-    private ExecutorService soundExecutor;
-    private boolean enabled;
-    private float volume;
-    private static final int MAX_CONCURRENT_SOUNDS = 5; // 동시 재생 제한
+    private final SfxMixer sfxMixer;
+    private Map<String, Integer> soundSamples; // 효과음 이름 -> 믹서 샘플 번호
+    private volatile boolean enabled;
 
     // 배경음악 관련 필드
-    private Player backgroundPlayer;
-    private Future<?> backgroundTask;
-    private boolean isBackgroundPlaying;
-    private boolean isBackgroundPaused;
-    private String currentBackgroundMusic;
-    private String pausedBackgroundMusic; // 일시정지된 배경음악 경로 저장
-    private MusicEndListener musicEndListener; // 음악 종료 리스너
+    private final MusicEngine musicEngine; // 하나의 출력 라인을 계속 쓰는 배경음악 엔진
+    private volatile String currentBackgroundMusic;
+    private volatile MusicEndListener musicEndListener; // 음악 종료 리스너
 
     // 음악 종료 리스너 인터페이스
     public interface MusicEndListener {
         void onMusicEnd();
     }
 
-    public Mp3Player() {
-        soundPaths = new HashMap<>();
+    public Mp3Player(AudioEngine audioEngine, SfxMixer sfxMixer) {
+        this.sfxMixer = sfxMixer;
+        soundSamples = new ConcurrentHashMap<>();
         enabled = true;
-        volume = 0.8f;
-        isBackgroundPlaying = false;
-        isBackgroundPaused = false;
-        currentBackgroundMusic = null;
-        pausedBackgroundMusic = null;
 
-        // 고정 크기 스레드 풀 사용으로 리소스 제한
-        soundExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_SOUNDS);
+        musicEngine = new MusicEngine(audioEngine);
+        musicEngine.setTrackEndListener(this::onTrackEnd);
 
-        System.out.println("MP3Player 초기화 완료 (최대 동시 재생: " + MAX_CONCURRENT_SOUNDS + ")");
+        System.out.println("MP3Player 초기화 완료");
     }
 
     /**
-     * MP3 파일 경로를 등록합니다
+     * MP3 효과음을 PCM으로 디코딩해 믹서에 등록합니다
+     *
+     * @return 디코딩에 실패하면 false
      */
-    public void registerSound(String name, String filePath) {
-        soundPaths.put(name, filePath);
-        System.out.println("MP3 사운드 등록: " + name + " -> " + filePath);
+    public boolean registerSound(String name, String filePath) {
+        long startNanos = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filePath))) {
+            Bitstream bitstream = new Bitstream(in);
+            Decoder decoder = new Decoder();
+            short[] pcm = new short[44100 * 2];
+            int length = 0;
+
+            try {
+                Header header;
+                while ((header = bitstream.readFrame()) != null) {
+                    SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+                    int count = output.getBufferLength();
+                    if (length + count > pcm.length) {
+                        pcm = Arrays.copyOf(pcm, Math.max(length + count, pcm.length * 2));
+                    }
+                    System.arraycopy(output.getBuffer(), 0, pcm, length, count);
+                    length += count;
+                    bitstream.closeFrame();
+                }
+            } finally {
+                bitstream.close();
+            }
+
+            if (length == 0) {
+                System.err.println("MP3 효과음에 오디오 프레임이 없음: " + filePath);
+                return false;
+            }
+
+            int sampleId = sfxMixer.register(Arrays.copyOf(pcm, length), decoder.getOutputChannels(),
+                    decoder.getOutputFrequency());
+            soundSamples.put(name, sampleId);
+            System.out.printf("MP3 사운드 등록: %s -> %s (%.1fms 디코딩)%n", name, filePath,
+                    (System.nanoTime() - startNanos) / 1_000_000.0);
+            return true;
+        } catch (JavaLayerException | IOException e) {
+            System.err.println("MP3 효과음 디코딩 실패: " + name + " - " + e.getMessage());
+            return false;
+        }
     }
 
     /**
-     * MP3 파일을 비동기적으로 재생합니다 (효과음용 - 빠른 재생)
+     * 등록된 MP3 효과음을 재생합니다
+     * 믹서에 재생을 요청하고 바로 반환하며, 디스크 접근이나 디코딩을 하지 않습니다
+     *
+     * @return 등록되지 않았거나 재생할 수 없으면 false
      */
-    public void playSoundAsync(String name) {
+    public boolean playSoundAsync(String name) {
         if (!enabled) {
-            return;
+            return false;
         }
 
-        String filePath = soundPaths.get(name);
-        if (filePath == null) {
-            System.err.println("MP3 사운드를 찾을 수 없음: " + name);
-            return;
+        Integer sampleId = soundSamples.get(name);
+        if (sampleId == null) {
+            return false;
         }
-
-        // 스레드 풀 크기 확인
-        if (soundExecutor instanceof ThreadPoolExecutor) {
-            ThreadPoolExecutor tpe = (ThreadPoolExecutor) soundExecutor;
-            if (tpe.getActiveCount() >= MAX_CONCURRENT_SOUNDS) {
-                System.out.println("MP3 재생 제한 초과, 건너뛰기: " + name);
-                return; // 너무 많은 사운드가 동시 재생 중이면 건너뛰기
-            }
-        }
-
-        // 효과음은 빠르게 재생하고 끝내기
-        soundExecutor.submit(() -> {
-            FileInputStream fileInputStream = null;
-            Player player = null;
-
-            try {
-                fileInputStream = new FileInputStream(filePath);
-                player = new Player(fileInputStream);
-
-                System.out.println("MP3 효과음 재생: " + name);
-                player.play();
-
-            } catch (JavaLayerException | IOException e) {
-                System.err.println("MP3 효과음 재생 실패: " + name + " - " + e.getMessage());
-            } finally {
-                // 리소스 정리
-                if (player != null) {
-                    player.close();
-                }
-                if (fileInputStream != null) {
-                    try {
-                        fileInputStream.close();
-                    } catch (IOException e) {
-                        System.err.println("파일 스트림 닫기 실패: " + e.getMessage());
-                    }
-                }
-            }
-        });
+        return sfxMixer.play(sampleId); // 효과음 볼륨은 믹서의 전체 볼륨으로 적용됨
     }
 
     /**
      * 배경음악을 재생합니다 (한 번만 재생, 루프 없음)
      */
-    public void playGameMusic(String filePath) {
-        playGameMusic(filePath, false);
+    public boolean playGameMusic(String filePath) {
+        return playGameMusic(filePath, false);
     }
 
     /**
-     * 배경음악을 재생합니다
+     * 배경음악을 재생합니다 (MP3, OGG, WAV, AIFF를 디스크에서 스트리밍)
+     * 재생 중인 곡이 있으면 출력 라인을 다시 열지 않고 전환합니다 (크로스페이드 설정 시 겹쳐 전환)
      * 
      * @param filePath 재생할 파일 경로
-     * @param loop     루프 재생 여부
+     * @param loop     루프 재생 여부 (곡 끝과 처음을 틈 없이 이어 재생)
+     * @return 파일을 열 수 없거나 출력 장치가 없어 재생하지 못했으면 false
      */
-    public void playGameMusic(String filePath, boolean loop) {
-        // 기존 배경음악 정지
-        stopGameMusic();
-
+    public boolean playGameMusic(String filePath, boolean loop) {
         if (!enabled) {
-            return;
+            stopGameMusic();
+            return false;
         }
 
-        currentBackgroundMusic = filePath;
-        isBackgroundPlaying = true;
-
-        backgroundTask = soundExecutor.submit(() -> {
-            boolean firstPlay = true;
-
-            while (isBackgroundPlaying && !Thread.currentThread().isInterrupted()) {
-                FileInputStream fileInputStream = null;
-
-                try {
-                    fileInputStream = new FileInputStream(filePath);
-                    backgroundPlayer = new Player(fileInputStream);
-
-                    if (firstPlay) {
-                        System.out.println("배경음악 재생 시작: " + filePath + " (루프: " + loop + ")");
-                        firstPlay = false;
-                    } else {
-                        System.out.println("배경음악 루프 재생: " + filePath);
-                    }
-
-                    backgroundPlayer.play();
-
-                    // 재생이 완료되었을 때 처리
-                    if (isBackgroundPlaying) {
-                        if (loop) {
-                            // 루프 재생인 경우 짧은 간격 후 다시 재생
-                            Thread.sleep(100);
-                        } else {
-                            // 루프가 아닌 경우 음악 종료 알림
-                            System.out.println("배경음악 재생 완료: " + filePath);
-                            isBackgroundPlaying = false;
-
-                            // 음악 종료 리스너 호출
-                            if (musicEndListener != null) {
-                                try {
-                                    musicEndListener.onMusicEnd();
-                                } catch (Exception e) {
-                                    System.err.println("음악 종료 리스너 실행 중 오류: " + e.getMessage());
-                                }
-                            }
-                            break;
-                        }
-                    }
-
-                } catch (JavaLayerException | IOException e) {
-                    System.err.println("배경음악 재생 실패: " + filePath + " - " + e.getMessage());
-                    isBackgroundPlaying = false;
-                    break;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } finally {
-                    if (backgroundPlayer != null) {
-                        backgroundPlayer.close();
-                        backgroundPlayer = null;
-                    }
-                    if (fileInputStream != null) {
-                        try {
-                            fileInputStream.close();
-                        } catch (IOException e) {
-                            System.err.println("파일 스트림 닫기 실패: " + e.getMessage());
-                        }
-                    }
-                }
-            }
-            System.out.println("배경음악 재생 종료: " + filePath);
-        });
+        try {
+            musicEngine.play(new File(filePath), loop);
+            currentBackgroundMusic = filePath;
+            System.out.println("배경음악 재생 시작: " + filePath + " (루프: " + loop + ")");
+            return true;
+        } catch (IOException e) {
+            System.err.println("배경음악 재생 실패: " + filePath + " - " + e.getMessage());
+            currentBackgroundMusic = null;
+            return false;
+        }
     }
 
     /**
      * 배경음악을 정지합니다
      */
     public void stopGameMusic() {
-        isBackgroundPlaying = false;
-        isBackgroundPaused = false;
-
-        if (backgroundPlayer != null) {
-            backgroundPlayer.close();
-            backgroundPlayer = null;
-        }
-
-        if (backgroundTask != null && !backgroundTask.isDone()) {
-            backgroundTask.cancel(true);
-            backgroundTask = null;
-        }
-
+        musicEngine.stop();
         currentBackgroundMusic = null;
-        pausedBackgroundMusic = null;
         System.out.println("배경음악 정지");
     }
 
     /**
      * 배경음악을 일시정지합니다
+     * 출력 라인만 멈추므로 재개하면 멈춘 샘플부터 이어서 재생됩니다
      */
     public void pauseBackgroundMusic() {
-        if (isBackgroundPlaying && !isBackgroundPaused) {
-            // 현재 재생 중인 배경음악 경로 저장
-            pausedBackgroundMusic = currentBackgroundMusic;
-            isBackgroundPaused = true;
-
-            // 배경음악 정지 (MP3는 일시정지 대신 정지 사용)
-            isBackgroundPlaying = false;
-
-            if (backgroundPlayer != null) {
-                backgroundPlayer.close();
-                backgroundPlayer = null;
-            }
-
-            if (backgroundTask != null && !backgroundTask.isDone()) {
-                backgroundTask.cancel(true);
-                backgroundTask = null;
-            }
-
-            System.out.println("배경음악 일시정지: " + pausedBackgroundMusic);
+        if (musicEngine.pause()) {
+            System.out.println("배경음악 일시정지: " + currentBackgroundMusic);
         }
     }
 
@@ -254,23 +165,58 @@ public class Mp3Player {
      * 배경음악을 재개합니다
      */
     public void resumeBackgroundMusic() {
-        if (isBackgroundPaused && pausedBackgroundMusic != null) {
-            System.out.println("배경음악 재개: " + pausedBackgroundMusic);
+        if (musicEngine.resume()) {
+            System.out.println("배경음악 재개: " + currentBackgroundMusic);
+        }
+    }
 
-            // 일시정지된 배경음악 다시 재생
-            String musicPath = pausedBackgroundMusic;
-            isBackgroundPaused = false;
-            pausedBackgroundMusic = null;
+    /**
+     * 배경음악의 재생 위치를 옮깁니다 (일시정지 중에도 가능)
+     *
+     * @param millis 곡 처음부터의 위치 (밀리초)
+     */
+    public void seekBackgroundMusic(long millis) {
+        musicEngine.seek(millis * 1000);
+    }
 
-            playGameMusic(musicPath);
-        }
+    /**
+     * 곡을 바꿀 때 두 곡을 겹쳐 전환할 길이를 설정합니다 (0이면 바로 전환)
+     */
+    public void setCrossfadeMillis(int millis) {
+        musicEngine.setCrossfadeMillis(millis);
+    }
+
+    /**
+     * 배경음악 볼륨을 설정합니다 (0.0 ~ 1.0)
+     */
+    public void setMusicVolume(float volume) {
+        musicEngine.setGain(volume);
     }
 
     /**
      * 배경음악이 재생 중인지 확인합니다
      */
     public boolean isBackgroundMusicPlaying() {
-        return isBackgroundPlaying;
+        return musicEngine.isPlaying();
+    }
+
+    /**
+     * 배경음악의 현재 출력 위치를 44.1kHz 샘플 수로 반환합니다
+     * 출력 라인이 실제로 내보낸 프레임 수를 기준으로 하므로 버퍼링 지연이 반영됩니다
+     *
+     * @return 재생 위치, 재생 중이 아니면 -1
+     */
+    public long getPlaybackPositionSamples() {
+        return musicEngine.getPositionFrames();
+    }
+
+    /**
+     * 배경음악의 현재 출력 위치를 마이크로초로 반환합니다 (루프 재생이면 곡 안의 위치)
+     *
+     * @return 재생 위치, 재생 중이 아니면 -1
+     */
+    public long getPlaybackPositionMicros() {
+        return musicEngine.getPositionMicros();
     }
 
     /**
@@ -280,24 +226,23 @@ public class Mp3Player {
         return currentBackgroundMusic;
     }
 
-    /**
-     * 모든 사운드 재생을 중지합니다
-     */
-    public void stopAllSounds() {
-        if (soundExecutor != null && !soundExecutor.isShutdown()) {
-            soundExecutor.shutdownNow();
-            soundExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_SOUNDS);
-            System.out.println("모든 MP3 사운드 중지 및 재생기 재시작");
+    private void onTrackEnd() {
+        System.out.println("배경음악 재생 완료: " + currentBackgroundMusic);
+        if (musicEndListener != null) {
+            try {
+                musicEndListener.onMusicEnd();
+            } catch (Exception e) {
+                System.err.println("음악 종료 리스너 실행 중 오류: " + e.getMessage());
+            }
         }
     }
 
     /**
-     * 볼륨을 설정합니다 (0.0 ~ 1.0)
-     * 참고: JLayer는 직접적인 볼륨 제어를 지원하지 않음
+     * 모든 사운드 재생을 중지합니다
      */
-    public void setVolume(float volume) {
-        this.volume = Math.max(0.0f, Math.min(1.0f, volume));
-        System.out.println("MP3Player 볼륨 설정: " + this.volume + " (참고: JLayer는 볼륨 제어 제한적)");
+    public void stopAllSounds() {
+        sfxMixer.stopAll();
+        System.out.println("모든 MP3 효과음 중지");
     }
 
     /**
@@ -315,18 +260,8 @@ public class Mp3Player {
      * 리소스 정리
      */
     public void cleanup() {
-        if (soundExecutor != null && !soundExecutor.isShutdown()) {
-            soundExecutor.shutdownNow();
-            try {
-                // 최대 2초 대기
-                if (!soundExecutor.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS)) {
-                    System.out.println("MP3Player 스레드 강제 종료");
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        soundPaths.clear();
+        musicEngine.shutdown();
+        soundSamples.clear();
         System.out.println("MP3Player 리소스 정리 완료");
     }
 
@@ -334,24 +269,10 @@ public class Mp3Player {
         return enabled;
     }
 
-    public float getVolume() {
-        return volume;
-    }
-
-    /**
-     * 현재 활성 재생 수를 반환합니다
-     */
-    public int getActivePlayCount() {
-        if (soundExecutor instanceof ThreadPoolExecutor) {
-            return ((ThreadPoolExecutor) soundExecutor).getActiveCount();
-        }
-        return 0;
-    }
-
     /**
      * 음악 종료 리스너를 설정합니다
      */
     public void setMusicEndListener(MusicEndListener listener) {
         this.musicEndListener = listener;
     }
-}
\ No newline at end of file
+}
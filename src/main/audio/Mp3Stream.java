@@ -0,0 +1,169 @@
+package main.audio;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.DecoderException;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.SampleBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * MP3 파일을 16비트 PCM으로 순차 디코딩하며, 프레임 색인을 이용해 임의의 샘플 위치로 이동할 수 있는 스트림
+ *
+ * 레이어 3는 이전 프레임의 데이터(비트 저장소)와 겹침 합산에 의존하므로, 이동할 때는
+ * 목표 프레임보다 몇 프레임 앞에서 디코딩을 시작해 그 출력을 버린 뒤(프리롤)
+ * 목표 프레임 안의 샘플 위치까지 잘라내 정확한 샘플부터 반환합니다.
+ * LAME 태그의 인코더 지연과 패딩은 앞뒤에서 잘라내므로, 위치 0은 원본의 첫 샘플이고
+ * 끝에서 처음으로 이어 붙여도 이음매에 무음이 들어가지 않습니다.
+ */
+public class Mp3Stream implements PcmStream {
+    private static final int PRE_ROLL_FRAMES = 4;
+
+    private final File file;
+    private final Mp3FrameIndex index;
+
+    private FileInputStream input;
+    private Bitstream bitstream;
+    private Decoder decoder;
+
+    private short[] frameBuffer; // 마지막으로 디코딩한 프레임 (디코더가 재사용하는 버퍼)
+    private int frameOffset;
+    private int frameLength;
+    private int preRollFrames; // 디코딩 후 버릴 프레임 수
+    private long skipSamples; // 목표 프레임 앞부분에서 버릴 채널당 샘플 수
+    private long position; // 다음에 반환할 채널당 샘플 위치
+
+    public Mp3Stream(File file) throws IOException {
+        this.file = file;
+        this.index = Mp3FrameIndex.of(file);
+        seek(0);
+    }
+
+    /**
+     * 지정한 샘플(채널당) 위치로 이동합니다
+     */
+    @Override
+    public void seek(long sample) throws IOException {
+        closeInput();
+
+        sample = Math.max(0, Math.min(index.getTotalSamples(), sample));
+        long decoded = sample + index.getLeadingSamples(); // 디코더 출력 기준 위치
+        int targetFrame = index.frameForSample(decoded);
+        int startFrame = Math.max(0, targetFrame - PRE_ROLL_FRAMES);
+
+        input = new FileInputStream(file);
+        input.getChannel().position(index.getFrameOffset(startFrame));
+        bitstream = new Bitstream(new BufferedInputStream(input, 16 * 1024));
+        decoder = new Decoder();
+
+        preRollFrames = targetFrame - startFrame;
+        skipSamples = decoded - (long) targetFrame * index.getSamplesPerFrame();
+        frameOffset = 0;
+        frameLength = 0;
+        position = sample;
+    }
+
+    /**
+     * 디코딩된 인터리브 샘플을 읽습니다
+     *
+     * @return 읽은 샘플 수 (채널 수의 배수), 끝에 도달하면 -1
+     */
+    @Override
+    public int read(short[] buffer, int offset, int length) throws IOException {
+        long remaining = index.getTotalSamples() - position;
+        if (remaining <= 0) {
+            return -1; // 끝 패딩은 읽지 않음
+        }
+        while (frameOffset >= frameLength) {
+            if (!decodeNextFrame()) {
+                return -1;
+            }
+        }
+
+        int channels = index.getChannels();
+        int count = (int) Math.min(Math.min(length, frameLength - frameOffset), remaining * channels)
+                / channels * channels;
+        System.arraycopy(frameBuffer, frameOffset, buffer, offset, count);
+        frameOffset += count;
+        position += count / channels;
+        return count;
+    }
+
+    private boolean decodeNextFrame() throws IOException {
+        try {
+            Header header = bitstream.readFrame();
+            if (header == null) {
+                return false;
+            }
+            SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+            bitstream.closeFrame();
+
+            if (preRollFrames > 0) {
+                preRollFrames--;
+                frameLength = 0;
+                return true;
+            }
+
+            int channels = index.getChannels();
+            frameBuffer = output.getBuffer();
+            frameLength = output.getBufferLength();
+            frameOffset = (int) Math.min(frameLength, skipSamples * channels);
+            skipSamples -= frameOffset / channels;
+            return true;
+        } catch (BitstreamException | DecoderException e) {
+            throw new IOException("MP3 디코딩 실패: " + file.getName() + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 다음에 반환할 샘플의 위치 (채널당 샘플)
+     */
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    public Mp3FrameIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return index.getSampleRate();
+    }
+
+    @Override
+    public int getChannels() {
+        return index.getChannels();
+    }
+
+    @Override
+    public long getTotalSamples() {
+        return index.getTotalSamples();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeInput();
+    }
+
+    private void closeInput() throws IOException {
+        if (bitstream != null) {
+            try {
+                bitstream.close();
+            } catch (BitstreamException e) {
+                // 파일 스트림은 아래에서 닫음
+            }
+            bitstream = null;
+        }
+        if (input != null) {
+            input.close();
+            input = null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package main.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 스레드가 넣고 한 스레드만 꺼내는 크기 고정 큐
+ *
+ * 칸마다 순번을 두어 생산자는 꼬리 위치를 CAS로 차지한 뒤 값을 쓰고 순번을 올리며,
+ * 소비자는 순번이 맞는 칸만 꺼냅니다. 잠금을 쓰지 않으므로 오디오 렌더 스레드가
+ * 명령을 꺼내다가 다른 스레드 때문에 멈추는 일이 없습니다.
+ */
+public class MpscQueue<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequence;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // 소비자만 사용
+
+    /**
+     * @param capacity 큐 크기 (2의 거듭제곱으로 올림)
+     */
+    public MpscQueue(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = this.capacity - 1;
+        this.sequence = new AtomicLongArray(this.capacity);
+        this.items = new AtomicReferenceArray<>(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * 값을 넣습니다 (모든 스레드)
+     *
+     * @return 큐가 가득 차 넣지 못했으면 false
+     */
+    public boolean offer(E item) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) (position & mask);
+            long difference = sequence.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(slot, item);
+                    sequence.lazySet(slot, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // 큐가 가득 참
+            }
+            // 다른 생산자가 먼저 가져간 칸이면 다시 시도
+        }
+    }
+
+    /**
+     * 값을 꺼냅니다 (소비자 스레드 전용)
+     *
+     * @return 꺼낼 값이 없으면 null
+     */
+    public E poll() {
+        int slot = (int) (head & mask);
+        if (sequence.get(slot) != head + 1) {
+            return null;
+        }
+        E item = items.get(slot);
+        items.lazySet(slot, null);
+        sequence.lazySet(slot, head + capacity);
+        head++;
+        return item;
+    }
+}
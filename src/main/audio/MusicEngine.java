@@ -0,0 +1,648 @@
+package main.audio;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 배경음악을 끊김 없이 재생하는 엔진 (AudioEngine의 소리 공급원)
+ *
+ * 디코딩 스레드가 곡을 44.1kHz 스테레오로 디코딩(필요하면 리샘플링)해 링 버퍼를 미리 채우고,
+ * 오디오 엔진의 렌더 스레드가 블록마다 링 버퍼에서 꺼내 다른 소리와 함께 출력 라인으로 내보냅니다.
+ * 루프는 곡 끝 다음 샘플에 곡 처음 샘플을 바로 이어 붙이므로 틈이 없고,
+ * 곡을 바꿀 때도 라인을 다시 열지 않으며 필요하면 두 곡을 크로스페이드합니다.
+ *
+ * 링 버퍼에는 곡이 시작되거나 위치가 바뀐 프레임과 곡이 끝난 프레임에 표시(마크)를 남겨,
+ * 렌더 스레드가 지금 내보내는 프레임이 어느 곡의 몇 번째 샘플인지 알 수 있게 합니다.
+ */
+public class MusicEngine implements AudioSource {
+    public static final float SAMPLE_RATE = AudioEngine.SAMPLE_RATE;
+    private static final int CHANNELS = AudioEngine.CHANNELS;
+
+    private static final int RING_FRAMES = 8192; // 약 190ms를 미리 디코딩
+    private static final int DECODE_CHUNK_FRAMES = 1024;
+    private static final int INPUT_CHUNK_FRAMES = 1152; // 원본 스트림에서 한 번에 읽는 프레임 수 (MP3 한 프레임)
+    private static final int MARK_CAPACITY = 64;
+    private static final int MARK_START = 0; // 이 프레임부터 해당 곡의 지정 위치
+    private static final int MARK_END = 1; // 이 프레임 직전에 해당 곡이 끝남
+
+    // 곡 종료 알림 인터페이스
+    public interface TrackEndListener {
+        void onTrackEnd();
+    }
+
+    private final AudioEngine engine;
+    private final Executor callbackExecutor;
+    private final PcmRingBuffer ring = new PcmRingBuffer(RING_FRAMES, CHANNELS);
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    // 마크 큐 (디코딩 스레드가 쓰고 렌더 스레드가 읽음)
+    private final long[] markFrame = new long[MARK_CAPACITY];
+    private final long[] markGeneration = new long[MARK_CAPACITY];
+    private final long[] markPosition = new long[MARK_CAPACITY];
+    private final int[] markType = new int[MARK_CAPACITY];
+    private final AtomicLong markHead = new AtomicLong();
+    private final AtomicLong markTail = new AtomicLong();
+
+    // 버퍼 비우기 요청 (호출 스레드가 요청, 디코딩 스레드가 처리, 렌더 스레드가 적용)
+    private final AtomicLong flushRequests = new AtomicLong();
+    private volatile long flushHandled;
+    private volatile long flushToFrame; // 이 프레임 앞의 링 버퍼 내용은 버림
+
+    // 재생 상태 (모든 스레드)
+    private long nextGeneration = 1;
+    private volatile long latestGeneration; // 가장 최근에 요청한 곡
+    private volatile long latestLoopMicros; // 루프 재생이면 곡 길이, 아니면 0
+    private volatile boolean paused;
+    private volatile boolean finished = true;
+    private volatile float gain = 1.0f;
+    private volatile int crossfadeMillis;
+    private volatile TrackEndListener trackEndListener;
+
+    private volatile boolean running;
+    private Thread decoderThread;
+
+    // 디코딩 스레드 전용
+    private Track current;
+    private Track outgoing; // 크로스페이드로 사라지는 곡
+    private int fadeFrame;
+    private int fadeFrames;
+    private final float[] decodeBuffer = new float[DECODE_CHUNK_FRAMES * CHANNELS];
+    private final float[] fadeBuffer = new float[DECODE_CHUNK_FRAMES * CHANNELS];
+
+    // 렌더 스레드 전용
+    private final float[] renderBuffer = new float[DECODE_CHUNK_FRAMES * CHANNELS];
+    private boolean flushing;
+    private long outputGeneration;
+    private long outputPosition;
+    private long lineWrittenFrames; // 마지막으로 내보낸 곡 프레임 다음의 라인 프레임 위치
+    private long endingGeneration;
+    private long endLineFrame;
+
+    // 렌더 스레드가 마지막으로 내보낸 곡 프레임 끝의 (곡, 곡 위치, 라인 프레임), publishVersion으로 일관성 확인
+    private final AtomicLong publishVersion = new AtomicLong();
+    private volatile long publishedGeneration;
+    private volatile long publishedPosition;
+    private volatile long publishedLineFrames;
+
+    public MusicEngine(AudioEngine engine) {
+        this.engine = engine;
+        this.callbackExecutor = engine.getCallbackExecutor(); // 곡 종료 알림이 렌더 스레드를 막지 않도록
+        engine.addSource(this);
+    }
+
+    /**
+     * 디코딩 스레드를 시작합니다 (처음 재생할 때 한 번)
+     */
+    private boolean ensureStarted() {
+        if (running) {
+            return true;
+        }
+        if (!engine.isRunning()) {
+            return false;
+        }
+
+        running = true;
+        decoderThread = new Thread(this::decodeLoop, "MusicDecoder");
+        decoderThread.setDaemon(true);
+        decoderThread.start();
+        System.out.println("배경음악 엔진 시작");
+        return true;
+    }
+
+    // =============== 재생 제어 (모든 스레드) ===============
+
+    /**
+     * 곡을 재생합니다
+     * 재생 중인 곡이 있고 크로스페이드가 설정되어 있으면 두 곡을 겹쳐 전환하고,
+     * 아니면 기존 곡을 바로 끊고 새 곡을 시작합니다
+     */
+    public synchronized void play(File file, boolean loop) throws IOException {
+        if (!ensureStarted()) {
+            throw new IOException("오디오 출력 장치를 사용할 수 없습니다");
+        }
+
+        PcmStream stream = PcmStream.open(file);
+        long generation = nextGeneration++;
+        boolean crossfade = crossfadeMillis > 0 && isPlaying();
+
+        latestGeneration = generation;
+        latestLoopMicros = loop ? stream.getDurationMicros() : 0; // MP3는 지연과 패딩을 잘라낸 길이
+        finished = false;
+        paused = false;
+
+        Track track = new Track(stream, loop, generation);
+        if (crossfade) {
+            commands.add(() -> crossfadeTo(track));
+        } else {
+            long request = requestFlush();
+            commands.add(() -> startTrack(track, request));
+        }
+        wakeUp();
+    }
+
+    /**
+     * 재생 중인 곡을 멈추고 버퍼를 비웁니다
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        latestGeneration = nextGeneration++;
+        finished = true;
+        paused = false;
+
+        long request = requestFlush();
+        commands.add(() -> stopTracks(request));
+        wakeUp();
+    }
+
+    /**
+     * 일시정지합니다
+     * 렌더 스레드가 링 버퍼에서 꺼내지 않을 뿐이므로 재개하면 멈춘 샘플부터 이어서 재생됩니다
+     */
+    public synchronized boolean pause() {
+        if (!running || paused || finished) {
+            return false;
+        }
+        paused = true;
+        return true;
+    }
+
+    public synchronized boolean resume() {
+        if (!paused) {
+            return false;
+        }
+        paused = false;
+        return true;
+    }
+
+    /**
+     * 재생 위치를 옮깁니다 (일시정지 중이면 일시정지 상태를 유지)
+     */
+    public synchronized void seek(long micros) {
+        if (!running || finished) {
+            return;
+        }
+        long generation = latestGeneration;
+        long request = requestFlush();
+        commands.add(() -> seekTrack(generation, Math.max(0, micros), request));
+        wakeUp();
+    }
+
+    /**
+     * 렌더 스레드가 링 버퍼에 남은 이전 곡을 내보내지 않도록 요청합니다
+     * 디코딩 스레드가 요청을 처리할 때까지 음악은 조용해지고, 처리되면 그 뒤에 쓴 내용부터 내보냅니다
+     */
+    private long requestFlush() {
+        return flushRequests.incrementAndGet();
+    }
+
+    private void wakeUp() {
+        LockSupport.unpark(decoderThread);
+    }
+
+    public boolean isPlaying() {
+        return running && !finished && !paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * 음악 볼륨을 설정합니다 (0~1)
+     */
+    public void setGain(float gain) {
+        this.gain = Math.max(0.0f, Math.min(1.0f, gain));
+    }
+
+    /**
+     * 곡을 바꿀 때 겹쳐 전환할 길이를 설정합니다 (0이면 바로 전환)
+     */
+    public void setCrossfadeMillis(int millis) {
+        this.crossfadeMillis = Math.max(0, millis);
+    }
+
+    public void setTrackEndListener(TrackEndListener listener) {
+        this.trackEndListener = listener;
+    }
+
+    /**
+     * 현재 출력 중인 곡 위치를 44.1kHz 샘플 수로 반환합니다 (루프 재생이면 반복 횟수만큼 계속 증가)
+     * 출력 라인이 실제로 내보낸 프레임 수를 기준으로 하므로 버퍼링 지연이 반영됩니다
+     *
+     * @return 재생 위치, 재생 중이 아니거나 새 곡의 소리가 아직 나오지 않았으면 -1
+     */
+    public long getPositionFrames() {
+        if (!running || paused || finished) {
+            return -1;
+        }
+
+        long generation;
+        long position;
+        long lineFrames;
+        long version;
+        do {
+            version = publishVersion.get();
+            generation = publishedGeneration;
+            position = publishedPosition;
+            lineFrames = publishedLineFrames;
+        } while ((version & 1) != 0 || version != publishVersion.get());
+
+        if (generation != latestGeneration) {
+            return -1;
+        }
+        long played = position - (lineFrames - engine.getPlayedFrames());
+        return played >= 0 ? played : -1;
+    }
+
+    /**
+     * 현재 출력 중인 곡 위치를 마이크로초로 반환합니다 (루프 재생이면 곡 안의 위치)
+     *
+     * @return 재생 위치, 재생 중이 아니면 -1
+     */
+    public long getPositionMicros() {
+        long frames = getPositionFrames();
+        if (frames < 0) {
+            return -1;
+        }
+        long micros = (long) (frames * 1_000_000L / SAMPLE_RATE);
+        long loopMicros = latestLoopMicros;
+        return loopMicros > 0 ? micros % loopMicros : micros;
+    }
+
+    /**
+     * 디코딩 스레드를 멈춥니다 (출력 라인은 오디오 엔진이 닫음)
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        finished = true;
+        LockSupport.unpark(decoderThread);
+        try {
+            decoderThread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeTrack(current);
+        closeTrack(outgoing);
+        current = null;
+        outgoing = null;
+    }
+
+    // =============== 디코딩 스레드 ===============
+
+    private void decodeLoop() {
+        while (running) {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                command.run();
+            }
+
+            boolean idle = current == null && outgoing == null;
+            if (idle || ring.writableFrames() < DECODE_CHUNK_FRAMES
+                    || markTail.get() - markHead.getAcquire() > MARK_CAPACITY - 2) {
+                LockSupport.parkNanos(idle ? 50_000_000L : 2_000_000L);
+                continue;
+            }
+
+            try {
+                decodeChunk();
+            } catch (IOException e) {
+                System.err.println("배경음악 디코딩 실패: " + e.getMessage());
+                closeTrack(current);
+                current = null;
+            }
+        }
+    }
+
+    private void startTrack(Track track, long request) {
+        closeTrack(current);
+        closeTrack(outgoing);
+        current = track;
+        outgoing = null;
+        flushToFrame = ring.getWritePosition();
+        flushHandled = request;
+        addMark(MARK_START, track.generation, 0);
+    }
+
+    private void crossfadeTo(Track track) {
+        closeTrack(outgoing);
+        outgoing = current;
+        current = track;
+        fadeFrame = 0;
+        fadeFrames = (int) (SAMPLE_RATE * crossfadeMillis / 1000);
+        addMark(MARK_START, track.generation, 0);
+    }
+
+    private void seekTrack(long generation, long micros, long request) {
+        if (current != null && current.generation == generation) {
+            try {
+                long frame = (long) (micros * (double) SAMPLE_RATE / 1_000_000L);
+                current.seek(micros);
+                closeTrack(outgoing);
+                outgoing = null;
+                flushToFrame = ring.getWritePosition();
+                addMark(MARK_START, generation, frame);
+            } catch (IOException e) {
+                System.err.println("배경음악 위치 이동 실패: " + e.getMessage());
+            }
+        }
+        flushToFrame = ring.getWritePosition();
+        flushHandled = request;
+    }
+
+    private void stopTracks(long request) {
+        closeTrack(current);
+        closeTrack(outgoing);
+        current = null;
+        outgoing = null;
+        flushToFrame = ring.getWritePosition();
+        flushHandled = request;
+    }
+
+    private void decodeChunk() throws IOException {
+        int frames = 0;
+        if (current != null) {
+            frames = current.render(decodeBuffer, DECODE_CHUNK_FRAMES);
+        }
+
+        if (outgoing != null) {
+            // 나가는 곡은 줄이고 들어오는 곡은 키움 (등전력)
+            int fadeOut = outgoing.render(fadeBuffer, DECODE_CHUNK_FRAMES);
+            for (int i = frames * CHANNELS; i < fadeOut * CHANNELS; i++) {
+                decodeBuffer[i] = 0.0f;
+            }
+            int mixed = Math.max(frames, fadeOut);
+            for (int i = 0; i < mixed; i++) {
+                float progress = Math.min(1.0f, (float) (fadeFrame + i) / Math.max(1, fadeFrames));
+                float in = (float) Math.sin(progress * Math.PI / 2);
+                float out = (float) Math.cos(progress * Math.PI / 2);
+                for (int c = 0; c < CHANNELS; c++) {
+                    int index = i * CHANNELS + c;
+                    float incoming = i < frames ? decodeBuffer[index] : 0.0f;
+                    float leaving = i < fadeOut ? fadeBuffer[index] : 0.0f;
+                    decodeBuffer[index] = incoming * in + leaving * out;
+                }
+            }
+            fadeFrame += mixed;
+            if (fadeFrame >= fadeFrames || outgoing.ended) {
+                closeTrack(outgoing);
+                outgoing = null;
+            }
+            frames = Math.max(frames, Math.min(mixed, DECODE_CHUNK_FRAMES));
+        }
+
+        ring.write(decodeBuffer, frames);
+
+        if (current != null && current.ended) {
+            addMark(MARK_END, current.generation, 0);
+            closeTrack(current);
+            current = null;
+        }
+    }
+
+    private void addMark(int type, long generation, long position) {
+        long tail = markTail.get();
+        int slot = (int) (tail % MARK_CAPACITY);
+        markFrame[slot] = ring.getWritePosition();
+        markGeneration[slot] = generation;
+        markPosition[slot] = position;
+        markType[slot] = type;
+        markTail.setRelease(tail + 1);
+    }
+
+    private static void closeTrack(Track track) {
+        if (track != null) {
+            try {
+                track.stream.close();
+            } catch (IOException e) {
+                // 닫기 실패는 무시
+            }
+        }
+    }
+
+    // =============== 렌더 스레드 ===============
+
+    @Override
+    public void render(float[] mix, int frames, long lineFrame) {
+        if (!running) {
+            return;
+        }
+        if (flushHandled < flushRequests.get()) {
+            // 디코딩 스레드가 요청을 처리할 때까지 기존 내용을 내보내지 않음
+            flushing = true;
+            endingGeneration = 0;
+            return;
+        }
+        if (flushing) {
+            flushing = false;
+            ring.skipTo(flushToFrame);
+        }
+        if (paused) {
+            return;
+        }
+
+        int offset = 0;
+        while (offset < frames) {
+            long readPosition = ring.getReadPosition();
+            long nextMarkFrame = applyMarks(readPosition, lineFrame + offset);
+
+            int count = Math.min(frames - offset, ring.readableFrames());
+            if (nextMarkFrame >= 0) {
+                count = (int) Math.min(count, nextMarkFrame - readPosition);
+            }
+            if (count <= 0) {
+                break;
+            }
+
+            ring.read(renderBuffer, count);
+            float volume = gain;
+            int base = offset * CHANNELS;
+            for (int i = 0; i < count * CHANNELS; i++) {
+                mix[base + i] += renderBuffer[i] * volume;
+            }
+
+            offset += count;
+            outputPosition += count;
+            lineWrittenFrames = lineFrame + offset;
+            publish();
+        }
+
+        if (offset > 0 && ring.writableFrames() >= DECODE_CHUNK_FRAMES) {
+            LockSupport.unpark(decoderThread);
+        }
+        checkTrackEnd();
+    }
+
+    /**
+     * 현재 읽기 위치까지의 마크를 적용하고 다음 마크의 프레임 위치를 반환합니다 (없으면 -1)
+     */
+    private long applyMarks(long readPosition, long lineFrame) {
+        while (markHead.get() < markTail.getAcquire()) {
+            int slot = (int) (markHead.get() % MARK_CAPACITY);
+            if (markFrame[slot] > readPosition) {
+                return markFrame[slot];
+            }
+
+            if (markType[slot] == MARK_START) {
+                outputGeneration = markGeneration[slot];
+                outputPosition = markPosition[slot] + (readPosition - markFrame[slot]);
+                publish();
+            } else {
+                endingGeneration = markGeneration[slot];
+                endLineFrame = lineFrame;
+            }
+            markHead.setRelease(markHead.get() + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * 끝난 곡의 마지막 프레임이 라인에서 모두 재생되었으면 종료를 알립니다
+     */
+    private void checkTrackEnd() {
+        if (endingGeneration == 0) {
+            return;
+        }
+        if (engine.getPlayedFrames() < endLineFrame) {
+            return;
+        }
+
+        long generation = endingGeneration;
+        endingGeneration = 0;
+        if (generation == latestGeneration && !finished) {
+            finished = true;
+            TrackEndListener listener = trackEndListener;
+            if (listener != null) {
+                callbackExecutor.execute(listener::onTrackEnd);
+            }
+        }
+    }
+
+    private void publish() {
+        long version = publishVersion.get();
+        publishVersion.set(version + 1);
+        publishedGeneration = outputGeneration;
+        publishedPosition = outputPosition;
+        publishedLineFrames = lineWrittenFrames;
+        publishVersion.set(version + 2);
+    }
+
+    /**
+     * 디코딩 중인 곡 하나 (디코딩 스레드 전용)
+     * PcmStream의 출력을 44.1kHz 스테레오로 선형 보간 리샘플링하며,
+     * 샘플레이트가 같으면 원본 샘플을 그대로 내보냅니다
+     */
+    private static class Track {
+        private final PcmStream stream;
+        private final boolean loop;
+        private final long generation;
+        private final int channels;
+        private final double step; // 출력 프레임당 입력 프레임 증가량
+        private final short[] input;
+        private int inputOffset;
+        private int inputLength;
+        private boolean inputEnded;
+
+        private float leftA, rightA; // 현재 입력 프레임
+        private float leftB, rightB; // 다음 입력 프레임
+        private double fraction;
+        private boolean primed;
+        private boolean ended;
+
+        private Track(PcmStream stream, boolean loop, long generation) {
+            this.stream = stream;
+            this.loop = loop;
+            this.generation = generation;
+            this.channels = stream.getChannels();
+            this.step = stream.getSampleRate() / (double) SAMPLE_RATE;
+            this.input = new short[INPUT_CHUNK_FRAMES * channels];
+        }
+
+        private void seek(long micros) throws IOException {
+            stream.seek(micros * stream.getSampleRate() / 1_000_000L);
+            inputOffset = 0;
+            inputLength = 0;
+            inputEnded = false;
+            fraction = 0;
+            primed = false;
+            ended = false;
+        }
+
+        /**
+         * 출력 프레임을 만듭니다
+         *
+         * @return 만든 프레임 수 (곡이 끝나면 요청보다 적음)
+         */
+        private int render(float[] output, int frames) throws IOException {
+            if (ended) {
+                return 0;
+            }
+            if (!primed) {
+                primed = true;
+                if (!readFrame()) {
+                    ended = true;
+                    return 0;
+                }
+                leftA = leftB;
+                rightA = rightB;
+                if (!readFrame()) {
+                    inputEnded = true;
+                }
+            }
+
+            for (int i = 0; i < frames; i++) {
+                while (fraction >= 1.0) {
+                    if (inputEnded) {
+                        ended = true;
+                        return i;
+                    }
+                    leftA = leftB;
+                    rightA = rightB;
+                    if (!readFrame()) {
+                        inputEnded = true;
+                    }
+                    fraction -= 1.0;
+                }
+
+                float f = (float) fraction;
+                output[i * CHANNELS] = leftA + (leftB - leftA) * f;
+                output[i * CHANNELS + 1] = rightA + (rightB - rightA) * f;
+                fraction += step;
+            }
+            return frames;
+        }
+
+        /**
+         * 다음 입력 프레임을 leftB/rightB에 읽습니다 (루프 재생이면 끝에서 처음으로 이어짐)
+         */
+        private boolean readFrame() throws IOException {
+            if (inputOffset >= inputLength) {
+                int count = stream.read(input, 0, input.length);
+                if (count < 0 && loop) {
+                    stream.seek(0);
+                    count = stream.read(input, 0, input.length);
+                }
+                if (count <= 0) {
+                    leftB = leftA;
+                    rightB = rightA;
+                    return false;
+                }
+                inputOffset = 0;
+                inputLength = count;
+            }
+
+            leftB = input[inputOffset] / 32768f;
+            rightB = channels > 1 ? input[inputOffset + 1] / 32768f : leftB;
+            inputOffset += channels;
+            return true;
+        }
+    }
+}
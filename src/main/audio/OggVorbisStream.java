@@ -0,0 +1,409 @@
+package main.audio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Ogg Vorbis 파일을 패킷 단위로 복호하며 읽는 스트림
+ *
+ * 파일은 메모리 매핑으로 열어 Ogg 페이지에서 패킷을 꺼내는 대로 VorbisDecoder에 넘기므로,
+ * 곡 길이와 관계없이 패킷 하나와 블록 두 개 분량의 메모리만 씁니다.
+ *
+ * 이동은 페이지 헤더의 그래뉼 위치(그 페이지에서 끝나는 마지막 패킷까지의 샘플 수)를 이분 탐색해
+ * 목표 직전 페이지에서 복호를 다시 시작하고, 위치를 아는 페이지 경계에 닿은 뒤 남은 샘플을 버려
+ * 정확한 샘플부터 반환합니다. 전체 길이는 파일 끝 페이지의 그래뉼 위치로 구합니다.
+ */
+public class OggVorbisStream implements PcmStream {
+    private static final int PAGE_HEADER_SIZE = 27;
+    private static final int MAX_PAGE_SIZE = PAGE_HEADER_SIZE + 255 + 255 * 255;
+    private static final int SEEK_LINEAR_BYTES = 64 * 1024; // 이 범위 안에서는 페이지를 차례로 훑음
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int r = i << 24;
+            for (int j = 0; j < 8; j++) {
+                r = (r & 0x80000000) != 0 ? (r << 1) ^ 0x04C11DB7 : r << 1;
+            }
+            CRC_TABLE[i] = r;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final long fileSize;
+    private final VorbisDecoder decoder = new VorbisDecoder();
+    private final int serial;
+    private final long audioStart; // 첫 오디오 페이지 위치
+    private final long totalSamples;
+
+    // 페이지/패킷 읽기 상태
+    private long nextPage;
+    private int segmentCount;
+    private int segmentIndex;
+    private int segmentTable; // 현재 페이지의 세그먼트 길이 표 위치
+    private int segmentData; // 현재 세그먼트 데이터 위치
+    private int lastCompleteSegment; // 이 페이지에서 패킷이 끝나는 마지막 세그먼트
+    private long pageGranule;
+    private boolean lastPage;
+    private boolean skipContinued; // 이동 직후 앞 페이지에서 이어진 패킷 조각은 버림
+    private byte[] packet = new byte[4096];
+    private int packetLength;
+    private long packetGranule; // 페이지의 마지막 완성 패킷이면 그 페이지의 그래뉼 위치, 아니면 -1
+
+    // 복호된 PCM 상태
+    private int pcmOffset;
+    private int pcmCount;
+    private long position; // 다음에 반환할 샘플 위치, 모르면 -1
+
+    public OggVorbisStream(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("파일이 너무 큽니다: " + file.getName());
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int first = pageSize(0);
+        if (first < 0 || (data.get(5) & 0x02) == 0) {
+            throw new IOException("Ogg 파일이 아닙니다: " + file.getName());
+        }
+        serial = data.getInt(14);
+
+        for (int i = 0; i < 3; i++) {
+            if (!nextPacket()) {
+                throw new IOException("Vorbis 헤더가 없습니다: " + file.getName());
+            }
+            decoder.readHeader(packet, packetLength);
+        }
+        // 첫 오디오 패킷은 항상 새 페이지에서 시작함
+        audioStart = nextPage;
+        totalSamples = findLastGranule();
+        position = 0;
+    }
+
+    // =============== 페이지 ===============
+
+    /**
+     * 해당 위치의 페이지 전체 크기를 반환합니다
+     *
+     * @return 올바른 페이지 헤더가 아니면 -1
+     */
+    private int pageSize(long offset) {
+        if (offset < 0 || offset + PAGE_HEADER_SIZE > fileSize) {
+            return -1;
+        }
+        int at = (int) offset;
+        if (data.get(at) != 'O' || data.get(at + 1) != 'g' || data.get(at + 2) != 'g' || data.get(at + 3) != 'S'
+                || data.get(at + 4) != 0) {
+            return -1;
+        }
+        int segments = data.get(at + 26) & 0xFF;
+        if (offset + PAGE_HEADER_SIZE + segments > fileSize) {
+            return -1;
+        }
+        int size = PAGE_HEADER_SIZE + segments;
+        for (int i = 0; i < segments; i++) {
+            size += data.get(at + PAGE_HEADER_SIZE + i) & 0xFF;
+        }
+        return offset + size <= fileSize ? size : -1;
+    }
+
+    private boolean checkCrc(int at, int size) {
+        int crc = 0;
+        for (int i = 0; i < size; i++) {
+            int b = i >= 22 && i < 26 ? 0 : data.get(at + i) & 0xFF; // CRC 칸은 0으로 계산
+            crc = (crc << 8) ^ CRC_TABLE[((crc >>> 24) ^ b) & 0xFF];
+        }
+        return crc == data.getInt(at + 22);
+    }
+
+    /**
+     * from 이후에서 이 스트림의 올바른 페이지를 찾습니다 (CRC 확인)
+     *
+     * @return 찾지 못하면 -1
+     */
+    private long findPage(long from, long limit) {
+        long end = Math.min(limit, fileSize - PAGE_HEADER_SIZE);
+        for (long offset = Math.max(0, from); offset <= end; offset++) {
+            if (data.get((int) offset) != 'O') {
+                continue;
+            }
+            int size = pageSize(offset);
+            if (size > 0 && data.getInt((int) offset + 14) == serial && checkCrc((int) offset, size)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private long granuleAt(long offset) {
+        return data.getLong((int) offset + 6);
+    }
+
+    /**
+     * 파일 끝에서부터 그래뉼 위치가 있는 마지막 페이지를 찾아 전체 길이를 구합니다
+     */
+    private long findLastGranule() {
+        long from = fileSize;
+        while (from > audioStart) {
+            long start = Math.max(audioStart, from - MAX_PAGE_SIZE);
+            long last = -1;
+            for (long offset = findPage(start, from - 1); offset >= 0 && offset < from;
+                    offset = findPage(offset + 1, from - 1)) {
+                if (granuleAt(offset) != -1) {
+                    last = offset;
+                }
+            }
+            if (last >= 0) {
+                return granuleAt(last);
+            }
+            from = start;
+        }
+        return 0;
+    }
+
+    private boolean loadPage(long offset) {
+        int size = pageSize(offset);
+        if (size < 0 || data.getInt((int) offset + 14) != serial) {
+            // 다른 논리 스트림의 페이지나 손상된 구간은 건너뜀
+            offset = findPage(offset + 1, fileSize);
+            if (offset < 0) {
+                return false;
+            }
+            size = pageSize(offset);
+        }
+
+        int at = (int) offset;
+        boolean continued = (data.get(at + 5) & 0x01) != 0;
+        lastPage = (data.get(at + 5) & 0x04) != 0;
+        pageGranule = granuleAt(offset);
+        segmentCount = data.get(at + 26) & 0xFF;
+        segmentTable = at + PAGE_HEADER_SIZE;
+        segmentIndex = 0;
+        segmentData = segmentTable + segmentCount;
+        lastCompleteSegment = -1;
+        for (int i = 0; i < segmentCount; i++) {
+            if ((data.get(segmentTable + i) & 0xFF) < 255) {
+                lastCompleteSegment = i;
+            }
+        }
+        nextPage = offset + size;
+
+        if (skipContinued) {
+            skipContinued = false;
+            if (continued) {
+                // 앞 페이지에서 시작한 패킷의 나머지 조각은 앞부분이 없으므로 버림
+                while (segmentIndex < segmentCount) {
+                    int lacing = data.get(segmentTable + segmentIndex++) & 0xFF;
+                    segmentData += lacing;
+                    if (lacing < 255) {
+                        break;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 다음 패킷을 packet에 꺼냅니다
+     *
+     * @return 스트림이 끝났으면 false
+     */
+    private boolean nextPacket() {
+        packetLength = 0;
+        while (true) {
+            while (segmentIndex < segmentCount) {
+                int index = segmentIndex++;
+                int lacing = data.get(segmentTable + index) & 0xFF;
+                if (packetLength + lacing > packet.length) {
+                    packet = Arrays.copyOf(packet, Math.max(packet.length * 2, packetLength + lacing));
+                }
+                data.position(segmentData);
+                data.get(packet, packetLength, lacing);
+                segmentData += lacing;
+                packetLength += lacing;
+                if (lacing < 255) {
+                    packetGranule = index == lastCompleteSegment ? pageGranule : -1;
+                    return true;
+                }
+            }
+            if (lastPage || !loadPage(nextPage)) {
+                return false;
+            }
+        }
+    }
+
+    // =============== 복호 ===============
+
+    /**
+     * 다음 패킷을 복호해 PCM을 채웁니다 (앞 PCM을 모두 쓴 뒤 호출)
+     *
+     * @return 스트림이 끝났으면 false
+     */
+    private boolean decodeNext() {
+        if (!nextPacket()) {
+            return false;
+        }
+        pcmOffset = 0;
+        pcmCount = decoder.decode(packet, packetLength);
+
+        if (position < 0) {
+            // 이동 직후: 그래뉼 위치가 있는 페이지 경계에 닿기 전의 출력은 위치를 모르므로 버림
+            // (마지막 페이지의 그래뉼 위치는 끝을 잘라낸 길이라 기준으로 쓰지 않음)
+            if (packetGranule >= 0 && !lastPage) {
+                position = packetGranule - pcmCount;
+            } else {
+                pcmCount = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read(short[] buffer, int offset, int length) {
+        while (pcmOffset >= pcmCount) {
+            if (!decodeNext()) {
+                return -1;
+            }
+        }
+        int channels = decoder.getChannels();
+        int frames = Math.min(length / channels, pcmCount - pcmOffset);
+        if (totalSamples > 0) {
+            frames = (int) Math.min(frames, totalSamples - position); // 마지막 블록의 남는 부분은 잘라냄
+        }
+        if (frames <= 0) {
+            return -1;
+        }
+
+        float[][] pcm = decoder.getOutput();
+        for (int c = 0; c < channels; c++) {
+            float[] source = pcm[c];
+            for (int i = 0, j = offset + c; i < frames; i++, j += channels) {
+                float value = source[pcmOffset + i] * 32767f;
+                buffer[j] = (short) (value >= 32767f ? 32767 : value <= -32768f ? -32768 : (int) value);
+            }
+        }
+        pcmOffset += frames;
+        position += frames;
+        return frames * channels;
+    }
+
+    // =============== 이동 ===============
+
+    @Override
+    public void seek(long sample) {
+        sample = Math.max(0, totalSamples > 0 ? Math.min(sample, totalSamples) : sample);
+
+        long searchTarget = sample;
+        long backoff = decoder.getMaxBlockSize();
+        while (true) {
+            long page = searchTarget > 0 ? findPageBefore(searchTarget) : -1;
+            restart(page < 0 ? audioStart : page, page < 0);
+            while (position < 0 && decodeNext()) {
+                // 위치를 아는 페이지 경계까지 복호
+            }
+            if (page < 0 || (position >= 0 && position <= sample)) {
+                break;
+            }
+            // 시작 페이지에서 끝나는 패킷이 없어 목표를 지나친 경우 더 앞에서 다시 시작
+            searchTarget -= backoff;
+            backoff *= 2;
+        }
+        if (position < 0) {
+            position = sample;
+            pcmOffset = pcmCount;
+            return;
+        }
+
+        while (position + (pcmCount - pcmOffset) <= sample) {
+            position += pcmCount - pcmOffset;
+            pcmOffset = pcmCount;
+            if (!decodeNext()) {
+                return;
+            }
+        }
+        pcmOffset += (int) (sample - position);
+        position = sample;
+    }
+
+    private void restart(long page, boolean fromStart) {
+        decoder.reset();
+        nextPage = page;
+        segmentIndex = 0;
+        segmentCount = 0;
+        lastPage = false;
+        skipContinued = !fromStart;
+        pcmOffset = 0;
+        pcmCount = 0;
+        position = fromStart ? 0 : -1;
+    }
+
+    /**
+     * 그래뉼 위치가 target 이하인 마지막 페이지를 이분 탐색으로 찾습니다
+     *
+     * @return 그런 페이지가 없으면 -1
+     */
+    private long findPageBefore(long target) {
+        long low = audioStart;
+        long high = fileSize;
+        long best = -1;
+        while (high - low > SEEK_LINEAR_BYTES) {
+            long middle = low + (high - low) / 2;
+            long page = findPage(middle, high);
+            while (page >= 0 && granuleAt(page) == -1) {
+                page = findPage(page + pageSize(page), high);
+            }
+            if (page < 0 || granuleAt(page) > target) {
+                high = middle;
+            } else {
+                best = page;
+                low = page + pageSize(page);
+            }
+        }
+
+        for (long page = findPage(low, fileSize); page >= 0; page = findPage(page + pageSize(page), fileSize)) {
+            long granule = granuleAt(page);
+            if (granule != -1) {
+                if (granule > target) {
+                    break;
+                }
+                best = page;
+            }
+        }
+        return best;
+    }
+
+    // =============== 정보 ===============
+
+    @Override
+    public long getPosition() {
+        return Math.max(0, position);
+    }
+
+    @Override
+    public int getSampleRate() {
+        return decoder.getSampleRate();
+    }
+
+    @Override
+    public int getChannels() {
+        return decoder.getChannels();
+    }
+
+    @Override
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    @Override
+    public void close() {
+        // 매핑은 버퍼가 수거될 때 해제되며 파일 채널은 생성자에서 이미 닫힘
+    }
+}
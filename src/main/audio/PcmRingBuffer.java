@@ -0,0 +1,96 @@
+package main.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디코딩 스레드 하나가 쓰고 출력 스레드 하나가 읽는 PCM 링 버퍼
+ * 인터리브된 float 샘플을 프레임 단위로 주고받으며 잠금 없이 동작합니다.
+ * 읽기/쓰기 위치는 처음부터 누적된 프레임 번호이므로 특정 프레임 위치를 표시하는 데도 쓸 수 있습니다.
+ */
+public class PcmRingBuffer {
+    private final float[] data;
+    private final int channels;
+    private final int capacityFrames;
+    private final int mask;
+
+    private final AtomicLong readPosition = new AtomicLong(); // 소비자만 씀
+    private final AtomicLong writePosition = new AtomicLong(); // 생산자만 씀
+
+    /**
+     * @param capacityFrames 버퍼 크기 (프레임, 2의 거듭제곱으로 올림)
+     */
+    public PcmRingBuffer(int capacityFrames, int channels) {
+        this.capacityFrames = Integer.highestOneBit(Math.max(2, capacityFrames - 1) << 1);
+        this.channels = channels;
+        this.mask = this.capacityFrames - 1;
+        this.data = new float[this.capacityFrames * channels];
+    }
+
+    /**
+     * 쓸 수 있는 프레임 수 (생산자 스레드 전용)
+     */
+    public int writableFrames() {
+        return capacityFrames - (int) (writePosition.get() - readPosition.getAcquire());
+    }
+
+    /**
+     * 프레임을 씁니다 (생산자 스레드 전용, writableFrames() 이하만)
+     */
+    public void write(float[] source, int frames) {
+        long position = writePosition.get();
+        for (int i = 0; i < frames; i++) {
+            int slot = (int) ((position + i) & mask) * channels;
+            for (int c = 0; c < channels; c++) {
+                data[slot + c] = source[i * channels + c];
+            }
+        }
+        writePosition.setRelease(position + frames);
+    }
+
+    /**
+     * 읽을 수 있는 프레임 수 (소비자 스레드 전용)
+     */
+    public int readableFrames() {
+        return (int) (writePosition.getAcquire() - readPosition.get());
+    }
+
+    /**
+     * 프레임을 읽습니다 (소비자 스레드 전용, readableFrames() 이하만)
+     */
+    public void read(float[] target, int frames) {
+        long position = readPosition.get();
+        for (int i = 0; i < frames; i++) {
+            int slot = (int) ((position + i) & mask) * channels;
+            for (int c = 0; c < channels; c++) {
+                target[i * channels + c] = data[slot + c];
+            }
+        }
+        readPosition.setRelease(position + frames);
+    }
+
+    /**
+     * 지정한 누적 프레임 위치까지 읽지 않고 버립니다 (소비자 스레드 전용)
+     */
+    public void skipTo(long position) {
+        long limit = writePosition.getAcquire();
+        readPosition.setRelease(Math.max(readPosition.get(), Math.min(position, limit)));
+    }
+
+    /**
+     * 지금까지 쓴 누적 프레임 수
+     */
+    public long getWritePosition() {
+        return writePosition.get();
+    }
+
+    /**
+     * 지금까지 읽은 누적 프레임 수
+     */
+    public long getReadPosition() {
+        return readPosition.get();
+    }
+
+    public int getCapacityFrames() {
+        return capacityFrames;
+    }
+}
@@ -0,0 +1,70 @@
+package main.audio;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 오디오 파일을 16비트 PCM으로 순차 읽기하며 임의의 샘플 위치로 이동할 수 있는 스트림
+ * 배경음악 엔진은 파일 형식과 관계없이 이 인터페이스로 곡을 읽습니다.
+ */
+public interface PcmStream extends Closeable {
+
+    /**
+     * 파일 형식에 맞는 스트림을 엽니다
+     *
+     * @throws IOException 지원하지 않는 형식이거나 읽을 수 없는 파일
+     */
+    static PcmStream open(File file) throws IOException {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".mp3")) {
+            return new Mp3Stream(file);
+        }
+        if (name.endsWith(".wav") || name.endsWith(".aif") || name.endsWith(".aiff") || name.endsWith(".aifc")) {
+            return new MappedPcmStream(file);
+        }
+        if (name.endsWith(".ogg")) {
+            return new OggVorbisStream(file);
+        }
+        throw new IOException("스트리밍을 지원하지 않는 형식입니다: " + file.getName());
+    }
+
+    /**
+     * 스트리밍 재생을 지원하는 파일 이름인지 확인합니다
+     */
+    static boolean isSupported(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".mp3") || name.endsWith(".wav") || name.endsWith(".aif") || name.endsWith(".aiff")
+                || name.endsWith(".aifc") || name.endsWith(".ogg");
+    }
+
+    /**
+     * 지정한 샘플(채널당) 위치로 이동합니다
+     */
+    void seek(long sample) throws IOException;
+
+    /**
+     * 인터리브된 샘플을 읽습니다
+     *
+     * @return 읽은 샘플 수 (채널 수의 배수), 끝에 도달하면 -1
+     */
+    int read(short[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * 다음에 반환할 샘플의 위치 (채널당 샘플)
+     */
+    long getPosition();
+
+    int getSampleRate();
+
+    int getChannels();
+
+    /**
+     * 전체 길이를 채널당 샘플 수로 반환합니다
+     */
+    long getTotalSamples();
+
+    default long getDurationMicros() {
+        return getTotalSamples() * 1_000_000L / getSampleRate();
+    }
+}
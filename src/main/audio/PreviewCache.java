@@ -0,0 +1,113 @@
+package main.audio;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 디코딩된 미리듣기 PCM을 보관하는 LRU 캐시
+ *
+ * 전체 크기(바이트)가 한도를 넘으면 가장 오래 사용하지 않은 항목부터 버립니다.
+ * 키는 파일 경로, 크기, 수정 시각과 시작 위치 지정 방식으로 만들어
+ * 파일이 바뀌면 예전 PCM을 다시 쓰지 않습니다.
+ */
+public class PreviewCache {
+
+    /**
+     * 44.1kHz 스테레오 16비트로 변환된 미리듣기 구간
+     */
+    public static final class Clip {
+        private final short[] pcm;
+        private final long startMicros;
+
+        public Clip(short[] pcm, long startMicros) {
+            this.pcm = pcm;
+            this.startMicros = startMicros;
+        }
+
+        /**
+         * 인터리브된 스테레오 샘플
+         */
+        public short[] getPcm() {
+            return pcm;
+        }
+
+        public int getFrames() {
+            return pcm.length / AudioEngine.CHANNELS;
+        }
+
+        /**
+         * 이 구간이 원곡에서 시작하는 위치
+         */
+        public long getStartMicros() {
+            return startMicros;
+        }
+
+        public long getSizeBytes() {
+            return pcm.length * 2L;
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Clip> clips = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public PreviewCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 캐시 키를 만듭니다
+     *
+     * @param variant 같은 파일 안에서 구간을 구분하는 값 (시작 위치 지정 방식)
+     */
+    public static String keyOf(File file, String variant) {
+        return file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified() + "|" + variant;
+    }
+
+    public synchronized Clip get(String key) {
+        return clips.get(key);
+    }
+
+    public synchronized boolean contains(String key) {
+        return clips.containsKey(key);
+    }
+
+    /**
+     * 구간을 저장하고 한도를 넘는 만큼 오래된 항목을 버립니다
+     */
+    public synchronized void put(String key, Clip clip) {
+        if (clip.getSizeBytes() > maxBytes) {
+            return; // 한도보다 큰 구간은 저장하지 않음
+        }
+        Clip previous = clips.put(key, clip);
+        if (previous != null) {
+            usedBytes -= previous.getSizeBytes();
+        }
+        usedBytes += clip.getSizeBytes();
+
+        Iterator<Map.Entry<String, Clip>> eldest = clips.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Clip> entry = eldest.next();
+            if (entry.getValue() == clip) {
+                continue;
+            }
+            usedBytes -= entry.getValue().getSizeBytes();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        clips.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return clips.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+}
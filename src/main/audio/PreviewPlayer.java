@@ -1,9 +1,8 @@
 package main.audio;
 
-import javazoom.jl.decoder.JavaLayerException;
-import javazoom.jl.player.Player;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -12,20 +11,46 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * 노래 미리듣기 기능을 위한 플레이어 클래스
  * 30초 미리듣기 기능을 제공합니다
+ *
+ * 곡의 중간 지점(또는 자동으로 찾은 후렴 구간)부터 30초를 스트림의 이동 기능(MP3 프레임 색인, Ogg 그래뉼 위치 등)으로
+ * 바로 찾아가 디코딩하고,
+ * 디코딩한 PCM은 크기 제한이 있는 LRU 캐시에 보관해 같은 곡으로 돌아오면 디코딩 없이 바로 재생합니다.
+ * 디코딩은 미리듣기 전용 스레드 하나에서 하고, 재생은 오디오 엔진의 렌더 스레드가 메모리의 구간을 섞어 냅니다.
  */
-public class PreviewPlayer {
-    private ExecutorService executor;
+public class PreviewPlayer implements AudioSource {
+    private final AudioEngine engine;
+    private final Executor callbackExecutor;
+    private ExecutorService executor; // 구간 디코딩용
     private Future<?> currentPlayback;
     private AtomicBoolean isPlaying;
     private AtomicBoolean isPaused;
-    private String currentFilePath;
-    private Player currentPlayer;
-    private float volume;
-    private PreviewListener listener;
+    private volatile String currentFilePath;
+    private volatile float volume;
+    private volatile PreviewListener listener;
+    private volatile boolean chorusDetection;
+
+    private final PreviewCache cache = new PreviewCache(CACHE_MAX_BYTES);
+    private volatile long session; // startPreview/stopPreview마다 증가, 이전 재생 작업을 무효화
+
+    // 렌더 스레드 전용
+    private PreviewCache.Clip playingClip;
+    private long playingSession;
+    private int playingFrame;
+    private boolean ending; // 마지막 프레임까지 섞었고 라인에서 다 재생되기를 기다리는 중
+    private long endLineFrame;
 
     // 미리듣기 설정
     private static final int PREVIEW_DURATION_SECONDS = 30;
     private static final int SKIP_SECONDS = 30; // 곡의 30초 지점부터 재생
+    private static final int FADE_IN_MILLIS = 300;
+    private static final int FADE_OUT_MILLIS = 1500;
+    private static final long CACHE_MAX_BYTES = 64L * 1024 * 1024; // 30초 구간 약 12곡
+
+    // 후렴 찾기 설정: 일정 간격으로 짧게 디코딩해 음량이 가장 크게 유지되는 구간을 찾음
+    private static final int CHORUS_PROBE_INTERVAL_MILLIS = 2000;
+    private static final int CHORUS_PROBE_MILLIS = 250;
+    private static final int CHORUS_WINDOW_PROBES = 5; // 10초 구간의 평균 음량으로 비교
+    private static final int CHORUS_LEAD_IN_MILLIS = 1000;
 
     public interface PreviewListener {
         void onPreviewStarted();
@@ -41,8 +66,15 @@ public class PreviewPlayer {
         void onPreviewError(String error);
     }
 
-    public PreviewPlayer() {
-        executor = Executors.newSingleThreadExecutor();
+    public PreviewPlayer(AudioEngine engine) {
+        this.engine = engine;
+        this.callbackExecutor = engine.getCallbackExecutor();
+        engine.addSource(this);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "PreviewDecoder");
+            thread.setDaemon(true);
+            return thread;
+        });
         isPlaying = new AtomicBoolean(false);
         isPaused = new AtomicBoolean(false);
         volume = 0.6f; // 미리듣기는 조금 낮은 볼륨으로
@@ -56,134 +88,327 @@ public class PreviewPlayer {
         this.listener = listener;
     }
 
+    /**
+     * 후렴 자동 찾기 사용 여부를 설정합니다 (끄면 곡의 30초 지점부터 재생)
+     */
+    public void setChorusDetection(boolean enabled) {
+        this.chorusDetection = enabled;
+    }
+
+    public boolean isChorusDetection() {
+        return chorusDetection;
+    }
+
     /**
      * 노래 미리듣기를 시작합니다
-     * 
+     *
      * @param filePath 재생할 파일 경로
      */
     public void startPreview(String filePath) {
+        startPreview(filePath, -1);
+    }
+
+    /**
+     * 지정한 위치부터 노래 미리듣기를 시작합니다
+     *
+     * @param filePath    재생할 파일 경로
+     * @param startMillis 시작 위치 (음수면 기본 위치 또는 자동으로 찾은 후렴)
+     */
+    public synchronized void startPreview(String filePath, long startMillis) {
         if (filePath == null || filePath.isEmpty()) {
             System.err.println("미리듣기: 잘못된 파일 경로");
-            if (listener != null) {
-                listener.onPreviewError("잘못된 파일 경로");
-            }
+            notifyError("잘못된 파일 경로");
             return;
         }
 
         // 기존 재생 중지
         stopPreview();
 
+        long id = ++session;
         currentFilePath = filePath;
         isPlaying.set(true);
         isPaused.set(false);
 
-        currentPlayback = executor.submit(() -> {
-            FileInputStream fileInputStream = null;
-            Player player = null;
+        currentPlayback = executor.submit(() -> playPreview(filePath, startMillis, id));
+    }
 
-            try {
-                System.out.println("미리듣기 시작: " + filePath);
+    /**
+     * 미리듣기 구간을 미리 디코딩해 캐시에 넣습니다 (호출한 스레드에서 실행)
+     *
+     * @return 캐시에 준비되었으면 true
+     */
+    public boolean prefetch(String filePath) {
+        if (filePath == null || !PcmStream.isSupported(filePath)) {
+            return false;
+        }
+        try {
+            return loadClip(new File(filePath), -1) != null;
+        } catch (IOException e) {
+            System.err.println("미리듣기 미리 불러오기 실패: " + filePath + " - " + e.getMessage());
+            return false;
+        }
+    }
 
-                fileInputStream = new FileInputStream(filePath);
-                player = new Player(fileInputStream);
-                currentPlayer = player;
+    /**
+     * 미리듣기 구간이 캐시에 있는지 확인합니다
+     */
+    public boolean isCached(String filePath) {
+        return filePath != null && cache.contains(PreviewCache.keyOf(new File(filePath), variantOf(-1)));
+    }
 
-                if (listener != null) {
-                    listener.onPreviewStarted();
-                }
+    private void playPreview(String filePath, long startMillis, long id) {
+        try {
+            long loadStart = System.nanoTime();
+            boolean cached = cache.contains(PreviewCache.keyOf(new File(filePath), variantOf(startMillis)));
+            PreviewCache.Clip clip = loadClip(new File(filePath), startMillis);
+            if (id != session) {
+                return; // 디코딩하는 동안 다른 곡으로 넘어감
+            }
 
-                // 곡의 시작 부분을 건너뛰고 중간 부분부터 재생
-                // MP3의 경우 프레임 단위로 건너뛰기가 복잡하므로 처음부터 재생
-
-                long startTime = System.currentTimeMillis();
-                long maxDuration = PREVIEW_DURATION_SECONDS * 1000; // 30초
-
-                // 재생 시작
-                final Player finalPlayer = player; // final 변수로 복사
-                Thread playThread = new Thread(() -> {
-                    try {
-                        finalPlayer.play();
-                    } catch (JavaLayerException e) {
-                        System.err.println("미리듣기 재생 오류: " + e.getMessage());
-                        if (listener != null) {
-                            listener.onPreviewError("재생 오류: " + e.getMessage());
-                        }
-                    }
-                });
-
-                playThread.start();
-
-                // 30초 후 또는 재생 완료 시 중지
-                while (isPlaying.get() && playThread.isAlive()) {
-                    if (System.currentTimeMillis() - startTime >= maxDuration) {
-                        System.out.println("미리듣기 30초 완료");
-                        break;
-                    }
-
-                    // 일시정지 처리
-                    while (isPaused.get() && isPlaying.get()) {
-                        Thread.sleep(100);
-                    }
-
-                    Thread.sleep(100);
-                }
+            // 렌더 스레드에 구간을 넘김 (일시정지 상태면 재개할 때부터 섞음)
+            if (!engine.submit(() -> startClip(clip, id))) {
+                System.err.println("미리듣기: 오디오 엔진이 동작하지 않습니다");
+                failPreview(id, "출력 장치 오류");
+                return;
+            }
+            System.out.printf("미리듣기 시작: %s (%d초 지점, %s %.1fms)%n", filePath,
+                    clip.getStartMicros() / 1_000_000, cached ? "캐시" : "디코딩",
+                    (System.nanoTime() - loadStart) / 1_000_000.0);
+            PreviewListener current = listener;
+            if (current != null) {
+                current.onPreviewStarted();
+            }
+        } catch (IOException e) {
+            System.err.println("미리듣기 파일 오류: " + e.getMessage());
+            failPreview(id, "파일 오류: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("미리듣기 예상치 못한 오류: " + e.getMessage());
+            failPreview(id, "예상치 못한 오류: " + e.getMessage());
+        }
+    }
 
-                // 재생 중지
-                if (player != null) {
-                    player.close();
-                }
+    private void completePreview(long id) {
+        if (id == session && isPlaying.compareAndSet(true, false)) {
+            isPaused.set(false);
+            System.out.println("미리듣기 정상 완료");
+            PreviewListener current = listener;
+            if (current != null) {
+                current.onPreviewCompleted();
+            }
+        }
+    }
 
-                if (isPlaying.get()) {
-                    System.out.println("미리듣기 정상 완료");
-                    if (listener != null) {
-                        listener.onPreviewCompleted();
-                    }
-                }
+    private void failPreview(long id, String message) {
+        if (id == session && isPlaying.compareAndSet(true, false)) {
+            isPaused.set(false);
+            notifyError(message);
+        }
+    }
 
-            } catch (IOException e) {
-                System.err.println("미리듣기 파일 오류: " + e.getMessage());
-                if (listener != null) {
-                    listener.onPreviewError("파일 오류: " + e.getMessage());
-                }
-            } catch (InterruptedException e) {
-                System.out.println("미리듣기 중단됨");
-                if (listener != null) {
-                    listener.onPreviewStopped();
-                }
-            } catch (Exception e) {
-                System.err.println("미리듣기 예상치 못한 오류: " + e.getMessage());
-                if (listener != null) {
-                    listener.onPreviewError("예상치 못한 오류: " + e.getMessage());
-                }
-            } finally {
-                // 리소스 정리
-                if (player != null) {
-                    player.close();
+    private void notifyError(String message) {
+        PreviewListener current = listener;
+        if (current != null) {
+            current.onPreviewError(message);
+        }
+    }
+
+    // =============== 렌더 스레드 ===============
+
+    private void startClip(PreviewCache.Clip clip, long id) {
+        playingClip = clip;
+        playingSession = id;
+        playingFrame = 0;
+        ending = false;
+    }
+
+    @Override
+    public void render(float[] mix, int frames, long lineFrame) {
+        PreviewCache.Clip clip = playingClip;
+        if (clip == null) {
+            return;
+        }
+        if (playingSession != session) {
+            playingClip = null; // 중지되었거나 다른 곡으로 넘어감
+            return;
+        }
+        if (ending) {
+            if (engine.getPlayedFrames() >= endLineFrame) {
+                playingClip = null;
+                long id = playingSession;
+                callbackExecutor.execute(() -> completePreview(id));
+            }
+            return;
+        }
+        if (isPaused.get()) {
+            return;
+        }
+
+        short[] pcm = clip.getPcm();
+        int count = Math.min(frames, clip.getFrames() - playingFrame);
+        int base = playingFrame * AudioEngine.CHANNELS;
+        float gain = volume / 32768f;
+        for (int i = 0; i < count * AudioEngine.CHANNELS; i++) {
+            mix[i] += pcm[base + i] * gain;
+        }
+
+        playingFrame += count;
+        if (playingFrame >= clip.getFrames()) {
+            ending = true;
+            endLineFrame = lineFrame + count;
+        }
+    }
+
+    // =============== 구간 디코딩 ===============
+
+    private String variantOf(long startMillis) {
+        return startMillis >= 0 ? Long.toString(startMillis) : chorusDetection ? "chorus" : "default";
+    }
+
+    /**
+     * 캐시에서 구간을 찾고, 없으면 디코딩해 캐시에 넣습니다
+     */
+    private PreviewCache.Clip loadClip(File file, long startMillis) throws IOException {
+        String key = PreviewCache.keyOf(file, variantOf(startMillis));
+        PreviewCache.Clip clip = cache.get(key);
+        if (clip == null) {
+            clip = decodeClip(file, startMillis);
+            cache.put(key, clip);
+        }
+        return clip;
+    }
+
+    private PreviewCache.Clip decodeClip(File file, long startMillis) throws IOException {
+        try (PcmStream stream = PcmStream.open(file)) {
+            int sampleRate = stream.getSampleRate();
+            int channels = stream.getChannels();
+            long totalSamples = stream.getTotalSamples();
+            long previewSamples = (long) PREVIEW_DURATION_SECONDS * sampleRate;
+
+            long start;
+            if (startMillis >= 0) {
+                start = startMillis * sampleRate / 1000;
+            } else if (chorusDetection) {
+                start = findChorusSample(stream);
+            } else {
+                start = (long) SKIP_SECONDS * sampleRate;
+            }
+            // 곡이 짧으면 끝에서 30초 앞으로 당김
+            start = Math.max(0, Math.min(start, totalSamples - previewSamples));
+
+            stream.seek(start);
+            short[] decoded = new short[(int) Math.min(previewSamples, totalSamples - start) * channels];
+            int filled = 0;
+            while (filled < decoded.length) {
+                int read = stream.read(decoded, filled, decoded.length - filled);
+                if (read < 0) {
+                    break;
                 }
-                if (fileInputStream != null) {
-                    try {
-                        fileInputStream.close();
-                    } catch (IOException e) {
-                        System.err.println("파일 스트림 닫기 실패: " + e.getMessage());
-                    }
+                filled += read;
+            }
+
+            float[] data = new float[filled];
+            for (int i = 0; i < filled; i++) {
+                data[i] = decoded[i] / 32768f;
+            }
+            float[] output = SfxMixer.toOutputFormat(data, channels, sampleRate);
+            return new PreviewCache.Clip(toFadedPcm(output), start * 1_000_000L / sampleRate);
+        }
+    }
+
+    /**
+     * 앞뒤에 페이드를 넣어 16비트 스테레오 샘플로 변환합니다
+     */
+    private static short[] toFadedPcm(float[] data) {
+        int frames = data.length / AudioEngine.CHANNELS;
+        int fadeIn = (int) (AudioEngine.SAMPLE_RATE * FADE_IN_MILLIS / 1000);
+        int fadeOut = (int) (AudioEngine.SAMPLE_RATE * FADE_OUT_MILLIS / 1000);
+        short[] pcm = new short[frames * AudioEngine.CHANNELS];
+
+        for (int i = 0; i < frames; i++) {
+            float gain = 1.0f;
+            if (i < fadeIn) {
+                gain = (float) i / fadeIn;
+            }
+            if (frames - i < fadeOut) {
+                gain = Math.min(gain, (float) (frames - i) / fadeOut);
+            }
+            for (int c = 0; c < AudioEngine.CHANNELS; c++) {
+                float sample = data[i * AudioEngine.CHANNELS + c] * gain * 32767f;
+                pcm[i * AudioEngine.CHANNELS + c] = (short) Math.max(-32768, Math.min(32767, sample));
+            }
+        }
+        return pcm;
+    }
+
+    /**
+     * 후렴으로 보이는 구간의 시작 샘플을 찾습니다
+     *
+     * 일정 간격마다 짧은 조각만 디코딩해 음량(RMS 제곱)을 재고, 곡의 앞뒤를 제외한 범위에서
+     * 평균 음량이 가장 높게 유지되는 구간을 후렴으로 봅니다.
+     */
+    private long findChorusSample(PcmStream stream) throws IOException {
+        int sampleRate = stream.getSampleRate();
+        int channels = stream.getChannels();
+        long totalSamples = stream.getTotalSamples();
+        long interval = (long) CHORUS_PROBE_INTERVAL_MILLIS * sampleRate / 1000;
+        int probes = (int) (totalSamples / interval);
+        if (totalSamples < 2L * PREVIEW_DURATION_SECONDS * sampleRate || probes < CHORUS_WINDOW_PROBES * 2) {
+            return (long) SKIP_SECONDS * sampleRate;
+        }
+
+        long startNanos = System.nanoTime();
+        double[] energy = new double[probes];
+        short[] buffer = new short[CHORUS_PROBE_MILLIS * sampleRate / 1000 * channels];
+        for (int p = 0; p < probes; p++) {
+            stream.seek(p * interval);
+            int filled = 0;
+            while (filled < buffer.length) {
+                int read = stream.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    break;
                 }
+                filled += read;
+            }
+            double sum = 0;
+            for (int i = 0; i < filled; i++) {
+                sum += (double) buffer[i] * buffer[i];
+            }
+            energy[p] = filled > 0 ? sum / filled : 0;
+        }
 
-                isPlaying.set(false);
-                isPaused.set(false);
-                currentPlayer = null;
+        // 인트로와 아웃트로를 피해서 곡의 15%~75% 구간에서 시작점을 고름
+        int first = probes * 15 / 100;
+        int last = Math.max(first, Math.min(probes - CHORUS_WINDOW_PROBES, probes * 75 / 100));
+        int best = first;
+        double bestSum = -1;
+        for (int p = first; p <= last; p++) {
+            double sum = 0;
+            for (int w = 0; w < CHORUS_WINDOW_PROBES; w++) {
+                sum += energy[p + w];
             }
-        });
+            if (sum > bestSum) {
+                bestSum = sum;
+                best = p;
+            }
+        }
+
+        long chorus = Math.max(0, best * interval - (long) CHORUS_LEAD_IN_MILLIS * sampleRate / 1000);
+        System.out.printf("후렴 구간 추정: %.1f초 (%d개 조각, %.1fms)%n", (double) chorus / sampleRate, probes,
+                (System.nanoTime() - startNanos) / 1_000_000.0);
+        return chorus;
     }
 
+    // =============== 재생 제어 ===============
+
     /**
      * 미리듣기를 일시정지합니다
      */
     public void pausePreview() {
-        if (isPlaying.get() && !isPaused.get()) {
-            isPaused.set(true);
+        if (isPlaying.get() && isPaused.compareAndSet(false, true)) {
             System.out.println("미리듣기 일시정지");
-            if (listener != null) {
-                listener.onPreviewPaused();
+            PreviewListener current = listener;
+            if (current != null) {
+                current.onPreviewPaused();
             }
         }
     }
@@ -192,11 +417,11 @@ public class PreviewPlayer {
      * 미리듣기를 재개합니다
      */
     public void resumePreview() {
-        if (isPlaying.get() && isPaused.get()) {
-            isPaused.set(false);
+        if (isPlaying.get() && isPaused.compareAndSet(true, false)) {
             System.out.println("미리듣기 재개");
-            if (listener != null) {
-                listener.onPreviewResumed();
+            PreviewListener current = listener;
+            if (current != null) {
+                current.onPreviewResumed();
             }
         }
     }
@@ -204,23 +429,19 @@ public class PreviewPlayer {
     /**
      * 미리듣기를 중지합니다
      */
-    public void stopPreview() {
-        if (isPlaying.get()) {
-            isPlaying.set(false);
+    public synchronized void stopPreview() {
+        session++;
+        if (isPlaying.getAndSet(false)) {
             isPaused.set(false);
 
             if (currentPlayback != null) {
-                currentPlayback.cancel(true);
-            }
-
-            if (currentPlayer != null) {
-                currentPlayer.close();
-                currentPlayer = null;
+                currentPlayback.cancel(false); // 렌더 스레드는 session이 바뀐 것을 보고 구간을 버림
             }
 
             System.out.println("미리듣기 중지");
-            if (listener != null) {
-                listener.onPreviewStopped();
+            PreviewListener current = listener;
+            if (current != null) {
+                current.onPreviewStopped();
             }
         }
     }
@@ -278,6 +499,8 @@ public class PreviewPlayer {
             }
         }
 
+        cache.clear();
+
         System.out.println("PreviewPlayer 리소스 정리 완료");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,254 @@
+package main.audio;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 효과음을 직접 섞는 소프트웨어 믹서 (AudioEngine의 소리 공급원)
+ *
+ * 효과음은 미리 출력 형식(44.1kHz 스테레오)의 PCM으로 디코딩해 두고, 재생 요청은
+ * 오디오 엔진의 잠금 없는 명령 큐에 넣기만 하므로 어느 스레드에서 호출해도 바로 반환합니다.
+ * 렌더 스레드가 명령을 처리하고 고정된 수의 보이스를 블록마다 섞습니다.
+ * 보이스가 모두 사용 중이면 가장 오래 재생된 보이스를 빼앗아 씁니다.
+ */
+public class SfxMixer implements AudioSource {
+    public static final float SAMPLE_RATE = AudioEngine.SAMPLE_RATE;
+    public static final int CHANNELS = AudioEngine.CHANNELS;
+
+    private static final int VOICE_COUNT = 32;
+
+    private final AudioEngine engine;
+
+    // 등록된 샘플 (인터리브된 스테레오 float, -1~1), 등록할 때마다 배열을 교체
+    private volatile float[][] samples = new float[0][];
+    private final Object registerLock = new Object();
+
+    // 보이스 상태 (렌더 스레드만 사용)
+    private final float[][] voiceData = new float[VOICE_COUNT][];
+    private final int[] voicePosition = new int[VOICE_COUNT];
+    private final float[] voiceGainLeft = new float[VOICE_COUNT];
+    private final float[] voiceGainRight = new float[VOICE_COUNT];
+    private final long[] voiceStartSerial = new long[VOICE_COUNT];
+    private long nextStartSerial;
+
+    private volatile float masterGain = 1.0f;
+
+    public SfxMixer(AudioEngine engine) {
+        this.engine = engine;
+        engine.addSource(this);
+    }
+
+    public boolean isRunning() {
+        return engine.isRunning();
+    }
+
+    /**
+     * 출력 라인 버퍼로 인한 지연을 마이크로초로 반환합니다
+     */
+    public long getOutputLatencyMicros() {
+        return engine.getOutputLatencyMicros();
+    }
+
+    // =============== 샘플 등록 ===============
+
+    /**
+     * 오디오 파일을 디코딩해 샘플로 등록합니다
+     *
+     * @return 재생할 때 쓰는 샘플 번호
+     */
+    public int load(File file) throws UnsupportedAudioFileException, IOException {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            return register(decode(stream));
+        }
+    }
+
+    /**
+     * 16비트 PCM 샘플을 등록합니다
+     *
+     * @param pcm        인터리브된 16비트 샘플
+     * @param channels   채널 수
+     * @param sampleRate 샘플레이트
+     * @return 재생할 때 쓰는 샘플 번호
+     */
+    public int register(short[] pcm, int channels, float sampleRate) {
+        int frames = pcm.length / channels;
+        float[] data = new float[frames * channels];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = pcm[i] / 32768f;
+        }
+        return register(toOutputFormat(data, channels, sampleRate));
+    }
+
+    private int register(float[] stereo) {
+        synchronized (registerLock) {
+            float[][] current = samples;
+            float[][] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = stereo;
+            samples = next;
+            return current.length;
+        }
+    }
+
+    /**
+     * 샘플의 길이를 마이크로초로 반환합니다
+     */
+    public long getSampleLengthMicros(int sampleId) {
+        float[][] bank = samples;
+        if (sampleId < 0 || sampleId >= bank.length) {
+            return 0;
+        }
+        return (long) (bank[sampleId].length / CHANNELS * 1_000_000L / SAMPLE_RATE);
+    }
+
+    // =============== 재생 요청 (모든 스레드) ===============
+
+    public boolean play(int sampleId) {
+        return play(sampleId, 1.0f, 0.0f);
+    }
+
+    /**
+     * 샘플 재생을 요청합니다
+     * 명령 큐에 넣기만 하고 바로 반환하며, 다음 렌더 블록에서 재생이 시작됩니다
+     *
+     * @param gain 보이스 볼륨 (0~1)
+     * @param pan  좌우 위치 (-1 왼쪽 ~ 1 오른쪽)
+     * @return 엔진이 동작하지 않거나 큐가 가득 차 요청이 버려졌으면 false
+     */
+    public boolean play(int sampleId, float gain, float pan) {
+        if (sampleId < 0) {
+            return false;
+        }
+        return engine.submit(() -> startVoice(sampleId, gain, pan));
+    }
+
+    /**
+     * 재생 중인 모든 보이스를 멈춥니다
+     */
+    public void stopAll() {
+        engine.submit(() -> Arrays.fill(voiceData, null));
+    }
+
+    /**
+     * 모든 효과음에 곱해지는 전체 볼륨을 설정합니다 (0~1)
+     */
+    public void setMasterGain(float gain) {
+        this.masterGain = Math.max(0.0f, Math.min(1.0f, gain));
+    }
+
+    // =============== 렌더 스레드 ===============
+
+    private void startVoice(int sampleId, float gain, float pan) {
+        float[][] bank = samples;
+        if (sampleId >= bank.length) {
+            return;
+        }
+
+        int voice = 0;
+        for (int i = 0; i < VOICE_COUNT; i++) {
+            if (voiceData[i] == null) {
+                voice = i;
+                break;
+            }
+            if (voiceStartSerial[i] < voiceStartSerial[voice]) {
+                voice = i; // 빈 보이스가 없으면 가장 먼저 시작한 보이스를 빼앗음
+            }
+        }
+
+        // 등전력 팬
+        float clampedPan = Math.max(-1.0f, Math.min(1.0f, pan));
+        double angle = (clampedPan + 1.0) * Math.PI / 4.0;
+        voiceData[voice] = bank[sampleId];
+        voicePosition[voice] = 0;
+        voiceGainLeft[voice] = (float) (gain * Math.cos(angle) * Math.sqrt(2.0));
+        voiceGainRight[voice] = (float) (gain * Math.sin(angle) * Math.sqrt(2.0));
+        voiceStartSerial[voice] = nextStartSerial++;
+    }
+
+    @Override
+    public void render(float[] mix, int frames, long lineFrame) {
+        float master = masterGain;
+        int length = frames * CHANNELS;
+
+        for (int v = 0; v < VOICE_COUNT; v++) {
+            float[] data = voiceData[v];
+            if (data == null) {
+                continue;
+            }
+
+            float left = voiceGainLeft[v] * master;
+            float right = voiceGainRight[v] * master;
+            int position = voicePosition[v];
+            int count = Math.min(length, data.length - position);
+            for (int i = 0; i < count; i += 2) {
+                mix[i] += data[position + i] * left;
+                mix[i + 1] += data[position + i + 1] * right;
+            }
+
+            position += count;
+            if (position >= data.length) {
+                voiceData[v] = null;
+            } else {
+                voicePosition[v] = position;
+            }
+        }
+    }
+
+    // =============== 형식 변환 ===============
+
+    /**
+     * 오디오 스트림을 믹서 출력 형식의 float 샘플로 디코딩합니다
+     */
+    static float[] decode(AudioInputStream source) throws IOException {
+        AudioFormat sourceFormat = source.getFormat();
+        AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(),
+                16, sourceFormat.getChannels(), sourceFormat.getChannels() * 2, sourceFormat.getSampleRate(),
+                false);
+
+        AudioInputStream pcmStream = AudioFormat.Encoding.PCM_SIGNED.equals(sourceFormat.getEncoding())
+                && sourceFormat.getSampleSizeInBits() == 16 && !sourceFormat.isBigEndian()
+                        ? source
+                        : AudioSystem.getAudioInputStream(pcmFormat, source);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = pcmStream.read(buffer)) > 0) {
+            bytes.write(buffer, 0, read);
+        }
+
+        byte[] raw = bytes.toByteArray();
+        float[] data = new float[raw.length / 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) ((raw[i * 2] & 0xFF) | (raw[i * 2 + 1] << 8)) / 32768f;
+        }
+        return toOutputFormat(data, pcmFormat.getChannels(), pcmFormat.getSampleRate());
+    }
+
+    /**
+     * 임의 채널 수/샘플레이트의 float 샘플을 44.1kHz 스테레오로 변환합니다 (선형 보간)
+     */
+    static float[] toOutputFormat(float[] data, int channels, float sampleRate) {
+        int frames = data.length / channels;
+        double step = sampleRate / SAMPLE_RATE;
+        int outputFrames = (int) Math.ceil(frames / step);
+        float[] output = new float[outputFrames * CHANNELS];
+
+        for (int i = 0; i < outputFrames; i++) {
+            double sourcePosition = i * step;
+            int index = (int) sourcePosition;
+            float fraction = (float) (sourcePosition - index);
+            int nextIndex = Math.min(frames - 1, index + 1);
+
+            for (int c = 0; c < CHANNELS; c++) {
+                int sourceChannel = Math.min(c, channels - 1); // 모노는 양쪽에 복사
+                float a = data[index * channels + sourceChannel];
+                float b = data[nextIndex * channels + sourceChannel];
+                output[i * CHANNELS + c] = a + (b - a) * fraction;
+            }
+        }
+        return output;
+    }
+}
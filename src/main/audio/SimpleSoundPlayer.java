@@ -1,13 +1,16 @@
 package main.audio;
 
 import java.awt.Toolkit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 간단한 시스템 사운드를 사용하는 대체 사운드 플레이어
  * AudioManager가 제대로 작동하지 않을 때 사용합니다
  */
 public class SimpleSoundPlayer {
-    private static boolean enabled = true;
+    private static volatile boolean enabled = true;
 
     /**
      * 시스템 비프음을 재생합니다 (비활성화됨 - 소리 깨짐 방지)
@@ -25,76 +28,69 @@ public class SimpleSoundPlayer {
     }
 
     /**
-     * 사운드 유형에 따라 다른 패턴의 비프음을 재생합니다
+     * 사운드 유형별 비프음 시작 시각 (밀리초)
      */
-    public static void playSound(String soundType) {
-        if (!enabled)
-            return;
-
+    private static int[] patternOf(String soundType) {
         switch (soundType) {
+            case "pause":
+                return new int[] { 0, 100 };
+            case "resume":
+                return new int[] { 0, 50, 100 };
+            case "confirm":
+                return new int[] { 0, 100, 200 };
+            case "cancel":
+                return new int[] { 0, 80 };
             case "click":
             case "button_hover":
-                playBeep();
-                break;
-
-            case "pause":
-                playBeep();
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                }
-                playBeep();
-                break;
+            default:
+                return new int[] { 0 };
+        }
+    }
 
-            case "resume":
-                playBeep();
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                }
-                playBeep();
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                }
-                playBeep();
-                break;
+    /**
+     * 사운드 유형에 따라 다른 패턴의 비프음을 재생합니다 (패턴이 끝날 때까지 대기)
+     */
+    public static void playSound(String soundType) {
+        if (!enabled)
+            return;
 
-            case "confirm":
-                playBeep();
+        int elapsed = 0;
+        for (int offset : patternOf(soundType)) {
+            if (offset > elapsed) {
                 try {
-                    Thread.sleep(100);
+                    Thread.sleep(offset - elapsed);
                 } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 }
-                playBeep();
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                }
-                playBeep();
-                break;
-
-            case "cancel":
-                for (int i = 0; i < 2; i++) {
-                    playBeep();
-                    try {
-                        Thread.sleep(80);
-                    } catch (InterruptedException e) {
-                    }
-                }
-                break;
-
-            default:
-                playBeep();
-                break;
+                elapsed = offset;
+            }
+            playBeep();
         }
     }
 
     /**
      * 백그라운드에서 비프음을 재생합니다 (UI 블로킹 방지)
+     * 호출마다 스레드를 만들지 않고 공용 스케줄러에 패턴의 각 비프음을 예약합니다
      */
     public static void playSoundAsync(String soundType) {
-        new Thread(() -> playSound(soundType)).start();
+        if (!enabled)
+            return;
+
+        for (int offset : patternOf(soundType)) {
+            Scheduler.INSTANCE.schedule(SimpleSoundPlayer::playBeep, offset, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 처음 비동기 재생을 요청할 때 만들어지는 공용 스케줄러 (스레드 하나)
+     */
+    private static class Scheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SimpleSound");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public static void setEnabled(boolean enabled) {
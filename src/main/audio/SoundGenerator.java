@@ -2,63 +2,111 @@ package main.audio;
 
 import javax.sound.sampled.*;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
  * 프로그래밍적으로 간단한 사운드 효과를 생성하는 클래스
  * 실제 사운드 파일이 없어도 기본 효과음을 제공합니다
+ *
+ * generate...Pcm 메서드는 44.1kHz 모노 16비트 샘플을 반환하며 SfxMixer에 그대로 등록할 수 있고,
+ * Clip을 반환하는 메서드는 같은 샘플로 Clip을 만듭니다
  */
 public class SoundGenerator {
-    private static final int SAMPLE_RATE = 44100;
+    public static final int SAMPLE_RATE = 44100;
+    public static final int CHANNELS = 1;
     private static final int SAMPLE_SIZE_IN_BITS = 16;
-    private static final int CHANNELS = 1;
     private static final boolean SIGNED = true;
     private static final boolean BIG_ENDIAN = false;
 
     /**
-     * 지정된 주파수와 지속시간의 사인파 톤을 생성합니다
+     * 지정된 주파수, 지속시간, 볼륨의 사인파 톤 샘플을 생성합니다
      */
-    public static Clip generateTone(double frequency, int durationMs) {
-        return generateTone(frequency, durationMs, 0.5);
+    public static short[] generateTonePcm(double frequency, int durationMs, double volume) {
+        int frameCount = (int) (durationMs * SAMPLE_RATE / 1000.0);
+        short[] samples = new short[frameCount];
+
+        for (int i = 0; i < frameCount; i++) {
+            double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
+            samples[i] = (short) (Math.sin(angle) * volume * Short.MAX_VALUE);
+        }
+        return samples;
     }
 
     /**
-     * 지정된 주파수, 지속시간, 볼륨의 사인파 톤을 생성합니다
+     * 확인 사운드 샘플 생성 (400Hz에서 600Hz로 상승, 300ms)
      */
-    public static Clip generateTone(double frequency, int durationMs, double volume) {
-        try {
-            AudioFormat format = new AudioFormat(
-                    AudioFormat.Encoding.PCM_SIGNED,
-                    SAMPLE_RATE, SAMPLE_SIZE_IN_BITS, CHANNELS,
-                    CHANNELS * SAMPLE_SIZE_IN_BITS / 8, SAMPLE_RATE, BIG_ENDIAN);
-
-            int frameCount = (int) (durationMs * SAMPLE_RATE / 1000.0);
-            byte[] samples = new byte[frameCount * 2]; // 16-bit samples
+    public static short[] generateConfirmPcm() {
+        return generateSweepPcm(400, 600, 300, 0.3);
+    }
 
-            for (int i = 0; i < frameCount; i++) {
-                double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
-                short sample = (short) (Math.sin(angle) * volume * Short.MAX_VALUE); // 최대 볼륨
+    /**
+     * 취소 사운드 샘플 생성 (600Hz에서 400Hz로 하강, 200ms)
+     */
+    public static short[] generateCancelPcm() {
+        return generateSweepPcm(600, 400, 200, 0.3);
+    }
 
-                // 리틀 엔디안으로 저장
-                samples[i * 2] = (byte) (sample & 0xFF);
-                samples[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
+    /**
+     * 성공 사운드 샘플 생성 (상승하는 3개 톤 조합, 600ms)
+     */
+    public static short[] generateSuccessPcm() {
+        int frameCount = (int) (600 * SAMPLE_RATE / 1000.0);
+        short[] samples = new short[frameCount];
+
+        for (int i = 0; i < frameCount; i++) {
+            double progress = (double) i / frameCount;
+            double frequency;
+
+            // 3단계 상승 톤 (200ms씩)
+            if (progress < 0.33) {
+                frequency = 400; // 첫 번째 톤
+            } else if (progress < 0.66) {
+                frequency = 500; // 두 번째 톤
+            } else {
+                frequency = 600; // 세 번째 톤
             }
 
-            ByteArrayInputStream bais = new ByteArrayInputStream(samples);
-            AudioInputStream ais = new AudioInputStream(bais, format, frameCount);
+            double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
+            // 페이드 인/아웃 효과
+            double envelope = Math.sin(Math.PI * progress);
+            samples[i] = (short) (Math.sin(angle) * envelope * 0.4 * Short.MAX_VALUE);
+        }
+        return samples;
+    }
 
-            Clip clip = AudioSystem.getClip();
-            clip.open(ais);
+    /**
+     * 시작 주파수에서 끝 주파수로 변하는 톤 샘플을 생성합니다
+     */
+    private static short[] generateSweepPcm(double fromFrequency, double toFrequency, int durationMs,
+            double volume) {
+        int frameCount = (int) (durationMs * SAMPLE_RATE / 1000.0);
+        short[] samples = new short[frameCount];
+
+        for (int i = 0; i < frameCount; i++) {
+            double progress = (double) i / frameCount;
+            double frequency = fromFrequency + (progress * (toFrequency - fromFrequency));
+            double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
+            samples[i] = (short) (Math.sin(angle) * volume * Short.MAX_VALUE);
+        }
+        return samples;
+    }
 
-            System.out.println("사운드 생성됨: " + frequency + "Hz, " + durationMs + "ms, 볼륨:" + volume);
-            return clip;
+    /**
+     * 지정된 주파수와 지속시간의 사인파 톤을 생성합니다
+     */
+    public static Clip generateTone(double frequency, int durationMs) {
+        return generateTone(frequency, durationMs, 0.5);
+    }
 
-        } catch (LineUnavailableException | IOException e) {
-            System.err.println("사운드 생성 실패: " + e.getMessage());
-            e.printStackTrace();
-            return null;
+    /**
+     * 지정된 주파수, 지속시간, 볼륨의 사인파 톤을 생성합니다
+     */
+    public static Clip generateTone(double frequency, int durationMs, double volume) {
+        Clip clip = toClip(generateTonePcm(frequency, durationMs, volume));
+        if (clip != null) {
+            System.out.println("사운드 생성됨: " + frequency + "Hz, " + durationMs + "ms, 볼륨:" + volume);
         }
+        return clip;
     }
 
     /**
@@ -93,68 +141,14 @@ public class SoundGenerator {
      * 확인 사운드 생성 (2개 톤 조합)
      */
     public static Clip generateConfirmSound() {
-        try {
-            AudioFormat format = new AudioFormat(
-                    SAMPLE_RATE, SAMPLE_SIZE_IN_BITS, CHANNELS, SIGNED, BIG_ENDIAN);
-
-            int frameCount = (int) (300 * SAMPLE_RATE / 1000.0); // 300ms
-            byte[] samples = new byte[frameCount * 2];
-
-            for (int i = 0; i < frameCount; i++) {
-                double progress = (double) i / frameCount;
-                double frequency = 400 + (progress * 200); // 400Hz에서 600Hz로 상승
-                double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
-                short sample = (short) (Math.sin(angle) * 0.3 * Short.MAX_VALUE);
-
-                samples[i * 2] = (byte) (sample & 0xFF);
-                samples[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
-            }
-
-            ByteArrayInputStream bais = new ByteArrayInputStream(samples);
-            AudioInputStream ais = new AudioInputStream(bais, format, frameCount);
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(ais);
-            return clip;
-
-        } catch (LineUnavailableException | IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return toClip(generateConfirmPcm());
     }
 
     /**
      * 취소 사운드 생성 (하강하는 톤)
      */
     public static Clip generateCancelSound() {
-        try {
-            AudioFormat format = new AudioFormat(
-                    SAMPLE_RATE, SAMPLE_SIZE_IN_BITS, CHANNELS, SIGNED, BIG_ENDIAN);
-
-            int frameCount = (int) (200 * SAMPLE_RATE / 1000.0); // 200ms
-            byte[] samples = new byte[frameCount * 2];
-
-            for (int i = 0; i < frameCount; i++) {
-                double progress = (double) i / frameCount;
-                double frequency = 600 - (progress * 200); // 600Hz에서 400Hz로 하강
-                double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
-                short sample = (short) (Math.sin(angle) * 0.3 * Short.MAX_VALUE);
-
-                samples[i * 2] = (byte) (sample & 0xFF);
-                samples[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
-            }
-
-            ByteArrayInputStream bais = new ByteArrayInputStream(samples);
-            AudioInputStream ais = new AudioInputStream(bais, format, frameCount);
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(ais);
-            return clip;
-
-        } catch (LineUnavailableException | IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return toClip(generateCancelPcm());
     }
 
     /**
@@ -175,45 +169,34 @@ public class SoundGenerator {
      * 성공 사운드 생성 (상승하는 3개 톤 조합)
      */
     public static Clip generateSuccessSound() {
+        return toClip(generateSuccessPcm());
+    }
+
+    /**
+     * 모노 16비트 샘플로 Clip을 생성합니다
+     */
+    private static Clip toClip(short[] pcm) {
         try {
             AudioFormat format = new AudioFormat(
                     SAMPLE_RATE, SAMPLE_SIZE_IN_BITS, CHANNELS, SIGNED, BIG_ENDIAN);
 
-            int frameCount = (int) (600 * SAMPLE_RATE / 1000.0); // 600ms
-            byte[] samples = new byte[frameCount * 2];
-
-            for (int i = 0; i < frameCount; i++) {
-                double progress = (double) i / frameCount;
-                double frequency;
-
-                // 3단계 상승 톤 (200ms씩)
-                if (progress < 0.33) {
-                    frequency = 400; // 첫 번째 톤
-                } else if (progress < 0.66) {
-                    frequency = 500; // 두 번째 톤
-                } else {
-                    frequency = 600; // 세 번째 톤
-                }
-
-                double angle = 2.0 * Math.PI * i * frequency / SAMPLE_RATE;
-                // 페이드 인/아웃 효과
-                double envelope = Math.sin(Math.PI * progress);
-                short sample = (short) (Math.sin(angle) * envelope * 0.4 * Short.MAX_VALUE);
-
-                samples[i * 2] = (byte) (sample & 0xFF);
-                samples[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
+            byte[] samples = new byte[pcm.length * 2];
+            for (int i = 0; i < pcm.length; i++) {
+                // 리틀 엔디안으로 저장
+                samples[i * 2] = (byte) (pcm[i] & 0xFF);
+                samples[i * 2 + 1] = (byte) ((pcm[i] >> 8) & 0xFF);
             }
 
             ByteArrayInputStream bais = new ByteArrayInputStream(samples);
-            AudioInputStream ais = new AudioInputStream(bais, format, frameCount);
+            AudioInputStream ais = new AudioInputStream(bais, format, pcm.length);
 
             Clip clip = AudioSystem.getClip();
             clip.open(ais);
             return clip;
 
-        } catch (LineUnavailableException | IOException e) {
-            e.printStackTrace();
+        } catch (LineUnavailableException | IOException | IllegalArgumentException e) {
+            System.err.println("사운드 생성 실패: " + e.getMessage());
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package main.audio;
+
+/**
+ * Vorbis 패킷을 비트 단위로 읽는 리더
+ *
+ * Vorbis는 각 바이트의 최하위 비트부터 채워 쓰므로 64비트 누산기에 바이트를 아래쪽부터 쌓아 두고
+ * 필요한 만큼 잘라 씁니다. 패킷 끝을 넘어 읽으면 0을 반환하고 끝 도달 표시를 세웁니다.
+ */
+public class VorbisBitReader {
+    private byte[] data;
+    private int limit;
+    private int bytePosition;
+    private long bits;
+    private int bitCount;
+    private boolean endOfPacket;
+
+    /**
+     * 새 패킷을 읽기 시작합니다
+     */
+    public void init(byte[] data, int offset, int length) {
+        this.data = data;
+        this.bytePosition = offset;
+        this.limit = offset + length;
+        this.bits = 0;
+        this.bitCount = 0;
+        this.endOfPacket = false;
+    }
+
+    /**
+     * 다음 비트들을 소비하지 않고 확인합니다 (최대 32비트, 패킷 끝 너머는 0)
+     */
+    public int peek(int count) {
+        if (bitCount < count) {
+            refill();
+        }
+        return (int) (bits & ((1L << count) - 1));
+    }
+
+    /**
+     * 비트를 건너뜁니다
+     */
+    public void skip(int count) {
+        if (bitCount < count) {
+            refill();
+            if (bitCount < count) {
+                endOfPacket = true;
+                bits = 0;
+                bitCount = 0;
+                return;
+            }
+        }
+        bits >>>= count;
+        bitCount -= count;
+    }
+
+    /**
+     * 부호 없는 정수를 읽습니다 (최대 32비트)
+     */
+    public int read(int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int value = peek(count);
+        skip(count);
+        return endOfPacket ? 0 : value;
+    }
+
+    public boolean readFlag() {
+        return read(1) != 0;
+    }
+
+    /**
+     * 패킷 끝을 넘어 읽으려 했는지 확인합니다
+     */
+    public boolean isEndOfPacket() {
+        return endOfPacket;
+    }
+
+    private void refill() {
+        while (bitCount <= 56 && bytePosition < limit) {
+            bits |= (long) (data[bytePosition++] & 0xFF) << bitCount;
+            bitCount += 8;
+        }
+    }
+
+    /**
+     * 값을 표현하는 데 필요한 비트 수 (Vorbis 명세의 ilog)
+     */
+    public static int ilog(int value) {
+        return value <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(value);
+    }
+}
@@ -0,0 +1,291 @@
+package main.audio;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Vorbis 설정 헤더의 코드북 하나 (허프만 부호와 벡터 양자화 값)
+ *
+ * 허프만 부호는 짧은 부호를 한 번에 찾는 표(최대 10비트)로 풀고, 표보다 긴 부호는
+ * 표가 가리키는 트리 노드부터 한 비트씩 내려가며 풉니다. 벡터 값은 헤더를 읽을 때
+ * 항목마다 미리 계산해 둡니다.
+ */
+public class VorbisCodebook {
+    private static final int SYNC_PATTERN = 0x564342;
+    private static final int MAX_TABLE_BITS = 10;
+    private static final int INVALID = -1;
+
+    private final int dimensions;
+    private final int entries;
+    private final int[] lengths;
+    private float[] values; // 항목별 벡터 (entries * dimensions), 값이 없는 코드북은 null
+
+    private int tableBits;
+    private int[] table; // 0 이상: (항목 << 6) | 길이, INVALID: 없는 부호, 그 외: -(노드 + 2)
+    private int[] tree; // 노드마다 자식 두 개: 0 없음, 양수 노드 번호, 음수 -(항목 + 1)
+    private int singleEntry = -1; // 항목이 하나뿐인 코드북은 비트 값과 관계없이 그 항목
+
+    private VorbisCodebook(int dimensions, int entries) {
+        this.dimensions = dimensions;
+        this.entries = entries;
+        this.lengths = new int[entries];
+    }
+
+    /**
+     * 설정 헤더에서 코드북 하나를 읽습니다
+     */
+    public static VorbisCodebook read(VorbisBitReader reader) throws IOException {
+        if (reader.read(24) != SYNC_PATTERN) {
+            throw new IOException("Vorbis 코드북 동기 패턴이 맞지 않습니다");
+        }
+        int dimensions = reader.read(16);
+        int entries = reader.read(24);
+        if (entries <= 0 && !reader.isEndOfPacket()) {
+            throw new IOException("Vorbis 코드북 항목이 없습니다");
+        }
+        VorbisCodebook book = new VorbisCodebook(dimensions, entries);
+        int[] lengths = book.lengths;
+
+        if (!reader.readFlag()) {
+            boolean sparse = reader.readFlag();
+            for (int i = 0; i < entries; i++) {
+                lengths[i] = !sparse || reader.readFlag() ? reader.read(5) + 1 : 0;
+            }
+        } else {
+            // 길이 순으로 정렬된 코드북: 같은 길이의 항목 수만 기록됨
+            int entry = 0;
+            int length = reader.read(5) + 1;
+            while (entry < entries) {
+                int count = reader.read(VorbisBitReader.ilog(entries - entry));
+                if (entry + count > entries || length > 32) {
+                    throw new IOException("Vorbis 코드북 길이 목록이 잘못되었습니다");
+                }
+                for (int i = 0; i < count; i++) {
+                    lengths[entry++] = length;
+                }
+                length++;
+            }
+        }
+
+        int lookupType = reader.read(4);
+        if (lookupType == 1 || lookupType == 2) {
+            float minimum = unpackFloat(reader.read(32));
+            float delta = unpackFloat(reader.read(32));
+            int valueBits = reader.read(4) + 1;
+            boolean sequence = reader.readFlag();
+            int lookupValues = lookupType == 1 ? lookup1Values(entries, dimensions) : entries * dimensions;
+            int[] multiplicands = new int[lookupValues];
+            for (int i = 0; i < lookupValues; i++) {
+                multiplicands[i] = reader.read(valueBits);
+            }
+            book.buildValues(lookupType, multiplicands, minimum, delta, sequence);
+        } else if (lookupType != 0) {
+            throw new IOException("지원하지 않는 Vorbis 코드북 조회 방식입니다: " + lookupType);
+        }
+
+        if (reader.isEndOfPacket()) {
+            throw new IOException("Vorbis 코드북이 패킷 끝에서 잘렸습니다");
+        }
+        book.buildDecoder();
+        return book;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public boolean hasValues() {
+        return values != null;
+    }
+
+    /**
+     * 항목별 벡터 값 (항목 e의 값은 e * dimensions 위치부터)
+     */
+    public float[] getValues() {
+        return values;
+    }
+
+    // =============== 복호 ===============
+
+    /**
+     * 허프만 부호 하나를 읽어 항목 번호를 반환합니다
+     *
+     * @return 패킷이 끝났거나 없는 부호이면 -1
+     */
+    public int decode(VorbisBitReader reader) {
+        if (singleEntry >= 0) {
+            reader.skip(lengths[singleEntry]);
+            return reader.isEndOfPacket() ? -1 : singleEntry;
+        }
+
+        int slot = table[reader.peek(tableBits)];
+        if (slot >= 0) {
+            reader.skip(slot & 0x3F);
+            return reader.isEndOfPacket() ? -1 : slot >>> 6;
+        }
+        if (slot == INVALID) {
+            return -1;
+        }
+
+        reader.skip(tableBits);
+        int node = -(slot + 2);
+        while (!reader.isEndOfPacket()) {
+            int child = tree[node * 2 + reader.read(1)];
+            if (child < 0) {
+                return reader.isEndOfPacket() ? -1 : -child - 1;
+            }
+            if (child == 0) {
+                return -1;
+            }
+            node = child;
+        }
+        return -1;
+    }
+
+    private void buildDecoder() throws IOException {
+        int used = 0;
+        int maxLength = 0;
+        for (int i = 0; i < entries; i++) {
+            if (lengths[i] > 0) {
+                used++;
+                maxLength = Math.max(maxLength, lengths[i]);
+                singleEntry = i;
+            }
+        }
+        if (used != 1) {
+            singleEntry = -1;
+        }
+        if (used <= 1) {
+            return;
+        }
+
+        int[] codes = assignCodewords();
+        tree = new int[Math.max(4, used * 4)];
+        int nodes = 1;
+        for (int i = 0; i < entries; i++) {
+            int length = lengths[i];
+            if (length == 0) {
+                continue;
+            }
+            int node = 0;
+            for (int bit = length - 1; bit >= 0; bit--) {
+                int branch = node * 2 + ((codes[i] >>> bit) & 1);
+                if (bit == 0) {
+                    tree[branch] = -i - 1;
+                } else {
+                    if (tree[branch] == 0) {
+                        if (nodes * 2 + 2 > tree.length) {
+                            tree = Arrays.copyOf(tree, tree.length * 2);
+                        }
+                        tree[branch] = nodes++;
+                    }
+                    node = tree[branch];
+                }
+            }
+        }
+
+        tableBits = Math.min(MAX_TABLE_BITS, maxLength);
+        table = new int[1 << tableBits];
+        for (int pattern = 0; pattern < table.length; pattern++) {
+            int node = 0;
+            int slot = -(node + 2);
+            for (int depth = 0; depth < tableBits; depth++) {
+                int child = tree[node * 2 + ((pattern >>> depth) & 1)];
+                if (child < 0) {
+                    slot = ((-child - 1) << 6) | (depth + 1);
+                    break;
+                }
+                if (child == 0) {
+                    slot = INVALID;
+                    break;
+                }
+                node = child;
+                slot = -(node + 2);
+            }
+            table[pattern] = slot;
+        }
+    }
+
+    /**
+     * 명세의 방식대로 항목 순서에 따라 각 길이에서 가장 작은 빈 부호를 배정합니다
+     */
+    private int[] assignCodewords() throws IOException {
+        int[] codes = new int[entries];
+        long[] marker = new long[33];
+        for (int i = 0; i < entries; i++) {
+            int length = lengths[i];
+            if (length == 0) {
+                continue;
+            }
+            long entry = marker[length];
+            if (length < 32 && (entry >>> length) != 0) {
+                throw new IOException("Vorbis 코드북의 허프만 트리가 넘칩니다");
+            }
+            codes[i] = (int) entry;
+
+            for (int j = length; j > 0; j--) {
+                if ((marker[j] & 1) != 0) {
+                    marker[j] = j == 1 ? marker[1] + 1 : marker[j - 1] << 1;
+                    break;
+                }
+                marker[j]++;
+            }
+            for (int j = length + 1; j <= 32; j++) {
+                if ((marker[j] >>> 1) == entry) {
+                    entry = marker[j];
+                    marker[j] = marker[j - 1] << 1;
+                } else {
+                    break;
+                }
+            }
+        }
+        return codes;
+    }
+
+    // =============== 벡터 값 ===============
+
+    private void buildValues(int lookupType, int[] multiplicands, float minimum, float delta, boolean sequence) {
+        values = new float[entries * dimensions];
+        int lookupValues = multiplicands.length;
+        for (int entry = 0; entry < entries; entry++) {
+            float last = 0;
+            long divisor = 1;
+            for (int d = 0; d < dimensions; d++) {
+                int offset = lookupType == 1 ? (int) ((entry / divisor) % lookupValues) : entry * dimensions + d;
+                float value = multiplicands[offset] * delta + minimum + last;
+                values[entry * dimensions + d] = value;
+                if (sequence) {
+                    last = value;
+                }
+                divisor = Math.min(divisor * lookupValues, Integer.MAX_VALUE + 1L);
+            }
+        }
+    }
+
+    /**
+     * 한 차원의 값 개수 r (r^dimensions <= entries 인 가장 큰 r)
+     */
+    private static int lookup1Values(int entries, int dimensions) {
+        int r = (int) Math.floor(Math.pow(entries, 1.0 / dimensions));
+        while (Math.pow(r + 1, dimensions) <= entries) {
+            r++;
+        }
+        while (r > 0 && Math.pow(r, dimensions) > entries) {
+            r--;
+        }
+        return r;
+    }
+
+    private static float unpackFloat(int bits) {
+        int mantissa = bits & 0x1FFFFF;
+        int exponent = (bits & 0x7FE00000) >>> 21;
+        if (bits < 0) {
+            mantissa = -mantissa;
+        }
+        return (float) Math.scalb((double) mantissa, exponent - 788);
+    }
+}
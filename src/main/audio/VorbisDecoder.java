@@ -0,0 +1,859 @@
+package main.audio;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Vorbis I 오디오 패킷 복호기
+ *
+ * 세 개의 헤더 패킷(식별, 주석, 설정)을 읽은 뒤 오디오 패킷을 하나씩 받아 채널별 float PCM을 만듭니다.
+ * 패킷마다 floor 곡선과 잔차를 풀어 곱하고 역 MDCT, 창 함수, 겹쳐 더하기를 거치며,
+ * 앞 블록의 뒷부분만 보관하므로 메모리는 곡 길이와 관계없이 일정합니다.
+ *
+ * floor 유형 0은 1.0 이전의 실험적 인코더만 쓰므로 지원하지 않습니다 (설정 헤더에서 거부).
+ */
+public class VorbisDecoder {
+    private static final int PACKET_IDENTIFICATION = 1;
+    private static final int PACKET_COMMENT = 3;
+    private static final int PACKET_SETUP = 5;
+
+    private int channels;
+    private int sampleRate;
+    private int blockSize0;
+    private int blockSize1;
+
+    private VorbisCodebook[] codebooks;
+    private Floor1[] floors;
+    private Residue[] residues;
+    private Mapping[] mappings;
+    private Mode[] modes;
+    private int modeBits;
+
+    private Imdct shortImdct;
+    private Imdct longImdct;
+    private float[] shortSlope; // 짧은 블록 겹침 구간의 창 (blockSize0 / 2)
+    private float[] longSlope; // 긴 블록 겹침 구간의 창 (blockSize1 / 2)
+
+    private final VorbisBitReader reader = new VorbisBitReader();
+    private int headersRead;
+
+    // 패킷 복호용 작업 버퍼 (채널별)
+    private float[][] spectrum;
+    private float[][] block;
+    private float[][] previous; // 앞 블록의 창을 씌운 샘플
+    private float[][] output;
+    private int[][] floorValues;
+    private boolean[] floorUsed; // floor가 소리 없음으로 표시되지 않은 채널
+    private boolean[] nonzero; // 결합 상대까지 포함해 잔차를 읽을 채널
+    private boolean[] doNotDecode;
+    private float[][] submapVectors;
+    private float[] interleaved;
+    private int previousSize; // 0이면 앞 블록 없음
+
+    // =============== 헤더 ===============
+
+    /**
+     * 헤더 패킷을 순서대로 읽습니다
+     *
+     * @throws IOException Vorbis 헤더가 아니거나 지원하지 않는 설정
+     */
+    public void readHeader(byte[] packet, int length) throws IOException {
+        reader.init(packet, 0, length);
+        int type = reader.read(8);
+        for (int i = 0; i < 6; i++) {
+            if (reader.read(8) != "vorbis".charAt(i)) {
+                throw new IOException("Vorbis 헤더가 아닙니다");
+            }
+        }
+
+        int expected = headersRead == 0 ? PACKET_IDENTIFICATION
+                : headersRead == 1 ? PACKET_COMMENT : PACKET_SETUP;
+        if (type != expected || headersRead > 2) {
+            throw new IOException("Vorbis 헤더 순서가 맞지 않습니다 (유형 " + type + ")");
+        }
+
+        if (type == PACKET_IDENTIFICATION) {
+            readIdentification();
+        } else if (type == PACKET_SETUP) {
+            readSetup();
+        }
+        headersRead++;
+    }
+
+    public boolean isReady() {
+        return headersRead == 3;
+    }
+
+    private void readIdentification() throws IOException {
+        int version = reader.read(32);
+        channels = reader.read(8);
+        sampleRate = reader.read(32);
+        reader.read(32); // 최대 비트레이트
+        reader.read(32); // 평균 비트레이트
+        reader.read(32); // 최소 비트레이트
+        blockSize0 = 1 << reader.read(4);
+        blockSize1 = 1 << reader.read(4);
+        boolean framing = reader.readFlag();
+
+        if (version != 0 || channels == 0 || sampleRate <= 0 || !framing || reader.isEndOfPacket()
+                || blockSize0 < 64 || blockSize1 > 8192 || blockSize0 > blockSize1) {
+            throw new IOException("Vorbis 식별 헤더가 잘못되었습니다");
+        }
+    }
+
+    private void readSetup() throws IOException {
+        codebooks = new VorbisCodebook[reader.read(8) + 1];
+        for (int i = 0; i < codebooks.length; i++) {
+            codebooks[i] = VorbisCodebook.read(reader);
+        }
+
+        int timeCount = reader.read(6) + 1;
+        for (int i = 0; i < timeCount; i++) {
+            if (reader.read(16) != 0) {
+                throw new IOException("Vorbis 시간 영역 변환 값이 잘못되었습니다");
+            }
+        }
+
+        floors = new Floor1[reader.read(6) + 1];
+        for (int i = 0; i < floors.length; i++) {
+            int type = reader.read(16);
+            if (type != 1) {
+                throw new IOException("지원하지 않는 Vorbis floor 유형입니다: " + type);
+            }
+            floors[i] = new Floor1(reader, codebooks);
+        }
+
+        residues = new Residue[reader.read(6) + 1];
+        for (int i = 0; i < residues.length; i++) {
+            residues[i] = new Residue(reader, codebooks);
+        }
+
+        mappings = new Mapping[reader.read(6) + 1];
+        for (int i = 0; i < mappings.length; i++) {
+            mappings[i] = new Mapping(reader, channels, floors.length, residues.length);
+        }
+
+        modes = new Mode[reader.read(6) + 1];
+        for (int i = 0; i < modes.length; i++) {
+            modes[i] = new Mode(reader, mappings.length);
+        }
+        modeBits = VorbisBitReader.ilog(modes.length - 1);
+
+        if (!reader.readFlag() || reader.isEndOfPacket()) {
+            throw new IOException("Vorbis 설정 헤더가 잘렸습니다");
+        }
+        allocate();
+    }
+
+    private void allocate() {
+        shortImdct = new Imdct(blockSize0);
+        longImdct = blockSize1 == blockSize0 ? shortImdct : new Imdct(blockSize1);
+        shortSlope = slope(blockSize0 / 2);
+        longSlope = slope(blockSize1 / 2);
+
+        int half = blockSize1 / 2;
+        spectrum = new float[channels][half];
+        block = new float[channels][blockSize1];
+        previous = new float[channels][blockSize1];
+        output = new float[channels][half];
+        floorValues = new int[channels][];
+        for (int i = 0; i < floors.length; i++) {
+            for (int c = 0; c < channels; c++) {
+                if (floorValues[c] == null || floorValues[c].length < floors[i].values) {
+                    floorValues[c] = new int[floors[i].values];
+                }
+            }
+        }
+        floorUsed = new boolean[channels];
+        nonzero = new boolean[channels];
+        doNotDecode = new boolean[channels];
+        submapVectors = new float[channels][];
+        interleaved = new float[half * channels];
+    }
+
+    /**
+     * 겹침 길이 n의 Vorbis 창 함수 앞쪽 절반: sin(π/2 · sin²((i + 0.5) / n · π/2))
+     */
+    private static float[] slope(int n) {
+        float[] slope = new float[n];
+        for (int i = 0; i < n; i++) {
+            double s = Math.sin((i + 0.5) / n * Math.PI / 2);
+            slope[i] = (float) Math.sin(Math.PI / 2 * s * s);
+        }
+        return slope;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getMaxBlockSize() {
+        return blockSize1;
+    }
+
+    // =============== 오디오 패킷 ===============
+
+    /**
+     * 겹쳐 더할 앞 블록을 버립니다 (이동 후 호출, 다음 패킷은 출력 없이 준비에만 쓰임)
+     */
+    public void reset() {
+        previousSize = 0;
+    }
+
+    /**
+     * 오디오 패킷 하나를 복호합니다
+     *
+     * @return getOutput()에 채워진 채널당 샘플 수 (첫 패킷과 버려진 패킷은 0)
+     */
+    public int decode(byte[] packet, int length) {
+        reader.init(packet, 0, length);
+        if (reader.read(1) != 0) {
+            return 0; // 오디오 패킷이 아님
+        }
+        int modeNumber = reader.read(modeBits);
+        if (reader.isEndOfPacket() || modeNumber >= modes.length) {
+            return 0;
+        }
+        Mode mode = modes[modeNumber];
+        int size = mode.longBlock ? blockSize1 : blockSize0;
+        boolean previousLong = false;
+        boolean nextLong = false;
+        if (mode.longBlock) {
+            previousLong = reader.readFlag();
+            nextLong = reader.readFlag();
+            if (reader.isEndOfPacket()) {
+                return 0;
+            }
+        }
+        int half = size / 2;
+        Mapping mapping = mappings[mode.mapping];
+
+        // floor
+        for (int c = 0; c < channels; c++) {
+            Floor1 floor = floors[mapping.submapFloor[mapping.mux[c]]];
+            floorUsed[c] = floor.decode(reader, codebooks, floorValues[c]);
+            nonzero[c] = floorUsed[c];
+        }
+        for (int i = 0; i < mapping.couplingSteps; i++) {
+            int magnitude = mapping.magnitude[i];
+            int angle = mapping.angle[i];
+            if (nonzero[magnitude] || nonzero[angle]) {
+                nonzero[magnitude] = true;
+                nonzero[angle] = true;
+            }
+        }
+
+        // 잔차
+        for (int c = 0; c < channels; c++) {
+            Arrays.fill(spectrum[c], 0, half, 0.0f);
+        }
+        for (int s = 0; s < mapping.submaps; s++) {
+            int count = 0;
+            for (int c = 0; c < channels; c++) {
+                if (mapping.mux[c] == s) {
+                    submapVectors[count] = spectrum[c];
+                    doNotDecode[count] = !nonzero[c];
+                    count++;
+                }
+            }
+            residues[mapping.submapResidue[s]].decode(reader, codebooks, submapVectors, doNotDecode, count, half,
+                    interleaved);
+        }
+
+        // 채널 결합 해제 (magnitude/angle -> 원래 두 채널)
+        for (int i = mapping.couplingSteps - 1; i >= 0; i--) {
+            float[] magnitude = spectrum[mapping.magnitude[i]];
+            float[] angle = spectrum[mapping.angle[i]];
+            for (int j = 0; j < half; j++) {
+                float m = magnitude[j];
+                float a = angle[j];
+                if (m > 0) {
+                    if (a > 0) {
+                        angle[j] = m - a;
+                    } else {
+                        angle[j] = m;
+                        magnitude[j] = m + a;
+                    }
+                } else {
+                    if (a > 0) {
+                        angle[j] = m + a;
+                    } else {
+                        angle[j] = m;
+                        magnitude[j] = m - a;
+                    }
+                }
+            }
+        }
+
+        // floor 곡선을 곱하고 시간 영역으로 변환
+        Imdct imdct = mode.longBlock ? longImdct : shortImdct;
+        for (int c = 0; c < channels; c++) {
+            if (floorUsed[c]) {
+                floors[mapping.submapFloor[mapping.mux[c]]].apply(floorValues[c], half, spectrum[c]);
+                imdct.inverse(spectrum[c], block[c]);
+            } else {
+                Arrays.fill(block[c], 0, size, 0.0f);
+            }
+            applyWindow(block[c], size, mode.longBlock && !previousLong, mode.longBlock && !nextLong);
+        }
+
+        return overlap(size);
+    }
+
+    /**
+     * 블록에 창을 씌웁니다 (긴 블록의 이웃이 짧은 블록이면 그쪽 겹침 구간을 짧은 창으로 줄임)
+     */
+    private void applyWindow(float[] samples, int size, boolean shortLeft, boolean shortRight) {
+        float[] slope = shortLeft || size == blockSize0 ? shortSlope : longSlope;
+        int overlap = slope.length;
+        int start = size / 4 - overlap / 2;
+        for (int i = 0; i < start; i++) {
+            samples[i] = 0;
+        }
+        for (int i = 0; i < overlap; i++) {
+            samples[start + i] *= slope[i];
+        }
+
+        slope = shortRight || size == blockSize0 ? shortSlope : longSlope;
+        overlap = slope.length;
+        start = size * 3 / 4 - overlap / 2;
+        for (int i = 0; i < overlap; i++) {
+            samples[start + i] *= slope[overlap - 1 - i];
+        }
+        for (int i = start + overlap; i < size; i++) {
+            samples[i] = 0;
+        }
+    }
+
+    /**
+     * 앞 블록의 뒤쪽 절반과 현재 블록의 앞쪽 절반을 겹쳐 더해 앞 블록 중심부터 현재 블록 중심까지 출력합니다
+     */
+    private int overlap(int size) {
+        int produced = 0;
+        if (previousSize > 0) {
+            produced = previousSize / 4 + size / 4;
+            int previousCenter = previousSize / 2;
+            int shift = size / 4 - previousSize / 4; // 출력 위치를 현재 블록 위치로 바꾸는 값
+            for (int c = 0; c < channels; c++) {
+                float[] prev = previous[c];
+                float[] current = block[c];
+                float[] out = output[c];
+                for (int t = 0; t < produced; t++) {
+                    float value = t < previousCenter ? prev[previousCenter + t] : 0.0f;
+                    int index = t + shift;
+                    if (index >= 0 && index < size / 2) {
+                        value += current[index];
+                    }
+                    out[t] = value;
+                }
+            }
+        }
+
+        float[][] swap = previous;
+        previous = block;
+        block = swap;
+        previousSize = size;
+        return produced;
+    }
+
+    /**
+     * 마지막 decode 호출이 만든 채널별 샘플 ([-1, 1] 범위)
+     */
+    public float[][] getOutput() {
+        return output;
+    }
+
+    // =============== 설정 구조 ===============
+
+    /**
+     * floor 유형 1: 점 몇 개로 스펙트럼 포락선을 꺾은선으로 나타냄
+     */
+    private static final class Floor1 {
+        private static final int[] RANGES = {256, 128, 86, 64};
+        private static final float[] INVERSE_DB = new float[256];
+
+        static {
+            // 0.546875dB(= 140dB / 256) 간격, 255가 0dB
+            for (int i = 0; i < 256; i++) {
+                INVERSE_DB[i] = (float) Math.pow(10, (i - 255) * 0.546875 / 20);
+            }
+        }
+
+        final int[] partitionClass;
+        final int[] classDimensions;
+        final int[] classSubclasses;
+        final int[] classMasterbook;
+        final int[][] subclassBooks;
+        final int multiplier;
+        final int range;
+        final int[] xList;
+        final int values;
+        final int[] lowNeighbor;
+        final int[] highNeighbor;
+        final int[] sorted; // x 오름차순의 점 번호
+
+        private final int[] finalY;
+        private final boolean[] used;
+
+        Floor1(VorbisBitReader reader, VorbisCodebook[] books) throws IOException {
+            int partitions = reader.read(5);
+            partitionClass = new int[partitions];
+            int maxClass = -1;
+            for (int i = 0; i < partitions; i++) {
+                partitionClass[i] = reader.read(4);
+                maxClass = Math.max(maxClass, partitionClass[i]);
+            }
+
+            classDimensions = new int[maxClass + 1];
+            classSubclasses = new int[maxClass + 1];
+            classMasterbook = new int[maxClass + 1];
+            subclassBooks = new int[maxClass + 1][];
+            for (int i = 0; i <= maxClass; i++) {
+                classDimensions[i] = reader.read(3) + 1;
+                classSubclasses[i] = reader.read(2);
+                if (classSubclasses[i] != 0) {
+                    classMasterbook[i] = checkBook(reader.read(8), books);
+                }
+                subclassBooks[i] = new int[1 << classSubclasses[i]];
+                for (int j = 0; j < subclassBooks[i].length; j++) {
+                    int book = reader.read(8) - 1;
+                    subclassBooks[i][j] = book < 0 ? -1 : checkBook(book, books);
+                }
+            }
+
+            multiplier = reader.read(2) + 1;
+            range = RANGES[multiplier - 1];
+            int rangeBits = reader.read(4);
+            int count = 2;
+            for (int i = 0; i < partitions; i++) {
+                count += classDimensions[partitionClass[i]];
+            }
+            if (count > 65) {
+                throw new IOException("Vorbis floor 점이 너무 많습니다: " + count);
+            }
+            values = count;
+            xList = new int[values];
+            xList[1] = 1 << rangeBits;
+            int index = 2;
+            for (int i = 0; i < partitions; i++) {
+                for (int j = 0; j < classDimensions[partitionClass[i]]; j++) {
+                    xList[index++] = reader.read(rangeBits);
+                }
+            }
+
+            lowNeighbor = new int[values];
+            highNeighbor = new int[values];
+            for (int i = 2; i < values; i++) {
+                int low = 0;
+                int high = 1;
+                for (int j = 0; j < i; j++) {
+                    if (xList[j] < xList[i] && xList[j] > xList[low]) {
+                        low = j;
+                    }
+                    if (xList[j] > xList[i] && xList[j] < xList[high]) {
+                        high = j;
+                    }
+                }
+                lowNeighbor[i] = low;
+                highNeighbor[i] = high;
+            }
+
+            Integer[] order = new Integer[values];
+            for (int i = 0; i < values; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(xList[a], xList[b]));
+            sorted = new int[values];
+            for (int i = 0; i < values; i++) {
+                sorted[i] = order[i];
+            }
+
+            finalY = new int[values];
+            used = new boolean[values];
+        }
+
+        /**
+         * 점들의 Y 값을 읽습니다
+         *
+         * @return 이 채널이 소리가 없는 블록이거나 패킷이 끝났으면 false
+         */
+        boolean decode(VorbisBitReader reader, VorbisCodebook[] books, int[] y) {
+            if (!reader.readFlag()) {
+                return false;
+            }
+            int bits = VorbisBitReader.ilog(range - 1);
+            y[0] = reader.read(bits);
+            y[1] = reader.read(bits);
+
+            int offset = 2;
+            for (int cls : partitionClass) {
+                int dimensions = classDimensions[cls];
+                int subclassBits = classSubclasses[cls];
+                int mask = (1 << subclassBits) - 1;
+                int classValue = 0;
+                if (subclassBits > 0) {
+                    classValue = books[classMasterbook[cls]].decode(reader);
+                    if (classValue < 0) {
+                        return false;
+                    }
+                }
+                for (int j = 0; j < dimensions; j++) {
+                    int book = subclassBooks[cls][classValue & mask];
+                    classValue >>>= subclassBits;
+                    if (book >= 0) {
+                        int value = books[book].decode(reader);
+                        if (value < 0) {
+                            return false;
+                        }
+                        y[offset + j] = value;
+                    } else {
+                        y[offset + j] = 0;
+                    }
+                }
+                offset += dimensions;
+            }
+            return !reader.isEndOfPacket();
+        }
+
+        /**
+         * 읽은 Y 값으로 꺾은선을 그려 스펙트럼에 곱합니다
+         */
+        void apply(int[] y, int n, float[] spectrum) {
+            // 1단계: 이웃 점으로 예측한 값에 차이를 더해 실제 Y 값 계산
+            used[0] = true;
+            used[1] = true;
+            finalY[0] = y[0];
+            finalY[1] = y[1];
+            for (int i = 2; i < values; i++) {
+                int low = lowNeighbor[i];
+                int high = highNeighbor[i];
+                int predicted = renderPoint(xList[low], finalY[low], xList[high], finalY[high], xList[i]);
+                int value = y[i];
+                int highRoom = range - predicted;
+                int lowRoom = predicted;
+                int room = Math.min(highRoom, lowRoom) * 2;
+                if (value != 0) {
+                    used[low] = true;
+                    used[high] = true;
+                    used[i] = true;
+                    if (value >= room) {
+                        finalY[i] = highRoom > lowRoom ? value - lowRoom + predicted : predicted - value + highRoom - 1;
+                    } else if ((value & 1) != 0) {
+                        finalY[i] = predicted - ((value + 1) >> 1);
+                    } else {
+                        finalY[i] = predicted + (value >> 1);
+                    }
+                } else {
+                    used[i] = false;
+                    finalY[i] = predicted;
+                }
+            }
+
+            // 2단계: x 순서대로 사용된 점을 이어 선분을 그리며 곱함
+            int lx = 0;
+            int ly = finalY[sorted[0]] * multiplier;
+            int hx = 0;
+            int hy = 0;
+            for (int i = 1; i < values; i++) {
+                int point = sorted[i];
+                if (used[point]) {
+                    hy = finalY[point] * multiplier;
+                    hx = xList[point];
+                    renderLine(lx, ly, hx, hy, n, spectrum);
+                    lx = hx;
+                    ly = hy;
+                }
+            }
+            if (hx < n) {
+                renderLine(hx, hy, n, hy, n, spectrum);
+            }
+        }
+
+        private static int renderPoint(int x0, int y0, int x1, int y1, int x) {
+            int dy = y1 - y0;
+            int adx = x1 - x0;
+            int offset = Math.abs(dy) * (x - x0) / adx;
+            return dy < 0 ? y0 - offset : y0 + offset;
+        }
+
+        private static void renderLine(int x0, int y0, int x1, int y1, int n, float[] spectrum) {
+            int dy = y1 - y0;
+            int adx = x1 - x0;
+            if (adx <= 0) {
+                return;
+            }
+            int ady = Math.abs(dy);
+            int base = dy / adx;
+            int sy = dy < 0 ? base - 1 : base + 1;
+            ady -= Math.abs(base) * adx;
+            int end = Math.min(x1, n);
+            int y = y0;
+            int error = 0;
+            if (x0 < end) {
+                spectrum[x0] *= INVERSE_DB[y & 0xFF];
+            }
+            for (int x = x0 + 1; x < end; x++) {
+                error += ady;
+                if (error >= adx) {
+                    error -= adx;
+                    y += sy;
+                } else {
+                    y += base;
+                }
+                spectrum[x] *= INVERSE_DB[y & 0xFF];
+            }
+        }
+    }
+
+    /**
+     * 잔차: 분할마다 분류를 읽고 분류에 정해진 코드북들로 벡터 값을 여러 단계 더함
+     */
+    private static final class Residue {
+        final int type;
+        final int begin;
+        final int end;
+        final int partitionSize;
+        final int classifications;
+        final int classbook;
+        final int[][] books; // [분류][단계], 없으면 -1
+        private int[][] classes = new int[0][];
+        private final float[][] single = new float[1][];
+        private final boolean[] decodeAll = new boolean[1];
+
+        Residue(VorbisBitReader reader, VorbisCodebook[] codebooks) throws IOException {
+            type = reader.read(16);
+            if (type > 2) {
+                throw new IOException("지원하지 않는 Vorbis 잔차 유형입니다: " + type);
+            }
+            begin = reader.read(24);
+            end = reader.read(24);
+            partitionSize = reader.read(24) + 1;
+            classifications = reader.read(6) + 1;
+            classbook = checkBook(reader.read(8), codebooks);
+
+            int[] cascade = new int[classifications];
+            for (int i = 0; i < classifications; i++) {
+                int low = reader.read(3);
+                int high = reader.readFlag() ? reader.read(5) : 0;
+                cascade[i] = high << 3 | low;
+            }
+            books = new int[classifications][8];
+            for (int i = 0; i < classifications; i++) {
+                for (int pass = 0; pass < 8; pass++) {
+                    if ((cascade[i] & (1 << pass)) != 0) {
+                        int book = checkBook(reader.read(8), codebooks);
+                        if (!codebooks[book].hasValues()) {
+                            throw new IOException("Vorbis 잔차 코드북에 벡터 값이 없습니다");
+                        }
+                        books[i][pass] = book;
+                    } else {
+                        books[i][pass] = -1;
+                    }
+                }
+            }
+        }
+
+        void decode(VorbisBitReader reader, VorbisCodebook[] codebooks, float[][] vectors, boolean[] doNotDecode,
+                int count, int half, float[] interleaved) {
+            if (type != 2 || count == 1) {
+                decodeVectors(reader, codebooks, vectors, doNotDecode, count, half, type == 0);
+                return;
+            }
+
+            // 유형 2: 모든 채널을 번갈아 이어 붙인 하나의 벡터로 복호한 뒤 나눔
+            boolean any = false;
+            for (int c = 0; c < count; c++) {
+                any |= !doNotDecode[c];
+            }
+            if (!any) {
+                return;
+            }
+            int length = half * count;
+            Arrays.fill(interleaved, 0, length, 0.0f);
+            single[0] = interleaved;
+            decodeVectors(reader, codebooks, single, decodeAll, 1, length, false);
+            for (int c = 0; c < count; c++) {
+                float[] vector = vectors[c];
+                for (int i = 0, j = c; i < half; i++, j += count) {
+                    vector[i] = interleaved[j];
+                }
+            }
+        }
+
+        private void decodeVectors(VorbisBitReader reader, VorbisCodebook[] codebooks, float[][] vectors,
+                boolean[] doNotDecode, int count, int length, boolean interleavedEntries) {
+            int limitBegin = Math.min(begin, length);
+            int limitEnd = Math.min(end, length);
+            int partitions = (limitEnd - limitBegin) / partitionSize;
+            if (partitions <= 0) {
+                return;
+            }
+            VorbisCodebook classBook = codebooks[classbook];
+            int perWord = classBook.getDimensions();
+            if (classes.length < count || classes[0].length < partitions + perWord) {
+                classes = new int[Math.max(count, classes.length)][partitions + perWord];
+            }
+
+            for (int pass = 0; pass < 8; pass++) {
+                int partition = 0;
+                while (partition < partitions) {
+                    if (pass == 0) {
+                        for (int c = 0; c < count; c++) {
+                            if (doNotDecode[c]) {
+                                continue;
+                            }
+                            int word = classBook.decode(reader);
+                            if (word < 0) {
+                                return;
+                            }
+                            for (int i = perWord - 1; i >= 0; i--) {
+                                classes[c][partition + i] = word % classifications;
+                                word /= classifications;
+                            }
+                        }
+                    }
+                    for (int i = 0; i < perWord && partition < partitions; i++, partition++) {
+                        for (int c = 0; c < count; c++) {
+                            if (doNotDecode[c]) {
+                                continue;
+                            }
+                            int book = books[classes[c][partition]][pass];
+                            if (book < 0) {
+                                continue;
+                            }
+                            int offset = limitBegin + partition * partitionSize;
+                            boolean ok = interleavedEntries
+                                    ? decodePartition0(reader, codebooks[book], vectors[c], offset)
+                                    : decodePartition1(reader, codebooks[book], vectors[c], offset);
+                            if (!ok) {
+                                return;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 유형 0: 벡터의 각 차원을 step 간격으로 흩어 더함
+         */
+        private boolean decodePartition0(VorbisBitReader reader, VorbisCodebook book, float[] vector, int offset) {
+            int dimensions = book.getDimensions();
+            int step = partitionSize / dimensions;
+            float[] values = book.getValues();
+            for (int i = 0; i < step; i++) {
+                int entry = book.decode(reader);
+                if (entry < 0) {
+                    return false;
+                }
+                int base = entry * dimensions;
+                for (int d = 0; d < dimensions; d++) {
+                    vector[offset + i + d * step] += values[base + d];
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 유형 1, 2: 벡터를 차례로 이어 더함
+         */
+        private boolean decodePartition1(VorbisBitReader reader, VorbisCodebook book, float[] vector, int offset) {
+            int dimensions = book.getDimensions();
+            float[] values = book.getValues();
+            int end = offset + partitionSize;
+            int i = offset;
+            while (i < end) {
+                int entry = book.decode(reader);
+                if (entry < 0) {
+                    return false;
+                }
+                int base = entry * dimensions;
+                for (int d = 0; d < dimensions && i < end; d++) {
+                    vector[i++] += values[base + d];
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 채널별 floor/잔차 배정과 채널 결합 단계
+     */
+    private static final class Mapping {
+        final int submaps;
+        final int couplingSteps;
+        final int[] magnitude;
+        final int[] angle;
+        final int[] mux;
+        final int[] submapFloor;
+        final int[] submapResidue;
+
+        Mapping(VorbisBitReader reader, int channels, int floorCount, int residueCount) throws IOException {
+            if (reader.read(16) != 0) {
+                throw new IOException("지원하지 않는 Vorbis 매핑 유형입니다");
+            }
+            submaps = reader.readFlag() ? reader.read(4) + 1 : 1;
+
+            couplingSteps = reader.readFlag() ? reader.read(8) + 1 : 0;
+            magnitude = new int[couplingSteps];
+            angle = new int[couplingSteps];
+            int bits = VorbisBitReader.ilog(channels - 1);
+            for (int i = 0; i < couplingSteps; i++) {
+                magnitude[i] = reader.read(bits);
+                angle[i] = reader.read(bits);
+                if (magnitude[i] == angle[i] || magnitude[i] >= channels || angle[i] >= channels) {
+                    throw new IOException("Vorbis 채널 결합 설정이 잘못되었습니다");
+                }
+            }
+            if (reader.read(2) != 0) {
+                throw new IOException("Vorbis 매핑 예약 비트가 0이 아닙니다");
+            }
+
+            mux = new int[channels];
+            if (submaps > 1) {
+                for (int c = 0; c < channels; c++) {
+                    mux[c] = reader.read(4);
+                    if (mux[c] >= submaps) {
+                        throw new IOException("Vorbis 매핑의 하위 맵 번호가 잘못되었습니다");
+                    }
+                }
+            }
+            submapFloor = new int[submaps];
+            submapResidue = new int[submaps];
+            for (int i = 0; i < submaps; i++) {
+                reader.read(8); // 시간 영역 변환 (사용하지 않음)
+                submapFloor[i] = reader.read(8);
+                submapResidue[i] = reader.read(8);
+                if (submapFloor[i] >= floorCount || submapResidue[i] >= residueCount) {
+                    throw new IOException("Vorbis 매핑이 없는 floor/잔차를 가리킵니다");
+                }
+            }
+        }
+    }
+
+    private static final class Mode {
+        final boolean longBlock;
+        final int mapping;
+
+        Mode(VorbisBitReader reader, int mappingCount) throws IOException {
+            longBlock = reader.readFlag();
+            int windowType = reader.read(16);
+            int transformType = reader.read(16);
+            mapping = reader.read(8);
+            if (windowType != 0 || transformType != 0 || mapping >= mappingCount) {
+                throw new IOException("Vorbis 모드 설정이 잘못되었습니다");
+            }
+        }
+    }
+
+    private static int checkBook(int book, VorbisCodebook[] books) throws IOException {
+        if (book < 0 || book >= books.length) {
+            throw new IOException("Vorbis 코드북 번호가 범위를 벗어났습니다: " + book);
+        }
+        return book;
+    }
+}
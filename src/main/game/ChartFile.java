@@ -0,0 +1,347 @@
+package main.game;
+
+import main.utils.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * 바이너리 채보 파일 (.rchart)
+ *
+ * <pre>
+ * 헤더 (16바이트)
+ *   int   매직 넘버 'RCHT'
+ *   short 버전
+ *   short 난이도 수
+ *   long  예약
+ * 난이도 테이블 (난이도당 16바이트)
+ *   byte  난이도 (Song.Difficulty ordinal)
+ *   byte[3] 예약
+ *   int   노트 수
+ *   long  노트 데이터 시작 오프셋
+ * 노트 레코드 (노트당 16바이트, 시간 오름차순)
+ *   long  판정 시각 (마이크로초)
+ *   byte  레인
+ *   byte  노트 종류
+ *   short 예약
+ *   int   길이 (마이크로초, 롱노트용)
+ * </pre>
+ *
+ * 파일은 메모리 매핑으로 열고 헤더만 해석하며, 노트 레코드는 Cursor가 재생 위치를 따라가며
+ * 필요한 만큼만 읽습니다. 노트마다 객체를 만들지 않습니다.
+ */
+public class ChartFile {
+    public static final String EXTENSION = ".rchart";
+    public static final int MAGIC = 0x52434854; // 'RCHT'
+    public static final short VERSION = 1;
+
+    public static final int TYPE_TAP = 0;
+    public static final int TYPE_HOLD = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int TABLE_ENTRY_SIZE = 16;
+    private static final int RECORD_SIZE = 16;
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int[] noteCounts; // 난이도별 노트 수 (없는 난이도는 -1)
+    private final long[] dataOffsets; // 난이도별 노트 데이터 오프셋
+    private byte[] contentHash; // 처음 요청할 때 계산
+
+    private ChartFile(Path path, ByteBuffer data, int[] noteCounts, long[] dataOffsets) {
+        this.path = path;
+        this.data = data;
+        this.noteCounts = noteCounts;
+        this.dataOffsets = dataOffsets;
+    }
+
+    /**
+     * 채보 파일을 엽니다 (헤더만 읽고 노트 데이터는 필요할 때 페이지 인)
+     */
+    public static ChartFile open(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("채보 파일 형식이 아닙니다: " + path);
+        }
+        short version = data.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 채보 버전: " + version + " (" + path + ")");
+        }
+
+        int difficultyCount = data.getShort(6);
+        int[] noteCounts = new int[Song.Difficulty.values().length];
+        long[] dataOffsets = new long[noteCounts.length];
+        Arrays.fill(noteCounts, -1);
+
+        // 노트 데이터는 난이도 테이블 뒤에만 올 수 있음 (음수나 헤더를 가리키는 오프셋 거부)
+        long tableEnd = HEADER_SIZE + (long) difficultyCount * TABLE_ENTRY_SIZE;
+        if (difficultyCount < 0 || tableEnd > data.limit()) {
+            throw new IOException("잘못된 난이도 테이블: " + path);
+        }
+
+        for (int i = 0; i < difficultyCount; i++) {
+            int entry = HEADER_SIZE + i * TABLE_ENTRY_SIZE;
+            int difficulty = data.get(entry);
+            int count = data.getInt(entry + 4);
+            long offset = data.getLong(entry + 8);
+
+            if (difficulty < 0 || difficulty >= noteCounts.length || count < 0 || offset < tableEnd
+                    || offset + (long) count * RECORD_SIZE > data.limit()) {
+                throw new IOException("잘못된 난이도 테이블: " + path);
+            }
+            noteCounts[difficulty] = count;
+            dataOffsets[difficulty] = offset;
+        }
+
+        return new ChartFile(path, data, noteCounts, dataOffsets);
+    }
+
+    /**
+     * 곡에 해당하는 채보 파일을 찾아 엽니다
+     *
+     * @return 채보 파일, 없거나 읽을 수 없으면 null
+     */
+    public static ChartFile openForSong(Song song) {
+        if (song == null) {
+            return null;
+        }
+
+        File chartFile = new File(song.getChartPath());
+        if (!chartFile.isFile()) {
+            return null;
+        }
+
+        try {
+            return open(chartFile.toPath());
+        } catch (IOException e) {
+            System.err.println("채보 로드 실패: " + chartFile.getPath() + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 난이도별 채보가 있는지 확인합니다
+     */
+    public boolean hasDifficulty(Song.Difficulty difficulty) {
+        return noteCounts[difficulty.ordinal()] >= 0;
+    }
+
+    /**
+     * 난이도별 노트 수를 반환합니다
+     *
+     * @return 노트 수, 해당 난이도가 없으면 -1
+     */
+    public int getNoteCount(Song.Difficulty difficulty) {
+        return noteCounts[difficulty.ordinal()];
+    }
+
+    /**
+     * 난이도의 처음부터 노트를 읽는 커서를 생성합니다
+     */
+    public Cursor cursor(Song.Difficulty difficulty) {
+        int count = Math.max(0, noteCounts[difficulty.ordinal()]);
+        return new Cursor(data, (int) dataOffsets[difficulty.ordinal()], count);
+    }
+
+    /**
+     * 매핑된 채보 데이터를 미리 메모리에 올립니다 (곡 선택 화면의 미리 불러오기용)
+     */
+    public void preload() {
+        if (data instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) data).load();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 채보 파일 전체의 SHA-256 해시 (리플레이가 같은 채보로 재생되는지 확인용)
+     */
+    public synchronized byte[] contentHash() {
+        if (contentHash == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                ByteBuffer all = data.duplicate();
+                all.clear();
+                digest.update(all);
+                contentHash = digest.digest();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+            }
+        }
+        return contentHash.clone();
+    }
+
+    /**
+     * 채보 노트를 시간 순서대로 읽는 커서
+     * 현재 레코드를 매핑된 버퍼에서 직접 읽습니다
+     */
+    public static class Cursor {
+        private final ByteBuffer data;
+        private final int baseOffset;
+        private final int count;
+        private int index;
+
+        private Cursor(ByteBuffer data, int baseOffset, int count) {
+            this.data = data;
+            this.baseOffset = baseOffset;
+            this.count = count;
+            this.index = 0;
+        }
+
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        /**
+         * 현재 노트의 판정 시각 (마이크로초)
+         */
+        public long timeMicros() {
+            return data.getLong(recordOffset());
+        }
+
+        public int lane() {
+            return data.get(recordOffset() + 8);
+        }
+
+        public int type() {
+            return data.get(recordOffset() + 9);
+        }
+
+        public int durationMicros() {
+            return data.getInt(recordOffset() + 12);
+        }
+
+        /**
+         * 다음 노트로 이동합니다
+         */
+        public void advance() {
+            index++;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        private int recordOffset() {
+            return baseOffset + index * RECORD_SIZE;
+        }
+    }
+
+    /**
+     * 채보 파일을 작성하는 클래스 (채보 제작 도구, 테스트 데이터 생성용)
+     */
+    public static class Writer {
+        private final long[][] times = new long[Song.Difficulty.values().length][];
+        private final int[][] packed = new int[times.length][]; // lane | type << 8
+        private final int[][] durations = new int[times.length][];
+        private final int[] sizes = new int[times.length];
+
+        /**
+         * 노트를 추가합니다 (추가 순서와 관계없이 저장 시 시간순으로 정렬됨)
+         */
+        public Writer addNote(Song.Difficulty difficulty, long timeMicros, int lane, int type, int durationMicros) {
+            if (lane < 0 || lane >= Constants.NOTE_LANES) {
+                throw new IllegalArgumentException("잘못된 레인: " + lane);
+            }
+
+            int d = difficulty.ordinal();
+            if (times[d] == null) {
+                times[d] = new long[64];
+                packed[d] = new int[64];
+                durations[d] = new int[64];
+            } else if (sizes[d] == times[d].length) {
+                int newLength = times[d].length * 2;
+                times[d] = Arrays.copyOf(times[d], newLength);
+                packed[d] = Arrays.copyOf(packed[d], newLength);
+                durations[d] = Arrays.copyOf(durations[d], newLength);
+            }
+
+            int i = sizes[d]++;
+            times[d][i] = timeMicros;
+            packed[d][i] = lane | (type << 8);
+            durations[d][i] = durationMicros;
+            return this;
+        }
+
+        /**
+         * 채보 파일로 저장합니다
+         */
+        public void writeTo(Path path) throws IOException {
+            int difficultyCount = 0;
+            int totalNotes = 0;
+            for (int d = 0; d < times.length; d++) {
+                if (times[d] != null) {
+                    difficultyCount++;
+                    totalNotes += sizes[d];
+                }
+            }
+
+            int dataStart = HEADER_SIZE + difficultyCount * TABLE_ENTRY_SIZE;
+            ByteBuffer out = ByteBuffer.allocate(dataStart + totalNotes * RECORD_SIZE);
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.putShort((short) difficultyCount);
+            out.putLong(0L);
+
+            int entry = HEADER_SIZE;
+            int offset = dataStart;
+            for (int d = 0; d < times.length; d++) {
+                if (times[d] == null) {
+                    continue;
+                }
+
+                out.put(entry, (byte) d);
+                out.putInt(entry + 4, sizes[d]);
+                out.putLong(entry + 8, offset);
+                entry += TABLE_ENTRY_SIZE;
+
+                for (int i : sortedOrder(times[d], sizes[d])) {
+                    out.putLong(offset, times[d][i]);
+                    out.put(offset + 8, (byte) (packed[d][i] & 0xFF));
+                    out.put(offset + 9, (byte) (packed[d][i] >> 8));
+                    out.putInt(offset + 12, durations[d][i]);
+                    offset += RECORD_SIZE;
+                }
+            }
+
+            Files.write(path, out.array());
+        }
+
+        /**
+         * 시간 오름차순 인덱스를 반환합니다 (같은 시간은 추가 순서 유지)
+         */
+        private static int[] sortedOrder(long[] keys, int size) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = order[i];
+            }
+            return result;
+        }
+    }
+}
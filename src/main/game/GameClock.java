@@ -0,0 +1,207 @@
+package main.game;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 게임 시간을 제공하는 단조 증가 시계
+ * 오디오 출력 위치를 기준으로 삼고, 오디오 위치가 갱신되는 사이 구간은
+ * System.nanoTime()으로 보간합니다
+ * start() 후에는 음악의 첫 재생 위치가 나올 때까지 0에 머물다가 그 위치에서 그대로 출발하므로,
+ * 음악을 여는 데 걸린 시간만큼 채보가 어긋나지 않습니다
+ */
+public class GameClock {
+    private static final long NO_POSITION = -1;
+    private static final long RESYNC_THRESHOLD_MICROS = 1_000_000; // 1초 이상 어긋나면 재동기화
+    private static final int SLEW_DIVISOR = 4; // 작은 오차는 나누어 보정 (지터 완화)
+    private static final long MAX_EVENT_AGE_MICROS = 50_000; // 이보다 오래된 이벤트 시각은 신뢰하지 않음
+    private static final long AUDIO_START_TIMEOUT_MICROS = 1_000_000; // 음악이 이보다 늦게 나오면 실제 시간으로 진행
+
+    private LongSupplier audioPositionSource; // 오디오 재생 위치 (마이크로초, 없으면 -1)
+    private long anchorNanos; // 기준 시점의 nanoTime
+    private long anchorMicros; // 기준 시점의 게임 시간
+    private long audioOffsetMicros; // 게임 시간 - 오디오 위치
+    private long lastAudioMicros; // 마지막으로 관측한 오디오 위치
+    private boolean audioLocked; // 오디오 위치에 동기화되었는지 여부
+    private long lastReturnedMicros; // 마지막으로 반환한 게임 시간 (단조 증가 보장용)
+    private boolean waitingForAudio; // 시작 후 첫 오디오 위치를 기다리는 중
+    private boolean absorbAudioJumps; // 오디오 위치가 크게 튀면 오프셋으로 흡수 (음악이 계속 재생되는 재시작용)
+    private boolean running;
+
+    public GameClock() {
+        reset();
+    }
+
+    /**
+     * 오디오 재생 위치 공급자를 설정합니다
+     *
+     * @param source 재생 위치를 마이크로초로 반환하고, 재생 중이 아니면 음수를 반환하는 공급자
+     */
+    public synchronized void setAudioPositionSource(LongSupplier source) {
+        this.audioPositionSource = source;
+    }
+
+    /**
+     * 시계를 0으로 되돌리고 시작합니다
+     * 음악은 이 호출 전에 재생을 요청해야 하며, 시계는 그 음악의 첫 재생 위치부터 진행합니다
+     * (오디오 위치 공급자가 없으면 바로 실제 시간으로 진행)
+     */
+    public synchronized void start() {
+        reset();
+        anchorNanos = System.nanoTime();
+        waitingForAudio = audioPositionSource != null;
+        running = true;
+    }
+
+    /**
+     * 이미 재생 중인 음악은 그대로 두고 시계를 0부터 다시 시작합니다
+     * 음악 위치와의 차이는 오프셋으로 흡수되고, 이후에는 음악 위치에 맞춰 진행합니다
+     */
+    public synchronized void startWithPlayingAudio() {
+        reset();
+        anchorNanos = System.nanoTime();
+        absorbAudioJumps = true;
+        running = true;
+    }
+
+    /**
+     * 시계를 정지 상태로 초기화합니다
+     */
+    public synchronized void reset() {
+        anchorNanos = System.nanoTime();
+        anchorMicros = 0;
+        audioOffsetMicros = 0;
+        lastAudioMicros = NO_POSITION;
+        audioLocked = false;
+        lastReturnedMicros = 0;
+        waitingForAudio = false;
+        absorbAudioJumps = false;
+        running = false;
+    }
+
+    /**
+     * 시계를 일시정지합니다
+     */
+    public synchronized void pause() {
+        if (running) {
+            anchorMicros = nowMicros();
+            running = false;
+        }
+    }
+
+    /**
+     * 일시정지된 시계를 재개합니다
+     */
+    public synchronized void resume() {
+        if (!running) {
+            anchorNanos = System.nanoTime();
+            // 재개 후 처음 관측되는 오디오 위치를 새 기준으로 삼음
+            lastAudioMicros = NO_POSITION;
+            running = true;
+        }
+    }
+
+    /**
+     * 게임 시간을 지정한 값으로 옮깁니다
+     * 일시정지 상태에서 호출하면 오디오나 실제 시간과 무관한 가상 시계로 쓸 수 있습니다 (헤드리스 실행용)
+     */
+    public synchronized void seek(long micros) {
+        anchorNanos = System.nanoTime();
+        anchorMicros = micros;
+        lastAudioMicros = NO_POSITION;
+        lastReturnedMicros = micros;
+    }
+
+    /**
+     * 현재 게임 시간을 마이크로초로 반환합니다
+     */
+    public synchronized long nowMicros() {
+        if (!running) {
+            return anchorMicros;
+        }
+
+        long nowNanos = System.nanoTime();
+        long audioMicros = audioPositionSource != null ? audioPositionSource.getAsLong() : NO_POSITION;
+
+        if (waitingForAudio) {
+            if (audioMicros >= 0) {
+                // 음악의 첫 재생 위치를 그대로 게임 시간으로 삼음
+                waitingForAudio = false;
+                audioLocked = true;
+                anchorMicros = audioMicros;
+                anchorNanos = nowNanos;
+                lastAudioMicros = audioMicros;
+            } else if ((nowNanos - anchorNanos) / 1000 < AUDIO_START_TIMEOUT_MICROS) {
+                return anchorMicros;
+            } else {
+                // 음악이 나오지 않으면 실제 시간으로 진행하고, 늦게 나온 음악 위치는 오프셋으로 흡수
+                System.err.println("음악 재생 위치를 받지 못해 실제 시간으로 진행합니다");
+                waitingForAudio = false;
+                absorbAudioJumps = true;
+                anchorNanos = nowNanos;
+            }
+        }
+
+        long predicted = anchorMicros + (nowNanos - anchorNanos) / 1000;
+        if (audioMicros >= 0 && audioMicros != lastAudioMicros) {
+            // 새 오디오 위치가 관측되면 보간 기준을 오디오 쪽으로 당김
+            long error = audioMicros + audioOffsetMicros - predicted;
+            if (!audioLocked) {
+                // 이미 재생 중이던 음악: 현재 게임 시간을 유지하도록 오프셋을 정함
+                audioOffsetMicros = predicted - audioMicros;
+                audioLocked = true;
+                anchorMicros = predicted;
+            } else if (lastAudioMicros == NO_POSITION) {
+                anchorMicros = audioMicros + audioOffsetMicros; // 재개 후 첫 위치
+            } else if (Math.abs(error) > RESYNC_THRESHOLD_MICROS) {
+                if (absorbAudioJumps) {
+                    audioOffsetMicros = predicted - audioMicros;
+                    anchorMicros = predicted;
+                } else {
+                    anchorMicros = audioMicros + audioOffsetMicros; // 오디오 위치를 따라감
+                }
+            } else {
+                anchorMicros = predicted + error / SLEW_DIVISOR;
+            }
+            anchorNanos = nowNanos;
+            lastAudioMicros = audioMicros;
+            predicted = anchorMicros;
+        }
+
+        // 보정으로 인해 시간이 되돌아가지 않도록 함
+        if (predicted < lastReturnedMicros) {
+            predicted = lastReturnedMicros;
+        }
+        lastReturnedMicros = predicted;
+        return predicted;
+    }
+
+    /**
+     * 입력 이벤트 발생 시각을 게임 시간으로 변환합니다
+     * EDT 대기열에서 기다린 시간만큼 현재 게임 시간에서 빼서 실제로 키가 눌린 시각을 구합니다
+     *
+     * @param eventWhenMillis 이벤트의 System.currentTimeMillis() 기준 발생 시각 (InputEvent.getWhen())
+     */
+    public long eventTimeMicros(long eventWhenMillis) {
+        long ageMicros = (System.currentTimeMillis() - eventWhenMillis) * 1000;
+        ageMicros = Math.max(0, Math.min(MAX_EVENT_AGE_MICROS, ageMicros));
+        return nowMicros() - ageMicros;
+    }
+
+    /**
+     * 현재 게임 시간을 밀리초로 반환합니다
+     */
+    public long nowMillis() {
+        return nowMicros() / 1000;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 오디오 위치에 동기화되었는지 확인합니다
+     */
+    public synchronized boolean isAudioLocked() {
+        return audioLocked;
+    }
+}
@@ -2,30 +2,53 @@ package main.game;
 
 import main.utils.Constants;
 import main.audio.AudioManager;
-import java.util.*;
-import java.util.List;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
 
 /**
  * 리듬 게임의 핵심 엔진
  * 노트 생성, 판정, 게임 로직을 관리합니다
+ *
+ * 게임 로직은 GameLoop 스레드에서 고정 간격(SIMULATION_STEP_MICROS)의 틱으로 진행되고,
+ * 렌더러는 매 반복마다 발행되는 GameSnapshot만 읽습니다.
+ * 엔진 상태를 바꾸는 공개 메서드는 엔진 객체로 동기화됩니다
  */
 public class GameEngine {
-    private List<Note> notes;
+    private NoteBuffer notes; // 화면에 있는 노트 (기본형 배열 링 버퍼)
     private ScoreManager scoreManager;
-    private GameState gameState;
+    private volatile GameState gameState; // 렌더링 스레드와 입력 스레드에서도 읽음
     private GameMode currentGameMode;
     private boolean[] lanePressed; // 각 레인의 키 입력 상태
-    private long gameStartTime;
-    private Random random;
-    private int noteSpawnTimer;
-    private int noteSpawnInterval;
+    private GameClock gameClock; // 오디오 위치 기준 게임 시계
+    private long simTimeMicros; // 마지막으로 처리한 시뮬레이션 틱의 게임 시간
+    private final SnapshotBuffer snapshots = new SnapshotBuffer(); // 렌더러에 넘길 장면
+    private final InputQueue inputQueue = new InputQueue(); // 입력 스레드에서 들어온 키 입력
+    private Random random; // 노트 생성용 (게임마다 시드를 정해 리플레이로 재현 가능)
+    private long currentSeed;
+    private Replay.Recorder replayRecorder; // 현재 게임의 입력 기록
+    private Replay lastReplay; // 마지막으로 끝난 게임의 리플레이
+    private long nextSpawnTimeMicros; // 다음 노트 생성 시각 (게임 시간)
+    private int noteSpawnInterval; // 노트 생성 간격 (60FPS 기준 프레임 수)
+    private ChartFile currentChart; // 현재 곡의 채보 (없으면 랜덤 노트 생성)
+    private Song.Difficulty currentDifficulty;
+    private ChartFile.Cursor chartCursor; // 다음에 생성할 채보 노트 위치
     private AudioManager audioManager;
+    private volatile long inputOffsetMicros; // 입력 시각에서 뺄 지연 (TimingOffsets의 오디오 오프셋)
+    private volatile long renderShiftMicros; // 노트를 그릴 때 게임 시간에 더할 값
     private main.game.Story currentStory; // 현재 진행 중인 스토리
 
     public GameEngine() {
-        notes = new ArrayList<>();
+        notes = new NoteBuffer();
         scoreManager = new ScoreManager();
         lanePressed = new boolean[Constants.NOTE_LANES];
+        gameClock = new GameClock();
         random = new Random();
         gameState = GameState.MENU;
         noteSpawnInterval = 60; // 60프레임마다 노트 생성 (1초)
@@ -40,6 +63,9 @@ public class GameEngine {
 
         // 게임 음악 종료 리스너 설정
         if (audioManager != null) {
+            // 게임 시계를 음악 재생 위치에 맞춤
+            gameClock.setAudioPositionSource(audioManager::getMusicPositionMicros);
+
             audioManager.setGameMusicEndListener(() -> {
                 System.out.println("게임 음악이 종료되었습니다. 게임을 종료합니다.");
                 endGame();
@@ -47,6 +73,18 @@ public class GameEngine {
         }
     }
 
+    /**
+     * 기기 지연 보정값을 설정합니다 (노트마다가 아니라 입력과 장면마다 한 번씩 적용)
+     * 헤드리스 실행과 리플레이 재생은 보정 없이 기록된 시각을 그대로 씁니다
+     *
+     * @param inputOffset 입력 시각에서 뺄 값 (마이크로초)
+     * @param renderShift 노트 위치 계산 시 게임 시간에 더할 값 (마이크로초)
+     */
+    public void setTimingOffsets(long inputOffset, long renderShift) {
+        this.inputOffsetMicros = inputOffset;
+        this.renderShiftMicros = renderShift;
+    }
+
     /**
      * 게임을 시작합니다
      */
@@ -58,16 +96,77 @@ public class GameEngine {
      * 특정 모드로 게임을 시작합니다
      */
     public void startGameWithMode(GameMode mode) {
+        startGameWithMode(mode, System.nanoTime());
+    }
+
+    /**
+     * 노트 생성 시드를 지정해 게임을 시작합니다 (리플레이 재생용)
+     * 배경음악은 이 호출 전에 재생을 요청해야 합니다 (게임 시계가 그 음악의 첫 위치부터 진행)
+     */
+    public synchronized void startGameWithMode(GameMode mode, long seed) {
         this.currentGameMode = mode;
         gameState = GameState.PLAYING;
-        gameStartTime = System.currentTimeMillis();
         scoreManager.reset();
         notes.clear();
-        noteSpawnTimer = 0;
+        inputQueue.clear();
         Arrays.fill(lanePressed, false);
 
         // 모드별 초기 설정
         setupGameMode(mode);
+        rewindNoteSource();
+        simTimeMicros = 0;
+        beginRecording(seed);
+        gameClock.start();
+    }
+
+    /**
+     * 다음 게임에서 사용할 곡의 채보를 준비합니다
+     * 해당 난이도의 채보 파일이 없으면 랜덤 노트 생성으로 대체됩니다
+     */
+    public synchronized void prepareChart(Song song, Song.Difficulty difficulty) {
+        prepareChart(ChartFile.openForSong(song), difficulty);
+    }
+
+    /**
+     * 다음 게임에서 사용할 채보를 준비합니다
+     */
+    public synchronized void prepareChart(ChartFile chart, Song.Difficulty difficulty) {
+        if (chart != null && difficulty != null && chart.hasDifficulty(difficulty)) {
+            currentChart = chart;
+            currentDifficulty = difficulty;
+            System.out.println("채보 로드: " + chart.getPath() + " (" + difficulty.getDisplayName() + ", "
+                    + chart.getNoteCount(difficulty) + "노트)");
+        } else {
+            clearChart();
+        }
+    }
+
+    /**
+     * 채보를 해제하고 랜덤 노트 생성으로 되돌립니다
+     */
+    public synchronized void clearChart() {
+        currentChart = null;
+        currentDifficulty = null;
+        chartCursor = null;
+    }
+
+    /**
+     * 노트 생성 위치를 곡의 처음으로 되돌립니다
+     */
+    private void rewindNoteSource() {
+        chartCursor = currentChart != null ? currentChart.cursor(currentDifficulty) : null;
+        nextSpawnTimeMicros = framesToMicros(noteSpawnInterval);
+    }
+
+    /**
+     * 노트 생성 시드를 정하고 입력 기록을 새로 시작합니다
+     */
+    private void beginRecording(long seed) {
+        currentSeed = seed;
+        random.setSeed(seed);
+        String chartId = currentChart != null ? currentChart.getPath().getFileName().toString() : "";
+        byte[] chartHash = currentChart != null ? currentChart.contentHash() : null;
+        replayRecorder = new Replay.Recorder(seed, currentGameMode, chartId, chartHash, currentDifficulty);
     }
 
     /**
@@ -96,14 +195,16 @@ public class GameEngine {
     /**
      * 게임을 일시정지/재개합니다
      */
-    public void togglePause() {
+    public synchronized void togglePause() {
         if (gameState == GameState.PLAYING) {
             gameState = GameState.PAUSED;
+            gameClock.pause();
             if (audioManager != null) {
                 audioManager.pauseGame();
             }
         } else if (gameState == GameState.PAUSED) {
             gameState = GameState.PLAYING;
+            gameClock.resume();
             if (audioManager != null) {
                 audioManager.resumeGame();
             }
@@ -113,14 +214,21 @@ public class GameEngine {
     /**
      * 음악은 계속 재생하면서 게임 상태만 리셋합니다
      */
-    public void resetGameOnly() {
+    public synchronized void resetGameOnly() {
         gameState = GameState.PLAYING;
-        gameStartTime = System.currentTimeMillis();
         scoreManager.reset();
         notes.clear();
-        noteSpawnTimer = 0;
+        inputQueue.clear();
         Arrays.fill(lanePressed, false);
-        
+
+        // 계속 재생 중인 음악 위치를 다시 기준으로 잡도록 시계를 재시작
+        // (오디오 위치와의 차이는 오프셋으로 흡수됨)
+        setupGameMode(currentGameMode);
+        rewindNoteSource();
+        simTimeMicros = 0;
+        beginRecording(System.nanoTime());
+        gameClock.startWithPlayingAudio();
+
         // 음악은 재시작하지 않고 계속 재생
         System.out.println("게임 상태만 리셋됨 - 음악은 계속 재생");
     }
@@ -128,9 +236,15 @@ public class GameEngine {
     /**
      * 게임을 종료합니다
      */
-    public void endGame() {
+    public synchronized void endGame() {
         gameState = GameState.RESULT;
 
+        if (replayRecorder != null) {
+            lastReplay = replayRecorder.finish(simTimeMicros, scoreManager);
+            replayRecorder = null;
+            saveReplay(lastReplay);
+        }
+
         // 스토리 모드인 경우 스토리 완료 처리
         if (currentGameMode == GameMode.STORY_MODE && currentStory != null) {
             int finalScore = scoreManager.getScore();
@@ -150,11 +264,34 @@ public class GameEngine {
         }
     }
 
+    /**
+     * 리플레이를 파일로 저장합니다
+     */
+    private void saveReplay(Replay replay) {
+        File directory = new File(Constants.REPLAY_PATH);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.err.println("리플레이 폴더를 만들 수 없습니다: " + directory.getPath());
+            return;
+        }
+
+        String name = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + Replay.EXTENSION;
+        Path path = Paths.get(Constants.REPLAY_PATH, name);
+        try {
+            replay.writeTo(path);
+            System.out.println("리플레이 저장: " + path + " (입력 " + replay.getEventCount() + "개)");
+        } catch (IOException e) {
+            System.err.println("리플레이 저장 실패: " + path + " - " + e.getMessage());
+        }
+    }
+
     /**
      * 메인 메뉴로 돌아갑니다
      */
-    public void returnToMenu() {
+    public synchronized void returnToMenu() {
         gameState = GameState.MENU;
+        gameClock.reset();
+        simTimeMicros = 0;
+        replayRecorder = null;
         notes.clear();
         scoreManager.reset();
         if (audioManager != null) {
@@ -163,108 +300,230 @@ public class GameEngine {
     }
 
     /**
-     * 게임 로직을 업데이트합니다
+     * 게임 시계까지 밀린 시뮬레이션 틱을 모두 처리하고 렌더링용 장면을 발행합니다
+     * 틱은 항상 고정 간격의 게임 시간에서 실행되므로 호출 간격과 관계없이 결과가 같습니다
      */
-    public void update() {
+    public synchronized void update() {
+        long previousSimTime = simTimeMicros;
+
+        if (gameState == GameState.PLAYING) {
+            advanceTo(gameClock.nowMicros());
+            if (simTimeMicros == previousSimTime) {
+                return; // 새 틱이 없으면 이전 장면 유지
+            }
+        }
+
+        snapshots.back().capture(gameState, previousSimTime, simTimeMicros, renderShiftMicros, notes, lanePressed,
+                scoreManager);
+        snapshots.publish();
+    }
+
+    /**
+     * 주어진 게임 시간까지의 틱을 모두 처리합니다 (장면은 발행하지 않음)
+     * 헤드리스 실행에서는 게임 시계 대신 가상의 시간으로 호출합니다
+     */
+    public synchronized void advanceTo(long targetMicros) {
         if (gameState != GameState.PLAYING) {
             return;
         }
+        while (simTimeMicros + Constants.SIMULATION_STEP_MICROS <= targetMicros) {
+            simTimeMicros += Constants.SIMULATION_STEP_MICROS;
+            step(simTimeMicros);
+        }
+    }
 
-        // 노트 생성
-        spawnNotes();
+    /**
+     * 시뮬레이션을 한 틱 진행합니다
+     * 모든 위치 계산은 한 틱 안에서 같은 게임 시간을 기준으로 함
+     */
+    private void step(long now) {
+        // 이 틱 시각까지 들어온 입력을 입력 시각 기준으로 판정
+        applyInputs(now);
 
-        // 모든 노트 업데이트
-        for (Note note : notes) {
-            note.update();
-        }
+        // 노트 생성
+        spawnNotes(now);
 
-        // 놓친 노트 처리
-        checkMissedNotes();
+        // 레인별 맨 앞 노트만 확인해 놓친 노트 처리
+        checkMissedNotes(now);
 
-        // 완료된 노트 제거
-        notes.removeIf(note -> note.isHit() || note.isMissed());
+        // 앞쪽의 완료된 노트는 인덱스만 옮겨 제거
+        notes.retireFinished();
     }
 
     /**
      * 노트를 생성합니다
+     * 생성 시각이 지난 만큼 모두 생성하므로 늦은 프레임이 있어도 노트 간격이 유지됩니다
      */
-    private void spawnNotes() {
-        noteSpawnTimer++;
-        if (noteSpawnTimer >= noteSpawnInterval) {
+    private void spawnNotes(long now) {
+        if (chartCursor != null) {
+            spawnChartNotes(now);
+            return;
+        }
+
+        while (now >= nextSpawnTimeMicros) {
             // 랜덤하게 1-2개의 레인에 노트 생성
             int numNotes = random.nextInt(2) + 1;
-            Set<Integer> usedLanes = new HashSet<>();
+            int usedLanes = 0; // 레인별 비트 마스크
 
             for (int i = 0; i < numNotes; i++) {
                 int lane;
                 do {
                     lane = random.nextInt(Constants.NOTE_LANES);
-                } while (usedLanes.contains(lane));
+                } while ((usedLanes & (1 << lane)) != 0);
 
-                usedLanes.add(lane);
-                notes.add(new Note(lane, -Constants.NOTE_HEIGHT));
+                usedLanes |= 1 << lane;
+                // 화면 위에서 출발해 이동 시간 뒤에 판정선에 도달하도록 예약
+                notes.add(lane, nextSpawnTimeMicros + Constants.NOTE_TRAVEL_TIME_MICROS);
             }
 
-            noteSpawnTimer = 0;
             // 게임이 진행될수록 노트 생성 간격 감소
-            noteSpawnInterval = Math.max(30, 60 - (int) (getGameTime() / 1000));
+            noteSpawnInterval = Math.max(30, 60 - (int) (nextSpawnTimeMicros / 1_000_000L));
+            nextSpawnTimeMicros += framesToMicros(noteSpawnInterval);
         }
     }
 
     /**
-     * 놓친 노트를 체크합니다
+     * 채보에서 화면에 들어올 시간이 된 노트들을 생성합니다
      */
-    private void checkMissedNotes() {
-        for (Note note : notes) {
-            if (!note.isHit() && !note.isMissed()) {
-                int distance = note.getDistanceFromJudgmentLine();
-                int missRange = Constants.MISS_RANGE * Constants.NOTE_SPEED;
+    private void spawnChartNotes(long now) {
+        long spawnHorizon = now + Constants.NOTE_TRAVEL_TIME_MICROS;
+        while (chartCursor.hasNext() && chartCursor.timeMicros() <= spawnHorizon) {
+            int lane = chartCursor.lane();
+            if (lane >= 0 && lane < Constants.NOTE_LANES) {
+                // 롱노트는 아직 지원하지 않으므로 시작 시점의 일반 노트로 처리
+                notes.add(lane, chartCursor.timeMicros());
+            }
+            chartCursor.advance();
+        }
+    }
 
-                // 판정선을 너무 많이 지나간 노트는 MISS 처리
-                if (note.getY() > Constants.JUDGMENT_LINE_Y + missRange) {
-                    note.setMissed(true);
-                    scoreManager.processJudgment("MISS");
-                }
+    /**
+     * 60FPS 기준 프레임 수를 마이크로초로 변환합니다
+     */
+    private static long framesToMicros(int frames) {
+        return frames * 1_000_000L / Constants.TARGET_FPS;
+    }
+
+    /**
+     * 놓친 노트를 체크합니다
+     * 레인 안의 노트는 시간순이므로 각 레인의 맨 앞 노트부터 지나간 것만 확인합니다
+     */
+    private void checkMissedNotes(long now) {
+        // GOOD 범위를 지나면 더 이상 점수를 얻을 수 없으므로 MISS 처리
+        long missBefore = now - Constants.GOOD_WINDOW_MICROS;
+
+        for (int lane = 0; lane < Constants.NOTE_LANES; lane++) {
+            long seq = notes.laneHead(lane);
+            while (seq >= 0 && notes.hitTimeAt(seq) < missBefore) {
+                notes.markAt(seq, NoteBuffer.STATE_MISSED);
+                scoreManager.processJudgment(Judgment.MISS);
+                seq = notes.laneHead(lane);
             }
         }
     }
 
     /**
-     * 키 입력을 처리합니다
-     * 
-     * @param lane 입력된 레인 (0-3)
+     * 입력 스레드에서 키 입력을 전달합니다 (입력 스레드 하나에서만 호출)
+     * 입력은 큐에 쌓였다가 입력 시각이 지난 첫 시뮬레이션 틱에서 처리됩니다
+     *
+     * @param lane          입력된 레인
+     * @param pressed       눌림이면 true, 뗌이면 false
+     * @param captureMicros 키가 눌린 시각 (게임 시간, 지연 보정 전)
+     */
+    public void submitKeyInput(int lane, boolean pressed, long captureMicros) {
+        if (lane < 0 || lane >= Constants.NOTE_LANES) {
+            return;
+        }
+        // 보정된 시각으로 큐에 넣으므로 리플레이에도 보정된 시각이 기록됨
+        if (!inputQueue.offer(lane, pressed, captureMicros - inputOffsetMicros)) {
+            System.err.println("입력 버퍼가 가득 차 입력을 버렸습니다: 레인 " + lane);
+        }
+    }
+
+    /**
+     * 큐에 쌓인 입력 중 입력 시각이 now 이전인 것을 처리합니다
+     */
+    private void applyInputs(long now) {
+        long afterStep = now - Constants.SIMULATION_STEP_MICROS;
+        while (inputQueue.hasNext() && inputQueue.peekCaptureTime() <= now) {
+            applyInput(inputQueue.peekLane(), inputQueue.peekPressed(), inputQueue.peekCaptureTime(), afterStep);
+            inputQueue.poll();
+        }
+    }
+
+    /**
+     * 입력 하나를 적용하고 리플레이에 기록합니다
+     *
+     * @param afterStepMicros 이 입력 직전에 처리된 틱의 게임 시간 (리플레이 재생 시 같은 위치에 적용)
+     */
+    private void applyInput(int lane, boolean pressed, long inputTime, long afterStepMicros) {
+        if (pressed) {
+            pressLane(lane, inputTime);
+        } else {
+            lanePressed[lane] = false;
+        }
+
+        if (replayRecorder != null) {
+            replayRecorder.record(afterStepMicros, inputTime, lane, pressed);
+        }
+    }
+
+    /**
+     * 리플레이의 입력을 기록된 위치에서 적용합니다 (ReplayRunner 전용)
+     */
+    synchronized void applyReplayInput(int lane, boolean pressed, long inputTime) {
+        if (gameState == GameState.PLAYING && lane >= 0 && lane < Constants.NOTE_LANES) {
+            applyInput(lane, pressed, inputTime, simTimeMicros);
+        }
+    }
+
+    /**
+     * 키 입력을 현재 게임 시간 기준으로 즉시 처리합니다
+     *
+     * @param lane 입력된 레인 (0-5)
      */
-    public void processKeyInput(int lane) {
+    public synchronized void processKeyInput(int lane) {
         if (gameState != GameState.PLAYING || lane < 0 || lane >= Constants.NOTE_LANES) {
             return;
         }
+        applyInput(lane, true, gameClock.nowMicros() - inputOffsetMicros, simTimeMicros);
+    }
 
+    /**
+     * 레인 입력을 주어진 입력 시각 기준으로 판정합니다
+     */
+    private void pressLane(int lane, long inputTime) {
         lanePressed[lane] = true;
 
-        // 터치 사운드 재생
+        // 터치 사운드는 효과음 스레드에서 재생 (시뮬레이션 스레드를 막지 않음)
         if (audioManager != null) {
-            audioManager.playTouchSound();
+            audioManager.playTouchSoundAsync();
         }
 
-        // 해당 레인에서 가장 가까운 노트 찾기
-        Note closestNote = null;
-        int minDistance = Integer.MAX_VALUE;
-
-        for (Note note : notes) {
-            if (note.getLane() == lane && !note.isHit() && !note.isMissed() && note.isInJudgmentRange()) {
-                int distance = note.getDistanceFromJudgmentLine();
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closestNote = note;
+        // 해당 레인의 맨 앞 노트와 그 다음 노트 중 판정 시각에 더 가까운 노트 선택
+        long closestNote = -1;
+        long closestOffset = 0;
+
+        long head = notes.laneHead(lane);
+        if (head >= 0) {
+            closestOffset = inputTime - notes.hitTimeAt(head);
+            closestNote = head;
+
+            long next = notes.laneNext(lane);
+            if (next >= 0) {
+                long nextOffset = inputTime - notes.hitTimeAt(next);
+                if (Math.abs(nextOffset) < Math.abs(closestOffset)) {
+                    closestOffset = nextOffset;
+                    closestNote = next;
                 }
             }
         }
 
-        // 노트가 있으면 판정 처리
-        if (closestNote != null) {
-            String judgment = closestNote.getJudgment();
-            closestNote.setHit(true);
-            scoreManager.processJudgment(judgment);
+        // 판정 범위 안의 노트가 있으면 판정 처리
+        if (closestNote >= 0 && Judgment.isJudgeable(closestOffset)) {
+            Judgment judgment = Judgment.fromOffset(closestOffset);
+            notes.markAt(closestNote, NoteBuffer.STATE_HIT);
+            scoreManager.processJudgment(judgment, closestOffset);
 
             // Touch 소리만 재생하므로 판정 사운드는 제거
             // (이미 위에서 Touch 소리가 재생됨)
@@ -274,9 +533,9 @@ public class GameEngine {
     /**
      * 키 릴리즈를 처리합니다
      * 
-     * @param lane 릴리즈된 레인 (0-3)
+     * @param lane 릴리즈된 레인 (0-5)
      */
-    public void processKeyRelease(int lane) {
+    public synchronized void processKeyRelease(int lane) {
         if (lane >= 0 && lane < Constants.NOTE_LANES) {
             lanePressed[lane] = false;
         }
@@ -287,16 +546,54 @@ public class GameEngine {
      */
     public long getGameTime() {
         if (gameState == GameState.PLAYING) {
-            return System.currentTimeMillis() - gameStartTime;
+            return gameClock.nowMillis();
         }
         return 0;
     }
 
+    public GameClock getGameClock() {
+        return gameClock;
+    }
+
+    /**
+     * 현재 게임의 노트 생성 시드
+     */
+    public long getCurrentSeed() {
+        return currentSeed;
+    }
+
+    /**
+     * 마지막으로 끝난 게임의 리플레이를 반환합니다
+     *
+     * @return 리플레이, 아직 끝난 게임이 없으면 null
+     */
+    public Replay getLastReplay() {
+        return lastReplay;
+    }
+
     // Getters
-    public List<Note> getNotes() {
+
+    /**
+     * 엔진 내부의 읽기 전용 노트 뷰를 반환합니다 (시뮬레이션 스레드 또는 헤드리스 실행용)
+     */
+    public NoteView getNotes() {
         return notes;
     }
 
+    /**
+     * 가장 최근에 발행된 렌더링용 장면을 반환합니다 (렌더링 스레드 하나에서만 호출)
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshots.latest();
+    }
+
+    /**
+     * 마지막으로 처리한 시뮬레이션 틱의 게임 시간 (마이크로초)
+     */
+    public synchronized long getSimTimeMicros() {
+        return simTimeMicros;
+    }
+
     public ScoreManager getScoreManager() {
         return scoreManager;
     }
@@ -313,7 +610,7 @@ public class GameEngine {
         return currentGameMode;
     }
 
-    public void setGameState(GameState state) {
+    public synchronized void setGameState(GameState state) {
         this.gameState = state;
     }
 
@@ -0,0 +1,90 @@
+package main.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 게임 엔진을 Swing EDT와 분리된 전용 스레드에서 고정 주기로 실행합니다
+ * 엔진은 매 반복마다 게임 시계까지 밀린 틱을 모두 처리하므로, 깨어나는 시점이
+ * 늦더라도 시뮬레이션 시간은 고정 간격으로 따라잡습니다
+ */
+public class GameLoop implements Runnable {
+    private static final long IDLE_PARK_NANOS = 10_000_000L; // 게임 중이 아닐 때 대기 시간
+    private static final long MAX_LAG_NANOS = 100_000_000L; // 이보다 밀리면 일정을 다시 잡음
+
+    private final GameEngine engine;
+    private final long tickNanos;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param engine         실행할 게임 엔진
+     * @param simulationRate 초당 시뮬레이션 틱 수
+     */
+    public GameLoop(GameEngine engine, int simulationRate) {
+        this.engine = engine;
+        this.tickNanos = 1_000_000_000L / simulationRate;
+    }
+
+    /**
+     * 시뮬레이션 스레드를 시작합니다
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this, "GameLoop");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        System.out.println("게임 루프 시작: " + (1_000_000_000L / tickNanos) + "Hz");
+    }
+
+    /**
+     * 시뮬레이션 스레드를 정지합니다
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+
+        while (running) {
+            try {
+                engine.update();
+            } catch (RuntimeException e) {
+                // 한 틱의 오류로 루프 전체가 멈추지 않도록 함
+                System.err.println("게임 루프 오류: " + e.getMessage());
+                e.printStackTrace();
+            }
+
+            if (engine.getGameState() != GameState.PLAYING) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                nextTick = System.nanoTime();
+                continue;
+            }
+
+            nextTick += tickNanos;
+            long now = System.nanoTime();
+            if (now - nextTick > MAX_LAG_NANOS) {
+                nextTick = now;
+            }
+
+            long wait = nextTick - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,164 @@
+package main.game;
+
+import main.utils.Constants;
+
+/**
+ * 렌더러가 읽는 게임 상태의 한 장면
+ * 시뮬레이션 스레드가 채운 뒤 SnapshotBuffer로 넘기며, 넘긴 뒤에는 수정하지 않습니다
+ *
+ * 노트는 화면에 보일 수 있는 활성 노트만 복사하고, 렌더러는 직전 두 시뮬레이션 시각
+ * 사이를 보간한 시각으로 노트 위치를 계산합니다
+ */
+public class GameSnapshot {
+    private GameState gameState = GameState.MENU;
+    private long previousSimTimeMicros;
+    private long simTimeMicros;
+    private long renderShiftMicros; // 렌더링 시각 = 게임 시간 + 이 값 (화면 지연 보정)
+    private long publishNanos;
+
+    // 보이는 노트 (판정 시각 오름차순)
+    private int noteCount;
+    private int[] noteLanes = new int[64];
+    private long[] noteHitTimes = new long[64];
+
+    private final boolean[] lanePressed = new boolean[Constants.NOTE_LANES];
+
+    // 점수 정보
+    private int score;
+    private int combo;
+    private int maxCombo;
+    private int perfectCount;
+    private int goodCount;
+    private int missCount;
+    private double accuracy;
+    private Judgment lastJudgment;
+    private boolean showLastJudgment;
+    private boolean lastTiming;
+    private long lastOffsetMicros;
+
+    /**
+     * 엔진 상태를 복사합니다 (시뮬레이션 스레드 전용)
+     *
+     * @param renderShift 노트 위치를 계산할 때 게임 시간에 더할 값 (TimingOffsets의 렌더링 보정)
+     */
+    void capture(GameState state, long previousSimTime, long simTime, long renderShift, NoteBuffer notes,
+            boolean[] pressed, ScoreManager scoreManager) {
+        gameState = state;
+        previousSimTimeMicros = previousSimTime;
+        simTimeMicros = simTime;
+        renderShiftMicros = renderShift;
+
+        // 보간 구간 전체에서 보일 수 있는 노트만 복사
+        int first = notes.lowerBound(Note.earliestVisibleHitTime(previousSimTime + renderShift));
+        int last = notes.lowerBound(Note.latestVisibleHitTime(simTime + renderShift) + 1);
+        if (last - first > noteLanes.length) {
+            int capacity = Integer.highestOneBit(last - first) << 1;
+            noteLanes = new int[capacity];
+            noteHitTimes = new long[capacity];
+        }
+
+        int count = 0;
+        for (int i = first; i < last; i++) {
+            if (notes.isActive(i)) {
+                noteLanes[count] = notes.lane(i);
+                noteHitTimes[count] = notes.hitTimeMicros(i);
+                count++;
+            }
+        }
+        noteCount = count;
+
+        System.arraycopy(pressed, 0, lanePressed, 0, lanePressed.length);
+
+        score = scoreManager.getScore();
+        combo = scoreManager.getCombo();
+        maxCombo = scoreManager.getMaxCombo();
+        perfectCount = scoreManager.getPerfectCount();
+        goodCount = scoreManager.getGoodCount();
+        missCount = scoreManager.getMissCount();
+        accuracy = scoreManager.getAccuracy();
+        lastJudgment = scoreManager.getLastJudgment();
+        showLastJudgment = scoreManager.shouldShowLastJudgment();
+        lastTiming = scoreManager.hasLastTiming();
+        lastOffsetMicros = scoreManager.getLastOffsetMicros();
+
+        publishNanos = System.nanoTime();
+    }
+
+    /**
+     * 렌더링 시점에 맞춰 직전 두 시뮬레이션 시각 사이를 보간한 게임 시간을 반환합니다
+     * 최신 시뮬레이션 시각을 넘어서 예측하지는 않으며, 화면 지연 보정이 더해진 값입니다
+     */
+    public long interpolatedTimeMicros(long nowNanos) {
+        long span = simTimeMicros - previousSimTimeMicros;
+        long elapsed = Math.max(0, (nowNanos - publishNanos) / 1000);
+        return previousSimTimeMicros + Math.min(span, elapsed) + renderShiftMicros;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public long getSimTimeMicros() {
+        return simTimeMicros;
+    }
+
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    public int getNoteLane(int index) {
+        return noteLanes[index];
+    }
+
+    public long getNoteHitTime(int index) {
+        return noteHitTimes[index];
+    }
+
+    public boolean isLanePressed(int lane) {
+        return lanePressed[lane];
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getCombo() {
+        return combo;
+    }
+
+    public int getMaxCombo() {
+        return maxCombo;
+    }
+
+    public int getPerfectCount() {
+        return perfectCount;
+    }
+
+    public int getGoodCount() {
+        return goodCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    public Judgment getLastJudgment() {
+        return lastJudgment;
+    }
+
+    public boolean shouldShowLastJudgment() {
+        return showLastJudgment;
+    }
+
+    public boolean hasLastTiming() {
+        return lastTiming;
+    }
+
+    public long getLastOffsetMicros() {
+        return lastOffsetMicros;
+    }
+}
@@ -0,0 +1,86 @@
+package main.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 입력 스레드(EDT) 하나가 넣고 시뮬레이션 스레드 하나가 꺼내는 키 입력 링 버퍼
+ * 잠금 없이 동작하며, 이벤트마다 객체를 만들지 않도록 기본형 배열에 저장합니다
+ */
+public class InputQueue {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final long[] captureTimes; // 입력 시각 (게임 시간, 마이크로초)
+    private final int[] lanes;
+    private final boolean[] pressed;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // 다음에 꺼낼 위치 (소비자만 씀)
+    private final AtomicLong tail = new AtomicLong(); // 다음에 넣을 위치 (생산자만 씀)
+
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        captureTimes = new long[size];
+        lanes = new int[size];
+        pressed = new boolean[size];
+        mask = size - 1;
+    }
+
+    /**
+     * 입력을 추가합니다 (생산자 스레드 전용)
+     *
+     * @return 버퍼가 가득 차 버려졌으면 false
+     */
+    public boolean offer(int lane, boolean isPressed, long captureMicros) {
+        long t = tail.get();
+        if (t - head.getAcquire() > mask) {
+            return false;
+        }
+
+        int slot = (int) (t & mask);
+        captureTimes[slot] = captureMicros;
+        lanes[slot] = lane;
+        pressed[slot] = isPressed;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * 꺼낼 입력이 있는지 확인합니다 (소비자 스레드 전용)
+     */
+    public boolean hasNext() {
+        return head.get() < tail.getAcquire();
+    }
+
+    /**
+     * 맨 앞 입력의 입력 시각을 반환합니다 (hasNext()가 true일 때만 호출)
+     */
+    public long peekCaptureTime() {
+        return captureTimes[(int) (head.get() & mask)];
+    }
+
+    public int peekLane() {
+        return lanes[(int) (head.get() & mask)];
+    }
+
+    public boolean peekPressed() {
+        return pressed[(int) (head.get() & mask)];
+    }
+
+    /**
+     * 맨 앞 입력을 버립니다 (소비자 스레드 전용)
+     */
+    public void poll() {
+        head.setRelease(head.get() + 1);
+    }
+
+    /**
+     * 쌓인 입력을 모두 버립니다 (소비자 스레드 전용)
+     */
+    public void clear() {
+        head.setRelease(tail.getAcquire());
+    }
+}
@@ -0,0 +1,43 @@
+package main.game;
+
+import main.utils.Constants;
+
+/**
+ * 노트 판정 결과를 나타내는 열거형
+ * 판정은 노트의 판정 시각과 입력 시각의 차이(오프셋, 마이크로초)로 결정됩니다
+ * 오프셋이 음수면 빠른 입력(EARLY), 양수면 늦은 입력(LATE)입니다
+ */
+public enum Judgment {
+    PERFECT, // 정확한 타이밍
+    GOOD, // 양호한 타이밍
+    MISS; // 타이밍을 놓침
+
+    /**
+     * 입력 오프셋으로 판정을 결정합니다
+     *
+     * @param offsetMicros 입력 시각 - 노트 판정 시각 (마이크로초)
+     */
+    public static Judgment fromOffset(long offsetMicros) {
+        long distance = Math.abs(offsetMicros);
+        if (distance <= Constants.PERFECT_WINDOW_MICROS) {
+            return PERFECT;
+        } else if (distance <= Constants.GOOD_WINDOW_MICROS) {
+            return GOOD;
+        }
+        return MISS;
+    }
+
+    /**
+     * 입력이 노트를 판정할 수 있는 범위 안에 있는지 확인합니다
+     */
+    public static boolean isJudgeable(long offsetMicros) {
+        return Math.abs(offsetMicros) <= Constants.MISS_WINDOW_MICROS;
+    }
+
+    /**
+     * 판정 시각보다 빠른 입력인지 확인합니다
+     */
+    public static boolean isEarly(long offsetMicros) {
+        return offsetMicros < 0;
+    }
+}
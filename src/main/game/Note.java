@@ -1,119 +1,37 @@
 package main.game;
 
 import main.utils.Constants;
-import java.awt.*;
 
 /**
- * 리듬 게임의 노트를 나타내는 클래스
+ * 노트의 화면 위치를 계산하는 유틸리티 클래스
+ * 노트 데이터 자체는 NoteBuffer의 기본형 배열에 저장되며, 판정은 Judgment가 담당합니다
  */
-public class Note {
-    private int lane; // 노트가 속한 레인 (0-3)
-    private int x; // X 좌표
-    private int y; // Y 좌표
-    private boolean hit; // 노트가 타격되었는지 여부
-    private boolean missed; // 노트가 놓쳤는지 여부
-    private Color color; // 노트 색상
+public final class Note {
 
-    public Note(int lane, int startY) {
-        this.lane = lane;
-        this.x = lane * Constants.LANE_WIDTH + (Constants.LANE_WIDTH - Constants.NOTE_WIDTH) / 2;
-        this.y = startY;
-        this.hit = false;
-        this.missed = false;
-        this.color = Constants.NOTE_COLOR;
+    private Note() {
     }
 
     /**
-     * 노트를 업데이트 (아래로 이동)
+     * 판정 시각과 현재 게임 시간으로부터 노트 상단의 Y 좌표를 계산합니다
      */
-    public void update() {
-        if (!hit && !missed) {
-            y += Constants.NOTE_SPEED;
-
-            // 화면 밖으로 나가면 놓친 것으로 처리
-            if (y > Constants.GAME_HEIGHT) {
-                missed = true;
-            }
-        }
-    }
-
-    /**
-     * 노트를 그립니다
-     */
-    public void draw(Graphics2D g2d) {
-        if (!hit && !missed) {
-            g2d.setColor(color);
-            g2d.fillRoundRect(x, y, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 10, 10);
-
-            // 노트 테두리
-            g2d.setColor(Color.WHITE);
-            g2d.drawRoundRect(x, y, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 10, 10);
-        }
-    }
-
-    /**
-     * 판정선과의 거리를 계산합니다
-     */
-    public int getDistanceFromJudgmentLine() {
-        return Math.abs((y + Constants.NOTE_HEIGHT / 2) - Constants.JUDGMENT_LINE_Y);
+    public static int calculateY(long hitTimeMicros, long gameTimeMicros) {
+        long remainingMicros = hitTimeMicros - gameTimeMicros;
+        int distance = (int) (remainingMicros * Constants.NOTE_SPEED_PX_PER_SEC / 1_000_000L);
+        return Constants.JUDGMENT_LINE_Y - Constants.NOTE_HEIGHT / 2 - distance;
     }
 
     /**
-     * 노트가 판정 가능한 범위에 있는지 확인
+     * 화면 아래 끝을 벗어나기 직전인 노트의 판정 시각 (이보다 이른 노트는 보이지 않음)
      */
-    public boolean isInJudgmentRange() {
-        return getDistanceFromJudgmentLine() <= Constants.MISS_RANGE * Constants.NOTE_SPEED;
+    public static long earliestVisibleHitTime(long gameTimeMicros) {
+        int pixelsBelowLine = Constants.GAME_HEIGHT - Constants.JUDGMENT_LINE_Y + Constants.NOTE_HEIGHT / 2;
+        return gameTimeMicros - pixelsBelowLine * 1_000_000L / Constants.NOTE_SPEED_PX_PER_SEC;
     }
 
     /**
-     * 판정 결과를 반환합니다
-     * 
-     * @return "PERFECT", "GOOD", "MISS" 중 하나
+     * 화면 위쪽에 막 나타나는 노트의 판정 시각 (이보다 늦은 노트는 보이지 않음)
      */
-    public String getJudgment() {
-        int distance = getDistanceFromJudgmentLine();
-        int perfectRange = Constants.PERFECT_RANGE * Constants.NOTE_SPEED;
-        int goodRange = Constants.GOOD_RANGE * Constants.NOTE_SPEED;
-
-        if (distance <= perfectRange) {
-            return "PERFECT";
-        } else if (distance <= goodRange) {
-            return "GOOD";
-        } else {
-            return "MISS";
-        }
-    }
-
-    // Getters and Setters
-    public int getLane() {
-        return lane;
-    }
-
-    public int getX() {
-        return x;
-    }
-
-    public int getY() {
-        return y;
-    }
-
-    public boolean isHit() {
-        return hit;
-    }
-
-    public boolean isMissed() {
-        return missed;
-    }
-
-    public void setHit(boolean hit) {
-        this.hit = hit;
-    }
-
-    public void setMissed(boolean missed) {
-        this.missed = missed;
-    }
-
-    public void setColor(Color color) {
-        this.color = color;
+    public static long latestVisibleHitTime(long gameTimeMicros) {
+        return gameTimeMicros + Constants.NOTE_TRAVEL_TIME_MICROS;
     }
-}
\ No newline at end of file
+}
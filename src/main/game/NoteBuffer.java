@@ -0,0 +1,241 @@
+package main.game;
+
+import main.utils.Constants;
+
+import java.util.Arrays;
+
+/**
+ * 화면에 있는 노트들을 기본형 배열로 저장하는 링 버퍼
+ * 레인, 판정 시각, 상태를 각각의 배열(열)로 관리합니다
+ *
+ * 노트는 판정 시각 순서로 tail에 추가(활성화)되고, head 쪽의 처리 완료된 노트는
+ * 인덱스만 앞으로 옮겨 제거(퇴장)하므로 매 프레임 리스트를 압축하지 않습니다
+ *
+ * 레인마다 노트 순번을 시간순으로 담은 큐를 따로 두어, 판정 시에는 해당 레인의
+ * 맨 앞 노트(와 그 다음 노트)만 확인하면 됩니다
+ */
+public class NoteBuffer implements NoteView {
+    public static final byte STATE_ACTIVE = 0;
+    public static final byte STATE_HIT = 1;
+    public static final byte STATE_MISSED = 1 << 1;
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int DEFAULT_LANE_CAPACITY = 64;
+
+    private int[] lanes;
+    private long[] hitTimes;
+    private byte[] states;
+    private int mask;
+    private long head; // 가장 오래된 노트의 순번
+    private long tail; // 다음에 추가될 노트의 순번
+
+    // 레인별 노트 순번 큐
+    private long[][] laneQueues;
+    private long[] laneHeads;
+    private long[] laneTails;
+
+    public NoteBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public NoteBuffer(int initialCapacity) {
+        int capacity = roundUpToPowerOfTwo(initialCapacity);
+        lanes = new int[capacity];
+        hitTimes = new long[capacity];
+        states = new byte[capacity];
+        mask = capacity - 1;
+
+        laneQueues = new long[Constants.NOTE_LANES][DEFAULT_LANE_CAPACITY];
+        laneHeads = new long[Constants.NOTE_LANES];
+        laneTails = new long[Constants.NOTE_LANES];
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        return Integer.highestOneBit(Math.max(16, value - 1) << 1);
+    }
+
+    /**
+     * 노트를 추가합니다 (판정 시각 오름차순으로 추가되어야 함)
+     *
+     * @return 추가된 노트의 순번
+     */
+    public long add(int lane, long hitTimeMicros) {
+        if (tail - head == lanes.length) {
+            grow();
+        }
+
+        int slot = (int) (tail & mask);
+        lanes[slot] = lane;
+        hitTimes[slot] = hitTimeMicros;
+        states[slot] = STATE_ACTIVE;
+        pushLane(lane, tail);
+        return tail++;
+    }
+
+    /**
+     * 레인 큐 뒤에 노트 순번을 추가합니다
+     */
+    private void pushLane(int lane, long seq) {
+        long[] queue = laneQueues[lane];
+        if (laneTails[lane] - laneHeads[lane] == queue.length) {
+            long[] grown = new long[queue.length * 2];
+            for (long i = laneHeads[lane]; i < laneTails[lane]; i++) {
+                grown[(int) (i & (grown.length - 1))] = queue[(int) (i & (queue.length - 1))];
+            }
+            laneQueues[lane] = grown;
+            queue = grown;
+        }
+        queue[(int) (laneTails[lane] & (queue.length - 1))] = seq;
+        laneTails[lane]++;
+    }
+
+    /**
+     * 레인에서 아직 처리되지 않은 가장 이른 노트의 순번을 반환합니다
+     * 앞쪽의 처리 완료된 노트는 큐에서 꺼내 버립니다
+     *
+     * @return 노트 순번, 없으면 -1
+     */
+    public long laneHead(int lane) {
+        long[] queue = laneQueues[lane];
+        while (laneHeads[lane] < laneTails[lane]) {
+            long seq = queue[(int) (laneHeads[lane] & (queue.length - 1))];
+            if (seq >= head && isActiveAt(seq)) {
+                return seq;
+            }
+            laneHeads[lane]++;
+        }
+        return -1;
+    }
+
+    /**
+     * 레인에서 맨 앞 노트 바로 다음 노트의 순번을 반환합니다 (판정 범위가 겹칠 때 비교용)
+     * laneHead()를 먼저 호출해 맨 앞이 정리된 상태여야 합니다
+     *
+     * @return 노트 순번, 없거나 이미 처리된 노트면 -1
+     */
+    public long laneNext(int lane) {
+        long position = laneHeads[lane] + 1;
+        if (position >= laneTails[lane]) {
+            return -1;
+        }
+
+        long[] queue = laneQueues[lane];
+        long seq = queue[(int) (position & (queue.length - 1))];
+        return isActiveAt(seq) ? seq : -1;
+    }
+
+    /**
+     * 앞쪽의 처리 완료된 노트들을 제거합니다
+     */
+    public void retireFinished() {
+        while (head < tail && states[(int) (head & mask)] != STATE_ACTIVE) {
+            head++;
+        }
+    }
+
+    /**
+     * 모든 노트를 제거합니다
+     */
+    public void clear() {
+        head = 0;
+        tail = 0;
+        Arrays.fill(laneHeads, 0);
+        Arrays.fill(laneTails, 0);
+    }
+
+    /**
+     * 용량을 두 배로 늘립니다 (노트 순서 유지)
+     */
+    private void grow() {
+        int size = (int) (tail - head);
+        int newCapacity = lanes.length * 2;
+        int[] newLanes = new int[newCapacity];
+        long[] newHitTimes = new long[newCapacity];
+        byte[] newStates = new byte[newCapacity];
+
+        for (int i = 0; i < size; i++) {
+            int from = (int) ((head + i) & mask);
+            int to = (int) ((head + i) & (newCapacity - 1));
+            newLanes[to] = lanes[from];
+            newHitTimes[to] = hitTimes[from];
+            newStates[to] = states[from];
+        }
+
+        lanes = newLanes;
+        hitTimes = newHitTimes;
+        states = newStates;
+        mask = newCapacity - 1;
+    }
+
+    // 순번 기반 접근 (엔진용)
+
+    public long headSequence() {
+        return head;
+    }
+
+    public long tailSequence() {
+        return tail;
+    }
+
+    public int laneAt(long seq) {
+        return lanes[(int) (seq & mask)];
+    }
+
+    public long hitTimeAt(long seq) {
+        return hitTimes[(int) (seq & mask)];
+    }
+
+    public byte stateAt(long seq) {
+        return states[(int) (seq & mask)];
+    }
+
+    public boolean isActiveAt(long seq) {
+        return states[(int) (seq & mask)] == STATE_ACTIVE;
+    }
+
+    public void markAt(long seq, byte state) {
+        states[(int) (seq & mask)] |= state;
+    }
+
+    // NoteView 구현 (렌더러용, head 기준 0부터의 인덱스)
+
+    @Override
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    @Override
+    public int lane(int index) {
+        return laneAt(head + index);
+    }
+
+    @Override
+    public long hitTimeMicros(int index) {
+        return hitTimeAt(head + index);
+    }
+
+    @Override
+    public int lowerBound(long hitTimeMicros) {
+        // 노트는 판정 시각 오름차순이므로 이진 탐색
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hitTimeAt(head + mid) < hitTimeMicros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public boolean isActive(int index) {
+        return isActiveAt(head + index);
+    }
+
+    public int capacity() {
+        return lanes.length;
+    }
+}
@@ -0,0 +1,26 @@
+package main.game;
+
+/**
+ * 렌더러가 노트 목록을 읽기 위한 읽기 전용 뷰
+ * 인덱스는 0부터 size() - 1까지이며 판정 시각 오름차순입니다
+ */
+public interface NoteView {
+    int size();
+
+    int lane(int index);
+
+    long hitTimeMicros(int index);
+
+    /**
+     * 판정 시각이 주어진 시각 이상인 첫 노트의 인덱스를 이진 탐색으로 찾습니다
+     * [lowerBound(t0), lowerBound(t1)) 구간이 판정 시각 t0 ~ t1 사이의 노트입니다
+     *
+     * @return 인덱스, 해당 노트가 없으면 size()
+     */
+    int lowerBound(long hitTimeMicros);
+
+    /**
+     * 아직 타격되거나 놓치지 않은 노트인지 확인합니다
+     */
+    boolean isActive(int index);
+}
@@ -0,0 +1,444 @@
+package main.game;
+
+import main.utils.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 한 판의 플레이를 다시 시뮬레이션하기 위한 기록 (.rreplay)
+ *
+ * 게임 로직은 고정 간격의 틱에서만 진행되므로, 노트 생성 시드와 채보, 그리고 각 입력이
+ * 어느 틱 뒤에 적용되었는지만 있으면 같은 결과를 다시 만들 수 있습니다.
+ * 입력은 (틱 번호 차이, 틱 대비 입력 시각, 레인/눌림)을 가변 길이 정수로 이어 붙여
+ * 입력당 보통 3~4바이트로 저장합니다.
+ *
+ * <pre>
+ * int    매직 넘버 'RRPL'
+ * short  버전
+ * long   노트 생성 시드
+ * byte   게임 모드 (GameMode ordinal)
+ * UTF    채보 파일 이름 (랜덤 노트면 빈 문자열)
+ * byte[32] 채보 파일의 SHA-256 해시 (랜덤 노트면 모두 0)
+ * byte   난이도 (Song.Difficulty ordinal, 없으면 -1)
+ * long   틱 간격 (마이크로초)
+ * long   종료 시각 (마이크로초)
+ * int    입력 수
+ * int[7] 기록 당시 결과 (점수, 최대 콤보, PERFECT, GOOD, MISS, EARLY, LATE)
+ * int    입력 데이터 길이
+ * byte[] 입력 데이터
+ * </pre>
+ */
+public class Replay {
+    public static final String EXTENSION = ".rreplay";
+    public static final int MAGIC = 0x5252504C; // 'RRPL'
+    public static final short VERSION = 2;
+    public static final int CHART_HASH_SIZE = 32;
+    private static final long MAX_FILE_SIZE = 64L * 1024 * 1024; // 이보다 큰 파일은 잘못된 것으로 봄
+
+    private final long seed;
+    private final GameMode mode;
+    private final String chartId;
+    private final byte[] chartHash;
+    private final Song.Difficulty difficulty;
+    private final long stepMicros;
+    private final long endMicros;
+    private final int eventCount;
+    private final Result recordedResult;
+    private final byte[] events;
+
+    private Replay(long seed, GameMode mode, String chartId, byte[] chartHash, Song.Difficulty difficulty,
+            long stepMicros, long endMicros, int eventCount, Result recordedResult, byte[] events) {
+        this.seed = seed;
+        this.mode = mode;
+        this.chartId = chartId;
+        this.chartHash = chartHash;
+        this.difficulty = difficulty;
+        this.stepMicros = stepMicros;
+        this.endMicros = endMicros;
+        this.eventCount = eventCount;
+        this.recordedResult = recordedResult;
+        this.events = events;
+    }
+
+    /**
+     * 리플레이 파일을 읽습니다
+     */
+    public static Replay read(Path path) throws IOException {
+        // 파일 전체를 먼저 읽어 두면 남은 바이트 수로 길이 필드를 검증할 수 있음
+        long fileSize = Files.size(path);
+        if (fileSize > MAX_FILE_SIZE) {
+            throw new IOException("리플레이 파일이 너무 큽니다: " + path);
+        }
+        ByteArrayInputStream bytes = new ByteArrayInputStream(Files.readAllBytes(path));
+        try (DataInputStream in = new DataInputStream(bytes)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("리플레이 파일 형식이 아닙니다: " + path);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 리플레이 버전: " + version + " (" + path + ")");
+            }
+
+            long seed = in.readLong();
+            int mode = in.readByte();
+            if (mode < 0 || mode >= GameMode.values().length) {
+                throw new IOException("잘못된 게임 모드: " + mode + " (" + path + ")");
+            }
+            String chartId = in.readUTF();
+            if (!isValidChartId(chartId)) {
+                throw new IOException("잘못된 채보 파일 이름: " + chartId + " (" + path + ")");
+            }
+            byte[] chartHash = new byte[CHART_HASH_SIZE];
+            in.readFully(chartHash);
+            int difficulty = in.readByte();
+            if (difficulty < -1 || difficulty >= Song.Difficulty.values().length) {
+                throw new IOException("잘못된 난이도: " + difficulty + " (" + path + ")");
+            }
+            long stepMicros = in.readLong();
+            long endMicros = in.readLong();
+            int eventCount = in.readInt();
+            Result result = new Result(in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                    in.readInt(), in.readInt(), in.readInt());
+            int eventsLength = in.readInt();
+            if (stepMicros <= 0 || endMicros < 0 || eventCount < 0 || eventsLength < 0
+                    || eventsLength > bytes.available()) {
+                throw new IOException("잘못된 리플레이 헤더: " + path);
+            }
+            byte[] events = new byte[eventsLength];
+            in.readFully(events);
+            if (!hasEvents(events, eventCount)) {
+                throw new IOException("입력 데이터가 입력 수와 맞지 않습니다: " + path);
+            }
+
+            return new Replay(seed, GameMode.values()[mode], chartId, chartHash,
+                    difficulty >= 0 ? Song.Difficulty.values()[difficulty] : null,
+                    stepMicros, endMicros, eventCount, result, events);
+        }
+    }
+
+    /**
+     * 채보 파일 이름이 CHART_PATH 안의 파일 하나만 가리키는지 확인합니다 (빈 문자열은 랜덤 노트)
+     */
+    public static boolean isValidChartId(String chartId) {
+        if (chartId.isEmpty()) {
+            return true;
+        }
+        if (chartId.indexOf('/') >= 0 || chartId.indexOf('\\') >= 0
+                || chartId.indexOf(':') >= 0 || chartId.indexOf('\0') >= 0) {
+            return false;
+        }
+        return chartId.endsWith(ChartFile.EXTENSION) && !chartId.startsWith(".");
+    }
+
+    /**
+     * 입력 데이터가 정확히 eventCount개의 입력(입력당 가변 길이 정수 3개)으로 이루어졌는지 확인합니다
+     * EventCursor가 데이터 끝을 넘어 읽지 않게 합니다
+     */
+    private static boolean hasEvents(byte[] events, int eventCount) {
+        long remaining = (long) eventCount * 3;
+        int position = 0;
+        while (remaining > 0 && position < events.length) {
+            int length = 0;
+            while (position < events.length && (events[position] & 0x80) != 0) {
+                position++;
+                length++;
+            }
+            if (position == events.length || length >= 10) {
+                return false; // 끝나지 않았거나 long보다 긴 정수
+            }
+            position++;
+            remaining--;
+        }
+        return remaining == 0 && position == events.length;
+    }
+
+    /**
+     * 리플레이 파일로 저장합니다
+     */
+    public void writeTo(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            out.writeByte(mode.ordinal());
+            out.writeUTF(chartId);
+            out.write(chartHash);
+            out.writeByte(difficulty != null ? difficulty.ordinal() : -1);
+            out.writeLong(stepMicros);
+            out.writeLong(endMicros);
+            out.writeInt(eventCount);
+            out.writeInt(recordedResult.score);
+            out.writeInt(recordedResult.maxCombo);
+            out.writeInt(recordedResult.perfectCount);
+            out.writeInt(recordedResult.goodCount);
+            out.writeInt(recordedResult.missCount);
+            out.writeInt(recordedResult.earlyCount);
+            out.writeInt(recordedResult.lateCount);
+            out.writeInt(events.length);
+            out.write(events);
+        }
+    }
+
+    /**
+     * 기록된 입력을 처음부터 읽는 커서를 생성합니다
+     */
+    public EventCursor events() {
+        return new EventCursor(events, eventCount, stepMicros);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 채보 파일 이름 (CHART_PATH 기준), 랜덤 노트 생성이면 빈 문자열
+     */
+    public String getChartId() {
+        return chartId;
+    }
+
+    /**
+     * 기록 당시 채보 파일의 SHA-256 해시
+     */
+    public byte[] getChartHash() {
+        return chartHash.clone();
+    }
+
+    public Song.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public long getStepMicros() {
+        return stepMicros;
+    }
+
+    public long getEndMicros() {
+        return endMicros;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public Result getRecordedResult() {
+        return recordedResult;
+    }
+
+    /**
+     * 기록된 입력을 순서대로 읽는 커서
+     */
+    public static class EventCursor {
+        private final byte[] data;
+        private final int count;
+        private final long stepMicros;
+        private int position;
+        private int index;
+        private long stepIndex;
+
+        // 현재 입력
+        private long afterStepMicros;
+        private long captureMicros;
+        private int lane;
+        private boolean pressed;
+
+        private EventCursor(byte[] data, int count, long stepMicros) {
+            this.data = data;
+            this.count = count;
+            this.stepMicros = stepMicros;
+        }
+
+        /**
+         * 다음 입력을 읽습니다
+         *
+         * @return 더 이상 입력이 없으면 false
+         */
+        public boolean next() {
+            if (index >= count) {
+                return false;
+            }
+
+            stepIndex += readVarLong();
+            afterStepMicros = stepIndex * stepMicros;
+            captureMicros = afterStepMicros + unzigzag(readVarLong());
+            int packed = (int) readVarLong();
+            lane = packed >> 1;
+            pressed = (packed & 1) != 0;
+            index++;
+            return true;
+        }
+
+        /**
+         * 이 입력이 적용되기 직전에 처리된 틱의 게임 시간
+         */
+        public long afterStepMicros() {
+            return afterStepMicros;
+        }
+
+        public long captureMicros() {
+            return captureMicros;
+        }
+
+        public int lane() {
+            return lane;
+        }
+
+        public boolean pressed() {
+            return pressed;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    /**
+     * 게임 중 입력을 기록하는 클래스
+     */
+    public static class Recorder {
+        private final long seed;
+        private final GameMode mode;
+        private final String chartId;
+        private final byte[] chartHash;
+        private final Song.Difficulty difficulty;
+        private byte[] data = new byte[1024];
+        private int size;
+        private int eventCount;
+        private long lastStepIndex;
+
+        /**
+         * @param chartHash 채보 파일의 SHA-256 해시 (랜덤 노트면 null)
+         */
+        public Recorder(long seed, GameMode mode, String chartId, byte[] chartHash, Song.Difficulty difficulty) {
+            this.seed = seed;
+            this.mode = mode;
+            this.chartId = chartId != null ? chartId : "";
+            this.chartHash = chartHash != null ? chartHash.clone() : new byte[CHART_HASH_SIZE];
+            this.difficulty = difficulty;
+        }
+
+        /**
+         * 적용된 입력을 기록합니다
+         *
+         * @param afterStepMicros 입력이 적용되기 직전에 처리된 틱의 게임 시간
+         * @param captureMicros   입력 시각 (판정 기준)
+         */
+        public void record(long afterStepMicros, long captureMicros, int lane, boolean pressed) {
+            long stepIndex = afterStepMicros / Constants.SIMULATION_STEP_MICROS;
+            writeVarLong(stepIndex - lastStepIndex);
+            writeVarLong(zigzag(captureMicros - afterStepMicros));
+            writeVarLong((lane << 1) | (pressed ? 1 : 0));
+            lastStepIndex = stepIndex;
+            eventCount++;
+        }
+
+        /**
+         * 기록을 마치고 리플레이를 생성합니다
+         *
+         * @param endMicros    마지막으로 처리된 틱의 게임 시간
+         * @param scoreManager 기록 당시의 결과
+         */
+        public Replay finish(long endMicros, ScoreManager scoreManager) {
+            return new Replay(seed, mode, chartId, chartHash, difficulty, Constants.SIMULATION_STEP_MICROS, endMicros,
+                    eventCount, Result.of(scoreManager), Arrays.copyOf(data, size));
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        private void writeVarLong(long value) {
+            if (size + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * 비교용 점수 결과
+     */
+    public static class Result {
+        private final int score;
+        private final int maxCombo;
+        private final int perfectCount;
+        private final int goodCount;
+        private final int missCount;
+        private final int earlyCount;
+        private final int lateCount;
+
+        public Result(int score, int maxCombo, int perfectCount, int goodCount, int missCount,
+                int earlyCount, int lateCount) {
+            this.score = score;
+            this.maxCombo = maxCombo;
+            this.perfectCount = perfectCount;
+            this.goodCount = goodCount;
+            this.missCount = missCount;
+            this.earlyCount = earlyCount;
+            this.lateCount = lateCount;
+        }
+
+        public static Result of(ScoreManager scoreManager) {
+            return new Result(scoreManager.getScore(), scoreManager.getMaxCombo(),
+                    scoreManager.getPerfectCount(), scoreManager.getGoodCount(), scoreManager.getMissCount(),
+                    scoreManager.getEarlyCount(), scoreManager.getLateCount());
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Result)) {
+                return false;
+            }
+            Result other = (Result) o;
+            return score == other.score && maxCombo == other.maxCombo && perfectCount == other.perfectCount
+                    && goodCount == other.goodCount && missCount == other.missCount
+                    && earlyCount == other.earlyCount && lateCount == other.lateCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new int[] { score, maxCombo, perfectCount, goodCount, missCount,
+                    earlyCount, lateCount });
+        }
+
+        @Override
+        public String toString() {
+            return String.format("점수 %d, 최대 콤보 %d, PERFECT %d, GOOD %d, MISS %d (EARLY %d, LATE %d)",
+                    score, maxCombo, perfectCount, goodCount, missCount, earlyCount, lateCount);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package main.game;
+
+import main.utils.Constants;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * 리플레이를 화면과 오디오 없이 실제 시간보다 빠르게 다시 시뮬레이션합니다
+ * 게임 시계 대신 가상의 시간으로 GameEngine을 진행하며, 각 입력은 기록된 틱 위치에서
+ * 기록된 입력 시각으로 적용되므로 기록 당시와 같은 점수 결과가 나와야 합니다
+ */
+public class ReplayRunner {
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * 리플레이를 다시 시뮬레이션합니다
+     *
+     * @return 시뮬레이션이 끝난 엔진의 점수 결과
+     */
+    public static Replay.Result run(Replay replay) throws IOException {
+        if (replay.getStepMicros() != Constants.SIMULATION_STEP_MICROS) {
+            throw new IOException("틱 간격이 다른 리플레이입니다: " + replay.getStepMicros() + "us (현재 "
+                    + Constants.SIMULATION_STEP_MICROS + "us)");
+        }
+
+        GameEngine engine = new GameEngine();
+        if (!replay.getChartId().isEmpty()) {
+            if (!Replay.isValidChartId(replay.getChartId())) {
+                throw new IOException("잘못된 채보 파일 이름: " + replay.getChartId());
+            }
+            ChartFile chart = ChartFile.open(Paths.get(Constants.CHART_PATH, replay.getChartId()));
+            if (!Arrays.equals(chart.contentHash(), replay.getChartHash())) {
+                throw new IOException("기록 당시와 다른 채보입니다: " + replay.getChartId());
+            }
+            engine.prepareChart(chart, replay.getDifficulty());
+        } else {
+            engine.clearChart();
+        }
+        engine.startGameWithMode(replay.getMode(), replay.getSeed());
+
+        Replay.EventCursor events = replay.events();
+        while (events.next()) {
+            engine.advanceTo(events.afterStepMicros());
+            engine.applyReplayInput(events.lane(), events.pressed(), events.captureMicros());
+        }
+        engine.advanceTo(replay.getEndMicros());
+
+        return Replay.Result.of(engine.getScoreManager());
+    }
+
+    /**
+     * 리플레이를 다시 시뮬레이션해 기록된 결과와 같은지 확인합니다
+     */
+    public static boolean verify(Replay replay) throws IOException {
+        return run(replay).equals(replay.getRecordedResult());
+    }
+
+    /**
+     * 리플레이 파일을 검증합니다
+     * 사용법: java main.game.ReplayRunner &lt;파일.rreplay&gt; ...
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("사용법: java main.game.ReplayRunner <파일" + Replay.EXTENSION + "> ...");
+            return;
+        }
+
+        boolean allMatched = true;
+        for (String arg : args) {
+            Replay replay = Replay.read(Paths.get(arg));
+
+            long startNanos = System.nanoTime();
+            Replay.Result result = run(replay);
+            long elapsedMicros = (System.nanoTime() - startNanos) / 1000;
+
+            boolean matched = result.equals(replay.getRecordedResult());
+            allMatched &= matched;
+            System.out.println(arg + ": " + (matched ? "일치" : "불일치"));
+            System.out.println("  기록: " + replay.getRecordedResult());
+            System.out.println("  재현: " + result);
+            System.out.printf("  곡 길이 %.1f초, 입력 %d개, 재시뮬레이션 %.1fms%n",
+                    replay.getEndMicros() / 1_000_000.0, replay.getEventCount(), elapsedMicros / 1000.0);
+        }
+
+        if (!allMatched) {
+            System.exit(1);
+        }
+    }
+}
@@ -12,7 +12,11 @@ public class ScoreManager {
     private int perfectCount;
     private int goodCount;
     private int missCount;
-    private String lastJudgment;
+    private int earlyCount; // PERFECT가 아닌 빠른 입력 수
+    private int lateCount; // PERFECT가 아닌 늦은 입력 수
+    private Judgment lastJudgment;
+    private long lastOffsetMicros; // 최근 입력의 판정 시각 대비 오프셋
+    private boolean lastHasOffset; // 최근 판정이 입력에 의한 것인지 (자동 MISS는 false)
     private long lastJudgmentTime;
 
     public ScoreManager() {
@@ -29,31 +33,58 @@ public class ScoreManager {
         perfectCount = 0;
         goodCount = 0;
         missCount = 0;
-        lastJudgment = "";
+        earlyCount = 0;
+        lateCount = 0;
+        lastJudgment = null;
+        lastOffsetMicros = 0;
+        lastHasOffset = false;
         lastJudgmentTime = 0;
     }
 
     /**
-     * 판정 결과를 처리합니다
-     * 
-     * @param judgment "PERFECT", "GOOD", "MISS" 중 하나
+     * 입력 없이 지나간 노트의 판정을 처리합니다
      */
-    public void processJudgment(String judgment) {
+    public void processJudgment(Judgment judgment) {
+        applyJudgment(judgment);
+        lastHasOffset = false;
+    }
+
+    /**
+     * 입력에 의한 판정 결과를 처리합니다
+     *
+     * @param judgment     판정 결과
+     * @param offsetMicros 입력 시각 - 노트 판정 시각 (음수: EARLY, 양수: LATE)
+     */
+    public void processJudgment(Judgment judgment, long offsetMicros) {
+        applyJudgment(judgment);
+        lastOffsetMicros = offsetMicros;
+        lastHasOffset = true;
+
+        if (judgment != Judgment.PERFECT) {
+            if (Judgment.isEarly(offsetMicros)) {
+                earlyCount++;
+            } else {
+                lateCount++;
+            }
+        }
+    }
+
+    private void applyJudgment(Judgment judgment) {
         lastJudgment = judgment;
         lastJudgmentTime = System.currentTimeMillis();
 
         switch (judgment) {
-            case "PERFECT":
+            case PERFECT:
                 score += Constants.PERFECT_SCORE + (combo * 10); // 콤보 보너스
                 combo++;
                 perfectCount++;
                 break;
-            case "GOOD":
+            case GOOD:
                 score += Constants.GOOD_SCORE + (combo * 5); // 콤보 보너스
                 combo++;
                 goodCount++;
                 break;
-            case "MISS":
+            case MISS:
                 combo = 0; // 콤보 리셋
                 missCount++;
                 break;
@@ -126,10 +157,34 @@ public class ScoreManager {
         return missCount;
     }
 
-    public String getLastJudgment() {
+    public int getEarlyCount() {
+        return earlyCount;
+    }
+
+    public int getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * 최근 판정을 반환합니다
+     *
+     * @return 판정 결과, 아직 판정이 없으면 null
+     */
+    public Judgment getLastJudgment() {
         return lastJudgment;
     }
 
+    /**
+     * 최근 판정이 EARLY/LATE 표시 대상인지 확인합니다 (입력에 의한 PERFECT 외 판정)
+     */
+    public boolean hasLastTiming() {
+        return lastHasOffset && lastJudgment != Judgment.PERFECT;
+    }
+
+    public long getLastOffsetMicros() {
+        return lastOffsetMicros;
+    }
+
     public long getLastJudgmentTime() {
         return lastJudgmentTime;
     }
@@ -0,0 +1,42 @@
+package main.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시뮬레이션 스레드(쓰기 1개)와 렌더링 스레드(읽기 1개) 사이의 삼중 버퍼
+ * 쓰는 쪽과 읽는 쪽이 서로 기다리지 않으며, 읽는 쪽은 항상 완성된 최신 장면을 받습니다
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 0b11;
+    private static final int DIRTY = 0b100; // 가운데 버퍼에 아직 읽지 않은 새 장면이 있음
+
+    private final GameSnapshot[] buffers = { new GameSnapshot(), new GameSnapshot(), new GameSnapshot() };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // 쓰기 스레드 전용
+    private int front = 2; // 읽기 스레드 전용
+
+    /**
+     * 다음에 채울 버퍼를 반환합니다 (쓰기 스레드 전용)
+     */
+    public GameSnapshot back() {
+        return buffers[back];
+    }
+
+    /**
+     * 채운 버퍼를 읽는 쪽에 넘기고 다른 버퍼를 다음 쓰기용으로 가져옵니다 (쓰기 스레드 전용)
+     */
+    public void publish() {
+        back = middle.getAndSet(back | DIRTY) & INDEX_MASK;
+    }
+
+    /**
+     * 가장 최근에 넘겨진 장면을 반환합니다 (읽기 스레드 전용)
+     * 새 장면이 없으면 이전에 읽은 장면을 그대로 반환합니다
+     */
+    public GameSnapshot latest() {
+        if ((middle.get() & DIRTY) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -1,5 +1,7 @@
 package main.game;
 
+import main.utils.Constants;
+
 /**
  * 노래 정보를 담는 클래스
  */
@@ -42,6 +44,9 @@ public class Song {
     private int bpm; // BPM
     private String fileName; // 파일명
     private String thumbnailPath; // 썸네일 경로
+    private long durationMillis; // 재생 길이 (모르면 0)
+    private long embeddedCoverOffset = -1; // 오디오 파일에 들어 있는 커버 이미지 위치 (없으면 -1)
+    private int embeddedCoverLength;
     private DifficultyInfo[] difficulties; // 난이도별 정보
 
     public Song(String title, String artist, String album, String genre, int bpm, String fileName) {
@@ -53,12 +58,23 @@ public class Song {
         this.fileName = fileName;
         this.thumbnailPath = "resources/images/songs/" + fileName.replace(".wav", ".jpg");
 
-        // 기본 난이도 설정
+        // 기본 난이도 설정 (채보 파일이 있으면 applyChart()로 실제 노트 수 반영)
         this.difficulties = new DifficultyInfo[4];
-        this.difficulties[0] = new DifficultyInfo("하", 1, 150);
-        this.difficulties[1] = new DifficultyInfo("중", 3, 250);
-        this.difficulties[2] = new DifficultyInfo("상", 5, 400);
-        this.difficulties[3] = new DifficultyInfo("최상", 8, 650);
+        this.difficulties[0] = new DifficultyInfo(Difficulty.EASY, 150);
+        this.difficulties[1] = new DifficultyInfo(Difficulty.NORMAL, 250);
+        this.difficulties[2] = new DifficultyInfo(Difficulty.HARD, 400);
+        this.difficulties[3] = new DifficultyInfo(Difficulty.EXPERT, 650);
+    }
+
+    /**
+     * 채보 파일의 난이도별 노트 수를 반영합니다
+     */
+    public void applyChart(ChartFile chart) {
+        for (DifficultyInfo info : difficulties) {
+            if (info.getDifficulty() != null && chart.hasDifficulty(info.getDifficulty())) {
+                info.setNoteCount(chart.getNoteCount(info.getDifficulty()));
+            }
+        }
     }
 
     // Getters
@@ -91,6 +107,39 @@ public class Song {
         return "resources/audio/gameplay/" + fileName;
     }
 
+    /**
+     * 곡에 대응하는 채보 파일 경로를 반환합니다
+     */
+    public String getChartPath() {
+        int lastDot = fileName.lastIndexOf('.');
+        String baseName = (lastDot > 0) ? fileName.substring(0, lastDot) : fileName;
+        return Constants.CHART_PATH + baseName + ChartFile.EXTENSION;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 오디오 파일의 태그에 들어 있는 커버 이미지 위치 (없으면 -1)
+     */
+    public long getEmbeddedCoverOffset() {
+        return embeddedCoverOffset;
+    }
+
+    public int getEmbeddedCoverLength() {
+        return embeddedCoverLength;
+    }
+
+    public void setEmbeddedCover(long offset, int length) {
+        this.embeddedCoverOffset = offset;
+        this.embeddedCoverLength = length;
+    }
+
     public String getThumbnailPath() {
         return thumbnailPath;
     }
@@ -119,6 +168,7 @@ public class Song {
      * 난이도 정보를 담는 내부 클래스
      */
     public static class DifficultyInfo {
+        private Difficulty difficulty; // 난이도 (직접 만든 정보는 null일 수 있음)
         private String name; // 난이도 이름
         private int level; // 난이도 레벨
         private int noteCount; // 노트 개수
@@ -133,7 +183,16 @@ public class Song {
             this.bestAccuracy = 0.0;
         }
 
+        public DifficultyInfo(Difficulty difficulty, int noteCount) {
+            this(difficulty.getKoreanName(), difficulty.getLevel(), noteCount);
+            this.difficulty = difficulty;
+        }
+
         // Getters and Setters
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
         public String getName() {
             return name;
         }
@@ -146,6 +205,10 @@ public class Song {
             return noteCount;
         }
 
+        public void setNoteCount(int noteCount) {
+            this.noteCount = noteCount;
+        }
+
         public int getBestScore() {
             return bestScore;
         }
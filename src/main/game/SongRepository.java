@@ -0,0 +1,196 @@
+package main.game;
+
+import main.utils.MusicFileScanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 게임 전체가 함께 쓰는 곡 목록
+ *
+ * gameplay 폴더 스캔은 백그라운드 스레드에서 한 번만 하고, 결과는 바뀌지 않는 스냅샷으로 공개합니다.
+ * 곡 색인이 있으면 그 내용을 먼저 공개한 뒤 파일 크기와 수정 시각을 확인하고, 바뀐 것이 있을 때만 다시 공개합니다.
+ * 싱글 플레이, 스토리, 기록 저장이 모두 같은 Song 객체를 보므로 베스트 스코어 같은 곡별 상태가 갈라지지 않습니다.
+ * 목록이 바뀌면 등록된 리스너를 스캔 스레드에서 호출합니다 (UI는 직접 EDT로 넘겨야 함)
+ */
+public class SongRepository {
+    private static SongRepository instance;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Song> defaults = Collections.unmodifiableList(defaultSongs()); // 모든 목록에 같은 객체를 씀
+    private volatile Snapshot snapshot = new Snapshot(defaults, 0, false);
+    private CompletableFuture<Snapshot> loading;
+
+    private SongRepository() {
+    }
+
+    public static synchronized SongRepository getInstance() {
+        if (instance == null) {
+            instance = new SongRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * 현재 곡 목록 (로드 전이면 기본 데모 곡만 있음)
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 곡 목록 로드를 시작합니다 (이미 시작했으면 같은 작업을 반환)
+     * 첫 목록이 공개되면 완료되며, 색인으로 첫 목록을 만들었으면 폴더 확인은 그 뒤에도 계속됩니다
+     */
+    public synchronized CompletableFuture<Snapshot> load() {
+        if (loading == null) {
+            loading = scanAsync();
+        }
+        return loading;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private CompletableFuture<Snapshot> scanAsync() {
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                // 색인의 곡을 먼저 공개 (폴더를 나열하지 않으므로 곡이 많아도 몇 ms)
+                List<Song> indexed = MusicFileScanner.readIndexedSongs();
+                if (!indexed.isEmpty()) {
+                    future.complete(publish(withDefaults(indexed)));
+                }
+
+                // 크기와 수정 시각을 확인해 바뀐 곡만 다시 읽음 (바뀐 것이 없으면 공개하지 않음)
+                List<Song> scanned = MusicFileScanner.scanGameplayFolder(publishedByFileName());
+                if (scanned.isEmpty()) {
+                    System.out.println("실제 음악 파일이 없어서 기본 곡들만 사용합니다.");
+                }
+                future.complete(publish(withDefaults(scanned)));
+            } catch (Throwable e) {
+                System.err.println("곡 목록 로드 실패: " + e.getMessage());
+                future.complete(snapshot.isLoaded() ? snapshot : publish(defaults));
+            }
+        }, "SongRepository");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * 스캔한 곡 뒤에 기본 데모 곡을 붙인 목록
+     */
+    private List<Song> withDefaults(List<Song> scanned) {
+        List<Song> songs = new ArrayList<>(scanned.size() + defaults.size());
+        songs.addAll(scanned);
+        songs.addAll(defaults);
+        return songs;
+    }
+
+    /**
+     * 지금 공개된 곡을 파일명으로 찾는 표 (기본 데모 곡 제외, 파일이 그대로면 스캔이 이 객체를 다시 씀)
+     */
+    private Map<String, Song> publishedByFileName() {
+        List<Song> songs = snapshot.getSongs();
+        Map<String, Song> byFileName = new HashMap<>(songs.size() * 2);
+        for (Song song : songs.subList(0, songs.size() - defaults.size())) {
+            byFileName.put(song.getFileName(), song);
+        }
+        return byFileName;
+    }
+
+    /**
+     * 기본 데모 곡들 (파일명만 전달, 경로는 Song.getAudioPath()에서 자동 추가)
+     */
+    private static List<Song> defaultSongs() {
+        List<Song> songs = new ArrayList<>();
+        songs.add(new Song("Buried Star", "Unknown Artist", "Game OST", "Electronic", 128,
+                "BuriedStar_3.mp3"));
+        songs.add(new Song("Coding Boy", "Unknown Artist", "Game OST", "Electronic", 95,
+                "CodingBoy_2.mp3"));
+        songs.add(new Song("GID", "Unknown Artist", "Game OST", "Electronic", 140,
+                "gid_4.mp3"));
+        return songs;
+    }
+
+    /**
+     * 새 목록을 공개하고 리스너에게 알립니다
+     * 이미 공개한 목록과 같은 곡 객체가 같은 순서로 있으면 공개하지 않습니다
+     */
+    private Snapshot publish(List<Song> songs) {
+        Snapshot next;
+        synchronized (this) {
+            Snapshot previous = snapshot;
+            if (previous.isLoaded() && previous.getSongs().equals(songs)) {
+                System.out.println("곡 목록 변경 없음 (" + songs.size() + "곡)");
+                return previous;
+            }
+            next = new Snapshot(Collections.unmodifiableList(songs), previous.getVersion() + 1, true);
+            snapshot = next;
+        }
+        System.out.println("곡 목록 갱신: " + songs.size() + "곡 (버전 " + next.getVersion() + ")");
+
+        for (Listener listener : listeners) {
+            try {
+                listener.songsChanged(next);
+            } catch (Exception e) {
+                System.err.println("곡 목록 리스너 오류: " + e.getMessage());
+            }
+        }
+        return next;
+    }
+
+    /**
+     * 곡 목록이 바뀌면 호출됨 (스캔 스레드에서)
+     */
+    public interface Listener {
+        void songsChanged(Snapshot snapshot);
+    }
+
+    /**
+     * 어느 시점의 곡 목록 (목록 자체는 바뀌지 않음)
+     */
+    public static final class Snapshot {
+        private final List<Song> songs;
+        private final long version;
+        private final boolean loaded;
+
+        private Snapshot(List<Song> songs, long version, boolean loaded) {
+            this.songs = songs;
+            this.version = version;
+            this.loaded = loaded;
+        }
+
+        /**
+         * 곡 목록 (수정 불가)
+         */
+        public List<Song> getSongs() {
+            return songs;
+        }
+
+        /**
+         * 목록이 바뀔 때마다 1씩 증가
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * 첫 목록(색인 또는 폴더 스캔)이 공개되었는지
+         */
+        public boolean isLoaded() {
+            return loaded;
+        }
+    }
+}
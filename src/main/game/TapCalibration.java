@@ -0,0 +1,155 @@
+package main.game;
+
+import java.util.Arrays;
+
+/**
+ * 일정한 박자에 맞춘 탭 입력을 모아 입력 지연을 추정합니다
+ *
+ * 탭마다 가장 가까운 박자와의 차이를 기록하고, 중앙값과 MAD(중앙값 절대 편차)로
+ * 이상치를 걸러낸 뒤 남은 탭의 중앙값을 지연으로 봅니다. 평균과 달리 박자를 놓친
+ * 탭 몇 개가 결과를 끌고 가지 않습니다.
+ */
+public class TapCalibration {
+    public static final int MIN_TAPS = 12; // 결과를 믿을 수 있는 최소 탭 수
+    private static final double MAD_TO_SIGMA = 1.4826; // 정규분포에서 MAD를 표준편차로 환산
+    private static final double OUTLIER_SIGMAS = 3.0;
+    private static final long MIN_OUTLIER_RANGE_MICROS = 5_000; // MAD가 0에 가까울 때의 최소 허용 범위
+    private static final long MAX_SPREAD_MICROS = 30_000; // 이보다 흩어지면 다시 측정하도록 안내
+
+    private final long beatIntervalMicros;
+    private final long firstBeatMicros;
+    private long[] offsets = new long[64];
+    private int count;
+
+    /**
+     * @param beatIntervalMicros 박자 간격
+     * @param firstBeatMicros    첫 박자의 시각 (이보다 반 박자 이상 이른 탭은 무시)
+     */
+    public TapCalibration(long beatIntervalMicros, long firstBeatMicros) {
+        this.beatIntervalMicros = beatIntervalMicros;
+        this.firstBeatMicros = firstBeatMicros;
+    }
+
+    /**
+     * 탭 하나를 기록합니다
+     *
+     * @param tapMicros 탭 시각 (박자와 같은 시계 기준)
+     * @return 가장 가까운 박자와의 차이 (양수면 늦음), 첫 박자 전의 탭이면 Long.MIN_VALUE
+     */
+    public long addTap(long tapMicros) {
+        long sinceFirst = tapMicros - firstBeatMicros;
+        if (sinceFirst < -beatIntervalMicros / 2) {
+            return Long.MIN_VALUE;
+        }
+        long beat = Math.max(0, Math.round((double) sinceFirst / beatIntervalMicros));
+        long offset = sinceFirst - beat * beatIntervalMicros;
+
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = offset;
+        return offset;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int getTapCount() {
+        return count;
+    }
+
+    /**
+     * 지금까지의 탭으로 지연을 추정합니다
+     */
+    public Estimate estimate() {
+        if (count == 0) {
+            return new Estimate(0, 0, 0, 0);
+        }
+
+        long[] sorted = Arrays.copyOf(offsets, count);
+        Arrays.sort(sorted);
+        long median = median(sorted, count);
+        long mad = medianAbsoluteDeviation(sorted, count, median);
+
+        // 중앙값에서 3시그마 밖의 탭 제외
+        long range = Math.max(MIN_OUTLIER_RANGE_MICROS, (long) (OUTLIER_SIGMAS * MAD_TO_SIGMA * mad));
+        long[] inliers = new long[count];
+        int inlierCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (Math.abs(sorted[i] - median) <= range) {
+                inliers[inlierCount++] = sorted[i];
+            }
+        }
+
+        long offset = median(inliers, inlierCount);
+        long spread = medianAbsoluteDeviation(inliers, inlierCount, offset);
+        return new Estimate(offset, spread, inlierCount, count);
+    }
+
+    /**
+     * 정렬된 배열 앞쪽 n개의 중앙값
+     */
+    private static long median(long[] sorted, int n) {
+        if (n == 0) {
+            return 0;
+        }
+        int middle = n / 2;
+        return n % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static long medianAbsoluteDeviation(long[] values, int n, long center) {
+        long[] deviations = new long[n];
+        for (int i = 0; i < n; i++) {
+            deviations[i] = Math.abs(values[i] - center);
+        }
+        Arrays.sort(deviations);
+        return median(deviations, n);
+    }
+
+    /**
+     * 추정 결과 (마이크로초)
+     */
+    public static final class Estimate {
+        private final long offsetMicros;
+        private final long spreadMicros;
+        private final int usedTaps;
+        private final int totalTaps;
+
+        private Estimate(long offsetMicros, long spreadMicros, int usedTaps, int totalTaps) {
+            this.offsetMicros = offsetMicros;
+            this.spreadMicros = spreadMicros;
+            this.usedTaps = usedTaps;
+            this.totalTaps = totalTaps;
+        }
+
+        /**
+         * 이상치를 뺀 탭들의 중앙값 (양수면 늦음)
+         */
+        public long getOffsetMicros() {
+            return offsetMicros;
+        }
+
+        /**
+         * 이상치를 뺀 탭들의 MAD
+         */
+        public long getSpreadMicros() {
+            return spreadMicros;
+        }
+
+        public int getUsedTaps() {
+            return usedTaps;
+        }
+
+        public int getTotalTaps() {
+            return totalTaps;
+        }
+
+        /**
+         * 저장해도 될 만큼 탭이 충분하고 고른지 확인합니다
+         */
+        public boolean isReliable() {
+            return usedTaps >= MIN_TAPS && spreadMicros <= MAX_SPREAD_MICROS;
+        }
+    }
+}
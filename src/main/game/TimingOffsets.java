@@ -0,0 +1,130 @@
+package main.game;
+
+import main.utils.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * 기기마다 다른 출력/입력/화면 지연을 보정하는 전역 타이밍 오프셋
+ *
+ * 오디오 오프셋은 소리에 맞춰 누른 입력이 게임 시계보다 늦게 기록되는 정도이고,
+ * 비주얼 오프셋은 화면에 맞춰 누른 입력이 늦게 기록되는 정도입니다 (둘 다 양수면 늦음).
+ * 판정은 입력 시각에서 오디오 오프셋을 빼고, 렌더링은 두 오프셋의 차이만큼 노트를 옮겨 그립니다.
+ * 값은 설정 파일(Constants.SETTINGS_FILE)에 밀리초 단위로 저장됩니다
+ */
+public class TimingOffsets {
+    private static final String AUDIO_OFFSET_KEY = "timing.audioOffsetMs";
+    private static final String VISUAL_OFFSET_KEY = "timing.visualOffsetMs";
+    private static final long MAX_OFFSET_MICROS = 500_000; // 이보다 큰 값은 잘못된 설정으로 보고 제한
+
+    private static TimingOffsets instance;
+
+    private final Path path;
+    private long audioOffsetMicros;
+    private long visualOffsetMicros;
+
+    private TimingOffsets(Path path) {
+        this.path = path;
+        load();
+    }
+
+    public static synchronized TimingOffsets getInstance() {
+        if (instance == null) {
+            instance = new TimingOffsets(Paths.get(Constants.SETTINGS_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * 소리 기준 입력 지연 (마이크로초)
+     */
+    public synchronized long getAudioOffsetMicros() {
+        return audioOffsetMicros;
+    }
+
+    /**
+     * 화면 기준 입력 지연 (마이크로초)
+     */
+    public synchronized long getVisualOffsetMicros() {
+        return visualOffsetMicros;
+    }
+
+    /**
+     * 노트를 그릴 때 게임 시간에 더할 값 (비주얼 오프셋 - 오디오 오프셋)
+     * 화면 지연이 소리 지연보다 크면 노트를 앞당겨 그려, 보이는 시점과 들리는 시점을 맞춥니다
+     */
+    public synchronized long getRenderShiftMicros() {
+        return visualOffsetMicros - audioOffsetMicros;
+    }
+
+    /**
+     * 오프셋을 바꾸고 설정 파일에 저장합니다
+     */
+    public synchronized void update(long audioMicros, long visualMicros) {
+        audioOffsetMicros = clamp(audioMicros);
+        visualOffsetMicros = clamp(visualMicros);
+        save();
+    }
+
+    private void load() {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return; // 아직 보정한 적 없음
+        } catch (IOException e) {
+            System.err.println("설정 파일을 읽을 수 없습니다: " + path + " - " + e.getMessage());
+            return;
+        }
+
+        audioOffsetMicros = clamp(readMillis(properties, AUDIO_OFFSET_KEY) * 1000);
+        visualOffsetMicros = clamp(readMillis(properties, VISUAL_OFFSET_KEY) * 1000);
+        System.out.println("타이밍 보정값 로드: 오디오 " + audioOffsetMicros / 1000 + "ms, 화면 "
+                + visualOffsetMicros / 1000 + "ms");
+    }
+
+    private void save() {
+        // 다른 설정 항목은 그대로 두고 타이밍 항목만 갱신
+        Properties properties = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (IOException e) {
+                System.err.println("설정 파일을 읽을 수 없습니다: " + path + " - " + e.getMessage());
+            }
+        }
+
+        properties.setProperty(AUDIO_OFFSET_KEY, Long.toString(Math.round(audioOffsetMicros / 1000.0)));
+        properties.setProperty(VISUAL_OFFSET_KEY, Long.toString(Math.round(visualOffsetMicros / 1000.0)));
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "JavaMax2 settings");
+            System.out.println("타이밍 보정값 저장: " + path);
+        } catch (IOException e) {
+            System.err.println("설정 파일 저장 실패: " + path + " - " + e.getMessage());
+        }
+    }
+
+    private static long readMillis(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("잘못된 설정 값: " + key + "=" + value);
+            return 0;
+        }
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(-MAX_OFFSET_MICROS, Math.min(MAX_OFFSET_MICROS, micros));
+    }
+}
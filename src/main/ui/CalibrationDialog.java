@@ -0,0 +1,338 @@
+package main.ui;
+
+import main.audio.Metronome;
+import main.game.GameClock;
+import main.game.TapCalibration;
+import main.game.TimingOffsets;
+import main.utils.Constants;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 오디오/화면 지연을 측정하는 타이밍 보정 화면
+ *
+ * 1단계는 게임 음악과 같은 출력 경로로 메트로놈을 들려주고 소리에 맞춘 탭을 모으며,
+ * 2단계는 소리 없이 판정선으로 내려오는 노트에 맞춘 탭을 모읍니다.
+ * 탭 시각은 메트로놈 재생 위치에 동기화된 GameClock으로 재므로 게임 중 판정과 같은 기준입니다.
+ */
+public class CalibrationDialog extends JDialog {
+    private static final double BPM = 100;
+    private static final long BEAT_MICROS = (long) (60_000_000 / BPM);
+    private static final int WARMUP_BEATS = 2; // 처음 몇 박자는 박자를 익히는 구간으로 무시
+    private static final int TAPS_PER_PHASE = 24;
+
+    private static final int AREA_WIDTH = 480;
+    private static final int AREA_HEIGHT = 420;
+    private static final int LINE_Y = 340;
+
+    private enum Phase {
+        AUDIO, VISUAL, RESULT
+    }
+
+    private final GameFrame gameFrame;
+    private final Metronome metronome;
+    private final GameClock clock = new GameClock();
+    private final Timer repaintTimer;
+
+    private Phase phase;
+    private TapCalibration taps;
+    private TapCalibration.Estimate audioEstimate;
+    private TapCalibration.Estimate visualEstimate;
+    private final Set<Integer> heldKeys = new HashSet<>();
+
+    private final CalibrationView view = new CalibrationView();
+    private final JButton saveButton = createButton("저장");
+    private final JButton retryButton = createButton("다시 측정");
+
+    public CalibrationDialog(Frame owner, GameFrame gameFrame) {
+        super(owner, "타이밍 보정", true);
+        this.gameFrame = gameFrame;
+        this.metronome = gameFrame.getAudioManager().getMetronome();
+
+        clock.setAudioPositionSource(metronome::getPositionMicros);
+        repaintTimer = new Timer(1000 / Constants.RENDER_FPS, e -> view.repaint());
+
+        initializeComponents();
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                startPhase(Phase.AUDIO);
+                view.requestFocusInWindow();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                repaintTimer.stop();
+                metronome.stop();
+            }
+        });
+        pack();
+        setResizable(false);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initializeComponents() {
+        view.setPreferredSize(new Dimension(AREA_WIDTH, AREA_HEIGHT));
+        view.setFocusable(true);
+        view.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    dispose();
+                } else if (isTapKey(e.getKeyCode()) && heldKeys.add(e.getKeyCode())) {
+                    onTap(e.getWhen()); // 누르고 있는 동안의 자동 반복은 무시
+                }
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                heldKeys.remove(e.getKeyCode());
+            }
+        });
+
+        saveButton.addActionListener(e -> saveAndClose());
+        retryButton.addActionListener(e -> {
+            startPhase(Phase.AUDIO);
+            view.requestFocusInWindow();
+        });
+        JButton closeButton = createButton("닫기");
+        closeButton.addActionListener(e -> dispose());
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        buttons.setBackground(Constants.BACKGROUND_COLOR);
+        buttons.add(saveButton);
+        buttons.add(retryButton);
+        buttons.add(closeButton);
+
+        setLayout(new BorderLayout());
+        add(view, BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+    }
+
+    /**
+     * 버튼에 포커스가 가면 스페이스 탭이 버튼을 누르므로 포커스를 받지 않게 합니다
+     */
+    private JButton createButton(String text) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("맑은 고딕", Font.BOLD, 14));
+        button.setBackground(new Color(100, 100, 150));
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setFocusable(false);
+        return button;
+    }
+
+    // =============== 측정 진행 ===============
+
+    private void startPhase(Phase next) {
+        phase = next;
+        taps = new TapCalibration(BEAT_MICROS, WARMUP_BEATS * BEAT_MICROS);
+
+        if (next == Phase.RESULT) {
+            metronome.stop();
+            repaintTimer.stop();
+            saveButton.setEnabled(isSavable());
+            retryButton.setEnabled(true);
+            view.repaint();
+            return;
+        }
+
+        if (next == Phase.AUDIO) {
+            audioEstimate = null;
+            visualEstimate = null;
+        }
+        saveButton.setEnabled(false);
+        retryButton.setEnabled(false);
+
+        metronome.setMuted(next == Phase.VISUAL);
+        boolean audioAvailable = metronome.start(BPM);
+        if (!audioAvailable && next == Phase.AUDIO) {
+            // 오디오 장치가 없으면 소리 기준 측정은 건너뜀 (화면 측정은 실제 시간으로 진행)
+            System.err.println("오디오 엔진이 동작하지 않아 소리 기준 보정을 건너뜁니다");
+            startPhase(Phase.VISUAL);
+            return;
+        }
+        clock.start();
+        repaintTimer.start();
+    }
+
+    private void onTap(long eventWhenMillis) {
+        if (phase == Phase.RESULT) {
+            return;
+        }
+        taps.addTap(clock.eventTimeMicros(eventWhenMillis));
+
+        if (taps.getTapCount() >= TAPS_PER_PHASE) {
+            TapCalibration.Estimate estimate = taps.estimate();
+            if (phase == Phase.AUDIO) {
+                audioEstimate = estimate;
+                System.out.println("소리 기준 지연: " + formatMillis(estimate.getOffsetMicros()) + " (편차 "
+                        + formatMillis(estimate.getSpreadMicros()) + ")");
+                startPhase(Phase.VISUAL);
+            } else {
+                visualEstimate = estimate;
+                System.out.println("화면 기준 지연: " + formatMillis(estimate.getOffsetMicros()) + " (편차 "
+                        + formatMillis(estimate.getSpreadMicros()) + ")");
+                startPhase(Phase.RESULT);
+            }
+        }
+    }
+
+    private boolean isSavable() {
+        return (audioEstimate != null && audioEstimate.isReliable())
+                || (visualEstimate != null && visualEstimate.isReliable());
+    }
+
+    /**
+     * 믿을 수 있는 측정값만 저장하고 나머지는 기존 값을 유지합니다
+     */
+    private void saveAndClose() {
+        TimingOffsets offsets = TimingOffsets.getInstance();
+        long audio = audioEstimate != null && audioEstimate.isReliable()
+                ? audioEstimate.getOffsetMicros()
+                : offsets.getAudioOffsetMicros();
+        long visual = visualEstimate != null && visualEstimate.isReliable()
+                ? visualEstimate.getOffsetMicros()
+                : offsets.getVisualOffsetMicros();
+        offsets.update(audio, visual);
+        gameFrame.applyTimingOffsets();
+        dispose();
+    }
+
+    private static boolean isTapKey(int keyCode) {
+        if (keyCode == KeyEvent.VK_SPACE) {
+            return true;
+        }
+        for (int laneKey : Constants.LANE_KEYS) {
+            if (keyCode == laneKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String formatMillis(long micros) {
+        return String.format("%+.1fms", micros / 1000.0);
+    }
+
+    // =============== 화면 ===============
+
+    /**
+     * 단계별 안내와 화면 기준 측정용 노트를 그리는 영역
+     */
+    private final class CalibrationView extends JPanel {
+
+        CalibrationView() {
+            setBackground(Constants.BACKGROUND_COLOR);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            if (phase == null) {
+                return;
+            }
+            switch (phase) {
+                case AUDIO:
+                    drawTitle(g2d, "1단계: 소리에 맞춰 탭",
+                            "메트로놈 소리에 맞춰 스페이스 또는 레인 키를 누르세요 (화면은 보지 않아도 됩니다)");
+                    drawProgress(g2d);
+                    break;
+                case VISUAL:
+                    drawTitle(g2d, "2단계: 화면에 맞춰 탭",
+                            "노트가 판정선에 닿는 순간 키를 누르세요 (소리는 나지 않습니다)");
+                    drawFallingNotes(g2d);
+                    drawProgress(g2d);
+                    break;
+                case RESULT:
+                    drawTitle(g2d, "측정 결과", "양수는 입력이 늦게 기록된다는 뜻입니다");
+                    drawResult(g2d);
+                    break;
+            }
+        }
+
+        private void drawTitle(Graphics2D g2d, String title, String hint) {
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(new Font("맑은 고딕", Font.BOLD, 22));
+            g2d.drawString(title, 20, 40);
+            g2d.setColor(Color.LIGHT_GRAY);
+            g2d.setFont(new Font("맑은 고딕", Font.PLAIN, 12));
+            g2d.drawString(hint, 20, 64);
+        }
+
+        private void drawProgress(Graphics2D g2d) {
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(new Font("맑은 고딕", Font.BOLD, 16));
+            g2d.drawString("탭 " + taps.getTapCount() + " / " + TAPS_PER_PHASE, 20, AREA_HEIGHT - 20);
+        }
+
+        /**
+         * 게임과 같은 속도로 판정선에 내려오는 노트 (박자마다 하나)
+         */
+        private void drawFallingNotes(Graphics2D g2d) {
+            int laneX = AREA_WIDTH / 2 - Constants.NOTE_WIDTH;
+            g2d.setColor(Constants.JUDGMENT_LINE_COLOR);
+            g2d.setStroke(new BasicStroke(4));
+            g2d.drawLine(laneX - 40, LINE_Y, laneX + Constants.NOTE_WIDTH * 2 + 40, LINE_Y);
+
+            long now = clock.nowMicros();
+            long beat = Math.max(0, now / BEAT_MICROS);
+            g2d.setColor(Constants.NOTE_COLOR);
+            for (long b = beat; ; b++) {
+                long remaining = b * BEAT_MICROS - now;
+                int y = LINE_Y - (int) (remaining * Constants.NOTE_SPEED_PX_PER_SEC / 1_000_000L);
+                if (y < 80) {
+                    break;
+                }
+                if (y <= AREA_HEIGHT) {
+                    g2d.fillRoundRect(laneX, y - Constants.NOTE_HEIGHT / 2, Constants.NOTE_WIDTH * 2,
+                            Constants.NOTE_HEIGHT, 8, 8);
+                }
+            }
+        }
+
+        private void drawResult(Graphics2D g2d) {
+            g2d.setFont(new Font("맑은 고딕", Font.BOLD, 18));
+            int y = 120;
+            y = drawEstimate(g2d, "소리 기준 지연", audioEstimate, y);
+            y = drawEstimate(g2d, "화면 기준 지연", visualEstimate, y);
+
+            TimingOffsets current = TimingOffsets.getInstance();
+            g2d.setColor(Color.LIGHT_GRAY);
+            g2d.setFont(new Font("맑은 고딕", Font.PLAIN, 14));
+            g2d.drawString("현재 저장된 값: 소리 " + formatMillis(current.getAudioOffsetMicros()) + ", 화면 "
+                    + formatMillis(current.getVisualOffsetMicros()), 20, y + 20);
+            if (!isSavable()) {
+                g2d.setColor(new Color(255, 140, 80));
+                g2d.drawString("탭이 고르지 않습니다. 다시 측정해 주세요.", 20, y + 45);
+            }
+        }
+
+        private int drawEstimate(Graphics2D g2d, String label, TapCalibration.Estimate estimate, int y) {
+            g2d.setColor(Color.WHITE);
+            if (estimate == null) {
+                g2d.drawString(label + ": 측정 안 함", 20, y);
+                return y + 60;
+            }
+            g2d.drawString(label + ": " + formatMillis(estimate.getOffsetMicros()), 20, y);
+
+            g2d.setFont(new Font("맑은 고딕", Font.PLAIN, 13));
+            g2d.setColor(estimate.isReliable() ? Color.LIGHT_GRAY : new Color(255, 140, 80));
+            g2d.drawString(String.format("편차 ±%.1fms, 사용한 탭 %d / %d", estimate.getSpreadMicros() / 1000.0,
+                    estimate.getUsedTaps(), estimate.getTotalTaps()), 20, y + 22);
+            g2d.setFont(new Font("맑은 고딕", Font.BOLD, 18));
+            return y + 60;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package main.ui;
 
 import main.RhythmGame;
 import main.game.GameEngine;
+import main.game.GameLoop;
 import main.game.GameState;
 import main.game.GameMode;
 import main.game.Song;
+import main.game.SongRepository;
+import main.game.TimingOffsets;
 import main.utils.Constants;
+import main.utils.StartupProfiler;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,6 +17,8 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * 게임의 메인 프레임
@@ -30,8 +36,12 @@ public class GameFrame extends JFrame implements KeyListener {
     private StoryDialoguePanel storyDialoguePanel;
     private CardLayout cardLayout;
     private JPanel mainPanel;
-    private Timer gameTimer;
+    private Timer gameTimer; // 화면 갱신 전용 (게임 로직은 GameLoop 스레드에서 실행)
+    private GameLoop gameLoop;
+    private InputDispatcher inputDispatcher; // 레인 키 입력 (입력 시각과 함께 엔진 큐로 전달)
     private String currentPanelName; // 현재 활성화된 패널 이름
+    private final Set<String> builtPanels = new HashSet<>(); // 카드 레이아웃에 추가된 패널 이름
+    private boolean menuPainted;
 
     public GameFrame() {
         gameEngine = new GameEngine();
@@ -45,6 +55,14 @@ public class GameFrame extends JFrame implements KeyListener {
 
         // GameEngine에 AudioManager 설정
         gameEngine.setAudioManager(getAudioManager());
+        applyTimingOffsets();
+
+        // 게임 로직은 EDT와 분리된 전용 스레드에서 고정 주기로 실행
+        gameLoop = new GameLoop(gameEngine, Constants.SIMULATION_RATE);
+        gameLoop.start();
+
+        inputDispatcher = new InputDispatcher(gameEngine);
+        inputDispatcher.install();
     }
 
     /**
@@ -61,6 +79,9 @@ public class GameFrame extends JFrame implements KeyListener {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                if (gameLoop != null) {
+                    gameLoop.stop();
+                }
                 RhythmGame.getInstance().getAudioManager().cleanup();
                 System.exit(0);
             }
@@ -68,34 +89,13 @@ public class GameFrame extends JFrame implements KeyListener {
     }
 
     /**
-     * 패널들을 초기화합니다
+     * 카드 레이아웃만 준비하고 메뉴 패널을 만듭니다
+     * 나머지 패널은 처음 이동할 때 만들고, 무거운 패널(노래 선택, 스토리 선택)은
+     * 메뉴가 표시된 뒤 미리 만들어 둡니다 (prebuildHeavyPanels)
      */
     private void initializePanels() {
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
-
-        // 각 패널 생성
-        menuPanel = new MenuPanel(this);
-        gameSelectPanel = new GameSelectPanel(this);
-        songSelectPanel = new SongSelectPanel(this);
-        gamePanel = new GamePanel(gameEngine);
-        pausePanel = new PausePanel(this);
-        resultPanel = new ResultPanel(this);
-        storySelectPanel = new StorySelectPanel(this);
-        storyDialoguePanel = new StoryDialoguePanel(this);
-
-        // PausePanel을 GamePanel에 설정
-        gamePanel.setPausePanel(pausePanel);
-
-        // 패널 추가
-        mainPanel.add(menuPanel, "MENU");
-        mainPanel.add(gameSelectPanel, "GAME_SELECT");
-        mainPanel.add(songSelectPanel, "SONG_SELECT");
-        mainPanel.add(gamePanel, "GAME");
-        mainPanel.add(resultPanel, "RESULT");
-        mainPanel.add(storySelectPanel, "STORY_SELECT");
-        mainPanel.add(storyDialoguePanel, "STORY_DIALOGUE");
-
         add(mainPanel);
 
         // 메뉴 화면으로 시작
@@ -103,12 +103,90 @@ public class GameFrame extends JFrame implements KeyListener {
     }
 
     /**
-     * 게임 타이머를 설정합니다
+     * 이름에 해당하는 패널이 없으면 만들어 카드 레이아웃에 추가합니다 (EDT 전용)
      */
-    private void setupTimer() {
-        gameTimer = new Timer(Constants.FRAME_TIME, e -> {
-            gameEngine.update();
+    private void ensurePanel(String name) {
+        if (builtPanels.contains(name)) {
+            return;
+        }
+
+        long buildNanos = StartupProfiler.begin();
+        JPanel panel;
+        switch (name) {
+            case "MENU":
+                panel = menuPanel = new MenuPanel(this);
+                break;
+            case "GAME_SELECT":
+                panel = gameSelectPanel = new GameSelectPanel(this);
+                break;
+            case "SONG_SELECT":
+                panel = songSelectPanel = new SongSelectPanel(this);
+                break;
+            case "GAME":
+                gamePanel = new GamePanel(gameEngine);
+                pausePanel = new PausePanel(this);
+                gamePanel.setPausePanel(pausePanel); // PausePanel을 GamePanel에 설정
+                panel = gamePanel;
+                break;
+            case "RESULT":
+                panel = resultPanel = new ResultPanel(this);
+                break;
+            case "STORY_SELECT":
+                panel = storySelectPanel = new StorySelectPanel(this);
+                break;
+            case "STORY_DIALOGUE":
+                panel = storyDialoguePanel = new StoryDialoguePanel(this);
+                break;
+            default:
+                throw new IllegalArgumentException("알 수 없는 패널: " + name);
+        }
+
+        mainPanel.add(panel, name);
+        builtPanels.add(name);
+        StartupProfiler.end("패널 생성: " + name, buildNanos);
+    }
+
+    /**
+     * 패널을 (필요하면 만든 뒤) 화면에 표시합니다
+     */
+    private void showCard(String name) {
+        ensurePanel(name);
+        cardLayout.show(mainPanel, name);
+    }
+
+    /**
+     * 메뉴가 그려질 때 호출됩니다 (MenuPanel)
+     * 처음 그려지면 첫 프레임을 기록하고, 그동안 쌓인 EDT 이벤트가 모두 처리된 시점을
+     * 상호작용 가능 시점으로 기록한 뒤 무거운 패널을 미리 만들기 시작합니다
+     */
+    void onMenuPainted() {
+        if (menuPainted) {
+            return;
+        }
+        menuPainted = true;
+        StartupProfiler.firstFrame();
+        SwingUtilities.invokeLater(() -> {
+            StartupProfiler.interactive();
+            prebuildHeavyPanels();
+        });
+    }
+
+    /**
+     * 곡 목록 로드(SongRepository)가 끝나면 노래 선택과 스토리 선택 패널을
+     * EDT 이벤트 하나에 하나씩 만들어 그 사이의 입력 처리가 밀리지 않게 합니다
+     */
+    private void prebuildHeavyPanels() {
+        SongRepository.getInstance().load().thenRun(() -> SwingUtilities.invokeLater(() -> {
+            ensurePanel("SONG_SELECT");
+            SwingUtilities.invokeLater(() -> ensurePanel("STORY_SELECT"));
+        }));
+    }
 
+    /**
+     * 화면 갱신 타이머를 설정합니다
+     */
+    private void setupTimer() {
+        gameTimer = new Timer(1000 / Constants.RENDER_FPS, e -> {
             // 게임 상태에 따른 화면 전환
             switch (gameEngine.getGameState()) {
                 case MENU:
@@ -170,7 +248,7 @@ public class GameFrame extends JFrame implements KeyListener {
         }
 
         currentPanelName = "MENU";
-        cardLayout.show(mainPanel, "MENU");
+        showCard("MENU");
         requestFocus();
     }
 
@@ -184,7 +262,7 @@ public class GameFrame extends JFrame implements KeyListener {
         }
 
         currentPanelName = "GAME_SELECT";
-        cardLayout.show(mainPanel, "GAME_SELECT");
+        showCard("GAME_SELECT");
         requestFocus();
     }
 
@@ -204,7 +282,7 @@ public class GameFrame extends JFrame implements KeyListener {
         }
 
         currentPanelName = "SONG_SELECT";
-        cardLayout.show(mainPanel, "SONG_SELECT");
+        showCard("SONG_SELECT");
 
         // SongSelectPanel 활성화 및 미리듣기 시작
         if (songSelectPanel != null) {
@@ -223,7 +301,7 @@ public class GameFrame extends JFrame implements KeyListener {
             songSelectPanel.onPanelDeactivated();
         }
 
-        cardLayout.show(mainPanel, "GAME");
+        showCard("GAME");
         requestFocus();
     }
 
@@ -236,8 +314,9 @@ public class GameFrame extends JFrame implements KeyListener {
             songSelectPanel.onPanelDeactivated();
         }
 
+        ensurePanel("RESULT");
         resultPanel.updateResult(gameEngine.getScoreManager());
-        cardLayout.show(mainPanel, "RESULT");
+        showCard("RESULT");
         requestFocus();
     }
 
@@ -261,6 +340,7 @@ public class GameFrame extends JFrame implements KeyListener {
      * 게임을 시작합니다
      */
     public void startGame() {
+        gameEngine.clearChart();
         gameEngine.startGame();
         showGame();
     }
@@ -274,14 +354,15 @@ public class GameFrame extends JFrame implements KeyListener {
             gameEngine.setGameState(GameState.SONG_SELECT);
             showSongSelect();
         } else {
-            // 다른 모드는 바로 게임 시작
-            gameEngine.startGameWithMode(mode);
+            // 다른 모드는 바로 게임 시작 (채보 없이 랜덤 노트)
+            gameEngine.clearChart();
 
-            // 기본 배경음악 재생 (루프 없이 한 번만)
+            // 기본 배경음악 재생 (루프 없이 한 번만), 게임 시계는 이 음악의 첫 위치부터 진행
             if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
                 System.out.println("게임 모드 시작 - 기본 배경음악 재생 시도 (루프 없음)");
                 RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic("game_bgm.wav", false);
             }
+            gameEngine.startGameWithMode(mode);
 
             showGame();
         }
@@ -297,7 +378,7 @@ public class GameFrame extends JFrame implements KeyListener {
         }
 
         currentPanelName = "STORY_SELECT";
-        cardLayout.show(mainPanel, "STORY_SELECT");
+        showCard("STORY_SELECT");
 
         // StorySelectPanel 활성화
         if (storySelectPanel != null) {
@@ -312,7 +393,7 @@ public class GameFrame extends JFrame implements KeyListener {
      */
     public void showStoryDialogue(main.game.Story story, boolean beforeGame) {
         currentPanelName = "STORY_DIALOGUE";
-        cardLayout.show(mainPanel, "STORY_DIALOGUE");
+        showCard("STORY_DIALOGUE");
 
         if (storyDialoguePanel != null) {
             storyDialoguePanel.startDialogue(story, beforeGame);
@@ -328,29 +409,25 @@ public class GameFrame extends JFrame implements KeyListener {
         // 게임 엔진에 현재 스토리 설정
         gameEngine.setCurrentStory(story);
 
-        // 게임 엔진을 스토리 모드로 시작
-        gameEngine.startGameWithMode(GameMode.STORY_MODE);
+        // 스토리 곡의 채보 준비 후 게임 엔진을 스토리 모드로 시작
+        if (story != null) {
+            gameEngine.prepareChart(story.getSong(), story.getRequiredDifficulty());
+        } else {
+            gameEngine.clearChart();
+        }
 
-        // 스토리의 곡 배경음악 재생 (루프 없이 한 번만)
+        // 스토리의 곡 배경음악 재생 (루프 없이 한 번만), 게임 시계는 이 음악의 첫 위치부터 진행
         if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
             if (story != null && story.getSong() != null) {
                 String songPath = story.getSong().getAudioPath();
                 System.out.println("스토리 게임 시작 - 곡 재생 (루프 없음): " + story.getTitle() + " (" + songPath + ")");
-
-                // 잠깐 대기 후 배경음악 재생
-                javax.swing.Timer delayTimer = new javax.swing.Timer(300, e -> {
-                    if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
-                        RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(songPath, false);
-                        System.out.println("스토리 배경음악 재생 시작됨 (루프 없음): " + songPath);
-                    }
-                });
-                delayTimer.setRepeats(false);
-                delayTimer.start();
+                RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(songPath, false);
             } else {
                 System.out.println("스토리 게임 시작 - 기본 배경음악 재생 (루프 없음)");
                 RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic("game_bgm.wav", false);
             }
         }
+        gameEngine.startGameWithMode(GameMode.STORY_MODE);
 
         showGame();
     }
@@ -365,30 +442,22 @@ public class GameFrame extends JFrame implements KeyListener {
             System.out.println("게임 시작 - 미리듣기 중지됨");
         }
 
-        // 게임 엔진 시작
-        gameEngine.startGameWithMode(GameMode.SINGLE_PLAY);
+        // 선택된 곡의 채보 준비 후 게임 엔진 시작
+        gameEngine.prepareChart(song, difficulty);
 
-        // 선택된 곡의 전체 배경음악 재생 (루프 없이 한 번만)
+        // 선택된 곡의 전체 배경음악 재생 (루프 없이 한 번만), 게임 시계는 이 음악의 첫 위치부터 진행
+        // (미리듣기는 오디오 엔진에서 바로 멈추므로 기다릴 필요 없음)
         if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
             if (song != null) {
                 String selectedSongPath = song.getAudioPath();
                 System.out.println("게임 시작 - 선택된 곡 전체 재생 (루프 없음): " + song.getTitle() + " (" + selectedSongPath + ")");
-
-                // 잠깐 대기 후 배경음악 재생 (미리듣기 완전 중지 대기)
-                javax.swing.Timer delayTimer = new javax.swing.Timer(300, e -> {
-                    if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
-                        // 루프 없이 한 번만 재생
-                        RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(selectedSongPath, false);
-                        System.out.println("배경음악 재생 시작됨 (루프 없음): " + selectedSongPath);
-                    }
-                });
-                delayTimer.setRepeats(false);
-                delayTimer.start();
+                RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(selectedSongPath, false);
             } else {
                 System.out.println("게임 시작 - 곡 정보 없음, 기본 배경음악 재생 (루프 없음)");
                 RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic("game_bgm.wav", false);
             }
         }
+        gameEngine.startGameWithMode(GameMode.SINGLE_PLAY);
 
         showGame();
     }
@@ -403,30 +472,22 @@ public class GameFrame extends JFrame implements KeyListener {
             System.out.println("게임 시작 - 미리듣기 중지됨");
         }
 
-        // 게임 엔진 시작
-        gameEngine.startGameWithMode(GameMode.SINGLE_PLAY);
+        // 선택된 곡의 채보 준비 후 게임 엔진 시작
+        gameEngine.prepareChart(song, difficulty != null ? difficulty.getDifficulty() : null);
 
-        // 선택된 곡의 전체 배경음악 재생 (루프 없이 한 번만)
+        // 선택된 곡의 전체 배경음악 재생 (루프 없이 한 번만), 게임 시계는 이 음악의 첫 위치부터 진행
+        // (미리듣기는 오디오 엔진에서 바로 멈추므로 기다릴 필요 없음)
         if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
             if (song != null) {
                 String selectedSongPath = song.getAudioPath();
                 System.out.println("게임 시작 - 선택된 곡 전체 재생 (루프 없음): " + song.getTitle() + " (" + selectedSongPath + ")");
-
-                // 잠깐 대기 후 배경음악 재생 (미리듣기 완전 중지 대기)
-                javax.swing.Timer delayTimer = new javax.swing.Timer(300, e -> {
-                    if (RhythmGame.getInstance() != null && RhythmGame.getInstance().getAudioManager() != null) {
-                        // 루프 없이 한 번만 재생
-                        RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(selectedSongPath, false);
-                        System.out.println("배경음악 재생 시작됨 (루프 없음): " + selectedSongPath);
-                    }
-                });
-                delayTimer.setRepeats(false);
-                delayTimer.start();
+                RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic(selectedSongPath, false);
             } else {
                 System.out.println("게임 시작 - 곡 정보 없음, 기본 배경음악 재생 (루프 없음)");
                 RhythmGame.getInstance().getAudioManager().loadAndPlayBackgroundMusic("game_bgm.wav", false);
             }
         }
+        gameEngine.startGameWithMode(GameMode.SINGLE_PLAY);
 
         showGame();
     }
@@ -463,6 +524,14 @@ public class GameFrame extends JFrame implements KeyListener {
         requestFocus();
     }
 
+    /**
+     * 저장된 타이밍 보정값을 게임 엔진에 적용합니다
+     */
+    public void applyTimingOffsets() {
+        TimingOffsets offsets = TimingOffsets.getInstance();
+        gameEngine.setTimingOffsets(offsets.getAudioOffsetMicros(), offsets.getRenderShiftMicros());
+    }
+
     public GameEngine getGameEngine() {
         return gameEngine;
     }
@@ -479,16 +548,8 @@ public class GameFrame extends JFrame implements KeyListener {
     public void keyPressed(KeyEvent e) {
         int keyCode = e.getKeyCode();
 
-        // 게임 플레이 중 키 입력 처리
+        // 게임 플레이 중 키 입력 처리 (레인 키는 InputDispatcher가 처리)
         if (gameEngine.getGameState() == GameState.PLAYING) {
-            // 레인 키 처리 (S, D, F, J, K, L)
-            for (int i = 0; i < Constants.LANE_KEYS.length; i++) {
-                if (keyCode == Constants.LANE_KEYS[i]) {
-                    gameEngine.processKeyInput(i);
-                    break;
-                }
-            }
-
             // ESC 키로 일시정지
             if (keyCode == KeyEvent.VK_ESCAPE) {
                 // 일시정지 사운드와 배경음악 일시정지
@@ -543,15 +604,7 @@ public class GameFrame extends JFrame implements KeyListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
-        int keyCode = e.getKeyCode();
-
-        // 레인 키 릴리즈 처리
-        for (int i = 0; i < Constants.LANE_KEYS.length; i++) {
-            if (keyCode == Constants.LANE_KEYS[i]) {
-                gameEngine.processKeyRelease(i);
-                break;
-            }
-        }
+        // 레인 키 릴리즈는 InputDispatcher가 처리
     }
 
     @Override
@@ -1,16 +1,16 @@
 package main.ui;
 
 import main.game.GameEngine;
+import main.game.GameSnapshot;
 import main.game.GameState;
+import main.game.Judgment;
 import main.game.Note;
-import main.game.ScoreManager;
 import main.utils.Constants;
 import main.utils.ImageLoader;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.List;
 
 /**
  * 게임 플레이 화면을 담당하는 패널 (6키 레이아웃)
@@ -36,6 +36,17 @@ public class GamePanel extends JPanel {
     private static final int KEY_BUTTON_HEIGHT = 40;
     private static final int KEY_AREA_Y = GAME_AREA_Y + GAME_AREA_HEIGHT + 20;
 
+    // 노트 기본 그리기용 (노트마다 새로 만들지 않도록 미리 생성)
+    private static final Color NOTE_SHADOW_COLOR = new Color(0, 0, 0, 100);
+    private static final Color NOTE_BORDER_COLOR = new Color(255, 150, 150);
+    private static final BasicStroke NOTE_BORDER_STROKE = new BasicStroke(2);
+
+    // EARLY/LATE 표시 색상
+    private static final Color EARLY_COLOR = new Color(100, 180, 255);
+    private static final Color LATE_COLOR = new Color(255, 140, 80);
+
+    private GameSnapshot snapshot; // 현재 그리는 프레임의 장면
+
     public GamePanel(GameEngine gameEngine) {
         this.gameEngine = gameEngine;
         setPreferredSize(new Dimension(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT));
@@ -65,6 +76,9 @@ public class GamePanel extends JPanel {
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+        // 이번 프레임에 그릴 장면 (시뮬레이션 스레드가 발행한 최신 상태)
+        snapshot = gameEngine.getSnapshot();
+
         // 배경 그라디언트
         drawBackground(g2d);
 
@@ -226,33 +240,33 @@ public class GamePanel extends JPanel {
      * 노트들을 그립니다
      */
     private void drawNotes(Graphics2D g2d, int laneWidth, int judgmentY) {
-        List<Note> notes = gameEngine.getNotes();
-
-        for (Note note : notes) {
-            if (!note.isHit() && !note.isMissed()) {
-                int laneX = GAME_AREA_X + (note.getLane() * laneWidth);
-                int noteX = laneX + (laneWidth - Constants.NOTE_WIDTH) / 2;
-                int noteY = GAME_AREA_Y + note.getY();
-
-                // 노트 이미지 사용
-                BufferedImage noteImage = ImageLoader.getInstance().getImage("note_default");
-                if (noteImage != null) {
-                    g2d.drawImage(noteImage, noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, null);
-                } else {
-                    // 이미지가 없을 경우 기본 그리기
-                    // 노트 그림자
-                    g2d.setColor(new Color(0, 0, 0, 100));
-                    g2d.fillRoundRect(noteX + 2, noteY + 2, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
-
-                    // 노트 본체
-                    g2d.setColor(Constants.NOTE_COLOR);
-                    g2d.fillRoundRect(noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
-
-                    // 노트 테두리
-                    g2d.setColor(new Color(255, 150, 150));
-                    g2d.setStroke(new BasicStroke(2));
-                    g2d.drawRoundRect(noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
-                }
+        BufferedImage noteImage = ImageLoader.getInstance().getImage("note_default");
+
+        // 장면에는 보일 수 있는 활성 노트만 들어 있으며, 위치는 보간된 시각으로 계산
+        long now = snapshot.interpolatedTimeMicros(System.nanoTime());
+
+        for (int i = 0; i < snapshot.getNoteCount(); i++) {
+            int laneX = GAME_AREA_X + (snapshot.getNoteLane(i) * laneWidth);
+            int noteX = laneX + (laneWidth - Constants.NOTE_WIDTH) / 2;
+            int noteY = GAME_AREA_Y + Note.calculateY(snapshot.getNoteHitTime(i), now);
+
+            // 노트 이미지 사용
+            if (noteImage != null) {
+                g2d.drawImage(noteImage, noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, null);
+            } else {
+                // 이미지가 없을 경우 기본 그리기
+                // 노트 그림자
+                g2d.setColor(NOTE_SHADOW_COLOR);
+                g2d.fillRoundRect(noteX + 2, noteY + 2, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
+
+                // 노트 본체
+                g2d.setColor(Constants.NOTE_COLOR);
+                g2d.fillRoundRect(noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
+
+                // 노트 테두리
+                g2d.setColor(NOTE_BORDER_COLOR);
+                g2d.setStroke(NOTE_BORDER_STROKE);
+                g2d.drawRoundRect(noteX, noteY, Constants.NOTE_WIDTH, Constants.NOTE_HEIGHT, 8, 8);
             }
         }
     }
@@ -261,10 +275,8 @@ public class GamePanel extends JPanel {
      * 키 입력 이펙트를 그립니다
      */
     private void drawKeyEffects(Graphics2D g2d, int laneWidth, int judgmentY) {
-        boolean[] lanePressed = gameEngine.getLanePressed();
-
         for (int i = 0; i < Constants.NOTE_LANES; i++) {
-            if (lanePressed[i]) {
+            if (snapshot.isLanePressed(i)) {
                 int laneX = GAME_AREA_X + (i * laneWidth);
 
                 // 키 입력 이펙트 (세로 라인)
@@ -282,7 +294,6 @@ public class GamePanel extends JPanel {
      * 키 버튼들을 그립니다
      */
     private void drawKeyButtons(Graphics2D g2d) {
-        boolean[] lanePressed = gameEngine.getLanePressed();
         int totalWidth = Constants.NOTE_LANES * KEY_BUTTON_WIDTH + (Constants.NOTE_LANES - 1) * 10;
         int startX = GAME_AREA_X + (GAME_AREA_WIDTH - totalWidth) / 2;
 
@@ -290,7 +301,7 @@ public class GamePanel extends JPanel {
             int buttonX = startX + i * (KEY_BUTTON_WIDTH + 10);
 
             // 버튼 배경
-            if (lanePressed[i]) {
+            if (snapshot.isLanePressed(i)) {
                 g2d.setColor(new Color(150, 150, 200));
             } else {
                 g2d.setColor(new Color(80, 80, 120));
@@ -317,8 +328,7 @@ public class GamePanel extends JPanel {
      * 콤보를 표시합니다
      */
     private void drawCombo(Graphics2D g2d) {
-        ScoreManager scoreManager = gameEngine.getScoreManager();
-        int combo = scoreManager.getCombo();
+        int combo = snapshot.getCombo();
 
         if (combo > 0) {
             // 콤보 배경
@@ -348,8 +358,6 @@ public class GamePanel extends JPanel {
      * 점수 패널을 그립니다
      */
     private void drawScorePanel(Graphics2D g2d) {
-        ScoreManager scoreManager = gameEngine.getScoreManager();
-
         // 점수 패널 배경
         int panelX = VIDEO_AREA_X;
         int panelY = VIDEO_AREA_Y + VIDEO_AREA_HEIGHT + 30;
@@ -374,44 +382,62 @@ public class GamePanel extends JPanel {
         g2d.setFont(new Font("맑은 고딕", Font.BOLD, 16));
 
         int textY = panelY + 25;
-        g2d.drawString("점수: " + scoreManager.getScore(), panelX + 20, textY);
+        g2d.drawString("점수: " + snapshot.getScore(), panelX + 20, textY);
 
         textY += 25;
-        g2d.drawString("콤보: " + scoreManager.getCombo(), panelX + 20, textY);
+        g2d.drawString("콤보: " + snapshot.getCombo(), panelX + 20, textY);
 
         textY += 25;
-        g2d.drawString("최대 콤보: " + scoreManager.getMaxCombo(), panelX + 20, textY);
+        g2d.drawString("최대 콤보: " + snapshot.getMaxCombo(), panelX + 20, textY);
 
         // 정확도
-        double accuracy = scoreManager.getAccuracy();
+        double accuracy = snapshot.getAccuracy();
         g2d.drawString(String.format("정확도: %.2f%%", accuracy), panelX + 250, panelY + 25);
 
         // 판정 카운트
-        g2d.drawString("PERFECT: " + scoreManager.getPerfectCount(), panelX + 250, panelY + 50);
-        g2d.drawString("GOOD: " + scoreManager.getGoodCount(), panelX + 250, panelY + 75);
-        g2d.drawString("MISS: " + scoreManager.getMissCount(), panelX + 400, panelY + 50);
+        g2d.drawString("PERFECT: " + snapshot.getPerfectCount(), panelX + 250, panelY + 50);
+        g2d.drawString("GOOD: " + snapshot.getGoodCount(), panelX + 250, panelY + 75);
+        g2d.drawString("MISS: " + snapshot.getMissCount(), panelX + 400, panelY + 50);
 
         // 현재 판정 표시
-        if (scoreManager.shouldShowLastJudgment()) {
-            String currentJudgment = scoreManager.getLastJudgment();
-            if (currentJudgment != null && !currentJudgment.isEmpty()) {
+        if (snapshot.shouldShowLastJudgment()) {
+            Judgment currentJudgment = snapshot.getLastJudgment();
+            if (currentJudgment != null) {
                 g2d.setFont(new Font("맑은 고딕", Font.BOLD, 20));
 
                 Color judgmentColor = Color.WHITE;
                 switch (currentJudgment) {
-                    case "PERFECT":
+                    case PERFECT:
                         judgmentColor = Color.YELLOW;
                         break;
-                    case "GOOD":
+                    case GOOD:
                         judgmentColor = Color.GREEN;
                         break;
-                    case "MISS":
+                    case MISS:
                         judgmentColor = Color.RED;
                         break;
                 }
 
                 g2d.setColor(judgmentColor);
-                g2d.drawString(currentJudgment, panelX + 500, panelY + 60);
+                g2d.drawString(currentJudgment.name(), panelX + 500, panelY + 60);
+
+                // PERFECT가 아닌 입력은 빠르고 늦음을 밀리초와 함께 표시
+                if (snapshot.hasLastTiming()) {
+                    long offsetMicros = snapshot.getLastOffsetMicros();
+                    boolean early = Judgment.isEarly(offsetMicros);
+                    BufferedImage timingImage = ImageLoader.getInstance().getImage(early ? "note_early" : "note_late");
+                    int timingX = panelX + 500;
+                    if (timingImage != null) {
+                        g2d.drawImage(timingImage, timingX, panelY + 66, 60, 18, null);
+                        timingX += 66;
+                    }
+
+                    g2d.setFont(new Font("맑은 고딕", Font.BOLD, 14));
+                    g2d.setColor(early ? EARLY_COLOR : LATE_COLOR);
+                    String offsetText = (early ? "" : "+") + (offsetMicros / 1000) + "ms";
+                    g2d.drawString(timingImage != null ? offsetText : (early ? "EARLY " : "LATE ") + offsetText,
+                            timingX, panelY + 80);
+                }
             }
         }
     }
@@ -0,0 +1,118 @@
+package main.ui;
+
+import main.game.GameEngine;
+import main.game.GameState;
+import main.utils.Constants;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+
+/**
+ * 레인 키 입력을 가로채 입력 시각과 함께 게임 엔진의 입력 큐로 넘기는 전역 키 디스패처
+ * 어떤 컴포넌트에 포커스가 있어도 동작하며, 판정은 EDT가 아닌 시뮬레이션 스레드에서 이루어집니다
+ *
+ * 키를 누르고 있을 때 발생하는 자동 반복 입력은 걸러냅니다.
+ * 리눅스(X11)는 자동 반복을 같은 시각의 뗌/눌림 쌍으로 보내므로, 뗌은 바로 넘기지 않고
+ * 뒤따르는 이벤트를 처리한 뒤 같은 시각의 눌림이 없을 때만 넘깁니다.
+ */
+public class InputDispatcher implements KeyEventDispatcher {
+    private final GameEngine gameEngine;
+    private final boolean[] held = new boolean[Constants.NOTE_LANES];
+    private final boolean[] releasePending = new boolean[Constants.NOTE_LANES];
+    private final long[] releaseWhen = new long[Constants.NOTE_LANES];
+    private final long[] releaseCaptureMicros = new long[Constants.NOTE_LANES];
+
+    public InputDispatcher(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+    }
+
+    /**
+     * 현재 키보드 포커스 관리자에 등록합니다
+     */
+    public void install() {
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
+    }
+
+    public void uninstall() {
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(this);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent e) {
+        int lane = laneOf(e.getKeyCode());
+        if (lane < 0) {
+            return false;
+        }
+        if (!held[lane] && gameEngine.getGameState() != GameState.PLAYING) {
+            return false; // 게임 중이 아니면 다른 컴포넌트가 처리하도록 넘김
+        }
+
+        switch (e.getID()) {
+            case KeyEvent.KEY_PRESSED:
+                onPressed(lane, e.getWhen());
+                return true;
+            case KeyEvent.KEY_RELEASED:
+                onReleased(lane, e.getWhen());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void onPressed(int lane, long when) {
+        if (releasePending[lane] && releaseWhen[lane] == when) {
+            // 같은 시각의 뗌/눌림 쌍은 자동 반복이므로 둘 다 버림
+            releasePending[lane] = false;
+            return;
+        }
+        if (releasePending[lane]) {
+            flushRelease(lane);
+        }
+        if (held[lane]) {
+            return; // 뗌 없이 반복되는 눌림 (자동 반복)
+        }
+
+        held[lane] = true;
+        gameEngine.submitKeyInput(lane, true, captureMicros(when));
+    }
+
+    private void onReleased(int lane, long when) {
+        if (!held[lane]) {
+            return;
+        }
+
+        releasePending[lane] = true;
+        releaseWhen[lane] = when;
+        releaseCaptureMicros[lane] = captureMicros(when);
+
+        // 이미 큐에 들어와 있는 짝 눌림 이벤트가 먼저 처리된 뒤에 확정
+        SwingUtilities.invokeLater(() -> {
+            if (releasePending[lane] && releaseWhen[lane] == when) {
+                flushRelease(lane);
+            }
+        });
+    }
+
+    private void flushRelease(int lane) {
+        releasePending[lane] = false;
+        held[lane] = false;
+        gameEngine.submitKeyInput(lane, false, releaseCaptureMicros[lane]);
+    }
+
+    /**
+     * 이벤트 발생 시각을 게임 시간으로 변환합니다
+     */
+    private long captureMicros(long when) {
+        return gameEngine.getGameClock().eventTimeMicros(when);
+    }
+
+    private static int laneOf(int keyCode) {
+        for (int i = 0; i < Constants.LANE_KEYS.length; i++) {
+            if (keyCode == Constants.LANE_KEYS[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
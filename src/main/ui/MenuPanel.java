@@ -1,5 +1,6 @@
 package main.ui;
 
+import main.game.TimingOffsets;
 import main.utils.Constants;
 import main.utils.ImageLoader;
 import javax.swing.*;
@@ -109,7 +110,7 @@ public class MenuPanel extends JPanel {
      */
     private void showSettingsDialog() {
         JDialog settingsDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "설정", true);
-        settingsDialog.setSize(400, 300);
+        settingsDialog.setSize(420, 340);
         settingsDialog.setLocationRelativeTo(this);
         settingsDialog.setLayout(new GridBagLayout());
 
@@ -137,6 +138,22 @@ public class MenuPanel extends JPanel {
         gbc.gridy = 1;
         settingsDialog.add(soundVolumeSlider, gbc);
 
+        // 타이밍 보정 (출력/화면 지연)
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        JLabel offsetLabel = new JLabel(formatTimingOffsets());
+        settingsDialog.add(offsetLabel, gbc);
+
+        JButton calibrateButton = new JButton("타이밍 보정...");
+        calibrateButton.addActionListener(e -> {
+            gameFrame.getAudioManager().playClickSound();
+            new CalibrationDialog((Frame) SwingUtilities.getWindowAncestor(this), gameFrame).setVisible(true);
+            offsetLabel.setText(formatTimingOffsets());
+        });
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        settingsDialog.add(calibrateButton, gbc);
+
         // 확인 버튼
         JButton okButton = new JButton("확인");
         okButton.addActionListener(e -> {
@@ -144,16 +161,26 @@ public class MenuPanel extends JPanel {
             settingsDialog.dispose();
         });
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 3;
         gbc.gridwidth = 2;
         settingsDialog.add(okButton, gbc);
 
         settingsDialog.setVisible(true);
     }
 
+    /**
+     * 저장된 타이밍 보정값을 표시용 문자열로 만듭니다
+     */
+    private static String formatTimingOffsets() {
+        TimingOffsets offsets = TimingOffsets.getInstance();
+        return String.format("보정: 소리 %+dms / 화면 %+dms", offsets.getAudioOffsetMicros() / 1000,
+                offsets.getVisualOffsetMicros() / 1000);
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        gameFrame.onMenuPainted(); // 시작 후 처음 그려지는 화면 (시작 시간 기록)
 
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
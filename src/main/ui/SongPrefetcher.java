@@ -0,0 +1,237 @@
+package main.ui;
+
+import main.audio.AudioManager;
+import main.audio.Mp3FrameIndex;
+import main.game.ChartFile;
+import main.game.Song;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * 곡 선택 화면에서 현재 곡 주변의 곡들을 미리 불러오는 클래스
+ *
+ * 선택이 바뀔 때마다 현재 곡의 썸네일을 먼저 준비하고, 앞뒤 N곡의 썸네일, 채보 헤더,
+ * MP3 프레임 색인, 미리듣기 PCM을 낮은 우선순위 스레드 하나에서 차례로 불러옵니다.
+ * 선택이 다시 바뀌면 진행 중인 작업은 다음 항목으로 넘어가기 전에 중단됩니다.
+ */
+public class SongPrefetcher {
+    private static final int PREFETCH_RADIUS = 2; // 앞뒤로 미리 불러올 곡 수
+    private static final int THUMBNAIL_SIZE = 230;
+    private static final int THUMBNAIL_CACHE_SIZE = 64;
+    private static final int MAX_EMBEDDED_COVER_BYTES = 16 * 1024 * 1024;
+
+    private final AudioManager audioManager;
+    private final BiConsumer<Song, BufferedImage> thumbnailListener;
+    private final ExecutorService executor;
+    private final Map<String, BufferedImage> thumbnails = new LinkedHashMap<String, BufferedImage>(16, 0.75f,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return size() > THUMBNAIL_CACHE_SIZE;
+        }
+    };
+
+    private Future<?> currentTask;
+    private volatile long generation; // 선택이 바뀔 때마다 증가, 이전 작업을 중단시킴
+
+    /**
+     * @param thumbnailListener 썸네일이 준비되면 EDT에서 호출됨
+     */
+    public SongPrefetcher(AudioManager audioManager, BiConsumer<Song, BufferedImage> thumbnailListener) {
+        this.audioManager = audioManager;
+        this.thumbnailListener = thumbnailListener;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "SongPrefetcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * 캐시된 썸네일을 반환합니다 (없으면 null)
+     */
+    public BufferedImage getThumbnail(Song song) {
+        synchronized (thumbnails) {
+            return thumbnails.get(song.getThumbnailPath());
+        }
+    }
+
+    /**
+     * 선택된 곡을 기준으로 미리 불러오기를 다시 시작합니다 (EDT에서 호출)
+     */
+    public void focus(List<Song> songs, int currentIndex) {
+        cancel();
+        if (songs.isEmpty()) {
+            return;
+        }
+
+        // 가까운 곡부터: 현재, 다음, 이전, 다음다음, ...
+        List<Song> targets = new ArrayList<>();
+        targets.add(songs.get(currentIndex));
+        for (int distance = 1; distance <= PREFETCH_RADIUS && targets.size() < songs.size(); distance++) {
+            addTarget(targets, songs.get((currentIndex + distance) % songs.size()));
+            addTarget(targets, songs.get(((currentIndex - distance) % songs.size() + songs.size()) % songs.size()));
+        }
+
+        long id = generation;
+        currentTask = executor.submit(() -> prefetch(targets, id));
+    }
+
+    private static void addTarget(List<Song> targets, Song song) {
+        if (!targets.contains(song)) {
+            targets.add(song);
+        }
+    }
+
+    /**
+     * 진행 중인 미리 불러오기를 중단합니다
+     */
+    public void cancel() {
+        generation++;
+        if (currentTask != null) {
+            currentTask.cancel(false);
+            currentTask = null;
+        }
+    }
+
+    private void prefetch(List<Song> targets, long id) {
+        long startNanos = System.nanoTime();
+
+        // 1단계: 가벼운 항목 (썸네일, 채보 헤더, 프레임 색인)
+        for (Song song : targets) {
+            if (id != generation) {
+                return;
+            }
+            loadThumbnail(song, id);
+            loadChart(song);
+            loadFrameIndex(song);
+        }
+
+        // 2단계: 미리듣기 PCM (현재 곡은 미리듣기 플레이어가 직접 디코딩하므로 제외)
+        for (int i = 1; i < targets.size(); i++) {
+            if (id != generation) {
+                return;
+            }
+            if (audioManager != null) {
+                audioManager.prefetchPreview(targets.get(i).getAudioPath());
+            }
+        }
+
+        System.out.printf("곡 미리 불러오기 완료: %d곡 (%.1fms)%n", targets.size(),
+                (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private void loadThumbnail(Song song, long id) {
+        String path = song.getThumbnailPath();
+        synchronized (thumbnails) {
+            if (thumbnails.containsKey(path)) {
+                return;
+            }
+        }
+
+        // 커버 이미지 파일이 없으면 오디오 파일에 들어 있는 커버를 씀
+        File file = new File(path);
+        BufferedImage thumbnail = null;
+        try {
+            BufferedImage image = null;
+            if (file.isFile()) {
+                image = ImageIO.read(file);
+            } else if (song.getEmbeddedCoverOffset() >= 0) {
+                image = readEmbeddedCover(song);
+            }
+            if (image != null) {
+                thumbnail = scale(image);
+            }
+        } catch (IOException e) {
+            System.err.println("썸네일 로드 실패: " + path + " - " + e.getMessage());
+        }
+
+        synchronized (thumbnails) {
+            thumbnails.put(path, thumbnail); // 없는 이미지도 기록해 다시 찾지 않음
+        }
+        if (thumbnail != null && id == generation) {
+            BufferedImage ready = thumbnail;
+            SwingUtilities.invokeLater(() -> thumbnailListener.accept(song, ready));
+        }
+    }
+
+    /**
+     * 태그 안의 커버 이미지 바이트만 읽어 디코딩합니다
+     */
+    private static BufferedImage readEmbeddedCover(Song song) throws IOException {
+        int length = song.getEmbeddedCoverLength();
+        if (length <= 0 || length > MAX_EMBEDDED_COVER_BYTES) {
+            return null;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(Paths.get(song.getAudioPath()), StandardOpenOption.READ)) {
+            long position = song.getEmbeddedCoverOffset();
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, position + bytes.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        return ImageIO.read(new ByteArrayInputStream(bytes.array(), 0, bytes.position()));
+    }
+
+    /**
+     * EDT에서 매번 getScaledInstance로 줄이지 않도록 미리 썸네일 크기로 그려 둡니다
+     */
+    private static BufferedImage scale(BufferedImage image) {
+        BufferedImage scaled = new BufferedImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(image, 0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE, null);
+        g2d.dispose();
+        return scaled;
+    }
+
+    private static void loadChart(Song song) {
+        ChartFile chart = ChartFile.openForSong(song);
+        if (chart != null) {
+            chart.preload();
+        }
+    }
+
+    private static void loadFrameIndex(Song song) {
+        File audio = new File(song.getAudioPath());
+        if (!audio.isFile() || !audio.getName().toLowerCase().endsWith(".mp3")) {
+            return;
+        }
+        try {
+            Mp3FrameIndex.of(audio);
+        } catch (IOException e) {
+            System.err.println("MP3 프레임 색인 생성 실패: " + audio.getName() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 미리 불러오기 스레드를 종료합니다
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
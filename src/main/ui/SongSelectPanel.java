@@ -1,9 +1,8 @@
 package main.ui;
 
 import main.game.Song;
+import main.game.SongRepository;
 import main.utils.Constants;
-import main.utils.ImageLoader;
-import main.utils.MusicFileScanner;
 import main.audio.AudioManager;
 import main.audio.PreviewPlayer;
 import javax.swing.*;
@@ -12,7 +11,6 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +38,7 @@ public class SongSelectPanel extends JPanel {
     private boolean isPreviewPlaying;
     private boolean isAutoPreviewEnabled; // 자동 미리듣기 활성화 상태
     private String lastPreviewPath; // 마지막 미리듣기 파일 경로
+    private SongPrefetcher prefetcher; // 주변 곡 미리 불러오기
 
     public SongSelectPanel(GameFrame gameFrame) {
         this.gameFrame = gameFrame;
@@ -55,6 +54,7 @@ public class SongSelectPanel extends JPanel {
         // AudioManager 인스턴스 가져오기 (GameFrame에서)
         this.audioManager = gameFrame.getAudioManager();
         initializePreviewPlayer();
+        this.prefetcher = new SongPrefetcher(audioManager, this::onThumbnailReady);
 
         initializeSongs();
         initializeComponents();
@@ -62,42 +62,34 @@ public class SongSelectPanel extends JPanel {
     }
 
     /**
-     * 노래 목록을 초기화합니다
+     * 공유 곡 목록의 현재 스냅샷을 쓰고, 목록이 바뀌면 다시 받습니다
      */
     private void initializeSongs() {
-        songs = new ArrayList<>();
-
-        System.out.println("=== 음악 파일 로딩 시작 ===");
-
-        // 1. gameplay 폴더에서 실제 MP3 파일들을 스캔
-        List<Song> gameplayFonts = MusicFileScanner.scanGameplayFolder();
-        songs.addAll(gameplayFonts);
-
-        // 2. 기본 곡들도 추가 (실제 파일이 없어도 데모용으로)
-        if (songs.isEmpty()) {
-            System.out.println("실제 음악 파일이 없어서 기본 곡들을 추가합니다.");
-            addDefaultSongs();
-        } else {
-            System.out.println("실제 음악 파일 " + gameplayFonts.size() + "개가 로드되었습니다.");
-            // 실제 파일이 있어도 몇 개 기본 곡 추가
-            addDefaultSongs();
-        }
-
-        System.out.println("총 " + songs.size() + "개의 곡이 사용 가능합니다.");
-        System.out.println("=== 음악 파일 로딩 완료 ===");
+        SongRepository repository = SongRepository.getInstance();
+        repository.addListener(snapshot -> SwingUtilities.invokeLater(() -> onSongsChanged(snapshot)));
+        songs = repository.getSnapshot().getSongs(); // 리스너 등록 뒤에 읽어야 그 사이의 갱신을 놓치지 않음
+        repository.load();
+        System.out.println("노래 선택: " + songs.size() + "개의 곡이 사용 가능합니다.");
     }
 
     /**
-     * 기본 데모 곡들을 추가합니다
+     * 곡 목록이 바뀌었을 때 호출됩니다 (EDT)
+     * 보던 곡이 새 목록에도 있으면 그 곡을 계속 선택합니다
      */
-    private void addDefaultSongs() {
-        // 실제 존재하는 MP3 파일들만 추가 (파일명만 전달, 경로는 Song.getAudioPath()에서 자동 추가)
-        songs.add(new Song("Buried Star", "Unknown Artist", "Game OST", "Electronic", 128,
-                "BuriedStar_3.mp3"));
-        songs.add(new Song("Coding Boy", "Unknown Artist", "Game OST", "Electronic", 95,
-                "CodingBoy_2.mp3"));
-        songs.add(new Song("GID", "Unknown Artist", "Game OST", "Electronic", 140,
-                "gid_4.mp3"));
+    private void onSongsChanged(SongRepository.Snapshot snapshot) {
+        if (snapshot.getSongs() == songs) {
+            return;
+        }
+        Song current = songs.isEmpty() ? null : songs.get(currentSongIndex);
+        songs = snapshot.getSongs();
+        int index = current != null ? songs.indexOf(current) : -1;
+        currentSongIndex = index >= 0 ? index : 0;
+        System.out.println("노래 선택: 곡 목록 갱신 (" + songs.size() + "곡)");
+
+        updateSongDisplay();
+        if (current == null && isAutoPreviewEnabled && isShowing()) {
+            startAutoPreview();
+        }
     }
 
     /**
@@ -417,6 +409,9 @@ public class SongSelectPanel extends JPanel {
      * 이전 곡으로 이동
      */
     private void previousSong() {
+        if (songs.isEmpty()) {
+            return;
+        }
         System.out.println("이전 곡으로 이동");
         // 미리듣기 중지
         stopPreview();
@@ -424,15 +419,9 @@ public class SongSelectPanel extends JPanel {
         currentSongIndex = (currentSongIndex - 1 + songs.size()) % songs.size();
         updateSongDisplay();
 
-        // 새 곡 자동 미리듣기 시작 (지연을 두고)
+        // 새 곡 자동 미리듣기 시작 (캐시에 있으면 디코딩 없이 바로 재생)
         if (isAutoPreviewEnabled) {
-            javax.swing.Timer songChangeTimer = new javax.swing.Timer(200, e -> {
-                if (isAutoPreviewEnabled) {
-                    startAutoPreview();
-                }
-            });
-            songChangeTimer.setRepeats(false);
-            songChangeTimer.start();
+            startAutoPreview();
         }
     }
 
@@ -440,6 +429,9 @@ public class SongSelectPanel extends JPanel {
      * 다음 곡으로 이동
      */
     private void nextSong() {
+        if (songs.isEmpty()) {
+            return;
+        }
         System.out.println("다음 곡으로 이동");
         // 미리듣기 중지
         stopPreview();
@@ -447,15 +439,9 @@ public class SongSelectPanel extends JPanel {
         currentSongIndex = (currentSongIndex + 1) % songs.size();
         updateSongDisplay();
 
-        // 새 곡 자동 미리듣기 시작 (지연을 두고)
+        // 새 곡 자동 미리듣기 시작 (캐시에 있으면 디코딩 없이 바로 재생)
         if (isAutoPreviewEnabled) {
-            javax.swing.Timer songChangeTimer = new javax.swing.Timer(200, e -> {
-                if (isAutoPreviewEnabled) {
-                    startAutoPreview();
-                }
-            });
-            songChangeTimer.setRepeats(false);
-            songChangeTimer.start();
+            startAutoPreview();
         }
     }
 
@@ -499,16 +485,11 @@ public class SongSelectPanel extends JPanel {
 
         Song currentSong = songs.get(currentSongIndex);
 
-        // 썸네일 업데이트 (이미지가 있다면 로드, 없으면 기본 텍스트)
-        BufferedImage thumbnail = ImageLoader.getInstance().getImage("song_" + currentSongIndex);
-        if (thumbnail != null) {
-            ImageIcon icon = new ImageIcon(thumbnail.getScaledInstance(230, 230, Image.SCALE_SMOOTH));
-            thumbnailLabel.setIcon(icon);
-            thumbnailLabel.setText("");
-        } else {
-            thumbnailLabel.setIcon(null);
-            thumbnailLabel.setText("<html><center>" + currentSong.getTitle() + "<br>썸네일</center></html>");
-        }
+        // 썸네일 업데이트 (미리 불러온 썸네일이 있으면 표시, 없으면 기본 텍스트)
+        showThumbnail(currentSong, prefetcher.getThumbnail(currentSong));
+
+        // 현재 곡과 앞뒤 곡들을 백그라운드에서 미리 불러옴
+        prefetcher.focus(songs, currentSongIndex);
 
         // 곡 정보 업데이트
         songInfoLabel.setText("<html><center><b>" + currentSong.getTitle() + "</b><br>" +
@@ -527,6 +508,28 @@ public class SongSelectPanel extends JPanel {
         updateDifficultyInfo();
     }
 
+    /**
+     * 썸네일 라벨을 갱신합니다
+     */
+    private void showThumbnail(Song song, BufferedImage thumbnail) {
+        if (thumbnail != null) {
+            thumbnailLabel.setIcon(new ImageIcon(thumbnail));
+            thumbnailLabel.setText("");
+        } else {
+            thumbnailLabel.setIcon(null);
+            thumbnailLabel.setText("<html><center>" + song.getTitle() + "<br>썸네일</center></html>");
+        }
+    }
+
+    /**
+     * 썸네일이 준비되었을 때 호출됩니다 (EDT)
+     */
+    private void onThumbnailReady(Song song, BufferedImage thumbnail) {
+        if (!songs.isEmpty() && songs.get(currentSongIndex) == song) {
+            showThumbnail(song, thumbnail);
+        }
+    }
+
     /**
      * 난이도 정보를 업데이트합니다
      */
@@ -598,28 +601,9 @@ public class SongSelectPanel extends JPanel {
         if (audioFile.exists()) {
             System.out.println("미리듣기 시작 시도: " + audioPath);
 
-            // 이전 재생 완전히 중지
-            if (audioManager.isPreviewPlaying()) {
-                audioManager.stopPreview();
-                // 중지 후 잠시 대기
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-
+            // 이전 재생은 PreviewPlayer가 새 재생을 시작하면서 중지함
             lastPreviewPath = audioPath;
-
-            // 약간의 지연을 두고 시작 (이전 재생이 완전히 중지되도록)
-            javax.swing.Timer delayTimer = new javax.swing.Timer(200, e -> {
-                if (audioManager != null && isAutoPreviewEnabled && audioPath.equals(lastPreviewPath)) {
-                    System.out.println("미리듣기 실제 시작: " + audioPath);
-                    audioManager.startPreview(audioPath);
-                }
-            });
-            delayTimer.setRepeats(false);
-            delayTimer.start();
+            audioManager.startPreview(audioPath);
         } else {
             System.out.println("미리듣기 파일 없음: " + audioPath);
             if (previewStatusLabel != null) {
@@ -778,8 +762,9 @@ public class SongSelectPanel extends JPanel {
         System.out.println("노래 선택 화면 비활성화");
         // 자동 미리듣기 비활성화
         isAutoPreviewEnabled = false;
-        // 노래 선택 화면을 떠날 때 미리듣기 중지
+        // 노래 선택 화면을 떠날 때 미리듣기와 미리 불러오기 중지
         stopPreview();
+        prefetcher.cancel();
     }
 
     /**
@@ -790,6 +775,7 @@ public class SongSelectPanel extends JPanel {
         isAutoPreviewEnabled = false;
         stopPreview();
         stopPreviewTimer();
+        prefetcher.shutdown();
         lastPreviewPath = null;
         isPreviewPlaying = false;
         System.out.println("SongSelectPanel 정리 완료");
@@ -46,6 +46,22 @@ public class Constants {
     public static final int TARGET_FPS = 60;
     public static final int FRAME_TIME = 1000 / TARGET_FPS;
 
+    // 시뮬레이션/렌더링 주기 (서로 독립적으로 설정)
+    public static final int SIMULATION_RATE = 1000; // 초당 게임 로직 틱 수
+    public static final long SIMULATION_STEP_MICROS = 1_000_000L / SIMULATION_RATE;
+    public static final int RENDER_FPS = 60; // 초당 화면 갱신 수
+
+    // 판정 범위 (마이크로초, 노트 판정 시각 기준 ±, 기존 프레임 단위 범위를 환산)
+    public static final long PERFECT_WINDOW_MICROS = PERFECT_RANGE * 1_000_000L / TARGET_FPS;
+    public static final long GOOD_WINDOW_MICROS = GOOD_RANGE * 1_000_000L / TARGET_FPS;
+    public static final long MISS_WINDOW_MICROS = MISS_RANGE * 1_000_000L / TARGET_FPS;
+
+    // 시간 기반 노트 이동 (기존 프레임당 속도를 초당 속도로 환산)
+    public static final int NOTE_SPEED_PX_PER_SEC = NOTE_SPEED * TARGET_FPS;
+    // 노트가 화면 위(-NOTE_HEIGHT)에서 판정선 중앙까지 이동하는 시간
+    public static final long NOTE_TRAVEL_TIME_MICROS = (JUDGMENT_LINE_Y - NOTE_HEIGHT / 2 + NOTE_HEIGHT) * 1_000_000L
+            / NOTE_SPEED_PX_PER_SEC;
+
     // 키 매핑 (6키)
     public static final int[] LANE_KEYS = { 83, 68, 70, 74, 75, 76 }; // S, D, F, J, K, L
     public static final String[] LANE_KEY_NAMES = { "S", "D", "F", "J", "K", "L" };
@@ -62,4 +78,8 @@ public class Constants {
     public static final String SONG_COVERS_PATH = IMAGE_PATH + "songs/covers/"; // 앨범 커버
     public static final String SONG_VIDEOS_PATH = IMAGE_PATH + "songs/videos/"; // 배경 영상
     public static final String EFFECTS_IMAGES_PATH = IMAGE_PATH + "effects/"; // 이펙트 이미지
+    public static final String CHART_PATH = "resources/charts/"; // 채보 파일 (.rchart)
+    public static final String REPLAY_PATH = "replays/"; // 리플레이 파일 (.rreplay)
+    public static final String SETTINGS_FILE = "settings.properties"; // 사용자 설정 (타이밍 보정 등)
+    public static final String SONG_INDEX_FILE = "song_index.rindex"; // 곡 목록 색인 (변경된 파일만 다시 읽음)
 }
\ No newline at end of file
@@ -1,58 +1,234 @@
 package main.utils;
 
+import main.audio.Mp3Metadata;
+import main.game.ChartFile;
 import main.game.Song;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * 음악 파일을 스캔하고 Song 객체를 생성하는 유틸리티 클래스
  */
 public class MusicFileScanner {
+    private static final int SCAN_THREADS = Math.max(2, Math.min(16, Runtime.getRuntime().availableProcessors() * 2));
 
     /**
-     * gameplay 폴더에서 MP3 파일들을 스캔하여 Song 목록을 반환합니다
+     * 곡 색인에 있는 곡을 폴더를 확인하지 않고 바로 읽습니다 (시작 직후 첫 목록용)
+     * 색인 이후에 바뀐 파일은 scanGameplayFolder로 확인해야 합니다
+     *
+     * @return 파일 이름순 곡 목록, 색인이 없으면 빈 목록
      */
-    public static List<Song> scanGameplayFolder() {
-        List<Song> songs = new ArrayList<>();
-
-        try {
-            File gameplayDir = new File(Constants.GAMEPLAY_PATH);
-            System.out.println("음악 파일 스캔 시작: " + gameplayDir.getAbsolutePath());
-
-            if (!gameplayDir.exists() || !gameplayDir.isDirectory()) {
-                System.err.println("Gameplay 폴더를 찾을 수 없습니다: " + gameplayDir.getAbsolutePath());
-                return songs;
+    public static List<Song> readIndexedSongs() {
+        long startNanos = System.nanoTime();
+        SongIndex index = SongIndex.openOrEmpty(Paths.get(Constants.SONG_INDEX_FILE));
+        List<Song> songs = new ArrayList<>(index.size());
+        for (int position = 0; position < index.size(); position++) {
+            // 색인의 파일명 순서표대로 읽으므로 다시 정렬하지 않음
+            try {
+                int entry = index.entryInFileNameOrder(position);
+                if (entry >= 0 && index.isReadable(entry)) {
+                    songs.add(index.toSong(entry));
+                }
+            } catch (RuntimeException e) {
+                // 손상된 항목은 폴더 확인 때 다시 읽음
             }
+        }
+        if (!songs.isEmpty()) {
+            System.out.printf("곡 색인에서 %d곡 읽음 (%.1fms)%n", songs.size(),
+                    (System.nanoTime() - startNanos) / 1_000_000.0);
+        }
+        return songs;
+    }
 
-            File[] files = gameplayDir.listFiles();
-            if (files == null) {
-                System.err.println("폴더 내용을 읽을 수 없습니다.");
-                return songs;
-            }
+    /**
+     * gameplay 폴더에서 음악 파일들을 스캔하여 Song 목록을 반환합니다
+     * 곡 색인(Constants.SONG_INDEX_FILE)에 크기와 수정 시각이 같은 항목이 있으면 그대로 쓰고,
+     * 새로 생기거나 바뀐 파일만 다시 읽은 뒤 색인을 갱신합니다
+     *
+     * @param known 이미 공개한 곡 (파일명 기준), 바뀌지 않은 파일은 새로 만들지 않고 이 객체를 씀
+     */
+    public static List<Song> scanGameplayFolder(Map<String, Song> known) {
+        List<Song> songs = new ArrayList<>();
 
-            System.out.println("발견된 파일 수: " + files.length);
+        Path gameplayDir = Paths.get(Constants.GAMEPLAY_PATH);
+        System.out.println("음악 파일 스캔 시작: " + gameplayDir.toAbsolutePath());
+        if (!Files.isDirectory(gameplayDir)) {
+            System.err.println("Gameplay 폴더를 찾을 수 없습니다: " + gameplayDir.toAbsolutePath());
+            return songs;
+        }
 
-            for (File file : files) {
-                if (file.isFile() && isSupportedAudioFile(file.getName())) {
-                    Song song = createSongFromFile(file);
-                    if (song != null) {
-                        songs.add(song);
-                        System.out.println("곡 추가됨: " + song.getTitle() + " (" + file.getName() + ")");
-                    }
+        Path indexPath = Paths.get(Constants.SONG_INDEX_FILE);
+        SongIndex index = SongIndex.openOrEmpty(indexPath);
+        long coversModified = SongIndex.directoryModified(Constants.SONG_COVERS_PATH);
+        long chartsModified = SongIndex.directoryModified(Constants.CHART_PATH);
+        boolean coversChanged = coversModified != index.getCoversModified();
+        boolean chartsChanged = chartsModified != index.getChartsModified();
+        SongIndex.Writer writer = new SongIndex.Writer(coversModified, chartsModified);
+
+        // 1단계: 폴더를 나열하며 색인에서 바로 쓸 수 있는 곡을 채움 (파일당 stat 한 번)
+        List<ScannedFile> scanned = new ArrayList<>();
+        List<ScannedFile> pending = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(gameplayDir)) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                if (!isSupportedAudioFile(fileName)) {
+                    continue;
+                }
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    continue;
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
                 }
-            }
 
-            System.out.println("총 " + songs.size() + "개의 곡이 로드되었습니다.");
+                ScannedFile file = new ScannedFile(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+                try {
+                    int entry = index.find(fileName, file.size, file.modified);
+                    if (entry >= 0) {
+                        Song song = known.get(fileName);
+                        if (song == null) {
+                            song = index.toSong(entry);
+                        }
+                        String coverPath = index.getCoverPath(entry);
+                        if (applyIndexEntry(file, song, coverPath, index.getChartStamp(entry),
+                                index.getChartHash(entry), coversChanged, chartsChanged)) {
+                            file.song = song;
+                            file.coverPath = coverPath;
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // 손상된 색인은 이 파일을 다시 읽는 것으로 처리 (다시 읽으면 색인도 새로 씀)
+                    file.song = null;
+                }
 
+                scanned.add(file);
+                if (file.song == null) {
+                    pending.add(file);
+                }
+            }
         } catch (Exception e) {
             System.err.println("음악 파일 스캔 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
+            return songs;
         }
 
+        // 2단계: 새로 생기거나 바뀐 파일만 여러 스레드에서 태그와 헤더를 읽음
+        if (!pending.isEmpty()) {
+            long readNanos = System.nanoTime();
+            readInParallel(pending);
+            System.out.printf("곡 정보 읽기: %d곡 (%d스레드, %.1fms)%n", pending.size(), SCAN_THREADS,
+                    (System.nanoTime() - readNanos) / 1_000_000.0);
+        }
+
+        int rescanned = 0;
+        int restamped = 0; // 채보 도장만 바뀌고 내용은 같은 곡
+        for (ScannedFile file : scanned) {
+            if (file.song == null) {
+                continue; // 읽기 실패
+            }
+            songs.add(file.song);
+            writer.add(file.song, file.coverPath, file.size, file.modified, file.chartStamp, file.chartHash);
+            if (file.restamped) {
+                restamped++;
+            }
+        }
+        for (ScannedFile file : pending) {
+            if (file.song != null) {
+                rescanned++;
+                System.out.println("곡 추가됨: " + file.song.getTitle() + " (" + file.song.getFileName() + ")");
+            }
+        }
+        int reused = scanned.size() - pending.size();
+
+        // 파일 이름순 (폴더 나열 순서는 운영체제마다 다름)
+        songs.sort((a, b) -> a.getFileName().compareToIgnoreCase(b.getFileName()));
+        System.out.println("총 " + songs.size() + "개의 곡이 로드되었습니다. (색인 " + reused + "곡, 새로 읽음 " + rescanned
+                + "곡)");
+
+        // 바뀐 것이 있을 때만 색인을 다시 씀 (지워진 파일은 reused가 색인 크기보다 작아지는 것으로 알 수 있음)
+        if (rescanned > 0 || restamped > 0 || reused != index.size() || coversChanged || chartsChanged) {
+            try {
+                writer.writeTo(indexPath);
+            } catch (IOException e) {
+                System.err.println("곡 색인 저장 실패 (다음 실행 때 다시 읽음): " + e.getMessage());
+            }
+        }
         return songs;
     }
 
+    /**
+     * 파일들을 ForkJoin 풀에서 나눠 읽습니다
+     * 파일당 앞부분 몇 KB와 끝 128바이트만 읽으므로 디스크 대기가 대부분이라 코어 수보다 많은 스레드를 씁니다
+     */
+    private static void readInParallel(List<ScannedFile> files) {
+        ForkJoinPool pool = new ForkJoinPool(SCAN_THREADS, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("MusicScanner-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(files.size());
+            for (ScannedFile file : files) {
+                tasks.add(() -> {
+                    file.coverPath = findCoverImage(removeFileExtension(file.path.getFileName().toString()));
+                    file.song = createSongFromFile(file.path.toFile(), file.coverPath);
+                    if (file.song != null) {
+                        file.chartStamp = SongIndex.chartStamp(file.song.getChartPath());
+                        file.chartHash = file.chartStamp != 0 ? SongIndex.chartHash(file.song.getChartPath()) : null;
+                    }
+                    return null;
+                });
+            }
+            pool.invokeAll(tasks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 색인 항목을 만든 뒤 커버나 채보가 바뀌었는지 확인하고, 그대로면 채보 도장과 해시를 file에 채웁니다
+     * 채보가 있던 곡은 채보 파일의 도장을 확인하고, 도장이 바뀌었으면 내용 해시를 비교합니다.
+     * 커버나 채보가 없던 곡은 폴더가 바뀌었을 때만 다시 찾습니다
+     */
+    private static boolean applyIndexEntry(ScannedFile file, Song song, String coverPath, long chartStamp,
+            byte[] chartHash, boolean coversChanged, boolean chartsChanged) {
+        if (coverPath == null && coversChanged) {
+            return false;
+        }
+        if (chartStamp == 0) {
+            return !chartsChanged;
+        }
+
+        long currentStamp = SongIndex.chartStamp(song.getChartPath());
+        if (currentStamp != chartStamp) {
+            // 수정 시각만 바뀐 채보(복사, 다시 저장 등)는 내용이 같으면 노트 수를 다시 읽지 않음
+            if (currentStamp == 0 || chartHash == null
+                    || !Arrays.equals(SongIndex.chartHash(song.getChartPath()), chartHash)) {
+                return false;
+            }
+            file.restamped = true;
+        }
+        file.chartStamp = currentStamp;
+        file.chartHash = chartHash;
+        return true;
+    }
+
     /**
      * 파일이 지원되는 오디오 형식인지 확인합니다
      */
@@ -66,25 +242,38 @@ public class MusicFileScanner {
     /**
      * 파일로부터 Song 객체를 생성합니다
      */
-    private static Song createSongFromFile(File file) {
+    private static Song createSongFromFile(File file, String coverPath) {
         try {
             String fileName = file.getName();
             String nameWithoutExt = removeFileExtension(fileName);
 
-            // 파일명에서 정보 추출
-            String title = extractTitle(nameWithoutExt);
-            String artist = extractArtist(nameWithoutExt);
-            String genre = determineGenre(nameWithoutExt);
-            int bpm = estimateBPM(nameWithoutExt);
-
-            Song song = new Song(title, artist, "Unknown Album", genre, bpm, fileName);
+            // MP3 태그가 있으면 태그 값을, 없는 항목은 파일명에서 추정한 값을 씀
+            Mp3Metadata metadata = readMetadata(file);
+            String title = orElse(metadata == null ? null : metadata.getTitle(), extractTitle(nameWithoutExt));
+            String artist = orElse(metadata == null ? null : metadata.getArtist(), extractArtist(nameWithoutExt));
+            String album = orElse(metadata == null ? null : metadata.getAlbum(), "Unknown Album");
+            String genre = orElse(metadata == null ? null : metadata.getGenre(), determineGenre(nameWithoutExt));
+            int bpm = metadata != null && metadata.getBpm() > 0 ? metadata.getBpm() : estimateBPM(nameWithoutExt);
+
+            Song song = new Song(title, artist, album, genre, bpm, fileName);
+            if (metadata != null) {
+                song.setDurationMillis(metadata.getDurationMillis());
+                if (metadata.getCoverOffset() >= 0) {
+                    song.setEmbeddedCover(metadata.getCoverOffset(), metadata.getCoverLength());
+                }
+            }
 
-            // 썸네일 경로 설정 (커버 이미지가 있는지 확인)
-            String coverPath = findCoverImage(nameWithoutExt);
+            // 썸네일 경로 설정 (커버 이미지가 있을 때만)
             if (coverPath != null) {
                 song.setThumbnailPath(coverPath);
             }
 
+            // 채보 파일이 있으면 실제 노트 수 반영 (헤더만 읽음)
+            ChartFile chart = ChartFile.openForSong(song);
+            if (chart != null) {
+                song.applyChart(chart);
+            }
+
             return song;
 
         } catch (Exception e) {
@@ -93,6 +282,27 @@ public class MusicFileScanner {
         }
     }
 
+    /**
+     * MP3 파일의 태그와 길이를 읽습니다
+     *
+     * @return MP3가 아니거나 읽을 수 없으면 null
+     */
+    private static Mp3Metadata readMetadata(File file) {
+        if (!file.getName().toLowerCase().endsWith(".mp3")) {
+            return null;
+        }
+        try {
+            return Mp3Metadata.read(file.toPath());
+        } catch (IOException e) {
+            System.err.println("MP3 태그 읽기 실패: " + file.getName() + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String orElse(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+
     /**
      * 파일명에서 확장자를 제거합니다
      */
@@ -197,4 +407,24 @@ public class MusicFileScanner {
 
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * 스캔 중인 파일 하나 (song이 null이면 아직 읽지 않았거나 읽기 실패)
+     */
+    private static final class ScannedFile {
+        private final Path path;
+        private final long size;
+        private final long modified;
+        private Song song;
+        private String coverPath;
+        private long chartStamp;
+        private byte[] chartHash;
+        private boolean restamped;
+
+        ScannedFile(Path path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package main.utils;
+
+import main.game.ChartFile;
+import main.game.Song;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gameplay 폴더 곡 목록의 바이너리 색인 (.rindex)
+ *
+ * <pre>
+ * 헤더 (32바이트)
+ *   int   매직 넘버 'RSIX'
+ *   short 버전
+ *   short 예약
+ *   int   항목 수
+ *   int   문자열 영역 시작 오프셋
+ *   long  커버 폴더 수정 시각
+ *   long  채보 폴더 수정 시각
+ * 항목 (항목당 128바이트, 경로 해시 오름차순)
+ *   long  경로 해시 (파일명 UTF-8의 FNV-1a)
+ *   long  파일 크기
+ *   long  파일 수정 시각 (밀리초)
+ *   int   파일명, 제목, 아티스트, 앨범, 장르, 커버 경로 (문자열 영역 오프셋, 커버가 없으면 -1)
+ *   int   BPM
+ *   int   내장 커버 이미지 길이
+ *   long  재생 길이 (밀리초, 모르면 0)
+ *   long  채보 파일 도장 (크기와 수정 시각으로 만든 값, 채보가 없으면 0)
+ *   int[4] 난이도별 노트 수 (채보에 없는 난이도는 -1)
+ *   long  내장 커버 이미지 위치 (오디오 파일 내, 없으면 -1)
+ *   byte[32] 채보 파일의 SHA-256 해시 (ChartFile.contentHash(), 채보가 없으면 0)
+ * 파일명 순서표 (항목 수만큼)
+ *   int   파일명(대소문자 무시) 순서로 나열한 항목 번호
+ * 문자열 영역
+ *   short 길이 + UTF-8 바이트
+ * </pre>
+ *
+ * 색인은 한 번의 읽기로 힙에 올리고, 파일명 해시로 이진 탐색해서 크기와 수정 시각이 같은 항목만 씁니다.
+ * 항목마다 객체를 만들지 않으므로 곡이 많아도 여는 비용은 거의 들지 않습니다.
+ * 시작할 때 전체 목록은 파일명 순서표대로 읽으므로 다시 정렬할 필요가 없습니다.
+ * 채보는 도장으로 바뀌었는지 먼저 확인하고, 도장만 바뀐 경우 해시가 같으면 다시 읽지 않습니다.
+ * 곡 정보를 만드는 방식이 바뀌면 VERSION을 올려 이전 색인을 버립니다.
+ */
+public class SongIndex {
+    public static final int MAGIC = 0x52534958; // 'RSIX'
+    public static final short VERSION = 4;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_SIZE = 128;
+    private static final int NO_STRING = -1;
+    private static final int DIFFICULTY_COUNT = 4;
+
+    // 항목 내 오프셋
+    private static final int HASH = 0;
+    private static final int SIZE = 8;
+    private static final int MODIFIED = 16;
+    private static final int FILE_NAME = 24;
+    private static final int TITLE = 28;
+    private static final int ARTIST = 32;
+    private static final int ALBUM = 36;
+    private static final int GENRE = 40;
+    private static final int COVER = 44;
+    private static final int BPM = 48;
+    private static final int EMBEDDED_COVER_LENGTH = 52;
+    private static final int DURATION = 56;
+    private static final int CHART_STAMP = 64;
+    private static final int NOTE_COUNTS = 72;
+    private static final int EMBEDDED_COVER_OFFSET = 88;
+    private static final int CHART_HASH = 96;
+    private static final int CHART_HASH_SIZE = 32;
+
+    private final ByteBuffer data;
+    private final int entryCount;
+    private final int stringsOffset;
+    private final long coversModified;
+    private final long chartsModified;
+
+    private SongIndex(ByteBuffer data, int entryCount, int stringsOffset, long coversModified,
+            long chartsModified) {
+        this.data = data;
+        this.entryCount = entryCount;
+        this.stringsOffset = stringsOffset;
+        this.coversModified = coversModified;
+        this.chartsModified = chartsModified;
+    }
+
+    /**
+     * 항목이 없는 색인 (색인 파일이 없거나 읽을 수 없을 때)
+     */
+    public static SongIndex empty() {
+        return new SongIndex(ByteBuffer.allocate(0), 0, 0, -1, -1);
+    }
+
+    /**
+     * 색인 파일을 엽니다
+     */
+    public static SongIndex open(Path path) throws IOException {
+        // 매핑하지 않고 힙으로 한 번에 읽음 (Windows는 매핑이 남아 있는 파일을 바꿔치기할 수 없어 색인을 갱신하지 못함)
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("곡 색인이 너무 큽니다: " + path);
+            }
+            data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) {
+                    break;
+                }
+            }
+            data.flip();
+        }
+
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("곡 색인 형식이 아닙니다: " + path);
+        }
+        short version = data.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 곡 색인 버전: " + version);
+        }
+
+        int entryCount = data.getInt(8);
+        int stringsOffset = data.getInt(12);
+        if (entryCount < 0 || stringsOffset != HEADER_SIZE + (long) entryCount * (ENTRY_SIZE + 4)
+                || stringsOffset > data.limit()) {
+            throw new IOException("잘못된 곡 색인 항목 수: " + path);
+        }
+
+        return new SongIndex(data, entryCount, stringsOffset, data.getLong(16), data.getLong(24));
+    }
+
+    /**
+     * 색인 파일이 있으면 열고, 없거나 손상되었으면 빈 색인을 반환합니다
+     */
+    public static SongIndex openOrEmpty(Path path) {
+        try {
+            return open(path);
+        } catch (NoSuchFileException e) {
+            return empty();
+        } catch (IOException e) {
+            System.err.println("곡 색인을 읽을 수 없어 다시 만듭니다: " + e.getMessage());
+            return empty();
+        }
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * 색인을 만들 때의 커버 폴더 수정 시각 (커버가 없던 곡을 다시 확인할지 판단)
+     */
+    public long getCoversModified() {
+        return coversModified;
+    }
+
+    /**
+     * 색인을 만들 때의 채보 폴더 수정 시각 (채보가 없던 곡을 다시 확인할지 판단)
+     */
+    public long getChartsModified() {
+        return chartsModified;
+    }
+
+    /**
+     * 파일명, 크기, 수정 시각이 모두 같은 항목을 찾습니다
+     *
+     * @return 항목 번호, 없거나 파일이 바뀌었으면 -1
+     */
+    public int find(String fileName, long size, long modified) {
+        byte[] name = fileName.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(name);
+
+        // 같은 해시의 첫 항목을 찾은 뒤 해시가 같은 동안 파일명 비교
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(data.getLong(entryOffset(middle) + HASH), hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int entry = low; entry < entryCount; entry++) {
+            int offset = entryOffset(entry);
+            if (data.getLong(offset + HASH) != hash) {
+                break;
+            }
+            if (stringEquals(data.getInt(offset + FILE_NAME), name)) {
+                boolean unchanged = data.getLong(offset + SIZE) == size && data.getLong(offset + MODIFIED) == modified;
+                return unchanged && isReadable(entry) ? entry : -1; // 손상된 항목은 없는 것으로 봄
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 파일명 순서로 position번째인 항목 번호
+     *
+     * @return 항목 번호, 순서표가 손상되었으면 -1
+     */
+    public int entryInFileNameOrder(int position) {
+        int entry = data.getInt(HEADER_SIZE + entryCount * ENTRY_SIZE + position * 4);
+        return entry >= 0 && entry < entryCount ? entry : -1;
+    }
+
+    /**
+     * 커버 이미지 경로 (없었으면 null)
+     */
+    public String getCoverPath(int entry) {
+        return readString(data.getInt(entryOffset(entry) + COVER));
+    }
+
+    /**
+     * 색인을 만들 때의 채보 파일 도장 (채보가 없었으면 0)
+     */
+    public long getChartStamp(int entry) {
+        return data.getLong(entryOffset(entry) + CHART_STAMP);
+    }
+
+    /**
+     * 색인을 만들 때의 채보 파일 해시
+     *
+     * @return 채보가 없었으면 null
+     */
+    public byte[] getChartHash(int entry) {
+        int offset = entryOffset(entry);
+        if (data.getLong(offset + CHART_STAMP) == 0) {
+            return null;
+        }
+        byte[] hash = new byte[CHART_HASH_SIZE];
+        System.arraycopy(data.array(), offset + CHART_HASH, hash, 0, CHART_HASH_SIZE);
+        return hash;
+    }
+
+    /**
+     * 항목으로 Song을 만듭니다 (파일을 다시 읽지 않음)
+     */
+    public Song toSong(int entry) {
+        int offset = entryOffset(entry);
+        Song song = new Song(readString(data.getInt(offset + TITLE)), readString(data.getInt(offset + ARTIST)),
+                readString(data.getInt(offset + ALBUM)), readString(data.getInt(offset + GENRE)),
+                data.getInt(offset + BPM), readString(data.getInt(offset + FILE_NAME)));
+
+        String cover = getCoverPath(entry);
+        if (cover != null) {
+            song.setThumbnailPath(cover);
+        }
+        song.setDurationMillis(data.getLong(offset + DURATION));
+        song.setEmbeddedCover(data.getLong(offset + EMBEDDED_COVER_OFFSET),
+                data.getInt(offset + EMBEDDED_COVER_LENGTH));
+
+        if (data.getLong(offset + CHART_STAMP) != 0) {
+            for (Song.DifficultyInfo info : song.getDifficulties()) {
+                if (info.getDifficulty() == null) {
+                    continue;
+                }
+                int count = data.getInt(offset + NOTE_COUNTS + info.getDifficulty().ordinal() * 4);
+                if (count >= 0) {
+                    info.setNoteCount(count);
+                }
+            }
+        }
+        return song;
+    }
+
+    /**
+     * 채보 파일의 크기와 수정 시각으로 만든 도장
+     *
+     * @return 채보 파일이 없으면 0
+     */
+    public static long chartStamp(String chartPath) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(chartPath), BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return 0;
+            }
+            long stamp = attributes.size() * 0x9E3779B97F4A7C15L ^ attributes.lastModifiedTime().toMillis();
+            return stamp == 0 ? 1 : stamp;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 채보 파일 내용의 SHA-256 해시 (리플레이가 확인하는 것과 같은 값)
+     *
+     * @return 채보 파일이 없거나 읽을 수 없으면 null
+     */
+    public static byte[] chartHash(String chartPath) {
+        try {
+            return ChartFile.open(Paths.get(chartPath)).contentHash();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 폴더의 수정 시각 (없으면 -1)
+     */
+    public static long directoryModified(String path) {
+        try {
+            return Files.getLastModifiedTime(Paths.get(path)).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private int entryOffset(int entry) {
+        return HEADER_SIZE + entry * ENTRY_SIZE;
+    }
+
+    /**
+     * 항목의 문자열 참조가 모두 문자열 영역 안을 가리키는지 확인합니다 (false면 toSong을 쓸 수 없음)
+     */
+    public boolean isReadable(int entry) {
+        int offset = entryOffset(entry);
+        for (int field = FILE_NAME; field <= GENRE; field += 4) {
+            if (!isValidString(data.getInt(offset + field))) {
+                return false;
+            }
+        }
+        int cover = data.getInt(offset + COVER);
+        return cover == NO_STRING || isValidString(cover);
+    }
+
+    private boolean isValidString(int reference) {
+        if (reference < 0 || reference > data.limit() - stringsOffset - 2) {
+            return false;
+        }
+        int position = stringsOffset + reference;
+        return position + 2 + (data.getShort(position) & 0xFFFF) <= data.limit();
+    }
+
+    private String readString(int reference) {
+        if (reference == NO_STRING) {
+            return null;
+        }
+        int position = stringsOffset + reference;
+        return new String(data.array(), position + 2, data.getShort(position) & 0xFFFF, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int reference, byte[] expected) {
+        if (!isValidString(reference)) {
+            return false;
+        }
+        int position = stringsOffset + reference;
+        return (data.getShort(position) & 0xFFFF) == expected.length
+                && Arrays.equals(stringBytes(reference), expected);
+    }
+
+    private byte[] stringBytes(int reference) {
+        int position = stringsOffset + reference;
+        byte[] bytes = new byte[data.getShort(position) & 0xFFFF];
+        ByteBuffer view = data.duplicate();
+        view.position(position + 2);
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 64비트 FNV-1a 해시
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 색인 파일을 만드는 클래스
+     */
+    public static class Writer {
+        private final long coversModified;
+        private final long chartsModified;
+        private final List<Entry> entries = new ArrayList<>();
+
+        public Writer(long coversModified, long chartsModified) {
+            this.coversModified = coversModified;
+            this.chartsModified = chartsModified;
+        }
+
+        /**
+         * 곡 하나를 추가합니다
+         *
+         * @param coverPath  커버 이미지 경로 (없으면 null)
+         * @param chartStamp chartStamp(song.getChartPath())의 값 (채보가 없으면 0)
+         * @param chartHash  chartHash(song.getChartPath())의 값 (채보가 없으면 null)
+         */
+        public Writer add(Song song, String coverPath, long size, long modified, long chartStamp, byte[] chartHash) {
+            entries.add(new Entry(song, coverPath, size, modified, chartStamp, chartHash));
+            return this;
+        }
+
+        /**
+         * 임시 파일에 쓴 뒤 바꿔치기해서, 쓰는 도중에 종료되어도 이전 색인이 남게 합니다
+         */
+        public void writeTo(Path path) throws IOException {
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compareUnsigned(a.hash, b.hash));
+
+            int orderOffset = HEADER_SIZE + sorted.length * ENTRY_SIZE;
+            int stringsOffset = orderOffset + sorted.length * 4;
+            ByteBuffer table = ByteBuffer.allocate(stringsOffset);
+            table.putInt(MAGIC);
+            table.putShort(VERSION);
+            table.putShort((short) 0);
+            table.putInt(sorted.length);
+            table.putInt(stringsOffset);
+            table.putLong(coversModified);
+            table.putLong(chartsModified);
+
+            ByteArrayOutputStream strings = new ByteArrayOutputStream();
+            Map<String, Integer> references = new HashMap<>();
+            for (int i = 0; i < sorted.length; i++) {
+                Entry entry = sorted[i];
+                Song song = entry.song;
+                int offset = HEADER_SIZE + i * ENTRY_SIZE;
+
+                table.putLong(offset + HASH, entry.hash);
+                table.putLong(offset + SIZE, entry.size);
+                table.putLong(offset + MODIFIED, entry.modified);
+                table.putInt(offset + FILE_NAME, putString(song.getFileName(), strings, references));
+                table.putInt(offset + TITLE, putString(song.getTitle(), strings, references));
+                table.putInt(offset + ARTIST, putString(song.getArtist(), strings, references));
+                table.putInt(offset + ALBUM, putString(song.getAlbum(), strings, references));
+                table.putInt(offset + GENRE, putString(song.getGenre(), strings, references));
+                table.putInt(offset + COVER, putString(entry.coverPath, strings, references));
+                table.putInt(offset + BPM, song.getBpm());
+                table.putInt(offset + EMBEDDED_COVER_LENGTH, song.getEmbeddedCoverLength());
+                table.putLong(offset + EMBEDDED_COVER_OFFSET, song.getEmbeddedCoverOffset());
+                table.putLong(offset + DURATION, song.getDurationMillis());
+                table.putLong(offset + CHART_STAMP, entry.chartStamp);
+                if (entry.chartHash != null && entry.chartHash.length == CHART_HASH_SIZE) {
+                    System.arraycopy(entry.chartHash, 0, table.array(), offset + CHART_HASH, CHART_HASH_SIZE);
+                }
+
+                for (int d = 0; d < DIFFICULTY_COUNT; d++) {
+                    table.putInt(offset + NOTE_COUNTS + d * 4, -1);
+                }
+                if (entry.chartStamp != 0) {
+                    for (Song.DifficultyInfo info : song.getDifficulties()) {
+                        if (info.getDifficulty() != null) {
+                            table.putInt(offset + NOTE_COUNTS + info.getDifficulty().ordinal() * 4,
+                                    info.getNoteCount());
+                        }
+                    }
+                }
+            }
+
+            Integer[] order = new Integer[sorted.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> sorted[a].song.getFileName()
+                    .compareToIgnoreCase(sorted[b].song.getFileName()));
+            for (int i = 0; i < order.length; i++) {
+                table.putInt(orderOffset + i * 4, order[i]);
+            }
+
+            byte[] out = Arrays.copyOf(table.array(), stringsOffset + strings.size());
+            byte[] stringBytes = strings.toByteArray();
+            System.arraycopy(stringBytes, 0, out, stringsOffset, stringBytes.length);
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, out);
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        /**
+         * 문자열을 문자열 영역에 넣고 참조를 반환합니다 (같은 문자열은 한 번만 저장)
+         */
+        private static int putString(String value, ByteArrayOutputStream strings, Map<String, Integer> references) {
+            if (value == null) {
+                return NO_STRING;
+            }
+
+            Integer reference = references.get(value);
+            if (reference == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                int length = Math.min(bytes.length, 0xFFFF);
+                reference = strings.size();
+                strings.write(length >> 8);
+                strings.write(length);
+                strings.write(bytes, 0, length);
+                references.put(value, reference);
+            }
+            return reference;
+        }
+    }
+
+    private static final class Entry {
+        private final Song song;
+        private final String coverPath;
+        private final long size;
+        private final long modified;
+        private final long chartStamp;
+        private final byte[] chartHash;
+        private final long hash;
+
+        Entry(Song song, String coverPath, long size, long modified, long chartStamp, byte[] chartHash) {
+            this.song = song;
+            this.coverPath = coverPath;
+            this.size = size;
+            this.modified = modified;
+            this.chartStamp = chartStamp;
+            this.chartHash = chartHash;
+            this.hash = hash(song.getFileName().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package main.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게임 시작 과정의 단계별 소요 시간을 기록합니다
+ *
+ * 시간은 main 진입 시점(이 클래스가 처음 쓰인 시점) 기준이며, 단계는 어느 스레드에서나 기록할 수 있습니다.
+ * 첫 프레임이 그려지면 그때까지 끝난 단계를 시작 순서대로 출력하고,
+ * 그 뒤에 끝나는 백그라운드 단계는 끝날 때마다 한 줄씩 출력합니다.
+ */
+public final class StartupProfiler {
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    private static final List<Phase> phases = new ArrayList<>();
+    private static volatile boolean firstFrameReported;
+    private static volatile long firstFrameNanos;
+    private static volatile boolean interactiveReported;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * 단계 시작 시각을 반환합니다 (end에 넘김)
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * begin()부터 지금까지를 한 단계로 기록합니다
+     */
+    public static void end(String name, long beginNanos) {
+        record(new Phase(name, Thread.currentThread().getName(), beginNanos, System.nanoTime()));
+    }
+
+    /**
+     * 소요 시간 없는 시점을 기록합니다
+     */
+    public static void mark(String name) {
+        long now = System.nanoTime();
+        record(new Phase(name, Thread.currentThread().getName(), now, now));
+    }
+
+    /**
+     * 첫 프레임이 그려졌음을 알리고 그때까지의 단계를 출력합니다 (두 번째 호출부터는 무시)
+     */
+    public static void firstFrame() {
+        if (firstFrameReported) {
+            return;
+        }
+
+        List<Phase> snapshot;
+        long now = System.nanoTime();
+        synchronized (phases) {
+            if (firstFrameReported) {
+                return;
+            }
+            firstFrameReported = true;
+            firstFrameNanos = now;
+            phases.add(new Phase("첫 프레임", Thread.currentThread().getName(), now, now));
+            snapshot = new ArrayList<>(phases);
+        }
+
+        snapshot.sort((a, b) -> Long.compare(a.beginNanos, b.beginNanos));
+        StringBuilder report = new StringBuilder("=== 시작 프로파일 (main 진입 기준) ===\n");
+        for (Phase phase : snapshot) {
+            report.append(phase).append('\n');
+        }
+        report.append(String.format("첫 프레임까지: %.1fms", millisSinceOrigin(now)));
+        System.out.println(report);
+    }
+
+    /**
+     * 첫 화면이 입력을 처리할 수 있게 되었음을 알립니다 (두 번째 호출부터는 무시)
+     * 첫 프레임 뒤에 EDT에 쌓여 있던 이벤트가 모두 처리된 시점에 호출합니다
+     */
+    public static void interactive() {
+        if (interactiveReported) {
+            return;
+        }
+        interactiveReported = true;
+
+        long now = System.nanoTime();
+        synchronized (phases) {
+            phases.add(new Phase("상호작용 가능", Thread.currentThread().getName(), now, now));
+        }
+        System.out.println(String.format("상호작용 가능까지: %.1fms (첫 프레임 후 %.1fms)", millisSinceOrigin(now),
+                firstFrameReported ? (now - firstFrameNanos) / 1_000_000.0 : 0.0));
+    }
+
+    private static void record(Phase phase) {
+        synchronized (phases) {
+            phases.add(phase);
+        }
+        if (firstFrameReported) {
+            System.out.println("[시작 프로파일] " + phase);
+        }
+    }
+
+    private static double millisSinceOrigin(long nanos) {
+        return (nanos - ORIGIN_NANOS) / 1_000_000.0;
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final String thread;
+        private final long beginNanos;
+        private final long endNanos;
+
+        Phase(String name, String thread, long beginNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.beginNanos = beginNanos;
+            this.endNanos = endNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("  +%7.1fms %7.1fms  %s (%s)", millisSinceOrigin(beginNanos),
+                    (endNanos - beginNanos) / 1_000_000.0, name, thread);
+        }
+    }
+}